@@ -0,0 +1,142 @@
+package com.travelbackendapp.travelmanagement.bench;
+
+import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
+import com.travelbackendapp.travelmanagement.model.entity.ReviewItem;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import com.travelbackendapp.travelmanagement.model.entity.TravelAgent;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic tours, bookings and reviews shaped like the production tables. A fixed seed keeps every run (and every
+ * commit being compared) on the same data.
+ */
+final class BenchData {
+
+    static final long SEED = 42L;
+
+    private static final String[] DESTINATIONS = {
+            "Rome, Italy", "Paris, France", "Antalya, Turkey", "Bali, Indonesia", "Cancun, Mexico",
+            "Dubai, UAE", "Phuket, Thailand", "Barcelona, Spain", "Hurghada, Egypt", "Tbilisi, Georgia"};
+    private static final String[] TOUR_TYPES = {"RESORT", "CRUISE", "ECO", "ADVENTURE", "CULTURAL"};
+    private static final String[] MEAL_PLANS = {"BB", "HB", "FB", "AI"};
+    private static final String[] DURATIONS = {"3 days", "5 days", "7 days", "10 days", "14 days"};
+    private static final String[] STATUSES = {"BOOKED", "CONFIRMED", "STARTED", "FINISHED", "CANCELLED"};
+
+    private BenchData() {}
+
+    static List<TourItem> tours(int n) {
+        Random rnd = new Random(SEED);
+        LocalDate base = LocalDate.of(2026, 1, 1);
+        List<TourItem> tours = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            TourItem t = new TourItem();
+            t.setTourId("T-" + i);
+            t.setName("Tour " + i);
+            t.setDestination(DESTINATIONS[rnd.nextInt(DESTINATIONS.length)]);
+            t.setTourType(TOUR_TYPES[rnd.nextInt(TOUR_TYPES.length)]);
+            t.setStartDate(base.plusDays(rnd.nextInt(365)).toString());
+            t.setDurations(pick(rnd, DURATIONS, 1 + rnd.nextInt(3)));
+            t.setMealPlans(pick(rnd, MEAL_PLANS, 1 + rnd.nextInt(MEAL_PLANS.length)));
+            Map<String, Double> prices = new LinkedHashMap<>();
+            double from = Double.MAX_VALUE;
+            for (String d : t.getDurations()) {
+                double p = 300 + rnd.nextInt(3000);
+                prices.put(d, p);
+                from = Math.min(from, p);
+            }
+            t.setPriceByDuration(prices);
+            t.setPriceFrom(from);
+            // a few unrated tours, as the comparators have to place nulls
+            t.setRating(rnd.nextInt(20) == 0 ? null : 1 + rnd.nextInt(40) / 10.0);
+            t.setReviews(rnd.nextInt(500));
+            t.setFreeCancellationDaysBefore(rnd.nextBoolean() ? 7 + rnd.nextInt(24) : null);
+            t.setMaxAdults(2 + rnd.nextInt(4));
+            t.setMaxChildren(rnd.nextInt(3));
+            t.setAvailablePackages(rnd.nextInt(50));
+            t.setImageUrls(List.of("https://img.example.com/" + i + "/1.jpg", "https://img.example.com/" + i + "/2.jpg"));
+            t.setHotelName("Hotel " + (i % 997));
+            t.setAgentEmail("agent" + (i % 50) + "@example.com");
+            t.setVersion(1L);
+            tours.add(t);
+        }
+        return tours;
+    }
+
+    /** Bookings spread over {@code tours}, each with one to four travellers. */
+    static List<BookingItem> bookings(int n, List<TourItem> tours) {
+        Random rnd = new Random(SEED + 1);
+        List<BookingItem> bookings = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            TourItem tour = tours.get(rnd.nextInt(tours.size()));
+            BookingItem b = new BookingItem();
+            b.setUserId("user-" + (i % 1000));
+            b.setBookingId(tour.getStartDate() + "#" + i);
+            b.setTourId(tour.getTourId());
+            b.setTourName(tour.getName());
+            b.setDestination(tour.getDestination());
+            b.setHotelName(tour.getHotelName());
+            b.setStartDate(tour.getStartDate());
+            b.setDuration(tour.getDurations().get(0));
+            b.setMealPlan(tour.getMealPlans().get(0));
+            int adults = 1 + rnd.nextInt(3);
+            int children = rnd.nextInt(2);
+            b.setAdults(adults);
+            b.setChildren(children);
+            List<BookingItem.Person> people = new ArrayList<>();
+            for (int p = 0; p < adults + children; p++) {
+                BookingItem.Person person = new BookingItem.Person();
+                person.setFirstName("First" + p);
+                person.setLastName("Last" + i);
+                people.add(person);
+            }
+            b.setPersonalDetails(people);
+            b.setStatus(STATUSES[rnd.nextInt(STATUSES.length)]);
+            b.setTotalPrice(tour.getPriceByDuration().get(b.getDuration()) * adults);
+            b.setAgentEmail(tour.getAgentEmail());
+            b.setCreatedAtEpoch(1_760_000_000_000L + i * 60_000L);
+            bookings.add(b);
+        }
+        return bookings;
+    }
+
+    static List<ReviewItem> reviews(int n, List<TourItem> tours) {
+        Random rnd = new Random(SEED + 2);
+        List<ReviewItem> reviews = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            ReviewItem r = new ReviewItem();
+            r.setTourId(tours.get(rnd.nextInt(tours.size())).getTourId());
+            r.setBookingId("B-" + i);
+            r.setAuthorId("user-" + (i % 1000));
+            r.setAuthorName("Customer " + (i % 1000));
+            r.setRate(1 + rnd.nextInt(5));
+            r.setReviewContent("Review text " + i + " about the hotel, the food and the excursions.");
+            r.setCreatedAt(LocalDate.of(2025, 1, 1).plusDays(rnd.nextInt(365)).toString());
+            reviews.add(r);
+        }
+        return reviews;
+    }
+
+    static TravelAgent agent(String email) {
+        TravelAgent a = new TravelAgent();
+        a.setEmail(email);
+        a.setFirstName("Agent");
+        a.setLastName("Smith");
+        a.setRole("TRAVEL_AGENT");
+        a.setPhone("+10000000000");
+        a.setMessenger("@agent");
+        return a;
+    }
+
+    private static List<String> pick(Random rnd, String[] values, int count) {
+        List<String> picked = new ArrayList<>(count);
+        int start = rnd.nextInt(values.length);
+        for (int i = 0; i < count && i < values.length; i++) picked.add(values[(start + i) % values.length]);
+        return picked;
+    }
+}
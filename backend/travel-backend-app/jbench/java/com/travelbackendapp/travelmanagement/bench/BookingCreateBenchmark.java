@@ -0,0 +1,174 @@
+package com.travelbackendapp.travelmanagement.bench;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import com.travelbackendapp.travelmanagement.repository.BookingsRepository;
+import com.travelbackendapp.travelmanagement.repository.TourInventoryRepository;
+import com.travelbackendapp.travelmanagement.repository.ToursRepository;
+import com.travelbackendapp.travelmanagement.repository.TravelAgentRepository;
+import com.travelbackendapp.travelmanagement.repository.memory.InMemoryBookingsRepository;
+import com.travelbackendapp.travelmanagement.repository.memory.InMemoryBookingsStatusRepository;
+import com.travelbackendapp.travelmanagement.repository.memory.InMemoryCatalogVersionRepository;
+import com.travelbackendapp.travelmanagement.repository.memory.InMemoryDocumentsRepository;
+import com.travelbackendapp.travelmanagement.repository.memory.InMemoryTables;
+import com.travelbackendapp.travelmanagement.repository.memory.InMemoryTourInventoryRepository;
+import com.travelbackendapp.travelmanagement.repository.memory.InMemoryToursRepository;
+import com.travelbackendapp.travelmanagement.repository.memory.InMemoryTravelAgentRepository;
+import com.travelbackendapp.travelmanagement.routing.CallerContext;
+import com.travelbackendapp.travelmanagement.service.PricingEngine;
+import com.travelbackendapp.travelmanagement.service.impl.BookingsServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@code POST /bookings} through {@link BookingsServiceImpl#create} over the in-memory repositories, with every
+ * tour, agent, inventory and booking repository call delayed by {@code latencyMicros} to stand in for a DynamoDB
+ * round trip. {@code sequentialRoundTrips} makes the same calls one after another, as a path without any overlap
+ * would: the ratio of the two sample-time p50s is what overlapping the reads buys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingCreateBenchmark {
+
+    private static final int TOURS = 1000;
+
+    /** No delay (CPU only) and a typical in-region DynamoDB round trip. */
+    @Param({"0", "4000"})
+    long latencyMicros;
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private ExecutorService ioExecutor;
+
+    private BookingsServiceImpl service;
+    private ToursRepository toursRepo;
+    private TravelAgentRepository agentsRepo;
+    private BookingsRepository bookingsRepo;
+
+    private List<TourItem> tours;
+    private APIGatewayProxyRequestEvent[] events;
+    private CallerContext caller;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() throws Exception {
+        ioExecutor = Executors.newFixedThreadPool(8, r -> {
+            Thread t = new Thread(r, "bench-io");
+            t.setDaemon(true);
+            return t;
+        });
+
+        String date = LocalDate.now().plusDays(30).toString();
+        tours = BenchData.tours(TOURS);
+        events = new APIGatewayProxyRequestEvent[TOURS];
+        for (int i = 0; i < TOURS; i++) {
+            TourItem t = tours.get(i);
+            t.setStartDate(date);
+            t.setStartDates(List.of(date));
+            APIGatewayProxyRequestEvent e = new APIGatewayProxyRequestEvent();
+            e.setBody(mapper.writeValueAsString(Map.of(
+                    "tourId", t.getTourId(), "date", date,
+                    "duration", t.getDurations().get(0), "mealPlan", t.getMealPlans().get(0),
+                    "guests", Map.of("adult", 2, "children", 0),
+                    "personalDetails", List.of(Map.of("firstName", "Jane", "lastName", "Doe")))));
+            events[i] = e;
+        }
+
+        APIGatewayProxyRequestEvent callerEvent = new APIGatewayProxyRequestEvent();
+        APIGatewayProxyRequestEvent.ProxyRequestContext ctx = new APIGatewayProxyRequestEvent.ProxyRequestContext();
+        ctx.setAuthorizer(Map.of("claims", Map.of("sub", "user-1", "email", "user@example.com", "custom:role", "CUSTOMER")));
+        callerEvent.setRequestContext(ctx);
+        caller = CallerContext.from(callerEvent, email -> null);
+    }
+
+    /** Fresh tables each iteration, so bookings do not pile up and seats never run out. */
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        InMemoryTables tables = new InMemoryTables();
+        InMemoryTourInventoryRepository inventory = new InMemoryTourInventoryRepository(tables);
+        InMemoryToursRepository memTours = new InMemoryToursRepository(tables);
+        InMemoryTravelAgentRepository memAgents = new InMemoryTravelAgentRepository();
+        for (TourItem t : tours) {
+            t.setAvailablePackages(1_000_000);
+            memTours.save(t);
+            if (memAgents.findByEmail(t.getAgentEmail()) == null) memAgents.save(BenchData.agent(t.getAgentEmail()));
+        }
+
+        toursRepo = delayed(ToursRepository.class, memTours);
+        agentsRepo = delayed(TravelAgentRepository.class, memAgents);
+        bookingsRepo = delayed(BookingsRepository.class, new InMemoryBookingsRepository(tables, inventory));
+        // create() publishes no events and touches neither S3 nor the archive
+        service = new BookingsServiceImpl(mapper, toursRepo, bookingsRepo, agentsRepo,
+                new InMemoryBookingsStatusRepository(tables), null, null, new InMemoryDocumentsRepository(),
+                delayed(TourInventoryRepository.class, inventory), new PricingEngine(), ioExecutor,
+                new InMemoryCatalogVersionRepository(), null, "bench", "eu-west-1");
+        next = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ioExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public APIGatewayProxyResponseEvent create() {
+        APIGatewayProxyResponseEvent resp = service.create(events[next++ % TOURS], caller);
+        if (resp.getStatusCode() != 201) throw new IllegalStateException("booking failed: " + resp.getBody());
+        return resp;
+    }
+
+    @Benchmark
+    public BookingItem sequentialRoundTrips() {
+        TourItem tour = toursRepo.getById(tours.get(next++ % TOURS).getTourId()).orElseThrow();
+        agentsRepo.findByEmail(tour.getAgentEmail());
+        BookingItem b = new BookingItem();
+        b.setUserId("user-1");
+        b.setBookingId("B-" + next);
+        b.setTourId(tour.getTourId());
+        b.setAgentEmail(tour.getAgentEmail());
+        bookingsRepo.transactReserveSeatsAndSave(b, tour, 2);
+        return b;
+    }
+
+    /** {@code target} behind {@code type}, each call parked for {@code latencyMicros} first. */
+    @SuppressWarnings("unchecked")
+    private <T> T delayed(Class<T> type, T target) {
+        long nanos = TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (nanos > 0 && method.getDeclaringClass() != Object.class) LockSupport.parkNanos(nanos);
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.travelbackendapp.travelmanagement.bench;
+
+import com.travelbackendapp.travelmanagement.model.api.response.ViewBookingDTO;
+import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import com.travelbackendapp.travelmanagement.model.entity.TravelAgent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Building the {@code GET /bookings} rows once bookings, tours and agents have been read. */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingsBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int size;
+
+    private List<BookingItem> bookings;
+    private Map<String, TourItem> toursById;
+    private Map<String, TravelAgent> agentsByEmail;
+
+    @Setup
+    public void setUp() {
+        List<TourItem> tours = BenchData.tours(Math.max(100, size / 10));
+        bookings = BenchData.bookings(size, tours);
+        toursById = new HashMap<>();
+        agentsByEmail = new HashMap<>();
+        for (TourItem t : tours) {
+            toursById.put(t.getTourId(), t);
+            agentsByEmail.computeIfAbsent(t.getAgentEmail(), BenchData::agent);
+        }
+    }
+
+    @Benchmark
+    public void viewBookingRows(Blackhole bh) {
+        for (BookingItem b : bookings) {
+            bh.consume(ViewBookingDTO.from(b, agentsByEmail.get(b.getAgentEmail()), toursById.get(b.getTourId()),
+                    List.of(), d -> null));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.travelbackendapp.travelmanagement.bench;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.joran.JoranConfigurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+import org.slf4j.simple.SimpleLoggerFactory;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost per request: the INFO lines the handler, router, tours repository and booking publisher write on
+ * every call, as if one request passed all of them, from four request threads. Backends:
+ * <ul>
+ *   <li>{@code simple}: slf4j-simple, the previous backend, formatting and writing on the calling thread;</li>
+ *   <li>{@code async}: the shipped {@code logback.xml} with sampling off, so every line is queued for the JSON writer
+ *       thread (lines past the buffer are discarded, as in production);</li>
+ *   <li>{@code async-sampled}: the shipped configuration, 20 lines per message pattern per second.</li>
+ * </ul>
+ * stderr goes to a temp file so the terminal's speed does not count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class LoggingBenchmark {
+
+    @Param({"simple", "async", "async-sampled"})
+    String backend;
+
+    private final Map<String, String> query = Map.of(
+            "destination", "Rome, Italy", "startDate", "2026-05-01", "mealPlan", "BB,HB", "page", "2");
+    private final List<String> mealPlans = List.of("BB", "HB");
+    private final List<String> tourTypes = List.of("RESORT");
+
+    private Path file;
+    private PrintStream stderr;
+    private LoggerContext logback;
+    private Logger handler;
+    private Logger router;
+    private Logger tours;
+    private Logger publisher;
+
+    @Setup
+    public void setUp() throws Exception {
+        file = Files.createTempFile("logging-bench", ".log");
+        stderr = System.err;
+        System.setErr(new PrintStream(new FileOutputStream(file.toFile()), true));
+
+        ILoggerFactory factory;
+        if ("simple".equals(backend)) {
+            factory = new SimpleLoggerFactory();
+        } else {
+            if ("async".equals(backend)) System.setProperty("log_sample_per_second", "0");
+            logback = new LoggerContext();
+            JoranConfigurator configurator = new JoranConfigurator();
+            configurator.setContext(logback);
+            configurator.doConfigure(LoggingBenchmark.class.getResource("/logback.xml"));
+            factory = logback;
+        }
+        handler = factory.getLogger("com.travelbackendapp.TravelApiHandler");
+        router = factory.getLogger("com.travelbackendapp.travelmanagement.routing.RequestRouter");
+        tours = factory.getLogger("com.travelbackendapp.travelmanagement.repository.DynamoDbToursRepository");
+        publisher = factory.getLogger("com.travelbackendapp.travelmanagement.service.BookingEventPublisher");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (logback != null) logback.stop();
+        System.err.close();
+        System.setErr(stderr);
+        System.clearProperty("log_sample_per_second");
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void request() {
+        handler.info("REQ {} path={} stage={} qs={}", "c0ffee-42", "/tours/available", "api", query);
+        router.info("Routing path={}", "/tours/available");
+        tours.info("findAvailableTours: destination={}, startDate={}, endDate={}, duration={}, mealPlans={}, tourTypes={}, adults={}, children={}",
+                "Rome, Italy", "2026-05-01", null, null, mealPlans, tourTypes, 2, 1);
+        tours.info("DDB scan returned {} items", 137);
+        publisher.info("Successfully published booking event {} for booking {} to SQS. MessageId: {}",
+                "BOOKING_CREATED", "B-1", "5fea7756-0ea4-451a-a703-a558b933e274");
+        handler.info("RES {} status={}", "c0ffee-42", 200);
+    }
+}
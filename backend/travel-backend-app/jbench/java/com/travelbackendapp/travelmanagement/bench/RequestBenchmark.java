@@ -0,0 +1,71 @@
+package com.travelbackendapp.travelmanagement.bench;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.travelbackendapp.travelmanagement.mapper.TourMapper;
+import com.travelbackendapp.travelmanagement.model.api.request.ToursSearchRequest;
+import com.travelbackendapp.travelmanagement.model.api.response.TourResponse;
+import com.travelbackendapp.travelmanagement.util.HttpResponses;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/** Per-request parsing and serialization: search query parsing and the JSON body of a result page. */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestBenchmark {
+
+    /** The default search page and the largest one a client may ask for. */
+    @Param({"6", "100"})
+    int pageSize;
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private Map<String, String> simpleQuery;
+    private Map<String, String> fullQuery;
+    private Map<String, Object> page;
+
+    @Setup
+    public void setUp() {
+        simpleQuery = Map.of("destination", "Rome, Italy");
+        fullQuery = Map.of(
+                "destination", "Rome, Italy", "startDate", "2026-05-01", "endDate", "2026-09-30",
+                "mealPlan", "BB,HB,AI", "tourType", "RESORT,CRUISE", "durationBucket", "4-7,8-12",
+                "guestQuantity", "{\"adults\":2,\"children\":1}", "sortBy", "PRICE_ASC",
+                "page", "2", "pageSize", Integer.toString(pageSize));
+        List<TourResponse> tours = BenchData.tours(pageSize).stream().map(TourMapper::toResponse).collect(Collectors.toList());
+        page = Map.of("tours", tours, "page", 1, "pageSize", pageSize, "totalPages", 10, "totalItems", 10 * pageSize);
+    }
+
+    @Benchmark
+    public ToursSearchRequest parseSimpleQuery() {
+        return ToursSearchRequest.fromQuery(simpleQuery, mapper);
+    }
+
+    @Benchmark
+    public ToursSearchRequest parseFullQuery() {
+        return ToursSearchRequest.fromQuery(fullQuery, mapper);
+    }
+
+    @Benchmark
+    public APIGatewayProxyResponseEvent jsonResultPage() {
+        return HttpResponses.json(mapper, 200, page);
+    }
+}
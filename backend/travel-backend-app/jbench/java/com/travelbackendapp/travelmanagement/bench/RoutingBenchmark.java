@@ -0,0 +1,80 @@
+package com.travelbackendapp.travelmanagement.bench;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.travelbackendapp.travelmanagement.repository.DynamoDbTravelAgentRepository;
+import com.travelbackendapp.travelmanagement.routing.RequestRouter;
+import com.travelbackendapp.travelmanagement.service.BookingsService;
+import com.travelbackendapp.travelmanagement.service.ToursService;
+import com.travelbackendapp.travelmanagement.service.TravelAgentsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RequestRouter#route} alone: the services answer with a canned response, so only path matching and caller
+ * parsing are measured. Paths are chosen early, late and past the last route of the match order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoutingBenchmark {
+
+    @Param({"/tours/available", "/tours/T-42/feedbacks", "/bookings/B-1/documents", "/admin/travel-agents/a%40b.com", "/unknown"})
+    String path;
+
+    private RequestRouter router;
+    private APIGatewayProxyRequestEvent event;
+
+    @Setup
+    public void setUp() {
+        APIGatewayProxyResponseEvent ok = new APIGatewayProxyResponseEvent().withStatusCode(200).withBody("{}");
+        DynamoDbEnhancedClient client = stub(DynamoDbEnhancedClient.class, stub(DynamoDbTable.class, null));
+        router = new RequestRouter(
+                stub(ToursService.class, ok), null, stub(BookingsService.class, ok), null, null,
+                stub(TravelAgentsService.class, ok), null, new DynamoDbTravelAgentRepository(client, "travel-agents"));
+
+        event = new APIGatewayProxyRequestEvent();
+        event.setHttpMethod(path.startsWith("/admin") ? "DELETE" : "GET");
+        event.setPath(path);
+        APIGatewayProxyRequestEvent.ProxyRequestContext ctx = new APIGatewayProxyRequestEvent.ProxyRequestContext();
+        ctx.setAuthorizer(Map.of("claims", Map.of("sub", "user-1", "email", "user@example.com", "custom:role", "CUSTOMER")));
+        event.setRequestContext(ctx);
+    }
+
+    @Benchmark
+    public APIGatewayProxyResponseEvent route() {
+        return router.route(event, null);
+    }
+
+    /** Every method of {@code type} returns {@code result}. */
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Object result) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "hashCode": if (args == null) return System.identityHashCode(proxy); break;
+                case "equals": if (args != null && args.length == 1) return proxy == args[0]; break;
+                case "toString": if (args == null) return "stub " + type.getSimpleName(); break;
+                default: break;
+            }
+            return result;
+        });
+    }
+}
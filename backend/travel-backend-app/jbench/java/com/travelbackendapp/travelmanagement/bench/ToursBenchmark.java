@@ -0,0 +1,79 @@
+package com.travelbackendapp.travelmanagement.bench;
+
+import com.travelbackendapp.travelmanagement.domain.DurationBucket;
+import com.travelbackendapp.travelmanagement.domain.SortBy;
+import com.travelbackendapp.travelmanagement.mapper.ReviewMapper;
+import com.travelbackendapp.travelmanagement.mapper.TourMapper;
+import com.travelbackendapp.travelmanagement.model.entity.ReviewItem;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** The per-tour work of a search: sorting, duration bucket filtering and mapping to responses, over the whole catalog. */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToursBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int size;
+
+    private List<TourItem> tours;
+    private List<ReviewItem> reviews;
+
+    @Setup
+    public void setUp() {
+        tours = BenchData.tours(size);
+        reviews = BenchData.reviews(size, tours);
+    }
+
+    @Benchmark
+    public List<TourItem> sortByRating() {
+        List<TourItem> copy = new ArrayList<>(tours);
+        copy.sort(SortBy.RATING_DESC.comparator());
+        return copy;
+    }
+
+    @Benchmark
+    public List<TourItem> sortByPrice() {
+        List<TourItem> copy = new ArrayList<>(tours);
+        copy.sort(SortBy.PRICE_ASC.comparator());
+        return copy;
+    }
+
+    @Benchmark
+    public int filterByDurationBucket() {
+        int matches = 0;
+        for (TourItem t : tours) {
+            if (DurationBucket.B4_7.matches(t.getDurations())) matches++;
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public void mapTourResponses(Blackhole bh) {
+        for (TourItem t : tours) bh.consume(TourMapper.toResponse(t));
+    }
+
+    @Benchmark
+    public void mapReviewResponses(Blackhole bh) {
+        for (ReviewItem r : reviews) bh.consume(ReviewMapper.toResponse(r));
+    }
+}
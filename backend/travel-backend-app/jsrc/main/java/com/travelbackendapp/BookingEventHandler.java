@@ -14,11 +14,16 @@ import com.syndicate.deployment.model.ResourceType;
 import static com.syndicate.deployment.model.environment.ValueTransformer.USER_POOL_NAME_TO_CLIENT_ID;
 import static com.syndicate.deployment.model.environment.ValueTransformer.USER_POOL_NAME_TO_USER_POOL_ID;
 
+import com.travelbackendapp.travelmanagement.logging.AsyncLogs;
+import com.travelbackendapp.travelmanagement.metrics.Downstream;
+import com.travelbackendapp.travelmanagement.metrics.InvocationMetrics;
 import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
 import com.travelbackendapp.travelmanagement.model.entity.ReportRecord;
 import com.travelbackendapp.travelmanagement.model.entity.ReviewItem;
 import com.travelbackendapp.travelmanagement.model.entity.TravelAgent;
 import com.travelbackendapp.travelmanagement.model.event.BookingEvent;
+import com.travelbackendapp.travelmanagement.priming.Primer;
+import com.travelbackendapp.travelmanagement.priming.Priming;
 import com.travelbackendapp.travelmanagement.repository.BookingsRepository;
 import com.travelbackendapp.travelmanagement.repository.ReportsRepository;
 import com.travelbackendapp.travelmanagement.repository.ReviewsRepository;
@@ -48,7 +53,8 @@ import java.util.List;
     @EnvironmentVariable(key = "COGNITO_CLIENT_ID", value = "${pool_name}", valueTransformer = USER_POOL_NAME_TO_CLIENT_ID),
     @EnvironmentVariable(key = "travel_agent_table_name", value = "${travel_agent_table_name}"),
     @EnvironmentVariable(key = "bookings_table", value = "${bookings_table}"),
-    @EnvironmentVariable(key = "reports_table", value = "${reports_table}")
+    @EnvironmentVariable(key = "reports_table", value = "${reports_table}"),
+    @EnvironmentVariable(key = "inventory_table", value = "${inventory_table}")
 
 })
 @SqsTriggerEventSource(targetQueue = "${booking_events_queue_url}", batchSize = 1)
@@ -61,13 +67,28 @@ public class BookingEventHandler implements RequestHandler<SQSEvent, String> {
     @Inject ReportsRepository reportsRepository;
     @Inject ReviewsRepository reviewsRepository;
     @Inject ObjectMapper objectMapper;
+    @Inject Primer primer;
     
     public BookingEventHandler() {
         DaggerAppComponent.create().inject(this);
+        Priming.register("booking-event-handler", () -> {
+            primer.json();
+            primer.aws(Downstream.DYNAMODB);
+        });
     }
     
     @Override
     public String handleRequest(SQSEvent sqsEvent, Context context) {
+        InvocationMetrics metrics = InvocationMetrics.begin();
+        try {
+            return process(sqsEvent, context);
+        } finally {
+            metrics.finishJob("booking-event-handler");
+            AsyncLogs.drain();
+        }
+    }
+
+    private String process(SQSEvent sqsEvent, Context context) {
         int processedCount = 0;
         int errorCount = 0;
         
@@ -187,11 +208,10 @@ public class BookingEventHandler implements RequestHandler<SQSEvent, String> {
     }
     
     /**
-     * Generate a unique report ID
+     * Report ID derived from the event, so a redelivered message overwrites its own record
      */
     private String generateReportId(BookingEvent event) {
-        String timestamp = LocalDateTime.now().toString().replace(":", "-").replace(".", "-");
-        return String.format("%s-%s-%s", event.getEventType(), event.getBookingId(), timestamp);
+        return ReportRecord.reportIdFor(event.getEventType(), event.getBookingId());
     }
     
     /**
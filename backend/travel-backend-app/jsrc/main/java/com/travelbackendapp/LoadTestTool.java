@@ -0,0 +1,83 @@
+package com.travelbackendapp;
+
+import com.travelbackendapp.travelmanagement.di.DaggerAppComponent;
+import com.travelbackendapp.travelmanagement.di.DaggerInMemoryComponent;
+import com.travelbackendapp.travelmanagement.di.LoadTestGraph;
+import com.travelbackendapp.travelmanagement.loadtest.DatasetGenerator;
+import com.travelbackendapp.travelmanagement.loadtest.LoadReplayer;
+
+import java.time.LocalDate;
+
+/**
+ * Generates the synthetic dataset and replays API traffic through {@link TravelApiHandler}, e.g. in memory:
+ * <pre>
+ * region=local BOOKING_DOCS_BUCKET=local BOOKING_EVENTS_QUEUE_URL=local report_snapshots_table=local emf_metrics=off \
+ * java -Xmx8g -cp travel-backend-app.jar com.travelbackendapp.LoadTestTool --backend memory --scale 0.05 --threads 32
+ * </pre>
+ * or against DynamoDB Local, with the usual table variables and {@code aws_endpoint_url}, generating once and
+ * replaying as often as needed ({@code --generate}, then {@code --replay} with the same {@code --scale}).
+ * The in-memory backend starts empty, so it always generates first.
+ */
+public class LoadTestTool {
+
+    public static void main(String[] args) throws InterruptedException {
+        DatasetGenerator.Options data = new DatasetGenerator.Options();
+        LoadReplayer.Options replay = new LoadReplayer.Options();
+        String backend = "memory";
+        double scale = 1.0;
+        boolean generate = false;
+        boolean replayRequests = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--backend": backend = args[++i]; break;
+                case "--generate": generate = true; break;
+                case "--replay": replayRequests = true; break;
+                case "--scale": scale = Double.parseDouble(args[++i]); break;
+                case "--seed": data.seed = replay.seed = Long.parseLong(args[++i]); break;
+                case "--skew": data.skew = replay.skew = Double.parseDouble(args[++i]); break;
+                case "--as-of": data.asOf = LocalDate.parse(args[++i]); break;
+                case "--writer-threads": data.writerThreads = Integer.parseInt(args[++i]); break;
+                case "--threads": replay.threads = Integer.parseInt(args[++i]); break;
+                case "--requests": replay.requests = Long.parseLong(args[++i]); break;
+                case "--warmup": replay.warmupRequests = Long.parseLong(args[++i]); break;
+                case "--duration-seconds": replay.durationSeconds = Long.parseLong(args[++i]); break;
+                case "--mix": replay.mix = args[++i]; break;
+                default:
+                    System.err.println("usage: LoadTestTool [--backend memory|dynamodb] [--generate] [--replay] [--scale F]"
+                            + " [--seed N] [--skew S] [--as-of yyyy-MM-dd] [--writer-threads N] [--threads N] [--requests N]"
+                            + " [--warmup N] [--duration-seconds N] [--mix search=40,details=20,reviews=10,book=10,cancel=5,bookings=15]");
+                    System.exit(2);
+            }
+        }
+        if (!generate && !replayRequests) generate = replayRequests = true;
+
+        LoadTestGraph graph;
+        switch (backend) {
+            case "memory":
+                if (!generate) {
+                    System.err.println("the in-memory backend starts empty: add --generate");
+                    System.exit(2);
+                }
+                graph = DaggerInMemoryComponent.create();
+                break;
+            case "dynamodb":
+                graph = DaggerAppComponent.create();
+                break;
+            default:
+                System.err.println("unknown backend '" + backend + "', expected memory or dynamodb");
+                System.exit(2);
+                return;
+        }
+        data.scale(scale);
+        replay.users = data.users();
+
+        if (generate) {
+            System.out.println("Generated " + graph.datasetGenerator().generate(data));
+        }
+        if (replayRequests) {
+            LoadReplayer replayer = new LoadReplayer(new TravelApiHandler(graph.requestRouter()), graph.toursRepository());
+            System.out.print(replayer.run(replay));
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,66 @@
+package com.travelbackendapp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelbackendapp.travelmanagement.di.DaggerAppComponent;
+import com.travelbackendapp.travelmanagement.service.ReportReplayer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Command-line report replay, e.g. against DynamoDB Local:
+ * <pre>
+ * aws_endpoint_url=http://localhost:8000 region=us-east-1 bookings_table=bookings reviews_table=reviews \
+ * reports_table=reports travel_agent_table_name=travel-agents \
+ * java -cp travel-backend-app.jar com.travelbackendapp.ReportReplayTool --segments 8 --writes-per-second 500 --checkpoint replay.json
+ * </pre>
+ * The checkpoint file is rewritten after every page; running again with the same file resumes the scan.
+ */
+public class ReportReplayTool {
+
+    public static void main(String[] args) throws IOException {
+        ReportReplayer.Options options = new ReportReplayer.Options();
+        File checkpointFile = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--segments": options.segments = Integer.parseInt(args[++i]); break;
+                case "--writes-per-second": options.writesPerSecond = Integer.parseInt(args[++i]); break;
+                case "--overwrite": options.overwrite = true; break;
+                case "--checkpoint": checkpointFile = new File(args[++i]); break;
+                default:
+                    System.err.println("usage: ReportReplayTool [--segments N] [--writes-per-second N] [--overwrite] [--checkpoint FILE]");
+                    System.exit(2);
+            }
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        ReportReplayer.Checkpoint checkpoint = null;
+        if (checkpointFile != null && checkpointFile.isFile()) {
+            checkpoint = mapper.readValue(checkpointFile, ReportReplayer.Checkpoint.class);
+            System.out.println("Resuming from " + checkpointFile + " (" + checkpoint.done.size() + "/" + checkpoint.segments + " segments done)");
+        }
+
+        File target = checkpointFile;
+        ReportReplayer.Result result = DaggerAppComponent.create().reportReplayer().run(options, checkpoint,
+                () -> Long.MAX_VALUE, 0, cp -> {
+                    if (target != null) save(mapper, cp, target);
+                });
+
+        System.out.println(result);
+        System.exit(result.complete ? 0 : 1);
+    }
+
+    /** Written to a temp file first, so an interrupted run never leaves a half-written checkpoint. */
+    private static void save(ObjectMapper mapper, ReportReplayer.Checkpoint cp, File target) {
+        try {
+            File tmp = new File(target.getPath() + ".tmp");
+            mapper.writeValue(tmp, cp);
+            Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to write checkpoint " + target, e);
+        }
+    }
+}
@@ -9,13 +9,21 @@ import com.syndicate.deployment.model.ResourceType;
 import com.syndicate.deployment.annotations.environment.EnvironmentVariable;
 import com.syndicate.deployment.annotations.environment.EnvironmentVariables;
 import com.travelbackendapp.travelmanagement.di.DaggerAppComponent;
+import com.travelbackendapp.travelmanagement.logging.AsyncLogs;
+import com.travelbackendapp.travelmanagement.metrics.Downstream;
+import com.travelbackendapp.travelmanagement.metrics.InvocationMetrics;
+import com.travelbackendapp.travelmanagement.priming.Primer;
+import com.travelbackendapp.travelmanagement.priming.Priming;
+import com.travelbackendapp.travelmanagement.service.ReportCsvExporter;
+import com.travelbackendapp.travelmanagement.service.ReportReplayer;
 import com.travelbackendapp.travelmanagement.service.TravelReportsService;
 
-import com.travelbackendapp.travelmanagement.model.entity.ReportRecord;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import software.amazon.awssdk.services.ses.SesClient;
 import software.amazon.awssdk.services.ses.model.*;
 import software.amazon.awssdk.regions.Region;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import java.time.LocalDateTime;
@@ -24,6 +32,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @DependsOn(name = "${reports_table}", resourceType = ResourceType.DYNAMODB_TABLE)
+@DependsOn(name = "${report_snapshots_table}", resourceType = ResourceType.DYNAMODB_TABLE)
 @DependsOn(name = "${target_table}", resourceType = ResourceType.DYNAMODB_TABLE)
 @DependsOn(name = "${travel_agent_table_name}", resourceType = ResourceType.DYNAMODB_TABLE)
 @DependsOn(name = "${reviews_table}", resourceType = ResourceType.DYNAMODB_TABLE)
@@ -34,38 +43,92 @@ import java.util.stream.Collectors;
 	roleName = "travel-api-handler-role",
 	isPublishVersion = true,
 	aliasName = "${lambdas_alias_name}",
-	logsExpiration = RetentionSetting.SYNDICATE_ALIASES_SPECIFIED
+	logsExpiration = RetentionSetting.SYNDICATE_ALIASES_SPECIFIED,
+	timeout = 900
 )
 @EnvironmentVariables({
     @EnvironmentVariable(key = "reports_table", value = "${reports_table}"),
+    @EnvironmentVariable(key = "report_snapshots_table", value = "${report_snapshots_table}"),
     @EnvironmentVariable(key = "table_name", value = "${target_table}"),
     @EnvironmentVariable(key = "travel_agent_table_name", value = "${travel_agent_table_name}"),
     @EnvironmentVariable(key = "reviews_table", value = "${reviews_table}"),
     @EnvironmentVariable(key = "bookings_table", value = "${bookings_table}"),
     @EnvironmentVariable(key = "documents_table", value = "${documents_table}"),
     @EnvironmentVariable(key = "BOOKING_DOCS_BUCKET", value = "${booking-documents-bucket}"),
+    @EnvironmentVariable(key = "BOOKING_ARCHIVE_BUCKET", value = "${booking-archive-bucket}"),
+    @EnvironmentVariable(key = "REPORTS_EXPORT_BUCKET", value = "${reports-export-bucket}"),
     @EnvironmentVariable(key = "region", value = "${region}"),
     @EnvironmentVariable(key = "from_email", value = "${from_email}"),
     @EnvironmentVariable(key = "recipient_email", value = "${recipient_email}")
 })
 public class ReportsSender implements RequestHandler<Map<String, Object>, Map<String, Object>> {
+    private static final Logger log = LoggerFactory.getLogger(ReportsSender.class);
 
     @Inject TravelReportsService travelReportsService;
     @Inject ObjectMapper objectMapper;
     @Inject com.travelbackendapp.travelmanagement.repository.ReportsRepository reportsRepository;
     @Inject com.travelbackendapp.travelmanagement.repository.ToursRepository toursRepository;
+    @Inject ReportReplayer reportReplayer;
+    @Inject ReportCsvExporter reportCsvExporter;
+    @Inject Primer primer;
+
+    private static final long REPLAY_RESERVE_MS = 30_000;
     
     public ReportsSender() {
         DaggerAppComponent.create().inject(this);
+        Priming.register("travel-reports-handler", () -> {
+            primer.json();
+            primer.aws(Downstream.DYNAMODB, Downstream.S3);
+        });
     }
 
     @Override
     public Map<String, Object> handleRequest(Map<String, Object> input, Context context) {
+        InvocationMetrics metrics = InvocationMetrics.begin();
+        try {
+            return report(input, context);
+        } finally {
+            metrics.finishJob("travel-reports-handler");
+            AsyncLogs.drain();
+        }
+    }
+
+    private Map<String, Object> report(Map<String, Object> input, Context context) {
         Map<String, Object> result = new HashMap<>();
         
         try {
             System.out.println("ReportsSender invoked with input: " + input);
             
+            // One-off maintenance: index reports written before the period keys existed
+            if ("backfillPeriodKeys".equals(input.get("action"))) {
+                int updated = reportsRepository.backfillPeriodKeys();
+                result.put("statusCode", 200);
+                result.put("backfilled", updated);
+                return result;
+            }
+
+            // Rebuild report records from bookings and reviews; re-invoke with the returned checkpoint until complete
+            if ("replay".equals(input.get("action"))) {
+                ReportReplayer.Options options = new ReportReplayer.Options();
+                if (input.containsKey("segments")) options.segments = Integer.parseInt(String.valueOf(input.get("segments")));
+                if (input.containsKey("writesPerSecond")) options.writesPerSecond = Integer.parseInt(String.valueOf(input.get("writesPerSecond")));
+                options.overwrite = Boolean.parseBoolean(String.valueOf(input.get("overwrite")));
+                ReportReplayer.Checkpoint checkpoint = input.get("checkpoint") == null ? null
+                        : objectMapper.convertValue(input.get("checkpoint"), ReportReplayer.Checkpoint.class);
+
+                ReportReplayer.Result replay = reportReplayer.run(options, checkpoint,
+                        () -> context == null ? Long.MAX_VALUE : context.getRemainingTimeInMillis(), REPLAY_RESERVE_MS, cp -> {});
+                result.put("statusCode", 200);
+                result.put("scanned", replay.scanned.get());
+                result.put("written", replay.written.get());
+                result.put("skipped", replay.skipped.get());
+                result.put("rowsPerSecond", Math.round(replay.rowsPerSecond()));
+                result.put("failedSegments", replay.failedSegments);
+                result.put("complete", replay.complete);
+                if (!replay.complete) result.put("checkpoint", replay.checkpoint);
+                return result;
+            }
+
             // Get parameters from input
             String reportType = (String) input.getOrDefault("reportType", "agent");
             String tourId = (String) input.get("tourId");
@@ -76,6 +139,7 @@ public class ReportsSender implements RequestHandler<Map<String, Object>, Map<St
             Boolean sendEmail = input.containsKey("sendEmail") ? 
                 Boolean.valueOf(String.valueOf(input.get("sendEmail"))) : 
                 false;
+            String format = String.valueOf(input.getOrDefault("format", "html"));
             
             // Get recipient email from environment variable
             String recipientEmail = System.getenv("recipient_email");
@@ -86,6 +150,7 @@ public class ReportsSender implements RequestHandler<Map<String, Object>, Map<St
             System.out.println("Period: " + period);
             System.out.println("Year: " + year);
             System.out.println("Send Email: " + sendEmail);
+            log.info("Report format: {}", format);
             
             // Validate recipient email for sending
             if (sendEmail && (recipientEmail == null || recipientEmail.isEmpty())) {
@@ -94,18 +159,41 @@ public class ReportsSender implements RequestHandler<Map<String, Object>, Map<St
                 return result;
             }
             
-            // Generate report based on type
-            if ("agent".equalsIgnoreCase(reportType)) {
-                // Get all report records and find unique agent emails
-                List<ReportRecord> allReports = reportsRepository.findAll();
-                Set<String> agentEmails = new java.util.HashSet<>();
+            // CSV export: rows are streamed to S3 and only download links are returned and emailed
+            if ("csv".equalsIgnoreCase(format)) {
+                boolean agents = "agent".equalsIgnoreCase(reportType) || "both".equalsIgnoreCase(reportType);
+                boolean sales = "sales".equalsIgnoreCase(reportType) || "both".equalsIgnoreCase(reportType);
+                if (!agents && !sales) {
+                    result.put("statusCode", 400);
+                    result.put("error", "Invalid reportType. Use 'agent', 'sales', or 'both'");
+                    return result;
+                }
                 
-                for (ReportRecord reportRecord : allReports) {
-                    if (reportRecord.getAgentEmail() != null && !reportRecord.getAgentEmail().isEmpty()) {
-                        agentEmails.add(reportRecord.getAgentEmail());
-                    }
+                Map<String, ReportCsvExporter.Export> exports = new LinkedHashMap<>();
+                if (agents) exports.put("All Travel Agents Performance Report", reportCsvExporter.exportAgents(period, year));
+                if (sales) exports.put("All Tours Sales Statistics Report", reportCsvExporter.exportTours(period, year));
+                
+                result.put("statusCode", 200);
+                result.put("period", period);
+                result.put("year", year);
+                result.put("exports", objectMapper.convertValue(exports, Map.class));
+                
+                if (sendEmail) {
+                    boolean emailSent = sendEmail(recipientEmail, "Travel Reports (CSV) - " + period + " " + year,
+                            generateExportLinksHtml(exports, period, year));
+                    result.put("emailSent", emailSent);
+                    result.put("emailRecipient", recipientEmail);
                 }
                 
+                result.put("message", "Report exported successfully");
+                return result;
+            }
+            
+            // Generate report based on type
+            if ("agent".equalsIgnoreCase(reportType)) {
+                // Unique agent emails, read with a projected scan
+                Set<String> agentEmails = reportsRepository.findAgentEmails();
+                
                 System.out.println("Found " + agentEmails.size() + " unique agents in reports");
                 
                 // Generate report for each agent
@@ -169,14 +257,7 @@ public class ReportsSender implements RequestHandler<Map<String, Object>, Map<St
                 System.out.println("Generating both agent and sales reports");
                 
                 // Generate agent reports
-                List<ReportRecord> allReports = reportsRepository.findAll();
-                Set<String> agentEmails = new java.util.HashSet<>();
-                
-                for (ReportRecord reportRecord : allReports) {
-                    if (reportRecord.getAgentEmail() != null && !reportRecord.getAgentEmail().isEmpty()) {
-                        agentEmails.add(reportRecord.getAgentEmail());
-                    }
-                }
+                Set<String> agentEmails = reportsRepository.findAgentEmails();
                 
                 System.out.println("Found " + agentEmails.size() + " unique agents in reports");
                 
@@ -322,37 +403,7 @@ public class ReportsSender implements RequestHandler<Map<String, Object>, Map<St
         return table.toString();
     }
     private String[] calculatePeriodDates(String period, Integer year) {
-        String[] dates = new String[2];
-        
-        if ("WEEKLY".equalsIgnoreCase(period)) {
-            // Current week (Monday to Sunday) - match TravelReportsServiceImpl logic
-            LocalDateTime now = LocalDateTime.now();
-            int dayOfWeek = now.getDayOfWeek().getValue(); // 1 = Monday, 7 = Sunday
-            LocalDateTime weekStart = now.minusDays(dayOfWeek - 1).withHour(0).withMinute(0).withSecond(0);
-            LocalDateTime weekEnd = now.plusDays(7 - dayOfWeek).withHour(23).withMinute(59).withSecond(59);
-            dates[0] = String.format("%02d.%02d.%d", weekStart.getDayOfMonth(), weekStart.getMonthValue(), weekStart.getYear());
-            dates[1] = String.format("%02d.%02d.%d", weekEnd.getDayOfMonth(), weekEnd.getMonthValue(), weekEnd.getYear());
-        } else if ("MONTHLY".equalsIgnoreCase(period)) {
-            int currentMonth = LocalDateTime.now().getMonthValue();
-            dates[0] = String.format("%02d.01.%d", currentMonth, year);
-            LocalDateTime endOfMonth = LocalDateTime.of(year, currentMonth, 1, 0, 0).plusMonths(1).minusDays(1);
-            dates[1] = String.format("%02d.%02d.%d", endOfMonth.getDayOfMonth(), currentMonth, year);
-        } else if ("QUARTERLY".equalsIgnoreCase(period)) {
-            int currentQuarter = (LocalDateTime.now().getMonthValue() - 1) / 3;
-            int startMonth = currentQuarter * 3 + 1;
-            int endMonth = startMonth + 2;
-            dates[0] = String.format("%02d.01.%d", startMonth, year);
-            LocalDateTime endOfQuarter = LocalDateTime.of(year, endMonth, 1, 0, 0).plusMonths(1).minusDays(1);
-            dates[1] = String.format("%02d.%02d.%d", endOfQuarter.getDayOfMonth(), endMonth, year);
-        } else if ("YEARLY".equalsIgnoreCase(period)) {
-            dates[0] = String.format("01.01.%d", year);
-            dates[1] = String.format("31.12.%d", year);
-        } else {
-            dates[0] = "N/A";
-            dates[1] = "N/A";
-        }
-        
-        return dates;
+        return ReportCsvExporter.periodDates(period, year);
     }
     
     private String getDeltaClass(Double delta) {
@@ -479,6 +530,25 @@ public class ReportsSender implements RequestHandler<Map<String, Object>, Map<St
         return table.toString();
     }
     
+    private String generateExportLinksHtml(Map<String, ReportCsvExporter.Export> exports, String period, Integer year) {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>");
+        html.append("<html><head><title>Travel Reports</title></head>");
+        html.append("<body style=\"font-family: Arial, sans-serif; margin: 20px;\">");
+        html.append("<h1>Travel Reports</h1>");
+        html.append("<p><strong>Period:</strong> ").append(period).append(" ").append(year).append("</p>");
+        html.append("<p><strong>Generated:</strong> ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))).append("</p>");
+        html.append("<ul>");
+        for (Map.Entry<String, ReportCsvExporter.Export> e : exports.entrySet()) {
+            html.append("<li><a href=\"").append(e.getValue().url.replace("&", "&amp;")).append("\">").append(e.getKey()).append("</a> (")
+                .append(e.getValue().rows).append(" rows, CSV)</li>");
+        }
+        html.append("</ul>");
+        html.append("<p style=\"color: #666;\">Download links expire; run the export again for a fresh link.</p>");
+        html.append("</body></html>");
+        return html.toString();
+    }
+    
     private boolean sendEmail(String toEmail, String subject, String htmlContent) {
         try {
             System.out.println("=== SENDING EMAIL ===");
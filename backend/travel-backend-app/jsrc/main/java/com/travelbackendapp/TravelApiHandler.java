@@ -15,7 +15,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.travelbackendapp.travelmanagement.di.DaggerAppComponent;
+import com.travelbackendapp.travelmanagement.logging.AsyncLogs;
+import com.travelbackendapp.travelmanagement.metrics.Downstream;
+import com.travelbackendapp.travelmanagement.metrics.InvocationMetrics;
+import com.travelbackendapp.travelmanagement.priming.Primer;
+import com.travelbackendapp.travelmanagement.priming.Priming;
+import com.travelbackendapp.travelmanagement.repository.CatalogVersionRepository;
 import com.travelbackendapp.travelmanagement.routing.RequestRouter;
+import com.travelbackendapp.travelmanagement.util.HttpResponses;
 
 import static com.syndicate.deployment.model.environment.ValueTransformer.USER_POOL_NAME_TO_CLIENT_ID;
 import static com.syndicate.deployment.model.environment.ValueTransformer.USER_POOL_NAME_TO_USER_POOL_ID;
@@ -43,7 +50,12 @@ import javax.inject.Inject;
         @EnvironmentVariable(key = "bookings_table", value = "${bookings_table}"),
         @EnvironmentVariable(key = "BOOKING_EVENTS_QUEUE_URL", value = "${booking_events_queue_url}"),
         @EnvironmentVariable(key = "BOOKING_DOCS_BUCKET", value = "${booking-documents-bucket}"),
+        @EnvironmentVariable(key = "BOOKING_ARCHIVE_BUCKET", value = "${booking-archive-bucket}"),
         @EnvironmentVariable(key = "documents_table", value = "${documents_table}"),
+        @EnvironmentVariable(key = "inventory_table", value = "${inventory_table}"),
+        @EnvironmentVariable(key = "tour_details_table", value = "${tour_details_table}"),
+        @EnvironmentVariable(key = "reports_table", value = "${reports_table}"),
+        @EnvironmentVariable(key = "report_snapshots_table", value = "${report_snapshots_table}"),
         @EnvironmentVariable(key = "GEMINI_API_KEY", value = "${gemini_api_key}"),
         @EnvironmentVariable(key = "GEMINI_MODEL", value = "${gemini_model}"),
         @EnvironmentVariable(key = "AVATARS_BUCKET", value = "${avatars_bucket}")
@@ -55,14 +67,29 @@ public class TravelApiHandler implements RequestHandler<APIGatewayProxyRequestEv
     private static final Logger log = LoggerFactory.getLogger(TravelApiHandler.class);
 
     @Inject RequestRouter router;
+    @Inject Primer primer;
+    @Inject CatalogVersionRepository catalogVersion;
 
     public TravelApiHandler() {
         DaggerAppComponent.create().inject(this);
+        Priming.register("travel-api-handler", () -> {
+            primer.json();
+            primer.validation();
+            primer.routes();
+            primer.aws(Downstream.DYNAMODB, Downstream.S3, Downstream.SQS, Downstream.COGNITO);
+        });
+    }
+
+    /** Runs the handler on another component's router, e.g. the in-memory one in the load test. */
+    public TravelApiHandler(RequestRouter router) {
+        this.router = router;
     }
 
     @Override
     public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent event, Context context) {
         String reqId = context != null ? context.getAwsRequestId() : "n/a";
+        InvocationMetrics metrics = InvocationMetrics.begin();
+        int status = 500;
         try {
             log.info("REQ {} path={} stage={} qs={}",
                     reqId,
@@ -72,14 +99,24 @@ public class TravelApiHandler implements RequestHandler<APIGatewayProxyRequestEv
             );
 
             APIGatewayProxyResponseEvent resp = router.route(event, context);
+            if (InvocationMetrics.CAPACITY_HEADER_ENABLED && resp != null) {
+                HttpResponses.withHeader(resp, InvocationMetrics.CAPACITY_HEADER, metrics.capacity().toString());
+            }
 
             log.info("RES {} status={}", reqId, resp != null ? resp.getStatusCode() : -1);
+            if (resp != null && resp.getStatusCode() != null) status = resp.getStatusCode();
             return resp;
         } catch (Exception e) {
             log.error("UNHANDLED {}: {}", reqId, e.getMessage(), e);
             return new APIGatewayProxyResponseEvent()
                     .withStatusCode(500)
                     .withBody("{\"error\":\"internal server error\"}");
+        } finally {
+            metrics.finish(event != null ? RequestRouter.routeOf(event) : "ANY unmatched", status,
+                    context != null ? reqId : null);
+            // the container may be frozen for good once this returns; write seat change bumps now
+            if (catalogVersion != null) catalogVersion.flush();
+            AsyncLogs.drain();
         }
     }
 }
@@ -0,0 +1,165 @@
+package com.travelbackendapp;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.travelbackendapp.travelmanagement.di.AppComponent;
+import com.travelbackendapp.travelmanagement.di.DaggerAppComponent;
+import com.travelbackendapp.travelmanagement.metrics.InvocationMetrics;
+import com.travelbackendapp.travelmanagement.repository.CatalogVersionRepository;
+import com.travelbackendapp.travelmanagement.routing.ClaimsSource;
+import com.travelbackendapp.travelmanagement.routing.HttpEventAdapter;
+import com.travelbackendapp.travelmanagement.routing.RequestRouter;
+import com.travelbackendapp.travelmanagement.util.HttpResponses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves the API routes from a long-lived process instead of one Lambda invocation per request, e.g. in a container:
+ * <pre>
+ * region=eu-west-1 table_name=tours ... \
+ * java -cp travel-backend-app.jar com.travelbackendapp.TravelApiServer --port 8080 --threads 200 --claims file:claims.json
+ * </pre>
+ * Requests go through the same {@link RequestRouter} and services as {@code travel-api-handler}; the singletons
+ * (search cache, travel agent cache, AWS clients) are shared by all concurrent requests.
+ * <p>
+ * {@code --claims} chooses who the caller is, since no Cognito authorizer runs in front of this server:
+ * {@code none}, {@code jwt} (decode the bearer id token without verifying it) or {@code file:<claims.json>}.
+ * Since anyone could forge a token for {@code jwt}, the server refuses to start with it unless {@code --host} is a
+ * loopback address. Run it only behind something that authenticates, or locally.
+ * <p>
+ * On SIGTERM the server stops accepting connections and waits up to {@code --shutdown-seconds} in total for
+ * requests in flight.
+ */
+public class TravelApiServer {
+
+    private static final Logger log = LoggerFactory.getLogger(TravelApiServer.class);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int shutdownSeconds;
+
+    TravelApiServer(RequestRouter router, CatalogVersionRepository catalogVersion, ClaimsSource claims,
+                    InetSocketAddress address, int threads, int queue, int shutdownSeconds) throws IOException {
+        this.server = HttpServer.create(address, 0);
+        this.executor = workers(threads, queue);
+        this.shutdownSeconds = shutdownSeconds;
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> handle(router, catalogVersion, claims, exchange));
+    }
+
+    public static void main(String[] args) throws IOException {
+        String host = "0.0.0.0";
+        int port = 8080;
+        int threads = 200;
+        int queue = 1000;
+        int shutdownSeconds = 20;
+        String claims = "none";
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--host": host = args[++i]; break;
+                case "--port": port = Integer.parseInt(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--queue": queue = Integer.parseInt(args[++i]); break;
+                case "--shutdown-seconds": shutdownSeconds = Integer.parseInt(args[++i]); break;
+                case "--claims": claims = args[++i]; break;
+                default:
+                    System.err.println("usage: TravelApiServer [--host H] [--port N] [--threads N] [--queue N] [--shutdown-seconds N] [--claims none|jwt|file:<path>]");
+                    System.exit(2);
+            }
+        }
+
+        InetSocketAddress address = new InetSocketAddress(host, port);
+        if ("jwt".equals(claims)) {
+            if (address.isUnresolved() || !address.getAddress().isLoopbackAddress()) {
+                System.err.println("--claims jwt does not verify token signatures; it is only allowed with a loopback --host, not " + host);
+                System.exit(2);
+            }
+            log.warn("--claims jwt: bearer tokens are decoded WITHOUT signature verification, any caller can claim any role");
+        }
+
+        ClaimsSource claimsSource = ClaimsSource.parse(claims, new ObjectMapper());
+        AppComponent component = DaggerAppComponent.create();
+        TravelApiServer server = new TravelApiServer(component.requestRouter(), component.catalogVersion(), claimsSource,
+                address, threads, queue, shutdownSeconds);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "api-server-shutdown"));
+        server.start();
+        log.info("Listening on {}:{} with {} worker threads (claims: {})", host, port, threads, claims);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting, lets in-flight requests finish, then stops the workers; both waits share one budget of
+     * {@code shutdownSeconds}.
+     */
+    void stop() {
+        log.info("Shutting down, waiting up to {}s for requests in flight", shutdownSeconds);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(shutdownSeconds);
+        server.stop(shutdownSeconds);   // returns once the exchanges finished, or after the delay
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS)) {
+                log.warn("{} requests still running after {}s, interrupting", ((ThreadPoolExecutor) executor).getActiveCount(), shutdownSeconds);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void handle(RequestRouter router, CatalogVersionRepository catalogVersion, ClaimsSource claims,
+                               HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        InvocationMetrics metrics = InvocationMetrics.begin();
+        String route = exchange.getRequestMethod() + " unmatched";
+        APIGatewayProxyResponseEvent resp;
+        try {
+            APIGatewayProxyRequestEvent event = HttpEventAdapter.toEvent(exchange, claims);
+            route = RequestRouter.routeOf(event);
+            resp = router.route(event, null);
+            if (InvocationMetrics.CAPACITY_HEADER_ENABLED && resp != null) {
+                HttpResponses.withHeader(resp, InvocationMetrics.CAPACITY_HEADER, metrics.capacity().toString());
+            }
+        } catch (Exception e) {
+            log.error("UNHANDLED {} {}: {}", exchange.getRequestMethod(), exchange.getRequestURI().getPath(), e.getMessage(), e);
+            resp = new APIGatewayProxyResponseEvent()
+                    .withStatusCode(500)
+                    .withBody("{\"error\":\"internal server error\"}");
+        }
+        metrics.finish(route, resp != null && resp.getStatusCode() != null ? resp.getStatusCode() : 500, null);
+        HttpEventAdapter.write(exchange, resp);
+        catalogVersion.flush();
+        log.info("RES {} {} status={} {}ms", exchange.getRequestMethod(), exchange.getRequestURI().getPath(),
+                resp != null ? resp.getStatusCode() : -1, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * A bounded pool: once {@code threads} are busy and {@code queue} exchanges wait, the accepting thread runs the
+     * next exchange itself, which stops it accepting until a worker frees up instead of queueing without limit.
+     */
+    private static ExecutorService workers(int threads, int queue) {
+        AtomicInteger n = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, "api-worker-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queue),
+                factory, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -2,6 +2,8 @@
 package com.travelbackendapp.travelmanagement.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelbackendapp.travelmanagement.metrics.Downstream;
+import com.travelbackendapp.travelmanagement.metrics.InvocationMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,7 +50,15 @@ public class GeminiClient {
                     .POST(HttpRequest.BodyPublishers.ofString(json))
                     .build();
 
-            HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
+            long sent = System.nanoTime();
+            HttpResponse<String> resp;
+            try {
+                resp = http.send(req, HttpResponse.BodyHandlers.ofString());
+            } catch (Exception e) {
+                InvocationMetrics.record(Downstream.GEMINI, System.nanoTime() - sent, true);
+                throw e;
+            }
+            InvocationMetrics.record(Downstream.GEMINI, System.nanoTime() - sent, resp.statusCode() / 100 != 2);
             if (resp.statusCode() / 100 != 2) {
                 log.error("Gemini HTTP {}: {}", resp.statusCode(), resp.body());
                 return "Sorry, I couldn’t generate a response right now.";
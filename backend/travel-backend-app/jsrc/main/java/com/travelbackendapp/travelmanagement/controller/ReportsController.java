@@ -0,0 +1,84 @@
+package com.travelbackendapp.travelmanagement.controller;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelbackendapp.travelmanagement.model.api.request.RebuildReportSnapshotsRequest;
+import com.travelbackendapp.travelmanagement.model.entity.ReportSnapshot;
+import com.travelbackendapp.travelmanagement.routing.CallerContext;
+import com.travelbackendapp.travelmanagement.service.TravelReportsService;
+import com.travelbackendapp.travelmanagement.util.HttpResponses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.travelbackendapp.travelmanagement.util.RequestUtils.isBlank;
+
+@Singleton
+public class ReportsController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportsController.class);
+
+    private final TravelReportsService reportsService;
+    private final ObjectMapper mapper;
+    private final Validator validator;
+
+    @Inject
+    public ReportsController(TravelReportsService reportsService, ObjectMapper mapper, Validator validator) {
+        this.reportsService = reportsService;
+        this.mapper = mapper;
+        this.validator = validator;
+    }
+
+    /** POST /admin/reports/snapshots/rebuild: invalidates closed-period snapshots and recomputes them. */
+    public APIGatewayProxyResponseEvent rebuildSnapshots(APIGatewayProxyRequestEvent event, CallerContext caller, Context ctx) {
+        try {
+            String callerEmail = caller.email();
+
+            if (!caller.hasEmail()) {
+                return HttpResponses.error(mapper, 401, "authentication required");
+            }
+            if (!caller.is(CallerContext.Role.ADMIN)) {
+                return HttpResponses.error(mapper, 403, "only admins can rebuild report snapshots");
+            }
+            if (!caller.isRegisteredAdmin()) {
+                return HttpResponses.error(mapper, 403, "not a registered admin");
+            }
+
+            RebuildReportSnapshotsRequest body;
+            try {
+                body = mapper.readValue(event.getBody(), RebuildReportSnapshotsRequest.class);
+            } catch (Exception e) {
+                return HttpResponses.error(mapper, 400, "invalid json body");
+            }
+            if (body == null) {
+                return HttpResponses.error(mapper, 400, "invalid json body");
+            }
+
+            var violations = validator.validate(body);
+            if (!violations.isEmpty()) {
+                String msg = violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.joining(", "));
+                return HttpResponses.error(mapper, 400, msg);
+            }
+            if (!ReportSnapshot.ALL.equals(body.scope) && isBlank(body.id)) {
+                return HttpResponses.error(mapper, 400, "id is required for scope " + body.scope);
+            }
+
+            Map<String, Object> result = reportsService.rebuildSnapshots(body.scope, body.id, body.period, body.year);
+            log.info("Report snapshots rebuilt by admin {}: {}", callerEmail, result);
+            return HttpResponses.json(mapper, 200, result);
+
+        } catch (Exception e) {
+            log.error("rebuildSnapshots failed", e);
+            return HttpResponses.error(mapper, 500, "internal server error");
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.travelbackendapp.travelmanagement.cron;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.syndicate.deployment.annotations.environment.EnvironmentVariable;
+import com.syndicate.deployment.annotations.environment.EnvironmentVariables;
+import com.syndicate.deployment.annotations.lambda.LambdaHandler;
+import com.travelbackendapp.travelmanagement.di.DaggerAppComponent;
+import com.travelbackendapp.travelmanagement.logging.AsyncLogs;
+import com.travelbackendapp.travelmanagement.metrics.Downstream;
+import com.travelbackendapp.travelmanagement.metrics.InvocationMetrics;
+import com.travelbackendapp.travelmanagement.priming.Primer;
+import com.travelbackendapp.travelmanagement.priming.Priming;
+import com.travelbackendapp.travelmanagement.service.BookingArchiver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Locale;
+
+/**
+ * Nightly move of old FINISHED and CANCELLED bookings to the S3 archive, leaving tombstones in the bookings table.
+ * Stops a minute before the Lambda timeout; the next run continues where the scan left off.
+ */
+@LambdaHandler(
+        lambdaName = "booking-archiver",
+        roleName = "travel-api-handler-role",
+        memory = 1024,
+        timeout = 900
+)
+@EnvironmentVariables({
+        @EnvironmentVariable(key = "table_name", value = "${target_table}"),
+        @EnvironmentVariable(key = "region", value = "${region}"),
+        @EnvironmentVariable(key = "bookings_table", value = "${bookings_table}"),
+        @EnvironmentVariable(key = "documents_table", value = "${documents_table}"),
+        @EnvironmentVariable(key = "BOOKING_ARCHIVE_BUCKET", value = "${booking-archive-bucket}"),
+        @EnvironmentVariable(key = "archive_after_days", value = "${archive_after_days}")
+})
+public class BookingArchiveCronHandler implements RequestHandler<Object, String> {
+    private static final Logger log = LoggerFactory.getLogger(BookingArchiveCronHandler.class);
+
+    private static final long RESERVE_MS = 60_000;
+
+    @Inject BookingArchiver archiver;
+    @Inject Primer primer;
+
+    public BookingArchiveCronHandler() {
+        DaggerAppComponent.create().inject(this);
+        Priming.register("booking-archiver", () -> {
+            primer.json();
+            primer.aws(Downstream.DYNAMODB, Downstream.S3);
+        });
+    }
+
+    @Override
+    public String handleRequest(Object input, Context context) {
+        InvocationMetrics metrics = InvocationMetrics.begin();
+        try {
+            return archive(input, context);
+        } finally {
+            metrics.finishJob("booking-archiver");
+            AsyncLogs.drain();
+        }
+    }
+
+    private String archive(Object input, Context context) {
+        BookingArchiver.Result r = archiver.run(LocalDate.now(ZoneOffset.UTC),
+                () -> context == null ? Long.MAX_VALUE : context.getRemainingTimeInMillis(), RESERVE_MS);
+
+        String result = String.format(Locale.ROOT,
+                "{\"startedBefore\":\"%s\",\"bookings\":%d,\"documents\":%d,\"objects\":%d,\"complete\":%b}",
+                r.startedBefore, r.bookings, r.documents, r.objects, r.complete);
+        log.info("Booking archive result {}", result);
+        return result;
+    }
+}
@@ -6,7 +6,12 @@ import com.syndicate.deployment.annotations.environment.EnvironmentVariable;
 import com.syndicate.deployment.annotations.environment.EnvironmentVariables;
 import com.syndicate.deployment.annotations.lambda.LambdaHandler;
 import com.travelbackendapp.travelmanagement.di.DaggerAppComponent;
+import com.travelbackendapp.travelmanagement.logging.AsyncLogs;
+import com.travelbackendapp.travelmanagement.metrics.Downstream;
+import com.travelbackendapp.travelmanagement.metrics.InvocationMetrics;
 import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
+import com.travelbackendapp.travelmanagement.priming.Primer;
+import com.travelbackendapp.travelmanagement.priming.Priming;
 import com.travelbackendapp.travelmanagement.repository.BookingsStatusRepository;
 import com.travelbackendapp.travelmanagement.service.BookingEventPublisher;
 import org.slf4j.Logger;
@@ -35,13 +40,28 @@ public class BookingStatusCronHandler implements RequestHandler<Object, String>
 
     @Inject BookingsStatusRepository bookingsRepo;
     @Inject BookingEventPublisher eventPublisher;
+    @Inject Primer primer;
 
     public BookingStatusCronHandler() {
         DaggerAppComponent.create().inject(this);
+        Priming.register("booking-status-updater", () -> {
+            primer.json();
+            primer.aws(Downstream.DYNAMODB, Downstream.SQS);
+        });
     }
 
     @Override
     public String handleRequest(Object input, Context context) {
+        InvocationMetrics metrics = InvocationMetrics.begin();
+        try {
+            return updateStatuses(input, context);
+        } finally {
+            metrics.finishJob("booking-status-updater");
+            AsyncLogs.drain();
+        }
+    }
+
+    private String updateStatuses(Object input, Context context) {
         LocalDate today = LocalDate.now(ZoneOffset.UTC);
         int scanned = 0;
         int setFinished = 0;
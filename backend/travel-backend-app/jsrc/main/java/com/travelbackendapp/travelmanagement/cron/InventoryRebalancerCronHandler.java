@@ -0,0 +1,82 @@
+package com.travelbackendapp.travelmanagement.cron;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.syndicate.deployment.annotations.environment.EnvironmentVariable;
+import com.syndicate.deployment.annotations.environment.EnvironmentVariables;
+import com.syndicate.deployment.annotations.lambda.LambdaHandler;
+import com.travelbackendapp.travelmanagement.di.DaggerAppComponent;
+import com.travelbackendapp.travelmanagement.logging.AsyncLogs;
+import com.travelbackendapp.travelmanagement.metrics.Downstream;
+import com.travelbackendapp.travelmanagement.metrics.InvocationMetrics;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import com.travelbackendapp.travelmanagement.priming.Primer;
+import com.travelbackendapp.travelmanagement.priming.Priming;
+import com.travelbackendapp.travelmanagement.repository.TourInventoryRepository;
+import com.travelbackendapp.travelmanagement.repository.ToursRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import java.util.Locale;
+
+/**
+ * Periodically evens out seats across the inventory shards of sharded tours,
+ * so sticky shard choice on booking keeps landing on a shard with capacity.
+ */
+@LambdaHandler(
+        lambdaName = "inventory-rebalancer",
+        roleName = "travel-api-handler-role",
+        memory = 512,
+        timeout = 60
+)
+@EnvironmentVariables({
+        @EnvironmentVariable(key = "table_name", value = "${target_table}"),
+        @EnvironmentVariable(key = "region", value = "${region}"),
+        @EnvironmentVariable(key = "inventory_table", value = "${inventory_table}")
+})
+public class InventoryRebalancerCronHandler implements RequestHandler<Object, String> {
+    private static final Logger log = LoggerFactory.getLogger(InventoryRebalancerCronHandler.class);
+
+    @Inject ToursRepository toursRepo;
+    @Inject TourInventoryRepository inventoryRepo;
+    @Inject Primer primer;
+
+    public InventoryRebalancerCronHandler() {
+        DaggerAppComponent.create().inject(this);
+        Priming.register("inventory-rebalancer", () -> {
+            primer.json();
+            primer.aws(Downstream.DYNAMODB);
+        });
+    }
+
+    @Override
+    public String handleRequest(Object input, Context context) {
+        InvocationMetrics metrics = InvocationMetrics.begin();
+        try {
+            return rebalance(input, context);
+        } finally {
+            metrics.finishJob("inventory-rebalancer");
+            AsyncLogs.drain();
+        }
+    }
+
+    private String rebalance(Object input, Context context) {
+        int tours = 0;
+        int moved = 0;
+
+        for (TourItem t : toursRepo.findShardedTours()) {
+            if (!TourInventoryRepository.isSharded(t)) continue;
+            tours++;
+            try {
+                moved += inventoryRepo.rebalance(t.getTourId(), t.getInventoryShards());
+            } catch (Exception ex) {
+                log.warn("Skip rebalance for tourId={} due to error: {}", t.getTourId(), ex.toString());
+            }
+        }
+
+        String result = String.format(Locale.ROOT, "{\"tours\":%d,\"seatsMoved\":%d}", tours, moved);
+        log.info("Inventory rebalance result {}", result);
+        return result;
+    }
+}
@@ -3,8 +3,11 @@ package com.travelbackendapp.travelmanagement.di;
 import com.travelbackendapp.BookingEventHandler;
 import com.travelbackendapp.ReportsSender;
 import com.travelbackendapp.TravelApiHandler;
-import com.travelbackendapp.ReportsSender;
+import com.travelbackendapp.travelmanagement.cron.BookingArchiveCronHandler;
 import com.travelbackendapp.travelmanagement.cron.BookingStatusCronHandler;
+import com.travelbackendapp.travelmanagement.cron.InventoryRebalancerCronHandler;
+import com.travelbackendapp.travelmanagement.repository.CatalogVersionRepository;
+import com.travelbackendapp.travelmanagement.service.ReportReplayer;
 import dagger.Component;
 import javax.inject.Singleton;
 
@@ -12,11 +15,20 @@ import javax.inject.Singleton;
 @Component(modules = {
         InfraModule.class,
         AwsModule.class,
+        DynamoDbRepositoryModule.class,
         ServiceModule.class
 })
-public interface AppComponent {
+public interface AppComponent extends LoadTestGraph {
     void inject(TravelApiHandler handler);
     void inject(BookingEventHandler handler);
     void inject(BookingStatusCronHandler handler);
+    void inject(InventoryRebalancerCronHandler handler);
+    void inject(BookingArchiveCronHandler handler);
     void inject(ReportsSender handler);
+
+    /** For the command-line report replay, which has no handler to inject into. */
+    ReportReplayer reportReplayer();
+
+    /** For {@code TravelApiServer}, which flushes seat change bumps after each response. */
+    CatalogVersionRepository catalogVersion();
 }
@@ -2,7 +2,13 @@ package com.travelbackendapp.travelmanagement.di;
 
 import dagger.Module;
 import dagger.Provides;
+import com.travelbackendapp.travelmanagement.metrics.ConsumedCapacityInterceptor;
+import com.travelbackendapp.travelmanagement.metrics.Downstream;
+import com.travelbackendapp.travelmanagement.metrics.MetricsInterceptor;
+import com.travelbackendapp.travelmanagement.metrics.TracingInterceptor;
+import com.travelbackendapp.travelmanagement.priming.DryRunInterceptor;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
@@ -13,6 +19,8 @@ import software.amazon.awssdk.services.sqs.SqsClient;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
+import java.net.URI;
+import java.util.function.Consumer;
 
 @Module
 public class AwsModule {
@@ -20,7 +28,11 @@ public class AwsModule {
     @Provides
     @Singleton
     DynamoDbClient dynamoDbClient() {
-        return DynamoDbClient.builder().build();
+        var builder = DynamoDbClient.builder().overrideConfiguration(metered(Downstream.DYNAMODB)
+                .andThen(c -> c.addExecutionInterceptor(new ConsumedCapacityInterceptor())));
+        URI endpoint = endpointOverride();
+        if (endpoint != null) builder.endpointOverride(endpoint);
+        return builder.build();
     }
 
     @Provides
@@ -32,13 +44,13 @@ public class AwsModule {
     @Provides
     @Singleton
     CognitoIdentityProviderClient cognitoClient() {
-        return CognitoIdentityProviderClient.builder().build();
+        return CognitoIdentityProviderClient.builder().overrideConfiguration(metered(Downstream.COGNITO)).build();
     }
 
     @Provides
     @Singleton
     SqsClient sqsClient() {
-        return SqsClient.builder().build();
+        return SqsClient.builder().overrideConfiguration(metered(Downstream.SQS)).build();
     }
 
     @Provides
@@ -53,9 +65,28 @@ public class AwsModule {
 
     @Provides @Singleton
     S3Client s3(@Named("AWS_REGION") String awsRegion) {
-        return S3Client.builder()
+        var builder = S3Client.builder()
                 .region(software.amazon.awssdk.regions.Region.of(awsRegion))
-                .build();
+                .overrideConfiguration(metered(Downstream.S3));
+        URI endpoint = endpointOverride();
+        if (endpoint != null) builder.endpointOverride(endpoint).forcePathStyle(true);
+        return builder.build();
+    }
+
+    /**
+     * Counts and times the client's calls in the EMF line of the request that made them, and traces each as a span.
+     * The priming dry run goes last, so the calls it stops have passed every other interceptor.
+     */
+    static Consumer<ClientOverrideConfiguration.Builder> metered(Downstream downstream) {
+        return c -> c.addExecutionInterceptor(new MetricsInterceptor(downstream))
+                .addExecutionInterceptor(new TracingInterceptor())
+                .addExecutionInterceptor(new DryRunInterceptor());
+    }
+
+    /** Optional 'aws_endpoint_url' points DynamoDB and S3 at a local stand-in (e.g. LocalStack); unset in AWS. */
+    static URI endpointOverride() {
+        String v = System.getenv("aws_endpoint_url");
+        return v == null || v.isBlank() ? null : URI.create(v.trim());
     }
 
     @Provides @Named("AVATARS_BUCKET")
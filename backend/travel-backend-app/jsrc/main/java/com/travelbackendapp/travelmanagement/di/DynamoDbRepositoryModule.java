@@ -0,0 +1,63 @@
+package com.travelbackendapp.travelmanagement.di;
+
+import com.travelbackendapp.travelmanagement.metrics.Traced;
+import com.travelbackendapp.travelmanagement.repository.*;
+import dagger.Module;
+import dagger.Provides;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/** Repositories backed by DynamoDB, each call traced as a span; the deployed handlers use this module. */
+@Module
+public class DynamoDbRepositoryModule {
+
+    @Provides
+    ToursRepository toursRepository(DynamoDbToursRepository impl) {
+        return Traced.of(ToursRepository.class, impl);
+    }
+
+    @Provides
+    BookingsRepository bookingsRepository(DynamoDbBookingsRepository impl) {
+        return Traced.of(BookingsRepository.class, impl);
+    }
+
+    @Provides
+    BookingsStatusRepository bookingsStatusRepository(DynamoDbBookingsStatusRepository impl) {
+        return Traced.of(BookingsStatusRepository.class, impl);
+    }
+
+    @Provides
+    ReviewsRepository reviewsRepository(DynamoDbReviewsRepository impl) {
+        return Traced.of(ReviewsRepository.class, impl);
+    }
+
+    @Provides
+    TravelAgentRepository travelAgentRepository(DynamoDbTravelAgentRepository impl) {
+        return Traced.of(TravelAgentRepository.class, impl);
+    }
+
+    @Provides
+    TourInventoryRepository tourInventoryRepository(DynamoDbTourInventoryRepository impl) {
+        return Traced.of(TourInventoryRepository.class, impl);
+    }
+
+    @Provides
+    CatalogVersionRepository catalogVersionRepository(DynamoDbCatalogVersionRepository impl) {
+        return Traced.of(CatalogVersionRepository.class, impl);
+    }
+
+    @Provides
+    @Singleton
+    ReportsRepository reportsRepository(DynamoDbClient dynamoDbClient,
+                                        @Named("REPORTS_TABLE") String tableName) {
+        return Traced.of(ReportsRepository.class, new DynamoDbReportsRepository(dynamoDbClient, tableName));
+    }
+
+    @Provides @Singleton
+    DocumentsRepository documentsRepository(DynamoDbClient dynamoDbClient,
+                                            @Named("documents_table") String tableName) {
+        return Traced.of(DocumentsRepository.class, new DynamoDbDocumentsRepository(dynamoDbClient, tableName));
+    }
+}
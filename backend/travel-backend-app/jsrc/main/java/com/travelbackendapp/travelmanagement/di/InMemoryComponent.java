@@ -0,0 +1,19 @@
+package com.travelbackendapp.travelmanagement.di;
+
+import dagger.Component;
+
+import javax.inject.Singleton;
+
+/**
+ * The API services over the in-memory repositories, with {@link OfflineAwsModule} in place of the AWS clients.
+ * Used by the load test tool to generate data and replay requests without any AWS resources.
+ */
+@Singleton
+@Component(modules = {
+        InfraModule.class,
+        OfflineAwsModule.class,
+        InMemoryRepositoryModule.class,
+        ServiceModule.class
+})
+public interface InMemoryComponent extends LoadTestGraph {
+}
@@ -0,0 +1,59 @@
+package com.travelbackendapp.travelmanagement.di;
+
+import com.travelbackendapp.travelmanagement.repository.*;
+import com.travelbackendapp.travelmanagement.repository.memory.*;
+import dagger.Module;
+import dagger.Provides;
+
+/**
+ * Drop-in replacement for {@link DynamoDbRepositoryModule} that keeps every repository in process memory, for load
+ * tests and benchmarks that should exercise the services without AWS. Nothing survives the process.
+ */
+@Module
+public class InMemoryRepositoryModule {
+
+    @Provides
+    ToursRepository toursRepository(InMemoryToursRepository impl) {
+        return impl;
+    }
+
+    @Provides
+    BookingsRepository bookingsRepository(InMemoryBookingsRepository impl) {
+        return impl;
+    }
+
+    @Provides
+    BookingsStatusRepository bookingsStatusRepository(InMemoryBookingsStatusRepository impl) {
+        return impl;
+    }
+
+    @Provides
+    ReviewsRepository reviewsRepository(InMemoryReviewsRepository impl) {
+        return impl;
+    }
+
+    @Provides
+    TravelAgentRepository travelAgentRepository(InMemoryTravelAgentRepository impl) {
+        return impl;
+    }
+
+    @Provides
+    TourInventoryRepository tourInventoryRepository(InMemoryTourInventoryRepository impl) {
+        return impl;
+    }
+
+    @Provides
+    CatalogVersionRepository catalogVersionRepository(InMemoryCatalogVersionRepository impl) {
+        return impl;
+    }
+
+    @Provides
+    ReportsRepository reportsRepository(InMemoryReportsRepository impl) {
+        return impl;
+    }
+
+    @Provides
+    DocumentsRepository documentsRepository(InMemoryDocumentsRepository impl) {
+        return impl;
+    }
+}
@@ -2,15 +2,22 @@ package com.travelbackendapp.travelmanagement.di;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.travelbackendapp.travelmanagement.metrics.InvocationMetrics;
+import com.travelbackendapp.travelmanagement.validation.PrecompiledValidator;
 import dagger.Module;
 import dagger.Provides;
 
 import javax.validation.Validation;
 import javax.validation.Validator;
-import javax.validation.ValidatorFactory;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Module
 public class InfraModule {
@@ -45,11 +52,14 @@ public class InfraModule {
         return v;
     }
 
+    /**
+     * Request DTOs are validated by the validators generated for them at build time; Hibernate Validator is only
+     * bootstrapped for what those leave to it.
+     */
     @Provides
     @Singleton
     Validator validator() {
-        ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
-        return factory.getValidator();
+        return new PrecompiledValidator(() -> Validation.buildDefaultValidatorFactory().getValidator());
     }
 
     @Provides
@@ -79,6 +89,15 @@ public class InfraModule {
         return v;
     }
 
+    @Provides
+    @Singleton
+    @Named("REPORT_SNAPSHOTS_TABLE")
+    String reportSnapshotsTableName() {
+        String v = System.getenv("report_snapshots_table");
+        if (v == null || v.isEmpty()) throw new IllegalStateException("Missing env var 'report_snapshots_table'");
+        return v;
+    }
+
     @Provides @Singleton @Named("BOOKING_DOCS_BUCKET")
     String bookingDocsBucket() {
         String v = System.getenv("BOOKING_DOCS_BUCKET");
@@ -93,6 +112,68 @@ public class InfraModule {
         return v;
     }
 
+    @Provides @Singleton @Named("INVENTORY_TABLE")
+    String inventoryTableName() {
+        String v = System.getenv("inventory_table");
+        if (v == null || v.isEmpty()) throw new IllegalStateException("Missing env var 'inventory_table'");
+        return v;
+    }
+
+    /** Optional: archived bookings go to the documents bucket when no dedicated bucket is configured. */
+    @Provides @Singleton @Named("BOOKING_ARCHIVE_BUCKET")
+    String bookingArchiveBucket(@Named("BOOKING_DOCS_BUCKET") javax.inject.Provider<String> docsBucket) {
+        String v = System.getenv("BOOKING_ARCHIVE_BUCKET");
+        return v == null || v.isBlank() ? docsBucket.get() : v.trim();
+    }
+
+    /** Optional: report CSV exports go to the documents bucket when no dedicated bucket is configured. */
+    @Provides @Singleton @Named("REPORTS_EXPORT_BUCKET")
+    String reportsExportBucket(@Named("BOOKING_DOCS_BUCKET") javax.inject.Provider<String> docsBucket) {
+        String v = System.getenv("REPORTS_EXPORT_BUCKET");
+        return v == null || v.isBlank() ? docsBucket.get() : v.trim();
+    }
+
+    /** Age in days (by trip start) after which FINISHED and CANCELLED bookings are archived; defaults to 365. */
+    @Provides @Singleton @Named("ARCHIVE_AFTER_DAYS")
+    int archiveAfterDays() {
+        String v = System.getenv("archive_after_days");
+        if (v == null || v.isBlank()) return 365;
+        try {
+            int days = Integer.parseInt(v.trim());
+            if (days < 1) throw new IllegalStateException("Env var 'archive_after_days' must be positive");
+            return days;
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Env var 'archive_after_days' must be a number of days");
+        }
+    }
+
+    /** Optional: when unset, tours keep their details content inline (no hot/cold split). */
+    @Provides @Singleton @Named("TOUR_DETAILS_TABLE")
+    String tourDetailsTableName() {
+        String v = System.getenv("tour_details_table");
+        return v == null ? "" : v.trim();
+    }
+
+    /**
+     * Small daemon pool for overlapping independent DynamoDB reads on a request path. Tasks run in the submitting
+     * request's {@link InvocationMetrics}, so their calls show up in its EMF line.
+     */
+    @Provides @Singleton @Named("ioExecutor")
+    ExecutorService ioExecutor() {
+        AtomicInteger n = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, "io-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        return new ThreadPoolExecutor(8, 8, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), factory) {
+            @Override
+            public void execute(Runnable command) {
+                super.execute(InvocationMetrics.propagate(command));
+            }
+        };
+    }
+
     @Provides @Singleton @Named("AWS_REGION")
     String awsRegion() {
         String v = System.getenv("region");
@@ -0,0 +1,16 @@
+package com.travelbackendapp.travelmanagement.di;
+
+import com.travelbackendapp.travelmanagement.loadtest.DatasetGenerator;
+import com.travelbackendapp.travelmanagement.repository.ToursRepository;
+import com.travelbackendapp.travelmanagement.routing.RequestRouter;
+
+/** What the load test tool needs from a component; {@link AppComponent} and {@link InMemoryComponent} both provide it. */
+public interface LoadTestGraph {
+
+    /** For the standalone HTTP server and the load replay, which build their handler around it. */
+    RequestRouter requestRouter();
+
+    ToursRepository toursRepository();
+
+    DatasetGenerator datasetGenerator();
+}
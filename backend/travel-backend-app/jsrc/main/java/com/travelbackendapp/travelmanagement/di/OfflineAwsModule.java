@@ -0,0 +1,93 @@
+package com.travelbackendapp.travelmanagement.di;
+
+import dagger.Module;
+import dagger.Provides;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+import software.amazon.awssdk.services.cognitoidentityprovider.model.ListUsersResponse;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Stand-in for {@link AwsModule} when nothing may leave the process: booking events are accepted and dropped,
+ * Cognito knows no users, and every other AWS call fails with {@link UnsupportedOperationException}. Only the
+ * routes that need no more than that (search, details, reviews, bookings) work against it.
+ */
+@Module
+public class OfflineAwsModule {
+
+    @Provides
+    @Singleton
+    DynamoDbClient dynamoDbClient() {
+        return offline(DynamoDbClient.class, Map.of());
+    }
+
+    /** Tables can be created, so repositories that open one on construction still build; using them fails. */
+    @Provides
+    @Singleton
+    DynamoDbEnhancedClient enhancedClient() {
+        return offline(DynamoDbEnhancedClient.class, Map.of("table", () -> offline(DynamoDbTable.class, Map.of())));
+    }
+
+    @Provides
+    @Singleton
+    CognitoIdentityProviderClient cognitoClient() {
+        return offline(CognitoIdentityProviderClient.class, Map.of("listUsers", () -> ListUsersResponse.builder().build()));
+    }
+
+    @Provides
+    @Singleton
+    SqsClient sqsClient() {
+        return offline(SqsClient.class, Map.of("sendMessage",
+                () -> SendMessageResponse.builder().messageId(UUID.randomUUID().toString()).build()));
+    }
+
+    @Provides
+    @Named("userPoolId")
+    String userPoolId() {
+        return "offline";
+    }
+
+    @Provides @Singleton
+    S3Client s3() {
+        return offline(S3Client.class, Map.of());
+    }
+
+    @Provides @Named("AVATARS_BUCKET")
+    static String avatarsBucket() {
+        return "offline";
+    }
+
+    @Provides @Singleton
+    S3Presigner s3Presigner() {
+        return offline(S3Presigner.class, Map.of());
+    }
+
+    /** A {@code type} whose methods named in {@code answers} return the supplied value; all others throw. */
+    @SuppressWarnings("unchecked")
+    static <T> T offline(Class<T> type, Map<String, Supplier<Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "hashCode": if (args == null) return System.identityHashCode(proxy); break;
+                case "equals": if (args != null && args.length == 1) return proxy == args[0]; break;
+                case "toString": if (args == null) return "offline " + type.getSimpleName(); break;
+                case "close": if (args == null) return null; break;
+                default: break;
+            }
+            Supplier<Object> answer = answers.get(method.getName());
+            if (answer != null) return answer.get();
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not available offline");
+        });
+    }
+}
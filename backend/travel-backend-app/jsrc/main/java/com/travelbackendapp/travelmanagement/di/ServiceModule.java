@@ -1,6 +1,7 @@
 package com.travelbackendapp.travelmanagement.di;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelbackendapp.travelmanagement.metrics.Traced;
 import com.travelbackendapp.travelmanagement.repository.*;
 
 import com.travelbackendapp.travelmanagement.service.*;
@@ -9,12 +10,12 @@ import com.travelbackendapp.travelmanagement.util.S3DocumentsStorage;
 import dagger.Module;
 import dagger.Provides;
 import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.sqs.SqsClient;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.validation.Validator;
+import java.util.concurrent.ExecutorService;
 
 @Module
 public class ServiceModule {
@@ -26,8 +27,11 @@ public class ServiceModule {
                                      BookingsRepository bookingsRepo, ObjectMapper mapper, Validator validator,
                                      CognitoIdentityProviderClient cognitoClient,
                                      @Named("userPoolId") String userPoolId,
-                                     TravelAgentRepository travelAgentRepository) {
-        return new ToursServiceImpl(toursRepository, reviewsRepo, bookingsRepo, mapper, validator, cognitoClient, userPoolId, travelAgentRepository);
+                                     TourInventoryRepository inventoryRepo,
+                                     PricingEngine pricingEngine,
+                                     ToursSearchCache searchCache,
+                                     CatalogVersionRepository catalogVersion) {
+        return Traced.of(ToursService.class, new ToursServiceImpl(toursRepository, reviewsRepo, bookingsRepo, mapper, validator, cognitoClient, userPoolId, inventoryRepo, pricingEngine, searchCache, catalogVersion));
     }
 
 
@@ -36,7 +40,7 @@ public class ServiceModule {
     AuthService provideAuthService(CognitoIdentityProviderClient cognitoClient, 
                                    @Named("userPoolId") String userPoolId,
                                    TravelAgentRepository travelAgentRepository) {
-        return new AuthServiceImpl(cognitoClient, userPoolId, travelAgentRepository);
+        return Traced.of(AuthService.class, new AuthServiceImpl(cognitoClient, userPoolId, travelAgentRepository));
     }
 
     @Provides
@@ -44,9 +48,13 @@ public class ServiceModule {
     public BookingsService provideBookingsService(ObjectMapper mapper, ToursRepository toursRepo, BookingsRepository bookingsRepo, TravelAgentRepository travelAgentRepo,
                                                   BookingsStatusRepository bookingsStatusRepo, BookingEventPublisher eventPublisher,
                                                   S3DocumentsStorage s3DocumentsStorage, DocumentsRepository documentsRepository,
+                                                  TourInventoryRepository inventoryRepo, PricingEngine pricingEngine,
+                                                  @Named("ioExecutor") ExecutorService ioExecutor,
+                                                  CatalogVersionRepository catalogVersion,
+                                                  BookingArchiveRepository archiveRepo,
                                                   @Named("BOOKING_DOCS_BUCKET") String bookingDocsBucket,
                                                   @Named("AWS_REGION") String awsRegion) {
-        return new BookingsServiceImpl(mapper, toursRepo, bookingsRepo, travelAgentRepo, bookingsStatusRepo, eventPublisher, s3DocumentsStorage, documentsRepository, bookingDocsBucket, awsRegion);
+        return Traced.of(BookingsService.class, new BookingsServiceImpl(mapper, toursRepo, bookingsRepo, travelAgentRepo, bookingsStatusRepo, eventPublisher, s3DocumentsStorage, documentsRepository, inventoryRepo, pricingEngine, ioExecutor, catalogVersion, archiveRepo, bookingDocsBucket, awsRegion));
     }
 
     @Provides
@@ -69,15 +77,9 @@ public class ServiceModule {
 
     @Provides
     @Singleton
-    public ReportsRepository provideReportsRepository(DynamoDbClient dynamoDbClient, 
-                                                       @Named("REPORTS_TABLE") String tableName) {
-        return new ReportsRepository(dynamoDbClient, tableName);
-    }
-
-    @Provides
-    @Singleton
-    public TravelReportsService provideTravelReportsService(ReportsRepository reportsRepository, ToursRepository toursRepository, ReviewsRepository reviewsRepository) {
-        return new TravelReportsServiceImpl(reportsRepository, toursRepository, reviewsRepository);
+    public TravelReportsService provideTravelReportsService(ReportsRepository reportsRepository, ToursRepository toursRepository, ReviewsRepository reviewsRepository,
+                                                            ReportSnapshotRepository snapshotRepository) {
+        return Traced.of(TravelReportsService.class, new TravelReportsServiceImpl(reportsRepository, toursRepository, reviewsRepository, snapshotRepository));
     }
 
     @Provides
@@ -88,17 +90,11 @@ public class ServiceModule {
         return new S3DocumentsStorage(s3, bucket);
     }
 
-    @Provides @Singleton
-    DocumentsRepository provideDocumentsRepository(software.amazon.awssdk.services.dynamodb.DynamoDbClient dynamoDbClient,
-                                                   @Named("documents_table") String tableName) {
-        return new DocumentsRepository(dynamoDbClient, tableName);
-    }
-
     @Provides @Singleton
     AiChatService provideAiChatService(ObjectMapper mapper,
                                        ToursRepository toursRepository,
                                        @Named("GEMINI_API_KEY") String apiKey) {
-        return new AiChatServiceImpl(mapper, toursRepository, apiKey, provideGeminiModel());
+        return Traced.of(AiChatService.class, new AiChatServiceImpl(mapper, toursRepository, apiKey, provideGeminiModel()));
     }
 
     @Provides @Named("GEMINI_API_KEY")
@@ -121,7 +117,7 @@ public class ServiceModule {
     TravelAgentsService provideTravelAgentsService(TravelAgentRepository agentsRepo, ObjectMapper mapper,
                                                    Validator validator, CognitoIdentityProviderClient cognitoClient,
                                                    @Named("userPoolId") String userPoolId) {
-        return new TravelAgentsServiceImpl(agentsRepo, mapper, validator, cognitoClient, userPoolId);
+        return Traced.of(TravelAgentsService.class, new TravelAgentsServiceImpl(agentsRepo, mapper, validator, cognitoClient, userPoolId));
     }
 
 }
@@ -49,6 +49,11 @@ public enum DurationBucket {
     }
 
 
+    /** Query-parameter form, e.g. "4-7" or "13+". */
+    public String label() {
+        return max == Integer.MAX_VALUE ? min + "+" : min + "-" + max;
+    }
+
     public boolean matches(List<String> durations) {
         if (durations == null || durations.isEmpty()) return false;
         for (String d : durations) {
@@ -0,0 +1,31 @@
+package com.travelbackendapp.travelmanagement.domain;
+
+import java.util.Optional;
+
+public enum SearchFacet {
+    DESTINATION("destination"),
+    TOUR_TYPE("tourType"),
+    MEAL_PLAN("mealPlan"),
+    DURATION_BUCKET("durationBucket"),
+    PRICE("price");
+
+    private final String param;
+
+    SearchFacet(String param) {
+        this.param = param;
+    }
+
+    public String param() {
+        return param;
+    }
+
+    /** Accepts the query parameter name the facet mirrors, e.g. "mealPlan". */
+    public static Optional<SearchFacet> parse(String raw) {
+        if (raw == null) return Optional.empty();
+        String s = raw.trim();
+        for (SearchFacet f : values()) {
+            if (f.param.equalsIgnoreCase(s)) return Optional.of(f);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,485 @@
+package com.travelbackendapp.travelmanagement.loadtest;
+
+import com.travelbackendapp.travelmanagement.domain.BookingStatus;
+import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
+import com.travelbackendapp.travelmanagement.model.entity.ReportRecord;
+import com.travelbackendapp.travelmanagement.model.entity.ReviewItem;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import com.travelbackendapp.travelmanagement.model.entity.TravelAgent;
+import com.travelbackendapp.travelmanagement.repository.BookingsRepository;
+import com.travelbackendapp.travelmanagement.repository.CatalogVersionRepository;
+import com.travelbackendapp.travelmanagement.repository.ReportsRepository;
+import com.travelbackendapp.travelmanagement.repository.ReviewsRepository;
+import com.travelbackendapp.travelmanagement.repository.ToursRepository;
+import com.travelbackendapp.travelmanagement.repository.TravelAgentRepository;
+import com.travelbackendapp.travelmanagement.service.PricingEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Writes a synthetic dataset through the repository interfaces, so the same run fills DynamoDB (Local) or the
+ * in-memory backends. The same {@link Options} (seed and {@code asOf} included) always produce the same items.
+ *
+ * <p>Tours, users and destinations are drawn with Zipf-skewed popularity: tour {@code T-000000} is the most booked.
+ * Bookings are created over the last two years, denser towards {@code asOf}, start a few weeks to months later and
+ * get the status their dates imply. Reviews belong to bookings and are folded into each tour's rating and count.
+ * Report events span three years and stand for booking history beyond the bookings table, so they are not tied to
+ * the generated bookings.
+ *
+ * <p>Items are generated on the calling thread and written in chunks by {@link Options#writerThreads} threads.
+ */
+public class DatasetGenerator {
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final int CHUNK = 500;
+
+    private static final String[] DESTINATIONS = {
+            "Antalya, Turkey", "Rome, Italy", "Paris, France", "Barcelona, Spain", "Dubai, UAE", "Hurghada, Egypt",
+            "Bali, Indonesia", "Phuket, Thailand", "Cancun, Mexico", "Tbilisi, Georgia", "Prague, Czechia",
+            "Lisbon, Portugal", "Crete, Greece", "Tenerife, Spain", "Maldives", "Vienna, Austria", "Budapest, Hungary",
+            "Dubrovnik, Croatia", "Istanbul, Turkey", "Marrakech, Morocco", "Zanzibar, Tanzania", "Reykjavik, Iceland",
+            "Kyoto, Japan", "Cape Town, South Africa", "Samarkand, Uzbekistan", "Tashkent, Uzbekistan",
+            "Sharm El Sheikh, Egypt", "Madeira, Portugal", "Santorini, Greece", "Goa, India"};
+    private static final String[] TOUR_TYPES = {"RESORT", "CULTURAL", "ADVENTURE", "CRUISE", "ECO"};
+    private static final String[] DURATIONS = {"3 days", "5 days", "7 days", "10 days", "14 days"};
+    private static final String[] MEAL_PLANS = {"BB", "HB", "FB", "AI"};
+    private static final double[] MEAL_SUPPLEMENTS = {0, 15, 30, 50};
+    private static final int[] RATE_PERCENTILES = {5, 12, 27, 60, 100};   // cumulative % of rates 1..5
+    private static final String[] CANCEL_REASONS = {"Change of plans", "Found a better offer", "Illness", "Visa issues"};
+
+    private final ToursRepository toursRepo;
+    private final BookingsRepository bookingsRepo;
+    private final ReviewsRepository reviewsRepo;
+    private final ReportsRepository reportsRepo;
+    private final TravelAgentRepository agentsRepo;
+    private final CatalogVersionRepository catalogVersion;
+
+    @Inject
+    public DatasetGenerator(ToursRepository toursRepo, BookingsRepository bookingsRepo, ReviewsRepository reviewsRepo,
+                            ReportsRepository reportsRepo, TravelAgentRepository agentsRepo,
+                            CatalogVersionRepository catalogVersion) {
+        this.toursRepo = toursRepo;
+        this.bookingsRepo = bookingsRepo;
+        this.reviewsRepo = reviewsRepo;
+        this.reportsRepo = reportsRepo;
+        this.agentsRepo = agentsRepo;
+        this.catalogVersion = catalogVersion;
+    }
+
+    public Result generate(Options o) {
+        long started = System.currentTimeMillis();
+        Result result = new Result();
+        List<TourItem> tours = tours(o);
+        Zipf tourPopularity = new Zipf(tours.size(), o.skew);
+
+        try (Writer writer = new Writer(o.writerThreads)) {
+            Writer.Sink<TravelAgent> agents = writer.sink(agentsRepo::save, result.agents);
+            Writer.Sink<BookingItem> bookings = writer.sink(bookingsRepo::put, result.bookings);
+            Writer.Sink<ReviewItem> reviews = writer.sink(reviewsRepo::put, result.reviews);
+            Writer.Sink<TourItem> tourSink = writer.sink(toursRepo::save, result.tours);
+
+            for (int i = 0; i < o.agents; i++) agents.add(agent(i));
+
+            // Bookings and their reviews; ratings are summed per tour and stored with the tours afterwards
+            int[] reviewCounts = new int[tours.size()];
+            long[] rateSums = new long[tours.size()];
+            Random bookingRnd = new Random(o.seed + 1);
+            Random reviewRnd = new Random(o.seed + 2);
+            Zipf userActivity = new Zipf(o.users(), o.skew);
+            long reviewTotal = Math.min(o.reviews, o.bookings);
+            for (long i = 0; i < o.bookings; i++) {
+                int tourIdx = tourPopularity.next(bookingRnd);
+                BookingItem b = booking(bookingRnd, tours.get(tourIdx), userId(userActivity.next(bookingRnd)), o.asOf);
+                bookings.add(b);
+                // exactly `reviewTotal` of the bookings get one, spread evenly over the run
+                if ((i + 1) * reviewTotal / o.bookings > i * reviewTotal / o.bookings) {
+                    ReviewItem r = review(reviewRnd, b, o.asOf);
+                    reviewCounts[tourIdx]++;
+                    rateSums[tourIdx] += r.getRate();
+                    reviews.add(r);
+                }
+                if ((i + 1) % 1_000_000 == 0) log.info("Generated {} of {} bookings", i + 1, o.bookings);
+            }
+
+            for (int t = 0; t < tours.size(); t++) {
+                TourItem tour = tours.get(t);
+                tour.setReviews(reviewCounts[t]);
+                tour.setRating(reviewCounts[t] == 0 ? null : Math.round(100.0 * rateSums[t] / reviewCounts[t]) / 100.0);
+                tourSink.add(tour);
+            }
+
+            Random reportRnd = new Random(o.seed + 3);
+            List<ReportRecord> events = new ArrayList<>(CHUNK);
+            for (long i = 0; i < o.reportEvents; i++) {
+                events.add(reportEvent(reportRnd, tours.get(tourPopularity.next(reportRnd)),
+                        userId(userActivity.next(reportRnd)), o.asOf));
+                if (events.size() == CHUNK || i == o.reportEvents - 1) {
+                    writer.batch(events, reportsRepo::saveAll, result.reportEvents);
+                    events = new ArrayList<>(CHUNK);
+                }
+                if ((i + 1) % 5_000_000 == 0) log.info("Generated {} of {} report events", i + 1, o.reportEvents);
+            }
+        }
+        catalogVersion.bump("dataset generated");
+        result.elapsedMs = System.currentTimeMillis() - started;
+        return result;
+    }
+
+    List<TourItem> tours(Options o) {
+        Random rnd = new Random(o.seed);
+        Zipf destinations = new Zipf(DESTINATIONS.length, 1.0);
+        List<TourItem> tours = new ArrayList<>(o.tours);
+        for (int i = 0; i < o.tours; i++) {
+            TourItem t = new TourItem();
+            t.setTourId(tourId(i));
+            t.setDestination(DESTINATIONS[destinations.next(rnd)]);
+            t.setTourType(TOUR_TYPES[rnd.nextInt(TOUR_TYPES.length)]);
+            t.setName(t.getDestination().split(",")[0] + " " + t.getTourType().toLowerCase() + " tour " + i);
+
+            // first departure from a month back to eight months ahead, then every one or two weeks
+            LocalDate first = o.asOf.plusDays(-30 + rnd.nextInt(270));
+            int every = 7 * (1 + rnd.nextInt(2));
+            List<String> startDates = new ArrayList<>();
+            for (int d = 0, n = 4 + rnd.nextInt(7); d < n; d++) startDates.add(first.plusDays((long) d * every).toString());
+            t.setStartDate(startDates.get(0));
+            t.setStartDates(startDates);
+
+            List<String> durations = pick(rnd, DURATIONS, 1 + rnd.nextInt(3));
+            double perDay = 60 + rnd.nextInt(200);
+            Map<String, Double> prices = new LinkedHashMap<>();
+            for (String d : durations) prices.put(d, (double) Math.round(perDay * PricingEngine.parseDays(d)));
+            t.setDurations(durations);
+            t.setPriceByDuration(prices);
+            t.setPriceFrom(prices.values().stream().min(Double::compare).orElse(null));
+
+            List<String> meals = pick(rnd, MEAL_PLANS, 1 + rnd.nextInt(MEAL_PLANS.length));
+            Map<String, Double> supplements = new LinkedHashMap<>();
+            for (String m : meals) {
+                double base = MEAL_SUPPLEMENTS[indexOf(MEAL_PLANS, m)];
+                supplements.put(m, base == 0 ? 0.0 : base + rnd.nextInt(10));
+            }
+            t.setMealPlans(meals);
+            t.setMealSupplementsPerDay(supplements);
+
+            t.setMaxAdults(2 + rnd.nextInt(4));
+            t.setMaxChildren(rnd.nextInt(4));
+            // the most popular percent of tours sell far more seats
+            t.setAvailablePackages(20 + rnd.nextInt(80) + (i < o.tours / 100 ? 400 : 0));
+            if (rnd.nextInt(10) < 7) t.setFreeCancellationDaysBefore(7 + rnd.nextInt(24));
+            t.setImageUrls(List.of("https://img.example.com/tours/" + i + "/1.jpg",
+                    "https://img.example.com/tours/" + i + "/2.jpg"));
+            t.setHotelName("Hotel " + (i % 4999));
+            t.setAccommodation((3 + rnd.nextInt(3)) + "-star hotel");
+            t.setHotelDescription("Rooms with a view, a pool and a beach shuttle, " + (1 + rnd.nextInt(20)) + " km from the centre.");
+            t.setSummary("Discover " + t.getDestination() + " on a " + durations.get(0) + " " + t.getTourType().toLowerCase() + " trip.");
+            t.setAgentEmail(agentEmail(i % o.agents));
+            t.setVersion(1L);
+            tours.add(t);
+        }
+        return tours;
+    }
+
+    private static BookingItem booking(Random rnd, TourItem tour, String userId, LocalDate asOf) {
+        // created within two years, denser towards now; trips start three days to ten months later
+        LocalDate created = asOf.minusDays((long) (730 * (1 - Math.sqrt(rnd.nextDouble()))));
+        LocalDate start = created.plusDays(3 + (long) Math.min(300, -Math.log(1 - rnd.nextDouble()) * 45));
+        String duration = tour.getDurations().get(rnd.nextInt(tour.getDurations().size()));
+        int days = PricingEngine.parseDays(duration);
+        String meal = tour.getMealPlans().get(rnd.nextInt(tour.getMealPlans().size()));
+        int adults = 1 + rnd.nextInt(Math.min(3, tour.getMaxAdults()));
+        int children = rnd.nextInt(Math.min(2, tour.getMaxChildren()) + 1);
+        int seats = adults + children;
+        double perPerson = tour.getPriceByDuration().get(duration)
+                + tour.getMealSupplementsPerDay().getOrDefault(meal, 0.0) * days;
+
+        BookingItem b = new BookingItem();
+        b.setUserId(userId);
+        b.setBookingId(created + "_" + new UUID(rnd.nextLong(), rnd.nextLong()));
+        b.setTourId(tour.getTourId());
+        b.setTourName(tour.getName());
+        b.setDestination(tour.getDestination());
+        b.setHotelName(tour.getHotelName());
+        b.setStartDate(start.toString());
+        b.setDuration(duration);
+        b.setMealPlan(meal);
+        b.setAdults(adults);
+        b.setChildren(children);
+        b.setTotalPrice(perPerson * seats);
+        b.setAgentEmail(tour.getAgentEmail());
+        b.setAgentName("Agent " + tour.getAgentEmail().substring(0, tour.getAgentEmail().indexOf('@')));
+        b.setCustomerEmail(userId + "@example.com");
+        List<BookingItem.Person> people = new ArrayList<>(seats);
+        for (int p = 0; p < seats; p++) {
+            BookingItem.Person person = new BookingItem.Person();
+            person.setFirstName("Guest" + p);
+            person.setLastName(userId);
+            people.add(person);
+        }
+        b.setPersonalDetails(people);
+        int daysBefore = tour.getFreeCancellationDaysBefore() != null ? tour.getFreeCancellationDaysBefore() : 10;
+        b.setFreeCancelationUntil(start.minusDays(daysBefore).toString());
+        long createdAt = created.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli() + rnd.nextInt(86_400_000);
+        b.setCreatedAtEpoch(createdAt);
+
+        if (rnd.nextInt(100) < 8) {
+            b.setStatusEnum(BookingStatus.CANCELLED);
+            b.setCancelledAtEpoch(createdAt + rnd.nextInt(7 * 86_400_000));
+            b.setCancelledBy("CUSTOMER");
+            b.setCancellationReason(CANCEL_REASONS[rnd.nextInt(CANCEL_REASONS.length)]);
+        } else if (start.plusDays(days).isBefore(asOf)) {
+            b.setStatusEnum(BookingStatus.FINISHED);
+            b.setConfirmedAtEpoch(createdAt + 86_400_000L);
+        } else if (!start.isAfter(asOf)) {
+            b.setStatusEnum(BookingStatus.STARTED);
+            b.setConfirmedAtEpoch(createdAt + 86_400_000L);
+        } else if (rnd.nextBoolean()) {
+            b.setStatusEnum(BookingStatus.CONFIRMED);
+            b.setConfirmedAtEpoch(createdAt + 86_400_000L);
+        } else {
+            b.setStatusEnum(BookingStatus.BOOKED);
+        }
+        return b;
+    }
+
+    private static ReviewItem review(Random rnd, BookingItem b, LocalDate asOf) {
+        LocalDate tripEnd = LocalDate.parse(b.getStartDate()).plusDays(PricingEngine.parseDays(b.getDuration()));
+        String date = (tripEnd.isAfter(asOf) ? asOf : tripEnd).toString();
+        ReviewItem r = new ReviewItem();
+        r.setBookingId(b.getBookingId());
+        r.setTourId(b.getTourId());
+        r.setAuthorId(b.getUserId());
+        r.setAuthorName("Customer " + b.getUserId().substring("user-".length()));
+        r.setRate(rate(rnd));
+        r.setReviewContent(rnd.nextInt(4) == 0 ? null
+                : "Stayed at " + b.getHotelName() + " with " + b.getAdults() + " adults. Rated " + r.getRate() + " for the food and excursions.");
+        r.setCreatedAt(date);
+        r.setUpdatedAt(date);
+        return r;
+    }
+
+    private static ReportRecord reportEvent(Random rnd, TourItem tour, String userId, LocalDate asOf) {
+        LocalDateTime at = asOf.minusDays((long) (1095 * (1 - Math.sqrt(rnd.nextDouble()))))
+                .atStartOfDay().plusSeconds(rnd.nextInt(86_400));
+        int kind = rnd.nextInt(100);
+        String type = kind < 55 ? "CONFIRM" : kind < 90 ? "FINISH" : "CANCEL";
+        String bookingId = at.toLocalDate() + "_" + new UUID(rnd.nextLong(), rnd.nextLong());
+        int guests = 1 + rnd.nextInt(4);
+
+        ReportRecord r = new ReportRecord(ReportRecord.reportIdFor(type, bookingId), type, bookingId, userId,
+                tour.getTourId(), tour.getAgentEmail(), at);
+        r.setCreatedAt(at.toString());
+        r.setBookingStatus("CONFIRM".equals(type) ? "CONFIRMED" : "FINISH".equals(type) ? "FINISHED" : "CANCELLED");
+        r.setBookingDate(at.toLocalDate().minusDays(1 + rnd.nextInt(60)).toString());
+        r.setTravelDate(at.toLocalDate().plusDays("FINISH".equals(type) ? -rnd.nextInt(14) : 7 + rnd.nextInt(90)).toString());
+        r.setNumberOfGuests(guests);
+        r.setTotalPrice(guests * tour.getPriceFrom());
+        r.setAgentName("Agent " + tour.getAgentEmail().substring(0, tour.getAgentEmail().indexOf('@')));
+        r.setAgentRole("TRAVEL_AGENT");
+        if ("CANCEL".equals(type)) {
+            r.setCancellationReason(CANCEL_REASONS[rnd.nextInt(CANCEL_REASONS.length)]);
+        } else if ("FINISH".equals(type) && rnd.nextInt(10) < 6) {
+            r.setRating(rate(rnd));
+            r.setReview("Rated " + r.getRating() + " out of 5");
+            r.setFeedbackDate(at.toLocalDate().plusDays(rnd.nextInt(10)).toString());
+        }
+        return r;
+    }
+
+    private static TravelAgent agent(int i) {
+        TravelAgent a = new TravelAgent();
+        a.setEmail(agentEmail(i));
+        a.setFirstName("Agent");
+        a.setLastName(Integer.toString(i));
+        a.setRole("TRAVEL_AGENT");
+        a.setCreatedAt("2024-01-01T00:00:00Z");
+        a.setCreatedBy("admin@example.com");
+        a.setPhone(String.format("+1555%07d", i));
+        a.setMessenger("@agent" + i);
+        return a;
+    }
+
+    /** Mostly fours and fives, like the production reviews. */
+    private static int rate(Random rnd) {
+        int p = rnd.nextInt(100);
+        int rate = 1;
+        while (p >= RATE_PERCENTILES[rate - 1]) rate++;
+        return rate;
+    }
+
+    /** Zero-padded, so tourIds sort in popularity order. */
+    public static String tourId(int i) {
+        return String.format("T-%06d", i);
+    }
+
+    public static String userId(int i) {
+        return String.format("user-%07d", i);
+    }
+
+    static String agentEmail(int i) {
+        return String.format("agent-%03d@example.com", i);
+    }
+
+    private static List<String> pick(Random rnd, String[] values, int count) {
+        List<String> picked = new ArrayList<>(count);
+        int start = rnd.nextInt(values.length - count + 1);
+        for (int i = 0; i < count; i++) picked.add(values[start + i]);
+        return picked;
+    }
+
+    private static int indexOf(String[] values, String v) {
+        for (int i = 0; i < values.length; i++) if (values[i].equals(v)) return i;
+        throw new IllegalArgumentException(v);
+    }
+
+    /** Dataset size and shape. The defaults are the production sizing target. */
+    public static final class Options {
+        public long seed = 42L;
+        public int tours = 50_000;
+        public long bookings = 5_000_000;
+        public long reviews = 2_000_000;
+        public long reportEvents = 20_000_000;
+        public int agents = 200;
+        /** Distinct customers; 0 means one per ten bookings. */
+        public int users;
+        /** Zipf exponent of tour and user popularity. */
+        public double skew = 0.8;
+        /** The day the data is generated for; bookings and tours are dated relative to it. */
+        public LocalDate asOf = LocalDate.now(ZoneOffset.UTC);
+        public int writerThreads = 8;
+
+        /** Multiplies every volume except agents, e.g. 0.01 for a quick in-memory run. */
+        public Options scale(double factor) {
+            tours = (int) Math.max(1, Math.round(tours * factor));
+            bookings = Math.max(1, Math.round(bookings * factor));
+            reviews = Math.round(reviews * factor);
+            reportEvents = Math.round(reportEvents * factor);
+            users = (int) Math.round(users * factor);
+            return this;
+        }
+
+        public int users() {
+            return users > 0 ? users : (int) Math.max(1, bookings / 10);
+        }
+    }
+
+    public static final class Result {
+        public final AtomicInteger agents = new AtomicInteger();
+        public final AtomicInteger tours = new AtomicInteger();
+        public final AtomicInteger bookings = new AtomicInteger();
+        public final AtomicInteger reviews = new AtomicInteger();
+        public final AtomicInteger reportEvents = new AtomicInteger();
+        public long elapsedMs;
+
+        @Override
+        public String toString() {
+            return String.format(java.util.Locale.ROOT,
+                    "{\"agents\":%d,\"tours\":%d,\"bookings\":%d,\"reviews\":%d,\"reportEvents\":%d,\"elapsedMs\":%d}",
+                    agents.get(), tours.get(), bookings.get(), reviews.get(), reportEvents.get(), elapsedMs);
+        }
+    }
+
+    /**
+     * Hands full chunks of items to a bounded pool; when the pool is behind, the generating thread writes the chunk
+     * itself. {@link #close()} writes what is left, waits, and rethrows the first failed write.
+     */
+    private static final class Writer implements AutoCloseable {
+        private final ThreadPoolExecutor pool;
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private final List<Sink<?>> sinks = new ArrayList<>();
+
+        Writer(int threads) {
+            AtomicInteger n = new AtomicInteger();
+            pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(threads * 4), r -> {
+                Thread t = new Thread(r, "dataset-writer-" + n.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+
+        /** Items added to the sink are written one by one with {@code write}. */
+        <T> Sink<T> sink(Consumer<T> write, AtomicInteger counter) {
+            Sink<T> sink = new Sink<>(write, counter);
+            sinks.add(sink);
+            return sink;
+        }
+
+        /** Writes the whole list with one call, e.g. a batch write. */
+        <T> void batch(List<T> items, Consumer<List<T>> write, AtomicInteger counter) {
+            run(() -> {
+                write.accept(items);
+                counter.addAndGet(items.size());
+            });
+        }
+
+        private void run(Runnable task) {
+            if (failure.get() != null) throw failure.get();
+            pool.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+        }
+
+        @Override
+        public void close() {
+            sinks.forEach(Sink::flush);
+            pool.shutdown();
+            try {
+                while (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.info("Waiting for {} dataset write chunks", pool.getQueue().size() + pool.getActiveCount());
+                }
+            } catch (InterruptedException e) {
+                pool.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            if (failure.get() != null) throw failure.get();
+        }
+
+        final class Sink<T> {
+            private final Consumer<T> write;
+            private final AtomicInteger counter;
+            private List<T> items = new ArrayList<>(CHUNK);
+
+            private Sink(Consumer<T> write, AtomicInteger counter) {
+                this.write = write;
+                this.counter = counter;
+            }
+
+            void add(T item) {
+                items.add(item);
+                if (items.size() == CHUNK) flush();
+            }
+
+            void flush() {
+                if (items.isEmpty()) return;
+                List<T> chunk = items;
+                items = new ArrayList<>(CHUNK);
+                run(() -> {
+                    for (T item : chunk) {
+                        write.accept(item);
+                        counter.incrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.travelbackendapp.travelmanagement.loadtest;
+
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelbackendapp.travelmanagement.metrics.LatencyHistogram;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import com.travelbackendapp.travelmanagement.repository.ToursRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Replays a weighted mix of API requests through a handler (normally {@code TravelApiHandler}) on N threads and
+ * reports throughput and p50/p95/p99 latency per route. A warm-up phase runs first and is not measured.
+ * Every thread draws from its own seeded {@link Random}, so the same options replay the same requests;
+ * only their interleaving differs between runs.
+ */
+public class LoadReplayer {
+    private static final Logger log = LoggerFactory.getLogger(LoadReplayer.class);
+
+    /** What {@link RequestMix} reads from a tour to build its requests. */
+    static final String[] CATALOG_ATTRIBUTES = {
+            "tourId", "destination", "tourType", "startDate", "startDates", "durations", "mealPlans", "maxAdults",
+            "availablePackages", "agentEmail"
+    };
+
+    private final RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> handler;
+    private final ToursRepository toursRepo;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public LoadReplayer(RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> handler,
+                        ToursRepository toursRepo) {
+        this.handler = handler;
+        this.toursRepo = toursRepo;
+    }
+
+    public Result run(Options o) throws InterruptedException {
+        RequestMix mix = new RequestMix(RequestMix.parse(o.mix), catalog(), o.users, o.skew);
+
+        ExecutorService pool = Executors.newFixedThreadPool(o.threads, daemon());
+        try {
+            if (o.warmupRequests > 0) {
+                log.info("Warming up with {} requests on {} threads", o.warmupRequests, o.threads);
+                phase(pool, mix, o, o.warmupRequests, Long.MAX_VALUE, 0);
+            }
+            long deadline = o.durationSeconds > 0 ? System.nanoTime() + o.durationSeconds * 1_000_000_000L : Long.MAX_VALUE;
+            long requests = o.durationSeconds > 0 ? Long.MAX_VALUE : o.requests;
+            log.info("Replaying {} on {} threads", o.durationSeconds > 0 ? o.durationSeconds + "s" : requests + " requests", o.threads);
+            long started = System.nanoTime();
+            Result result = phase(pool, mix, o, requests, deadline, 1);
+            result.elapsedMs = (System.nanoTime() - started) / 1_000_000;
+            return result;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Bookable tours (seats left, a departure after today) in tourId order, which is popularity order when generated. */
+    List<TourItem> catalog() {
+        String today = LocalDate.now(ZoneOffset.UTC).toString();
+        List<TourItem> tours = toursRepo.listAll(CATALOG_ATTRIBUTES).stream()
+                .filter(t -> t.getAvailablePackages() != null && t.getAvailablePackages() > 0)
+                .filter(t -> t.getAgentEmail() != null && t.getDurations() != null && !t.getDurations().isEmpty()
+                        && t.getMealPlans() != null && !t.getMealPlans().isEmpty())
+                .filter(t -> t.getStartDates() != null && t.getStartDates().stream().anyMatch(d -> d.compareTo(today) > 0))
+                .sorted(Comparator.comparing(TourItem::getTourId))
+                .collect(Collectors.toList());
+        if (tours.isEmpty()) throw new IllegalStateException("no bookable tours to replay against, generate a dataset first");
+        return tours;
+    }
+
+    private Result phase(ExecutorService pool, RequestMix mix, Options o, long requests, long deadline, int phase)
+            throws InterruptedException {
+        AtomicLong issued = new AtomicLong();
+        List<Callable<Map<RequestMix.Route, RouteStats>>> workers = new ArrayList<>();
+        for (int t = 0; t < o.threads; t++) {
+            Random rnd = new Random(o.seed + 1_000L * phase + t);
+            workers.add(() -> work(mix, rnd, issued, requests, deadline));
+        }
+        Result result = new Result();
+        for (Future<Map<RequestMix.Route, RouteStats>> f : pool.invokeAll(workers)) {
+            try {
+                f.get().forEach((route, stats) -> result.routes.computeIfAbsent(route, r -> new RouteStats()).add(stats));
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("replay worker failed", e.getCause());
+            }
+        }
+        return result;
+    }
+
+    private Map<RequestMix.Route, RouteStats> work(RequestMix mix, Random rnd, AtomicLong issued, long requests, long deadline) {
+        Map<RequestMix.Route, RouteStats> stats = new EnumMap<>(RequestMix.Route.class);
+        while (issued.getAndIncrement() < requests && System.nanoTime() < deadline) {
+            RequestMix.Draw draw = mix.next(mix.nextRoute(rnd), rnd);
+            long start = System.nanoTime();
+            APIGatewayProxyResponseEvent resp;
+            try {
+                resp = handler.handleRequest(draw.event, null);
+            } catch (RuntimeException e) {
+                resp = null;
+            }
+            long micros = (System.nanoTime() - start) / 1_000;
+            int status = resp == null || resp.getStatusCode() == null ? 500 : resp.getStatusCode();
+            stats.computeIfAbsent(draw.route, r -> new RouteStats()).record(micros, status);
+            if (draw.route == RequestMix.Route.BOOK && status == 201) {
+                String bookingId = bookingId(resp.getBody());
+                if (bookingId != null) mix.created(draw.userId, bookingId);
+            }
+        }
+        return stats;
+    }
+
+    private String bookingId(String body) {
+        try {
+            JsonNode id = mapper.readTree(body).get("bookingId");
+            return id == null ? null : id.asText();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemon() {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "replay-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    public static final class Options {
+        public int threads = 16;
+        public long requests = 100_000;
+        public long warmupRequests = 10_000;
+        /** When positive, replays for this long instead of a fixed number of requests. */
+        public long durationSeconds;
+        public long seed = 42L;
+        /** Route weights, see {@link RequestMix#DEFAULT_MIX}. */
+        public String mix = RequestMix.DEFAULT_MIX;
+        /** Customers in the dataset, as in {@link DatasetGenerator.Options#users()}. */
+        public int users = 500_000;
+        public double skew = 0.8;
+    }
+
+    /** Latency and status classes of one route. */
+    public static final class RouteStats {
+        public final LatencyHistogram latency = new LatencyHistogram();
+        public long ok;
+        public long clientErrors;
+        public long serverErrors;
+
+        void record(long micros, int status) {
+            latency.record(micros);
+            if (status >= 500) serverErrors++;
+            else if (status >= 400) clientErrors++;
+            else ok++;
+        }
+
+        void add(RouteStats other) {
+            latency.add(other.latency);
+            ok += other.ok;
+            clientErrors += other.clientErrors;
+            serverErrors += other.serverErrors;
+        }
+    }
+
+    public static final class Result {
+        final Map<RequestMix.Route, RouteStats> routes = new EnumMap<>(RequestMix.Route.class);
+        public long elapsedMs;
+
+        public RouteStats total() {
+            RouteStats total = new RouteStats();
+            routes.values().forEach(total::add);
+            return total;
+        }
+
+        /** One line per route and a total: requests, status classes, requests per second and latency percentiles. */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "%-26s %9s %9s %7s %7s %10s %9s %9s %9s %9s%n",
+                    "route", "requests", "2xx/3xx", "4xx", "5xx", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+            routes.forEach((route, stats) -> line(sb, route.label, stats));
+            line(sb, "total", total());
+            sb.append(String.format(Locale.ROOT, "elapsed %.1fs%n", elapsedMs / 1000.0));
+            return sb.toString();
+        }
+
+        private void line(StringBuilder sb, String label, RouteStats s) {
+            LatencyHistogram h = s.latency;
+            double seconds = Math.max(elapsedMs, 1) / 1000.0;
+            sb.append(String.format(Locale.ROOT, "%-26s %9d %9d %7d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    label, h.count(), s.ok, s.clientErrors, s.serverErrors, h.count() / seconds,
+                    h.percentile(50) / 1000.0, h.percentile(95) / 1000.0, h.percentile(99) / 1000.0, h.max() / 1000.0));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.travelbackendapp.travelmanagement.loadtest;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the API Gateway events of a replay: each draw picks a route by weight, and a tour and a customer with the
+ * same Zipf skew as the generated dataset. Cancellations take bookings this replay created; while there are none,
+ * the draw books instead.
+ */
+final class RequestMix {
+
+    enum Route {
+        SEARCH("search", "GET /tours/available"),
+        DETAILS("details", "GET /tours/{id}"),
+        REVIEWS("reviews", "GET /tours/{id}/feedbacks"),
+        BOOK("book", "POST /bookings"),
+        CANCEL("cancel", "DELETE /bookings/{id}"),
+        MY_BOOKINGS("bookings", "GET /bookings");
+
+        final String key;
+        final String label;
+
+        Route(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+    }
+
+    /** Mostly browsing, as on the site. */
+    static final String DEFAULT_MIX = "search=40,details=20,reviews=10,book=10,cancel=5,bookings=15";
+
+    private static final String[] SORTS = {"RATING_DESC", "PRICE_ASC", "PRICE_DESC"};
+    private static final int MAX_PENDING_CANCELS = 100_000;
+
+    private final Route[] routes;
+    private final int[] cumulativeWeights;
+    private final List<TourItem> tours;
+    private final Zipf tourPopularity;
+    private final Zipf userActivity;
+    private final String today = LocalDate.now(ZoneOffset.UTC).toString();
+    private final ConcurrentLinkedQueue<String[]> cancellable = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCancels = new AtomicInteger();
+
+    /**
+     * @param tours bookable tours in popularity order, carrying at least the {@link LoadReplayer#CATALOG_ATTRIBUTES}
+     * @param users customers {@code user-0000000} onwards, as generated
+     */
+    RequestMix(Map<Route, Integer> weights, List<TourItem> tours, int users, double skew) {
+        this.routes = weights.keySet().toArray(new Route[0]);
+        this.cumulativeWeights = new int[routes.length];
+        int sum = 0;
+        for (int i = 0; i < routes.length; i++) {
+            sum += weights.get(routes[i]);
+            cumulativeWeights[i] = sum;
+        }
+        if (sum <= 0) throw new IllegalArgumentException("request mix has no weight");
+        this.tours = tours;
+        this.tourPopularity = new Zipf(tours.size(), skew);
+        this.userActivity = new Zipf(users, skew);
+    }
+
+    /** Parses {@code route=weight,...}, e.g. {@link #DEFAULT_MIX}; routes left out are not replayed. */
+    static Map<Route, Integer> parse(String mix) {
+        Map<Route, Integer> weights = new EnumMap<>(Route.class);
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split("=");
+            Route route = null;
+            for (Route r : Route.values()) if (r.key.equals(kv[0].trim().toLowerCase(Locale.ROOT))) route = r;
+            if (route == null || kv.length != 2) {
+                throw new IllegalArgumentException("bad mix entry '" + part + "', expected route=weight with route one of "
+                        + "search, details, reviews, book, cancel, bookings");
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight < 0) throw new IllegalArgumentException("negative weight for " + route.key);
+            weights.put(route, weight);
+        }
+        return weights;
+    }
+
+    Route nextRoute(Random rnd) {
+        int p = rnd.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int i = 0;
+        while (p >= cumulativeWeights[i]) i++;
+        return routes[i];
+    }
+
+    /** The event for {@code route}; may switch a cancellation to a booking, so the caller reads back the route. */
+    Draw next(Route route, Random rnd) {
+        String[] pending = route == Route.CANCEL ? cancellable.poll() : null;
+        if (route == Route.CANCEL && pending == null) route = Route.BOOK;
+        if (pending != null) pendingCancels.decrementAndGet();
+
+        TourItem tour = tours.get(tourPopularity.next(rnd));
+        String userId = DatasetGenerator.userId(userActivity.next(rnd));
+        switch (route) {
+            case SEARCH: return new Draw(route, null, search(rnd, tour));
+            case DETAILS: return new Draw(route, null, event("GET", "/tours/" + tour.getTourId(), null, null, null));
+            case REVIEWS:
+                return new Draw(route, null, event("GET", "/tours/" + tour.getTourId() + "/feedbacks",
+                        Map.of("page", "1", "pageSize", "4", "sortBy", "NEWEST"), null, null));
+            case CANCEL:
+                return new Draw(route, pending[0], event("DELETE", "/bookings/" + pending[1], null,
+                        "{\"cancellationReason\":\"Change of plans\"}", pending[0]));
+            case MY_BOOKINGS: return new Draw(route, userId, event("GET", "/bookings", null, null, userId));
+            case BOOK:
+            default: return new Draw(Route.BOOK, userId, book(rnd, tour, userId));
+        }
+    }
+
+    /** Makes a booking created by the replay available for a later cancellation. */
+    void created(String userId, String bookingId) {
+        if (pendingCancels.incrementAndGet() > MAX_PENDING_CANCELS) {
+            pendingCancels.decrementAndGet();
+            return;
+        }
+        cancellable.add(new String[]{userId, bookingId});
+    }
+
+    private APIGatewayProxyRequestEvent search(Random rnd, TourItem tour) {
+        Map<String, String> q = new LinkedHashMap<>();
+        q.put("destination", tour.getDestination());
+        if (rnd.nextInt(3) == 0) q.put("mealPlan", tour.getMealPlans().get(rnd.nextInt(tour.getMealPlans().size())));
+        if (rnd.nextInt(4) == 0) q.put("tourType", tour.getTourType());
+        if (rnd.nextInt(3) == 0) {
+            LocalDate from = LocalDate.parse(today).plusDays(rnd.nextInt(60));
+            q.put("startDate", from.toString());
+            q.put("endDate", from.plusDays(30 + rnd.nextInt(90)).toString());
+        }
+        q.put("guestQuantity", "{\"adults\":" + (1 + rnd.nextInt(2)) + ",\"children\":" + rnd.nextInt(2) + "}");
+        q.put("sortBy", SORTS[rnd.nextInt(SORTS.length)]);
+        q.put("page", Integer.toString(rnd.nextInt(4) == 0 ? 2 : 1));
+        q.put("pageSize", "6");
+        return event("GET", "/tours/available", q, null, null);
+    }
+
+    private APIGatewayProxyRequestEvent book(Random rnd, TourItem tour, String userId) {
+        List<String> dates = new ArrayList<>();
+        for (String d : tour.getStartDates()) if (d.compareTo(today) > 0) dates.add(d);
+        String date = dates.isEmpty() ? tour.getStartDates().get(tour.getStartDates().size() - 1) : dates.get(rnd.nextInt(dates.size()));
+        int adults = 1 + rnd.nextInt(Math.min(2, tour.getMaxAdults() == null ? 1 : tour.getMaxAdults()));
+        StringBuilder people = new StringBuilder();
+        for (int i = 0; i < adults; i++) {
+            if (i > 0) people.append(',');
+            people.append("{\"firstName\":\"Guest").append(i).append("\",\"lastName\":\"").append(userId).append("\"}");
+        }
+        String body = "{\"tourId\":\"" + tour.getTourId() + "\",\"date\":\"" + date + "\""
+                + ",\"duration\":\"" + tour.getDurations().get(rnd.nextInt(tour.getDurations().size())) + "\""
+                + ",\"mealPlan\":\"" + tour.getMealPlans().get(rnd.nextInt(tour.getMealPlans().size())) + "\""
+                + ",\"guests\":{\"adult\":" + adults + ",\"children\":0},\"personalDetails\":[" + people + "]}";
+        return event("POST", "/bookings", null, body, userId);
+    }
+
+    /** A proxy event as API Gateway sends it, with Cognito customer claims when {@code userId} is set. */
+    private static APIGatewayProxyRequestEvent event(String method, String path, Map<String, String> query,
+                                                     String body, String userId) {
+        APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+        event.setHttpMethod(method);
+        event.setPath(path);
+        event.setQueryStringParameters(query);
+        event.setBody(body);
+        event.setHeaders(Map.of("Content-Type", "application/json"));
+        APIGatewayProxyRequestEvent.ProxyRequestContext ctx = new APIGatewayProxyRequestEvent.ProxyRequestContext();
+        if (userId != null) {
+            ctx.setAuthorizer(Map.of("claims", Map.of(
+                    "sub", userId, "email", userId + "@example.com", "custom:role", "CUSTOMER")));
+        }
+        event.setRequestContext(ctx);
+        return event;
+    }
+
+    static final class Draw {
+        final Route route;
+        final String userId;
+        final APIGatewayProxyRequestEvent event;
+
+        Draw(Route route, String userId, APIGatewayProxyRequestEvent event) {
+            this.route = route;
+            this.userId = userId;
+            this.event = event;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.travelbackendapp.travelmanagement.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Ranks {@code 0..n-1} drawn with probability proportional to {@code 1 / (rank + 1)^exponent}: rank 0 is the most
+ * popular. Exponent 0 is uniform; around 1 a few ranks take most of the draws.
+ */
+final class Zipf {
+
+    private final double[] cdf;
+
+    Zipf(int n, double exponent) {
+        if (n <= 0) throw new IllegalArgumentException("n must be positive");
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) cdf[k] /= sum;
+    }
+
+    int next(Random rnd) {
+        int i = Arrays.binarySearch(cdf, rnd.nextDouble());
+        int rank = i >= 0 ? i : -i - 1;
+        return Math.min(rank, cdf.length - 1);
+    }
+
+    int size() {
+        return cdf.length;
+    }
+}
@@ -0,0 +1,49 @@
+package com.travelbackendapp.travelmanagement.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lets the {@code ASYNC} appender of {@code logback.xml} write out its queue before a Lambda handler returns: the
+ * runtime freezes the container right after, and a container that is never thawed again would lose the lines.
+ * The long-lived {@code TravelApiServer} does not need this.
+ */
+public final class AsyncLogs {
+
+    static final String APPENDER = "ASYNC";
+    /** Longest a handler waits; a backlog beyond that is written when the container next runs. */
+    static final long MAX_WAIT_MS = 200;
+
+    private AsyncLogs() {
+    }
+
+    /** Call in a handler's {@code finally}; returns at once when the queue is empty or logback is not in use. */
+    public static void drain() {
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        if (factory instanceof LoggerContext) drain((LoggerContext) factory, MAX_WAIT_MS);
+    }
+
+    static void drain(LoggerContext context, long maxWaitMs) {
+        Appender<ILoggingEvent> appender = context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender(APPENDER);
+        if (!(appender instanceof AsyncAppender) || !appender.isStarted()) return;
+        AsyncAppender async = (AsyncAppender) appender;
+        if (async.getNumberOfElementsInQueue() == 0) return;
+
+        long deadline = System.nanoTime() + maxWaitMs * 1_000_000;
+        try {
+            while (async.getNumberOfElementsInQueue() > 0) {
+                if (System.nanoTime() - deadline >= 0) return;
+                Thread.sleep(1);
+            }
+            // the worker takes lines off the queue in batches; let it write the last one
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.travelbackendapp.travelmanagement.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggerContextListener;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import ch.qos.logback.core.spi.LifeCycle;
+
+/**
+ * Applies per-logger levels from the {@code log_levels} environment variable when logback is configured, e.g.
+ * {@code log_levels=com.travelbackendapp.travelmanagement.routing=DEBUG,software.amazon.awssdk=WARN}; {@code root}
+ * names the root logger. Unknown levels are reported on logback's status console and skipped.
+ */
+public class EnvLogLevels extends ContextAwareBase implements LoggerContextListener, LifeCycle {
+
+    static final String ENV = "log_levels";
+
+    private boolean started;
+
+    @Override
+    public void start() {
+        apply(System.getenv(ENV));
+        started = true;
+    }
+
+    void apply(String spec) {
+        if (spec == null || spec.isBlank()) return;
+        LoggerContext loggers = (LoggerContext) getContext();
+        for (String entry : spec.split(",")) {
+            int eq = entry.indexOf('=');
+            String name = eq < 0 ? "" : entry.substring(0, eq).trim();
+            Level level = eq < 0 ? null : Level.toLevel(entry.substring(eq + 1).trim(), null);
+            if (name.isEmpty() || level == null) {
+                addWarn("Ignoring " + ENV + " entry '" + entry.trim() + "', expected <logger>=<level>");
+                continue;
+            }
+            loggers.getLogger("root".equalsIgnoreCase(name) ? Logger.ROOT_LOGGER_NAME : name).setLevel(level);
+        }
+    }
+
+    @Override
+    public void stop() {
+        started = false;
+    }
+
+    @Override
+    public boolean isStarted() {
+        return started;
+    }
+
+    @Override
+    public boolean isResetResistant() {
+        return false;
+    }
+
+    @Override
+    public void onStart(LoggerContext context) {
+    }
+
+    @Override
+    public void onReset(LoggerContext context) {
+    }
+
+    @Override
+    public void onStop(LoggerContext context) {
+    }
+
+    @Override
+    public void onLevelChange(Logger logger, Level level) {
+    }
+}
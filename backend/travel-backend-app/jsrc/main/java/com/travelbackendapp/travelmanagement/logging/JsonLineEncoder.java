@@ -0,0 +1,60 @@
+package com.travelbackendapp.travelmanagement.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One compact JSON object per log line, e.g.
+ * {@code {"ts":"2026-05-01T10:15:30.123Z","level":"INFO","logger":"...RequestRouter","thread":"main","msg":"..."}},
+ * plus the MDC entries and an {@code error} stack trace when there are any. CloudWatch Logs Insights picks the
+ * fields up without a parse pattern.
+ */
+public class JsonLineEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final byte[] NONE = new byte[0];
+
+    @Override
+    public byte[] headerBytes() {
+        return NONE;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator json = JSON.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("ts", Instant.ofEpochMilli(event.getTimeStamp()).toString());
+            json.writeStringField("level", event.getLevel().toString());
+            json.writeStringField("logger", event.getLoggerName());
+            json.writeStringField("thread", event.getThreadName());
+            json.writeStringField("msg", event.getFormattedMessage());
+            Map<String, String> mdc = event.getMDCPropertyMap();
+            if (mdc != null) {
+                for (Map.Entry<String, String> e : mdc.entrySet()) json.writeStringField(e.getKey(), e.getValue());
+            }
+            IThrowableProxy error = event.getThrowableProxy();
+            if (error != null) json.writeStringField("error", ThrowableProxyUtil.asString(error));
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        out.write('\n');
+        return out.toByteArray();
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return NONE;
+    }
+}
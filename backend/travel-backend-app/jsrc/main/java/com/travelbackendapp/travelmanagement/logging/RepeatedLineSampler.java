@@ -0,0 +1,81 @@
+package com.travelbackendapp.travelmanagement.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate-limits repetitive INFO lines: each message pattern (the format string, not the formatted text) gets
+ * {@code linesPerSecond} lines per wall-clock second and the rest are dropped before they are formatted or queued.
+ * The next line of a pattern that gets through is preceded by a count of the ones dropped. Other levels always pass;
+ * {@code linesPerSecond <= 0} turns sampling off.
+ * <p>
+ * At most {@code maxPatterns} patterns are tracked, so messages built by string concatenation cannot grow the map
+ * without bound; lines of untracked patterns pass.
+ */
+public class RepeatedLineSampler extends TurboFilter {
+
+    static final String SUPPRESSED = "Sampled out {} more lines like \"{}\"";
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private int linesPerSecond = 20;
+    private int maxPatterns = 10_000;
+    /** Wall clock in milliseconds; tests replace it. */
+    LongSupplier clock = System::currentTimeMillis;
+
+    public void setLinesPerSecond(int linesPerSecond) {
+        this.linesPerSecond = linesPerSecond;
+    }
+
+    public void setMaxPatterns(int maxPatterns) {
+        this.maxPatterns = maxPatterns;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isInfoEnabled() guards come through with a null format; lines below the logger's level are dropped anyway.
+        // The drop counts come back through here under one shared pattern and must never be sampled themselves.
+        if (level != Level.INFO || format == null || format == SUPPRESSED || linesPerSecond <= 0 || !isStarted()
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.get(format);
+        if (window == null) {
+            if (windows.size() >= maxPatterns) return FilterReply.NEUTRAL;
+            window = windows.computeIfAbsent(format, f -> new Window());
+        }
+        long dropped = window.enter(clock.getAsLong() / 1000, linesPerSecond);
+        if (dropped < 0) return FilterReply.DENY;
+        if (dropped > 0) logger.info(SUPPRESSED, dropped, format);
+        return FilterReply.NEUTRAL;
+    }
+
+    /** Lines of one pattern in the current second. */
+    static final class Window {
+        private long second = Long.MIN_VALUE;
+        private int lines;
+        private long dropped;
+
+        /** @return -1 to drop the line, otherwise how many were dropped since the last one that passed */
+        synchronized long enter(long now, int limit) {
+            if (now != second) {
+                second = now;
+                lines = 0;
+            }
+            if (lines >= limit) {
+                dropped++;
+                return -1;
+            }
+            lines++;
+            long reported = dropped;
+            dropped = 0;
+            return reported;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.travelbackendapp.travelmanagement.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DynamoDB capacity one invocation consumed, per operation, e.g. {@code DynamoDbToursRepository.findAvailableTours Scan}.
+ * Thread-safe: io executor tasks and replay segments add to the same ledger.
+ */
+public final class CapacityLedger {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    void add(String operation, double readUnits, double writeUnits) {
+        Entry e = entries.computeIfAbsent(operation, o -> new Entry(o));
+        e.calls.increment();
+        e.read.add(readUnits);
+        e.write.add(writeUnits);
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public double readUnits() {
+        return entries.values().stream().mapToDouble(e -> e.read.sum()).sum();
+    }
+
+    public double writeUnits() {
+        return entries.values().stream().mapToDouble(e -> e.write.sum()).sum();
+    }
+
+    /** The {@code n} operations that consumed the most read plus write units, biggest first. */
+    public List<Entry> top(int n) {
+        List<Entry> sorted = new ArrayList<>(entries.values());
+        sorted.sort((a, b) -> Double.compare(b.units(), a.units()));
+        return sorted.subList(0, Math.min(n, sorted.size()));
+    }
+
+    /** {@code rcu=12.5 wcu=2.0 [op calls=1 rcu=12.0 wcu=0.0, ...]}, all operations biggest first. */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "rcu=%.1f wcu=%.1f [", readUnits(), writeUnits()));
+        List<Entry> all = top(Integer.MAX_VALUE);
+        for (int i = 0; i < all.size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(all.get(i));
+        }
+        return sb.append(']').toString();
+    }
+
+    public static final class Entry {
+        public final String operation;
+        final LongAdder calls = new LongAdder();
+        final DoubleAdder read = new DoubleAdder();
+        final DoubleAdder write = new DoubleAdder();
+
+        Entry(String operation) {
+            this.operation = operation;
+        }
+
+        public long calls() {
+            return calls.sum();
+        }
+
+        public double readUnits() {
+            return read.sum();
+        }
+
+        public double writeUnits() {
+            return write.sum();
+        }
+
+        double units() {
+            return read.sum() + write.sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s calls=%d rcu=%.1f wcu=%.1f", operation, calls(), readUnits(), writeUnits());
+        }
+    }
+}
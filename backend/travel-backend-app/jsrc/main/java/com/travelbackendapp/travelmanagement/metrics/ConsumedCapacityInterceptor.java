@@ -0,0 +1,144 @@
+package com.travelbackendapp.travelmanagement.metrics;
+
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactGetItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactGetItemsResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.util.List;
+
+/**
+ * Asks DynamoDB for {@code ReturnConsumedCapacity.TOTAL} on every request that does not already choose, and books
+ * the units in the response into the current {@link InvocationMetrics}' {@link CapacityLedger}.
+ * <p>
+ * Calls are attributed to the innermost frame of this application on the calling thread, normally the repository
+ * method, plus the DynamoDB operation, e.g. {@code DynamoDbToursRepository.findAvailableTours Scan}. Pages of a
+ * lazily iterated scan are fetched by whoever iterates, so they show up under that caller instead.
+ */
+public final class ConsumedCapacityInterceptor implements ExecutionInterceptor {
+
+    private static final String APP = "com.travelbackendapp.";
+    private static final String SELF = "com.travelbackendapp.travelmanagement.metrics.";
+    private static final StackWalker STACK = StackWalker.getInstance();
+
+    @Override
+    public SdkRequest modifyRequest(Context.ModifyRequest context, ExecutionAttributes attributes) {
+        SdkRequest r = context.request();
+        ReturnConsumedCapacity total = ReturnConsumedCapacity.TOTAL;
+        if (r instanceof GetItemRequest && ((GetItemRequest) r).returnConsumedCapacityAsString() == null) {
+            return ((GetItemRequest) r).toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (r instanceof QueryRequest && ((QueryRequest) r).returnConsumedCapacityAsString() == null) {
+            return ((QueryRequest) r).toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (r instanceof ScanRequest && ((ScanRequest) r).returnConsumedCapacityAsString() == null) {
+            return ((ScanRequest) r).toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (r instanceof PutItemRequest && ((PutItemRequest) r).returnConsumedCapacityAsString() == null) {
+            return ((PutItemRequest) r).toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (r instanceof UpdateItemRequest && ((UpdateItemRequest) r).returnConsumedCapacityAsString() == null) {
+            return ((UpdateItemRequest) r).toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (r instanceof DeleteItemRequest && ((DeleteItemRequest) r).returnConsumedCapacityAsString() == null) {
+            return ((DeleteItemRequest) r).toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (r instanceof BatchGetItemRequest && ((BatchGetItemRequest) r).returnConsumedCapacityAsString() == null) {
+            return ((BatchGetItemRequest) r).toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (r instanceof BatchWriteItemRequest && ((BatchWriteItemRequest) r).returnConsumedCapacityAsString() == null) {
+            return ((BatchWriteItemRequest) r).toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (r instanceof TransactGetItemsRequest && ((TransactGetItemsRequest) r).returnConsumedCapacityAsString() == null) {
+            return ((TransactGetItemsRequest) r).toBuilder().returnConsumedCapacity(total).build();
+        }
+        if (r instanceof TransactWriteItemsRequest && ((TransactWriteItemsRequest) r).returnConsumedCapacityAsString() == null) {
+            return ((TransactWriteItemsRequest) r).toBuilder().returnConsumedCapacity(total).build();
+        }
+        return r;
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes attributes) {
+        if (!InvocationMetrics.active()) return;
+        SdkResponse r = context.response();
+        List<ConsumedCapacity> consumed;
+        boolean reads = false;
+        if (r instanceof GetItemResponse) { consumed = one(((GetItemResponse) r).consumedCapacity()); reads = true; }
+        else if (r instanceof QueryResponse) { consumed = one(((QueryResponse) r).consumedCapacity()); reads = true; }
+        else if (r instanceof ScanResponse) { consumed = one(((ScanResponse) r).consumedCapacity()); reads = true; }
+        else if (r instanceof BatchGetItemResponse) { consumed = ((BatchGetItemResponse) r).consumedCapacity(); reads = true; }
+        else if (r instanceof TransactGetItemsResponse) { consumed = ((TransactGetItemsResponse) r).consumedCapacity(); reads = true; }
+        else if (r instanceof PutItemResponse) consumed = one(((PutItemResponse) r).consumedCapacity());
+        else if (r instanceof UpdateItemResponse) consumed = one(((UpdateItemResponse) r).consumedCapacity());
+        else if (r instanceof DeleteItemResponse) consumed = one(((DeleteItemResponse) r).consumedCapacity());
+        else if (r instanceof BatchWriteItemResponse) consumed = ((BatchWriteItemResponse) r).consumedCapacity();
+        else if (r instanceof TransactWriteItemsResponse) consumed = ((TransactWriteItemsResponse) r).consumedCapacity();
+        else return;
+        if (consumed == null || consumed.isEmpty()) return;
+
+        double read = 0;
+        double write = 0;
+        for (ConsumedCapacity c : consumed) {
+            if (c.readCapacityUnits() != null || c.writeCapacityUnits() != null) {
+                read += c.readCapacityUnits() != null ? c.readCapacityUnits() : 0;
+                write += c.writeCapacityUnits() != null ? c.writeCapacityUnits() : 0;
+            } else if (c.capacityUnits() != null) {
+                // only the total came back: reads consume read units and writes write units
+                if (reads) read += c.capacityUnits();
+                else write += c.capacityUnits();
+            }
+        }
+        InvocationMetrics.recordCapacity(caller() + " " + attributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME),
+                read, write);
+    }
+
+    private static List<ConsumedCapacity> one(ConsumedCapacity c) {
+        return c == null ? null : List.of(c);
+    }
+
+    /** {@code Class.method} of the innermost application frame, lambdas named after their enclosing method. */
+    static String caller() {
+        return STACK.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(APP) && !f.getClassName().startsWith(SELF))
+                .findFirst()
+                .map(f -> simpleName(f.getClassName()) + "." + methodName(f.getMethodName()))
+                .orElse("unknown"));
+    }
+
+    static String simpleName(String className) {
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        int nested = name.indexOf('$');
+        return nested < 0 ? name : name.substring(0, nested);
+    }
+
+    static String methodName(String method) {
+        if (!method.startsWith("lambda$")) return method;
+        int end = method.indexOf('$', 7);
+        return end < 0 ? method.substring(7) : method.substring(7, end);
+    }
+}
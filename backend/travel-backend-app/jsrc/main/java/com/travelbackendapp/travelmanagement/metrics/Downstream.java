@@ -0,0 +1,16 @@
+package com.travelbackendapp.travelmanagement.metrics;
+
+/** The services a request calls out to; {@link #metricPrefix} names their EMF metrics, e.g. {@code DynamoDbCalls}. */
+public enum Downstream {
+    DYNAMODB("DynamoDb"),
+    S3("S3"),
+    SQS("Sqs"),
+    COGNITO("Cognito"),
+    GEMINI("Gemini");
+
+    public final String metricPrefix;
+
+    Downstream(String metricPrefix) {
+        this.metricPrefix = metricPrefix;
+    }
+}
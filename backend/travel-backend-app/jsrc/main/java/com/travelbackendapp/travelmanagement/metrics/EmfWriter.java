@@ -0,0 +1,107 @@
+package com.travelbackendapp.travelmanagement.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Formats invocations as CloudWatch Embedded Metric Format and prints them to stdout, one JSON object per line, where
+ * the Lambda runtime (or the container's log driver) ships them to CloudWatch Logs, which extracts the metrics.
+ * Only stdout carries these lines; application logs go to stderr.
+ * <p>
+ * Namespace from {@code metrics_namespace} (default {@code TravelAgency/Api}); {@code emf_metrics=off} disables them,
+ * e.g. for the load test tool.
+ */
+final class EmfWriter {
+
+    static final String NAMESPACE = env("metrics_namespace", "TravelAgency/Api");
+    static final boolean ENABLED = !"off".equalsIgnoreCase(env("emf_metrics", "on"));
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final List<List<String>> DIMENSIONS = List.of(List.of("Route", "Status", "ColdStart"));
+
+    /** Where lines go; tests swap it to read them back. */
+    static volatile PrintStream out = System.out;
+
+    private EmfWriter() {
+    }
+
+    /**
+     * One invocation: {@code Latency} and, per downstream, {@code <Prefix>Calls} always and {@code <Prefix>Latency}
+     * (total ms) and {@code <Prefix>Errors} when it was called, {@code DynamoDbReadCapacity} and
+     * {@code DynamoDbWriteCapacity} when capacity was booked, the {@link InvocationMetrics.Transact} counts when a
+     * transaction conflicted or was rejected, under the Route/Status/ColdStart dimensions; the
+     * route histogram so far ({@code routeCount}, {@code routeP50Ms}, ...) and the request id as plain properties.
+     *
+     * @param routeStats {count, p50, p95, p99} of the route histogram, in microseconds
+     */
+    static String line(String route, int status, boolean coldStart, String requestId, long micros,
+                       InvocationMetrics metrics, long[] routeStats) {
+        List<Map<String, String>> definitions = new ArrayList<>();
+        Map<String, Object> root = new LinkedHashMap<>();
+        Map<String, Object> aws = new LinkedHashMap<>();
+        aws.put("Timestamp", System.currentTimeMillis());
+        aws.put("CloudWatchMetrics", List.of(Map.of(
+                "Namespace", NAMESPACE, "Dimensions", DIMENSIONS, "Metrics", definitions)));
+        root.put("_aws", aws);
+        root.put("Route", route);
+        root.put("Status", Integer.toString(status));
+        root.put("ColdStart", Boolean.toString(coldStart));
+
+        metric(root, definitions, "Latency", "Milliseconds", micros / 1000.0);
+        for (Downstream d : Downstream.values()) {
+            long calls = metrics.calls(d);
+            metric(root, definitions, d.metricPrefix + "Calls", "Count", calls);
+            if (calls == 0) continue;
+            metric(root, definitions, d.metricPrefix + "Latency", "Milliseconds", metrics.nanos(d) / 1_000_000.0);
+            metric(root, definitions, d.metricPrefix + "Errors", "Count", metrics.errors(d));
+        }
+        boolean transacted = false;
+        for (InvocationMetrics.Transact t : InvocationMetrics.Transact.values()) transacted |= metrics.transacts(t) > 0;
+        if (transacted) {
+            for (InvocationMetrics.Transact t : InvocationMetrics.Transact.values()) {
+                metric(root, definitions, t.metricName, "Count", metrics.transacts(t));
+            }
+        }
+        CapacityLedger capacity = metrics.capacity();
+        if (!capacity.isEmpty()) {
+            metric(root, definitions, "DynamoDbReadCapacity", "None", capacity.readUnits());
+            metric(root, definitions, "DynamoDbWriteCapacity", "None", capacity.writeUnits());
+        }
+
+        root.put("routeCount", routeStats[0]);
+        root.put("routeP50Ms", routeStats[1] / 1000.0);
+        root.put("routeP95Ms", routeStats[2] / 1000.0);
+        root.put("routeP99Ms", routeStats[3] / 1000.0);
+        if (requestId != null) root.put("requestId", requestId);
+        try {
+            return MAPPER.writeValueAsString(root);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("EMF line not serializable", e);
+        }
+    }
+
+    static void write(String line) {
+        if (!ENABLED) return;
+        PrintStream stream = out;
+        synchronized (stream) {
+            stream.println(line);
+        }
+    }
+
+    private static void metric(Map<String, Object> root, List<Map<String, String>> definitions,
+                               String name, String unit, Object value) {
+        definitions.add(Map.of("Name", name, "Unit", unit));
+        root.put(name, value);
+    }
+
+    private static String env(String name, String fallback) {
+        String v = System.getenv(name);
+        return v == null || v.isBlank() ? fallback : v.trim();
+    }
+}
@@ -0,0 +1,182 @@
+package com.travelbackendapp.travelmanagement.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * What one API request cost: its latency and, per {@link Downstream}, how many calls it made, how long they took and
+ * how many failed. The entrypoint {@link #begin() begins} it on the request thread; the AWS SDK interceptor and the
+ * Gemini client {@link #record record} into the invocation current on their thread, and io executor tasks are
+ * {@link #propagate propagated} so concurrent reads count too. {@link #finish} writes one EMF line.
+ * <p>
+ * Route latencies also accumulate in a histogram per route for the life of the process (the warm container or the
+ * server), whose percentiles go out with every line.
+ * <p>
+ * DynamoDB transactions that were cancelled by a conflict, retried, or rejected by a condition are counted per
+ * {@link Transact outcome} and go out in the same line.
+ * <p>
+ * DynamoDB capacity is booked per operation in a {@link CapacityLedger}, logged when the request ends and, with
+ * {@code capacity_header=on}, returned in an {@value #CAPACITY_HEADER} response header. Cron and report handlers
+ * {@link #finishJob finish} with a summary of their top consumers instead of an EMF line.
+ */
+public final class InvocationMetrics {
+    private static final Logger log = LoggerFactory.getLogger(InvocationMetrics.class);
+
+    public static final String CAPACITY_HEADER = "X-Consumed-Capacity";
+    public static final boolean CAPACITY_HEADER_ENABLED = "on".equalsIgnoreCase(System.getenv("capacity_header"));
+    private static final int TOP_CONSUMERS = 10;
+
+    private static final ThreadLocal<InvocationMetrics> CURRENT = new ThreadLocal<>();
+    private static final AtomicBoolean COLD = new AtomicBoolean(true);
+    private static final Map<String, LatencyHistogram> ROUTE_LATENCY = new ConcurrentHashMap<>();
+    private static final int DOWNSTREAMS = Downstream.values().length;
+
+    private final long startNanos = System.nanoTime();
+    private final boolean coldStart;
+    private final AtomicLongArray calls = new AtomicLongArray(DOWNSTREAMS);
+    private final AtomicLongArray nanos = new AtomicLongArray(DOWNSTREAMS);
+    private final AtomicLongArray errors = new AtomicLongArray(DOWNSTREAMS);
+    private final AtomicLongArray transacts = new AtomicLongArray(Transact.values().length);
+    private final CapacityLedger capacity = new CapacityLedger();
+    private volatile boolean finished;
+
+    /** How a TransactWriteItems attempt ended short of success; {@link #metricName} names its EMF count. */
+    public enum Transact {
+        CONFLICT("DynamoDbTransactConflicts"),
+        RETRY("DynamoDbTransactRetries"),
+        CONDITION_FAILED("DynamoDbTransactConditionFailures");
+
+        public final String metricName;
+
+        Transact(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private InvocationMetrics(boolean coldStart) {
+        this.coldStart = coldStart;
+    }
+
+    /** Starts measuring a request on this thread; the first one in the process is the cold start. */
+    public static InvocationMetrics begin() {
+        InvocationMetrics metrics = new InvocationMetrics(COLD.getAndSet(false));
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    /** Counts a downstream call against the current invocation; does nothing outside one, e.g. in a background refresh. */
+    public static void record(Downstream downstream, long elapsedNanos, boolean failed) {
+        InvocationMetrics metrics = CURRENT.get();
+        if (metrics == null || metrics.finished) return;
+        int i = downstream.ordinal();
+        metrics.calls.incrementAndGet(i);
+        metrics.nanos.addAndGet(i, elapsedNanos);
+        if (failed) metrics.errors.incrementAndGet(i);
+    }
+
+    /** Counts a transaction outcome against the current invocation, if there is one. */
+    public static void recordTransact(Transact outcome) {
+        InvocationMetrics metrics = CURRENT.get();
+        if (metrics != null && !metrics.finished) metrics.transacts.incrementAndGet(outcome.ordinal());
+    }
+
+    /** Books consumed DynamoDB capacity against the current invocation's ledger, if there is one. */
+    public static void recordCapacity(String operation, double readUnits, double writeUnits) {
+        InvocationMetrics metrics = CURRENT.get();
+        if (metrics != null && !metrics.finished) metrics.capacity.add(operation, readUnits, writeUnits);
+    }
+
+    /** Whether this thread is inside an invocation, so callers can skip work nobody would record. */
+    public static boolean active() {
+        InvocationMetrics metrics = CURRENT.get();
+        return metrics != null && !metrics.finished;
+    }
+
+    /**
+     * Runs {@code task} in the invocation and under the {@link Tracer} span current at submit time, so calls it makes
+     * on a pool thread count and nest in the trace.
+     */
+    public static Runnable propagate(Runnable task) {
+        Runnable traced = Tracer.propagate(task);
+        InvocationMetrics metrics = CURRENT.get();
+        if (metrics == null) return traced;
+        return () -> {
+            InvocationMetrics previous = CURRENT.get();
+            CURRENT.set(metrics);
+            try {
+                traced.run();
+            } finally {
+                if (previous == null) CURRENT.remove();
+                else CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Ends the invocation: adds its latency to the route histogram and writes the EMF line.
+     * Calls still running on other threads after this are not counted.
+     *
+     * @param route     the route template, e.g. {@code GET /tours/{id}}, never the raw path
+     * @param requestId written as a property (not a dimension) to find the request's logs; may be null
+     */
+    public void finish(String route, int status, String requestId) {
+        long micros = (System.nanoTime() - startNanos) / 1_000;
+        finished = true;
+        if (CURRENT.get() == this) CURRENT.remove();
+
+        LatencyHistogram histogram = ROUTE_LATENCY.computeIfAbsent(route, r -> new LatencyHistogram());
+        long count;
+        long p50;
+        long p95;
+        long p99;
+        synchronized (histogram) {
+            histogram.record(micros);
+            count = histogram.count();
+            p50 = histogram.percentile(50);
+            p95 = histogram.percentile(95);
+            p99 = histogram.percentile(99);
+        }
+        EmfWriter.write(EmfWriter.line(route, status, coldStart, requestId, micros, this,
+                new long[]{count, p50, p95, p99}));
+        if (!capacity.isEmpty()) log.info("CAPACITY {} status={} {}", route, status, capacity);
+    }
+
+    /** Ends a cron or report invocation and logs the operations that consumed the most capacity. */
+    public void finishJob(String job) {
+        finished = true;
+        if (CURRENT.get() == this) CURRENT.remove();
+        if (capacity.isEmpty()) return;
+        StringBuilder top = new StringBuilder();
+        for (CapacityLedger.Entry e : capacity.top(TOP_CONSUMERS)) top.append("\n  ").append(e);
+        log.info("Top DynamoDB consumers of {} in {}ms: rcu={} wcu={}{}", job, (System.nanoTime() - startNanos) / 1_000_000,
+                String.format(Locale.ROOT, "%.1f", capacity.readUnits()),
+                String.format(Locale.ROOT, "%.1f", capacity.writeUnits()), top);
+    }
+
+    /** The capacity booked so far, e.g. for the {@value #CAPACITY_HEADER} header before the response goes out. */
+    public CapacityLedger capacity() {
+        return capacity;
+    }
+
+    long calls(Downstream downstream) {
+        return calls.get(downstream.ordinal());
+    }
+
+    long nanos(Downstream downstream) {
+        return nanos.get(downstream.ordinal());
+    }
+
+    long errors(Downstream downstream) {
+        return errors.get(downstream.ordinal());
+    }
+
+    long transacts(Transact outcome) {
+        return transacts.get(outcome.ordinal());
+    }
+}
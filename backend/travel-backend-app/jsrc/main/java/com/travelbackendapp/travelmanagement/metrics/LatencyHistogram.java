@@ -0,0 +1,64 @@
+package com.travelbackendapp.travelmanagement.metrics;
+
+/**
+ * Latency counts in log-linear buckets: exact below 64us, then 32 buckets per power of two, so a reported
+ * percentile is at most about 3% above the true value. Fixed size whatever the sample count, and not thread-safe:
+ * each worker records into its own and the results are {@link #add added} up afterwards, or callers lock it.
+ */
+public final class LatencyHistogram {
+
+    private static final int LINEAR = 64;
+    private static final int PER_OCTAVE = 32;
+    private static final int OCTAVES = 36;   // up to ~2^41us, far beyond any timeout
+
+    private final long[] counts = new long[LINEAR + OCTAVES * PER_OCTAVE];
+    private long count;
+    private long max;
+
+    public void record(long micros) {
+        long v = Math.max(0, micros);
+        counts[index(v)]++;
+        count++;
+        if (v > max) max = v;
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) counts[i] += other.counts[i];
+        count += other.count;
+        max = Math.max(max, other.max);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    /** Smallest bucket bound that {@code percent}% of the samples do not exceed, in microseconds; 0 when empty. */
+    public long percentile(double percent) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(count * percent / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(upperBound(i), max);
+        }
+        return max;
+    }
+
+    static int index(long v) {
+        if (v < LINEAR) return (int) v;
+        int shift = 63 - Long.numberOfLeadingZeros(v) - 5;   // v >> shift is in [32, 63]
+        int i = LINEAR + (shift - 1) * PER_OCTAVE + (int) (v >> shift) - PER_OCTAVE;
+        return Math.min(i, LINEAR + OCTAVES * PER_OCTAVE - 1);
+    }
+
+    static long upperBound(int index) {
+        if (index < LINEAR) return index;
+        int shift = (index - LINEAR) / PER_OCTAVE + 1;
+        long top = (index - LINEAR) % PER_OCTAVE + PER_OCTAVE;
+        return ((top + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,41 @@
+package com.travelbackendapp.travelmanagement.metrics;
+
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+
+/**
+ * Times every call of one AWS SDK client, retries included, into the current {@link InvocationMetrics}.
+ * Synchronous clients run the interceptor on the calling thread, which is what makes the thread-local lookup work.
+ */
+public final class MetricsInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Long> START = new ExecutionAttribute<>("InvocationMetricsStart");
+
+    private final Downstream downstream;
+
+    public MetricsInterceptor(Downstream downstream) {
+        this.downstream = downstream;
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes attributes) {
+        attributes.putAttribute(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes attributes) {
+        done(attributes, false);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes attributes) {
+        done(attributes, true);
+    }
+
+    private void done(ExecutionAttributes attributes, boolean failed) {
+        Long start = attributes.getAttribute(START);
+        if (start != null) InvocationMetrics.record(downstream, System.nanoTime() - start, failed);
+    }
+}
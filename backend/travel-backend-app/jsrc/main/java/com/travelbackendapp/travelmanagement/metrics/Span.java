@@ -0,0 +1,65 @@
+package com.travelbackendapp.travelmanagement.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One timed step of a trace, opened by {@link Tracer} and closed with try-with-resources on the thread that opened it.
+ * Outside a trace {@link Tracer#span} hands out {@link #NOOP}, which records nothing.
+ */
+public final class Span implements AutoCloseable {
+
+    static final Span NOOP = new Span(null, 0, 0, "", null);
+
+    final Tracer.Trace trace;
+    final int id;
+    final int parentId;
+    final String name;
+    final long startNanos;
+    /** The span that was current on the opening thread; it becomes current again on close. */
+    final Span previous;
+    private Map<String, Object> attributes;
+    private volatile long endNanos;
+
+    Span(Tracer.Trace trace, int id, int parentId, String name, Span previous) {
+        this.trace = trace;
+        this.id = id;
+        this.parentId = parentId;
+        this.name = name;
+        this.previous = previous;
+        this.startNanos = System.nanoTime();
+    }
+
+    /** Adds an attribute, e.g. a table name or status code; values should be strings, numbers, booleans or enums. */
+    public Span attr(String key, Object value) {
+        if (trace == null || value == null) return this;
+        synchronized (this) {
+            if (attributes == null) attributes = new LinkedHashMap<>();
+            attributes.put(key, value);
+        }
+        return this;
+    }
+
+    public Span error(Throwable e) {
+        return attr("error", e.getClass().getSimpleName());
+    }
+
+    @Override
+    public void close() {
+        if (trace == null || endNanos != 0) return;
+        endNanos = System.nanoTime();
+        Tracer.closed(this);
+    }
+
+    boolean open() {
+        return endNanos == 0;
+    }
+
+    long endNanos() {
+        return endNanos;
+    }
+
+    synchronized Map<String, Object> attributes() {
+        return attributes == null ? null : new LinkedHashMap<>(attributes);
+    }
+}
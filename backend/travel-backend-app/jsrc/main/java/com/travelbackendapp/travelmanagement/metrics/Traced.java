@@ -0,0 +1,40 @@
+package com.travelbackendapp.travelmanagement.metrics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Wraps a service or repository so every interface method call is a span named {@code Interface.method}, e.g.
+ * {@code BookingsRepository.findAll}. The Dagger modules wrap what they provide; the implementations stay unaware.
+ */
+public final class Traced {
+
+    private Traced() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T of(Class<T> iface, T target) {
+        if (!Tracer.ENABLED) return target;
+        String prefix = iface.getSimpleName() + ".";
+        return (T) Proxy.newProxyInstance(iface.getClassLoader(), new Class<?>[]{iface}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) return invoke(method, target, args);
+            try (Span span = Tracer.span(prefix + method.getName())) {
+                try {
+                    return invoke(method, target, args);
+                } catch (Throwable e) {
+                    span.error(e);
+                    throw e;
+                }
+            }
+        });
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
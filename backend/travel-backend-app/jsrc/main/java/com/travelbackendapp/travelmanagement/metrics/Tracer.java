@@ -0,0 +1,160 @@
+package com.travelbackendapp.travelmanagement.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelbackendapp.travelmanagement.util.SnapSafeRandom;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process request tracing: {@code RequestRouter} {@link #startTrace starts} a trace per request; services,
+ * repositories ({@link Traced}) and AWS SDK calls ({@link TracingInterceptor}) open child {@link Span spans} under
+ * whatever span is current on their thread, and io executor tasks are {@link #propagate propagated}.
+ * <p>
+ * Every trace is recorded; when its root span closes it is kept if it took at least {@code trace_slow_ms}
+ * (default 1000), failed, or falls in the {@code trace_sample_rate} sample (default 0.01), and then printed to stdout
+ * as one JSON line: {@code {"trace":..., "name":..., "ms":..., "spans":[{"id", "p" (parent), "name", "at" (ms after
+ * the root started), "ms", "attrs"}]}}. {@code tracing=off} turns spans into no-ops.
+ */
+public final class Tracer {
+
+    static final boolean ENABLED = !"off".equalsIgnoreCase(env("tracing", "on"));
+    static final double SAMPLE_RATE = Double.parseDouble(env("trace_sample_rate", "0.01"));
+    static final long SLOW_MS = Long.parseLong(env("trace_slow_ms", "1000"));
+    /** Spans kept per trace; a request scanning page after page should not grow without bound. */
+    static final int MAX_SPANS = 1_000;
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Where kept traces go; tests swap it to read them back. */
+    static volatile PrintStream out = System.out;
+
+    private Tracer() {
+    }
+
+    /** Opens the root span of a new trace on this thread, replacing any trace left current. */
+    public static Span startTrace(String name) {
+        if (!ENABLED) return Span.NOOP;
+        Trace trace = new Trace();
+        Span root = new Span(trace, trace.nextId.incrementAndGet(), 0, name, null);
+        trace.add(root);
+        CURRENT.set(root);
+        return root;
+    }
+
+    /** Opens a child of the current span; a no-op outside a trace. */
+    public static Span span(String name) {
+        Span parent = CURRENT.get();
+        if (parent == null || parent.trace == null || !parent.open()) return Span.NOOP;
+        Trace trace = parent.trace;
+        int id = trace.nextId.incrementAndGet();
+        if (id > MAX_SPANS) {
+            trace.dropped.incrementAndGet();
+            return Span.NOOP;
+        }
+        Span span = new Span(trace, id, parent.id, name, parent);
+        trace.add(span);
+        CURRENT.set(span);
+        return span;
+    }
+
+    /** Runs {@code task} under the span current at submit time, so spans it opens on a pool thread nest there. */
+    public static Runnable propagate(Runnable task) {
+        Span parent = CURRENT.get();
+        if (parent == null) return task;
+        return () -> {
+            Span previous = CURRENT.get();
+            CURRENT.set(parent);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) CURRENT.remove();
+                else CURRENT.set(previous);
+            }
+        };
+    }
+
+    static void closed(Span span) {
+        if (CURRENT.get() == span) {
+            if (span.previous == null) CURRENT.remove();
+            else CURRENT.set(span.previous);
+        }
+        if (span.parentId != 0) return;
+        long ms = (span.endNanos() - span.startNanos) / 1_000_000;
+        Map<String, Object> attrs = span.attributes();
+        boolean failed = attrs != null && (attrs.containsKey("error")
+                || attrs.get("status") instanceof Integer && (Integer) attrs.get("status") >= 500);
+        if (ms >= SLOW_MS || failed || SnapSafeRandom.current().nextDouble() < SAMPLE_RATE) {
+            write(line(span.trace, span));
+        }
+    }
+
+    static String line(Trace trace, Span root) {
+        List<Map<String, Object>> spans = new ArrayList<>();
+        long now = System.nanoTime();
+        for (Span s : trace.snapshot()) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("id", s.id);
+            if (s.parentId != 0) m.put("p", s.parentId);
+            m.put("name", s.name);
+            m.put("at", round((s.startNanos - root.startNanos) / 1e6));
+            m.put("ms", round(((s.open() ? now : s.endNanos()) - s.startNanos) / 1e6));
+            Map<String, Object> attrs = s.attributes();
+            if (s.open()) {
+                if (attrs == null) attrs = new LinkedHashMap<>();
+                attrs.put("open", true);
+            }
+            if (attrs != null) m.put("attrs", attrs);
+            spans.add(m);
+        }
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("trace", trace.id);
+        line.put("name", root.name);
+        line.put("ms", round((root.endNanos() - root.startNanos) / 1e6));
+        if (trace.dropped.get() > 0) line.put("droppedSpans", trace.dropped.get());
+        line.put("spans", spans);
+        try {
+            return MAPPER.writeValueAsString(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("trace not serializable", e);
+        }
+    }
+
+    private static void write(String line) {
+        PrintStream stream = out;
+        synchronized (stream) {
+            stream.println(line);
+        }
+    }
+
+    private static double round(double ms) {
+        return Math.round(ms * 100) / 100.0;
+    }
+
+    private static String env(String name, String fallback) {
+        String v = System.getenv(name);
+        return v == null || v.isBlank() ? fallback : v.trim();
+    }
+
+    /** The spans of one request, in the order they opened. */
+    static final class Trace {
+        final String id = Long.toHexString(SnapSafeRandom.current().nextLong() | Long.MIN_VALUE);
+        final AtomicInteger nextId = new AtomicInteger();
+        final AtomicInteger dropped = new AtomicInteger();
+        final List<Span> spans = new ArrayList<>();
+
+        synchronized void add(Span span) {
+            spans.add(span);
+        }
+
+        synchronized List<Span> snapshot() {
+            return new ArrayList<>(spans);
+        }
+    }
+}
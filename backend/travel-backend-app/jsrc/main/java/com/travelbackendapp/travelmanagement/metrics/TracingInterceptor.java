@@ -0,0 +1,47 @@
+package com.travelbackendapp.travelmanagement.metrics;
+
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+/**
+ * Makes every call of an AWS SDK client a child span of the current one, e.g. {@code DynamoDb.Query} with the table
+ * name, retries included; the HTTP status and any error end up as attributes.
+ */
+public final class TracingInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Span> SPAN = new ExecutionAttribute<>("TracingSpan");
+    /** Request fields worth a look in a trace, by their wire names. */
+    private static final String[] TARGETS = {"TableName", "IndexName", "Bucket", "QueueUrl"};
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes attributes) {
+        Span span = Tracer.span(attributes.getAttribute(SdkExecutionAttribute.SERVICE_NAME) + "."
+                + attributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME));
+        if (span == Span.NOOP) return;
+        SdkRequest request = context.request();
+        for (String field : TARGETS) {
+            request.getValueForField(field, String.class).ifPresent(v -> span.attr(field, v));
+        }
+        attributes.putAttribute(SPAN, span);
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes attributes) {
+        Span span = attributes.getAttribute(SPAN);
+        if (span == null) return;
+        span.attr("http", context.httpResponse().statusCode());
+        span.close();
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes attributes) {
+        Span span = attributes.getAttribute(SPAN);
+        if (span == null) return;
+        span.error(context.exception());
+        span.close();
+    }
+}
@@ -0,0 +1,113 @@
+package com.travelbackendapp.travelmanagement.model.api.request;
+
+import com.travelbackendapp.travelmanagement.domain.BookingStatus;
+import com.travelbackendapp.travelmanagement.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+import static com.travelbackendapp.travelmanagement.util.RequestUtils.*;
+
+/**
+ * Query parameters of GET /bookings: {@code status} (one or more, comma separated),
+ * {@code from}/{@code to} (booking date, ISO yyyy-MM-dd, inclusive), {@code limit}, {@code cursor}
+ * and {@code archived} ({@code exclude} by default, {@code include} to load archived bookings from S3).
+ * Without {@code limit} all matching bookings are returned, as before.
+ */
+public class BookingsQueryRequest {
+    public static final int MAX_LIMIT = 100;
+    private static final String CURSOR_SEPARATOR = "|";   // bookingIds (date_uuid) and Cognito subs never contain it
+
+    public final Set<BookingStatus> statuses;   // empty = any
+    public final String from;                   // null = open
+    public final String to;                     // null = open
+    public final Integer limit;                 // null = no paging
+    public final String afterBookingId;         // decoded cursor, null on the first page
+    public final String afterUserId;            // with afterBookingId in cursors of listings that span users
+    public final boolean includeArchived;       // tombstones are skipped unless set
+
+    private BookingsQueryRequest(Set<BookingStatus> statuses, String from, String to, Integer limit,
+                                 String[] after, boolean includeArchived) {
+        this.statuses = statuses;
+        this.from = from;
+        this.to = to;
+        this.limit = limit;
+        this.afterBookingId = after == null ? null : after[0];
+        this.afterUserId = after == null || after.length < 2 ? null : after[1];
+        this.includeArchived = includeArchived;
+    }
+
+    public static BookingsQueryRequest fromQuery(Map<String, String> q) {
+        Set<BookingStatus> statuses = EnumSet.noneOf(BookingStatus.class);
+        String rawStatus = valOrNull(q.get("status"));
+        if (rawStatus != null) {
+            for (String s : rawStatus.split(",")) {
+                if (s.trim().isEmpty()) continue;
+                try {
+                    statuses.add(BookingStatus.valueOf(s.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new BadRequestException("status must be one or more of: " + Arrays.toString(BookingStatus.values()));
+                }
+            }
+        }
+
+        String from = isoDate(valOrNull(q.get("from")));
+        String to = isoDate(valOrNull(q.get("to")));
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            throw new BadRequestException("from cannot be after to");
+        }
+
+        Integer limit = null;
+        String rawLimit = valOrNull(q.get("limit"));
+        if (rawLimit != null) {
+            limit = clampRange(parseIntOrDefault(rawLimit, 20), 1, MAX_LIMIT);
+        }
+
+        boolean includeArchived = false;
+        String rawArchived = valOrNull(q.get("archived"));
+        if (rawArchived != null) {
+            if ("include".equalsIgnoreCase(rawArchived)) includeArchived = true;
+            else if (!"exclude".equalsIgnoreCase(rawArchived)) throw new BadRequestException("archived must be include or exclude");
+        }
+
+        String cursor = valOrNull(q.get("cursor"));
+        return new BookingsQueryRequest(statuses, from, to, limit, cursor == null ? null : decodeCursor(cursor), includeArchived);
+    }
+
+    /** Opaque cursor for the page that starts after {@code bookingId}. */
+    public static String encodeCursor(String bookingId) {
+        return encodeCursor(bookingId, null);
+    }
+
+    /** Opaque cursor for the page that starts after the booking ({@code userId}, {@code bookingId}); userId may be null. */
+    public static String encodeCursor(String bookingId, String userId) {
+        String raw = userId == null ? bookingId : bookingId + CURSOR_SEPARATOR + userId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // bookingId, then userId when the cursor has one
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length > 2) throw new IllegalArgumentException();
+            for (String part : parts) {
+                if (part.isEmpty()) throw new IllegalArgumentException();
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("invalid cursor");
+        }
+    }
+
+    private static String isoDate(String s) {
+        if (s == null) return null;
+        try {
+            return LocalDate.parse(s).toString();
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("from/to must be ISO format YYYY-MM-DD");
+        }
+    }
+}
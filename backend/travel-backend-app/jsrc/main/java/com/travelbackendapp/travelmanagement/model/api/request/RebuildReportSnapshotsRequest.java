@@ -0,0 +1,19 @@
+package com.travelbackendapp.travelmanagement.model.api.request;
+
+import javax.validation.constraints.*;
+
+public class RebuildReportSnapshotsRequest {
+    @NotBlank
+    @Pattern(regexp = "AGENT|TOUR|ALL", message = "scope must be AGENT, TOUR or ALL")
+    public String scope;
+
+    // agent email or tourId; not used for ALL
+    public String id;
+
+    @Pattern(regexp = "WEEKLY|MONTHLY|QUARTERLY|YEARLY", message = "period must be WEEKLY, MONTHLY, QUARTERLY or YEARLY")
+    public String period;
+
+    @Min(2000)
+    @Max(2100)
+    public Integer year;
+}
@@ -4,6 +4,7 @@ package com.travelbackendapp.travelmanagement.model.api.request;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.travelbackendapp.travelmanagement.domain.DurationBucket;
 import com.travelbackendapp.travelmanagement.domain.GuestQuantity;
+import com.travelbackendapp.travelmanagement.domain.SearchFacet;
 import com.travelbackendapp.travelmanagement.domain.SortBy;
 import com.travelbackendapp.travelmanagement.exceptions.BadRequestException;
 
@@ -24,13 +25,14 @@ public class ToursSearchRequest {
     public final SortBy sortBy;
     public final Set<DurationBucket> durationBuckets;
     public final GuestQuantity guests;
+    public final Set<SearchFacet> facets;   // empty unless facets= is given
 
     private ToursSearchRequest(
             int page, int pageSize, String destination,
             String startDate, String endDate,
             String duration, List<String> mealPlans, List<String> tourTypes,
             SortBy sortBy, Set<DurationBucket> durationBuckets,
-            GuestQuantity guests
+            GuestQuantity guests, Set<SearchFacet> facets
     ) {
         this.page = page;
         this.pageSize = pageSize;
@@ -43,6 +45,24 @@ public class ToursSearchRequest {
         this.sortBy = sortBy;
         this.durationBuckets = durationBuckets;
         this.guests = guests;
+        this.facets = facets;
+    }
+
+    /**
+     * Canonical form of the filters and sort, without pagination: equal searches written differently
+     * (mealPlan=HB,BB vs BB,HB, or repeated values) share one key and therefore one cached result list.
+     */
+    public String cacheKey() {
+        return "d=" + (destination == null ? "" : destination)
+                + "|s=" + (startDate == null ? "" : startDate)
+                + "|e=" + (endDate == null ? "" : endDate)
+                + "|du=" + (duration == null ? "" : duration)
+                + "|mp=" + String.join(",", new TreeSet<>(mealPlans))
+                + "|tt=" + String.join(",", new TreeSet<>(tourTypes))
+                + "|db=" + durationBuckets.stream().map(Enum::name).collect(Collectors.joining(","))
+                + "|g=" + guests.adults + "," + guests.children
+                + "|sort=" + sortBy.name()
+                + "|f=" + facets.stream().map(Enum::name).collect(Collectors.joining(","));
     }
 
     private static List<String> splitCsv(String raw) {
@@ -87,9 +107,21 @@ public class ToursSearchRequest {
         // Guests
         GuestQuantity guests = GuestQuantity.from(q, mapper);
 
+        // Facets (multi-select)
+        Set<SearchFacet> facets = splitCsv(valOrNull(q.get("facets")))
+                .stream()
+                .map(SearchFacet::parse)
+                .peek(opt -> {
+                    if (opt.isEmpty()) {
+                        throw new BadRequestException("facets must be one or more of: destination, tourType, mealPlan, durationBucket, price");
+                    }
+                })
+                .map(Optional::get)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(SearchFacet.class)));
+
         return new ToursSearchRequest(
                 page, pageSize, destination, startDate, endDate,
-                duration, mealPlans, tourTypes, sortBy, durationBuckets, guests
+                duration, mealPlans, tourTypes, sortBy, durationBuckets, guests, facets
         );
     }
 }
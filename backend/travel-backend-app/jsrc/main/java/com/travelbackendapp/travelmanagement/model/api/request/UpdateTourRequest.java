@@ -18,6 +18,7 @@ public class UpdateTourRequest {
     public Integer maxAdults;
     public Integer maxChildren;
     public Integer availablePackages;
+    public Integer inventoryShards; // 0 turns sharded inventory off, N > 0 spreads capacity over N shards
     
     public List<String> imageUrls;
     public String summary;
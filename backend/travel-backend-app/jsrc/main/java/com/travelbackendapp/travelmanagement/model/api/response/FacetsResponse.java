@@ -0,0 +1,34 @@
+package com.travelbackendapp.travelmanagement.model.api.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts per facet value for a tours search. Each facet ignores its own filter,
+ * e.g. mealPlan counts tell how many results each meal plan would give with the other filters kept.
+ * Only requested facets are present.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FacetsResponse {
+    public Map<String, Integer> destination;
+    public Map<String, Integer> tourType;
+    public Map<String, Integer> mealPlan;
+    public Map<String, Integer> durationBucket;
+    public List<PriceBucket> price;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class PriceBucket {
+        public double min;
+        public Double max;   // null for the open-ended top bucket
+        public int count;
+
+        public PriceBucket() {}
+        public PriceBucket(double min, Double max, int count) {
+            this.min = min;
+            this.max = max;
+            this.count = count;
+        }
+    }
+}
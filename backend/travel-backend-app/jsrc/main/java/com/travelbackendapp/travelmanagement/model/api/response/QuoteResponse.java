@@ -0,0 +1,19 @@
+package com.travelbackendapp.travelmanagement.model.api.response;
+
+public class QuoteResponse {
+    public String tourId;
+    public String duration;    // canonical key, e.g. "7 days"
+    public String mealPlan;    // code, e.g. "BB"
+    public String totalPrice;  // e.g. "$1960"
+    public CreateBookingResponse.PriceBreakdown breakdown;
+
+    public QuoteResponse() {}
+    public QuoteResponse(String tourId, String duration, String mealPlan, String totalPrice,
+                         CreateBookingResponse.PriceBreakdown breakdown) {
+        this.tourId = tourId;
+        this.duration = duration;
+        this.mealPlan = mealPlan;
+        this.totalPrice = totalPrice;
+        this.breakdown = breakdown;
+    }
+}
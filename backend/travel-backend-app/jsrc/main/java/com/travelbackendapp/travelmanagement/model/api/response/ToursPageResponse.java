@@ -1,5 +1,6 @@
 package com.travelbackendapp.travelmanagement.model.api.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.travelbackendapp.travelmanagement.model.api.response.TourResponse;
 
 import java.util.List;
@@ -10,6 +11,8 @@ public class ToursPageResponse {
     public int pageSize;
     public int totalPages;
     public int totalItems;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public FacetsResponse facets;   // only when facets= was requested
 
     public ToursPageResponse(List<TourResponse> tours, int page, int pageSize, int totalPages, int totalItems) {
         this.tours = tours;
@@ -18,4 +21,10 @@ public class ToursPageResponse {
         this.totalPages = totalPages;
         this.totalItems = totalItems;
     }
+
+    public ToursPageResponse(List<TourResponse> tours, int page, int pageSize, int totalPages, int totalItems,
+                             FacetsResponse facets) {
+        this(tours, page, pageSize, totalPages, totalItems);
+        this.facets = facets;
+    }
 }
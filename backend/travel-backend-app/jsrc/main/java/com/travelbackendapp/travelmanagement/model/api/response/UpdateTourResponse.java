@@ -1,8 +1,13 @@
 package com.travelbackendapp.travelmanagement.model.api.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class UpdateTourResponse {
     public String tourId;
     public String message;
+    // set when the other fields were saved but the sharded inventory change was not applied
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String inventoryError;
 
     public UpdateTourResponse() {}
     public UpdateTourResponse(String tourId, String message) {
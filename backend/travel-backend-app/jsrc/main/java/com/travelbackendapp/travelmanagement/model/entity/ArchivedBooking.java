@@ -0,0 +1,28 @@
+package com.travelbackendapp.travelmanagement.model.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** One line of a booking archive object: the full booking as it was in the hot table plus its document pointers. */
+public class ArchivedBooking {
+    private BookingItem booking;
+    private List<DocumentRecord> documents = new ArrayList<>();
+    private Long archivedAtEpoch;    // ms
+
+    public ArchivedBooking() {}
+
+    public ArchivedBooking(BookingItem booking, List<DocumentRecord> documents, long archivedAtEpoch) {
+        this.booking = booking;
+        this.documents = documents == null ? new ArrayList<>() : documents;
+        this.archivedAtEpoch = archivedAtEpoch;
+    }
+
+    public BookingItem getBooking() { return booking; }
+    public void setBooking(BookingItem booking) { this.booking = booking; }
+
+    public List<DocumentRecord> getDocuments() { return documents; }
+    public void setDocuments(List<DocumentRecord> documents) { this.documents = documents; }
+
+    public Long getArchivedAtEpoch() { return archivedAtEpoch; }
+    public void setArchivedAtEpoch(Long archivedAtEpoch) { this.archivedAtEpoch = archivedAtEpoch; }
+}
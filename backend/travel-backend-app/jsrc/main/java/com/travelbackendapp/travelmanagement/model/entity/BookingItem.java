@@ -13,6 +13,9 @@ import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 @DynamoDbBean
 public class BookingItem {
 
+    /** GSI (agentEmail, bookingId): an agent's bookings in date order. */
+    public static final String AGENT_INDEX = "agent-booking-index";
+
     // PK/SK (query my-bookings fast; later GSI can be implemented)
     private String userId;      // PK
     private String bookingId;   // SK: yyyy-MM-dd#<uuid>
@@ -50,6 +53,9 @@ public class BookingItem {
     private String customerEmail;
     private String customerPhone;
 
+    // Set on tombstones left by the archive job: S3 key of the NDJSON object holding the full booking
+    private String archiveKey;
+
     @DynamoDbAttribute("cancelledBy")
     public String getCancelledBy() { return cancelledBy; }
     public void setCancelledBy(String v) { this.cancelledBy = v; }
@@ -70,7 +76,7 @@ public class BookingItem {
     public String getUserId() { return userId; }
     public void setUserId(String userId) { this.userId = userId; }
 
-    @DynamoDbSortKey @DynamoDbAttribute("bookingId")
+    @DynamoDbSortKey @DynamoDbSecondarySortKey(indexNames = AGENT_INDEX) @DynamoDbAttribute("bookingId")
     public String getBookingId() { return bookingId; }
     public void setBookingId(String bookingId) { this.bookingId = bookingId; }
 
@@ -135,7 +141,7 @@ public class BookingItem {
     public List<Person> getPersonalDetails() { return personalDetails; }
     public void setPersonalDetails(List<Person> personalDetails) { this.personalDetails = personalDetails; }
 
-    @DynamoDbAttribute("agentEmail")
+    @DynamoDbSecondaryPartitionKey(indexNames = AGENT_INDEX) @DynamoDbAttribute("agentEmail")
     public String getAgentEmail() { return agentEmail; }
     public void setAgentEmail(String agentEmail) { this.agentEmail = agentEmail; }
 
@@ -159,6 +165,10 @@ public class BookingItem {
     public String getCustomerPhone() { return customerPhone; }
     public void setCustomerPhone(String v) { this.customerPhone = v; }
 
+    @DynamoDbAttribute("archiveKey")
+    public String getArchiveKey() { return archiveKey; }
+    public void setArchiveKey(String v) { this.archiveKey = v; }
+
     public static class Person {
         private String firstName;
         private String lastName;
@@ -229,4 +239,8 @@ public class BookingItem {
 
     @DynamoDbIgnore
     public void setStatusEnum(BookingStatus s) { this.status = (s == null ? null : s.name()); }
+
+    /** True for a tombstone whose full record lives in the archive (see {@link #getArchiveKey()}). */
+    @DynamoDbIgnore
+    public boolean isArchived() { return archiveKey != null && !archiveKey.isEmpty(); }
 }
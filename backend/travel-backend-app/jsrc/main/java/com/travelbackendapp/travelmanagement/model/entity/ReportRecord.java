@@ -3,8 +3,12 @@ package com.travelbackendapp.travelmanagement.model.entity;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondarySortKey;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @DynamoDbBean
 public class ReportRecord {
@@ -68,6 +72,23 @@ public class ReportRecord {
     
     @JsonProperty("feedbackDate")
     private String feedbackDate;
+
+    // Period access paths, derived from eventTimestamp by assignPeriodKeys(); all sorted by eventTimestamp
+    public static final String PERIOD_INDEX = "period-index";
+    public static final String AGENT_PERIOD_INDEX = "agent-period-index";
+    public static final String TOUR_PERIOD_INDEX = "tour-period-index";
+    public static final String TYPE_PERIOD_INDEX = "type-period-index";
+
+    /**
+     * Write shards of the period and type indexes. Their keys have no per-agent or per-tour part, so without a suffix
+     * every event of a month (or of a month and type) would be written to a single GSI partition.
+     */
+    public static final int PERIOD_SHARDS = 8;
+
+    private String periodBucket;    // yyyy-MM#shard
+    private String agentPeriod;     // agentEmail#yyyy-MM
+    private String tourPeriod;      // tourId#yyyy-MM
+    private String typePeriod;      // eventType#yyyy-MM#shard
     
     public ReportRecord() {}
     
@@ -81,6 +102,65 @@ public class ReportRecord {
         this.agentEmail = agentEmail;
         this.eventTimestamp = eventTimestamp.toString();
         this.createdAt = LocalDateTime.now().toString();
+        assignPeriodKeys();
+    }
+
+    /**
+     * Report id for a booking event. A booking is confirmed, cancelled and finished at most once,
+     * so (eventType, bookingId) identifies the event and redeliveries or replays overwrite the same item.
+     */
+    public static String reportIdFor(String eventType, String bookingId) {
+        return eventType + "-" + bookingId;
+    }
+
+    /** Month bucket of an ISO event timestamp, or null when it is missing or malformed. */
+    public static String periodOf(String isoTimestamp) {
+        if (isoTimestamp == null || isoTimestamp.length() < 7 || isoTimestamp.charAt(4) != '-') return null;
+        return isoTimestamp.substring(0, 7);
+    }
+
+    /**
+     * Fills the period index keys from eventTimestamp, agentEmail, tourId, eventType and, for the write-sharded
+     * indexes, reportId. Keys whose parts are missing stay null, so the record is simply absent from that index.
+     */
+    public void assignPeriodKeys() {
+        String period = periodOf(eventTimestamp);
+        int shard = periodShard(reportId);
+        this.periodBucket = sharded(period, shard);
+        this.agentPeriod = scoped(agentEmail, period);
+        this.tourPeriod = scoped(tourId, period);
+        this.typePeriod = sharded(scoped(eventType, period), shard);
+    }
+
+    public static String scoped(String scope, String period) {
+        return scope == null || scope.isEmpty() || period == null ? null : scope + "#" + period;
+    }
+
+    /** Write shard of a record in the period and type indexes; stable, so a replay rewrites the same keys. */
+    public static int periodShard(String reportId) {
+        return reportId == null ? 0 : Math.floorMod(reportId.hashCode(), PERIOD_SHARDS);
+    }
+
+    public static boolean isWriteSharded(String indexName) {
+        return PERIOD_INDEX.equals(indexName) || TYPE_PERIOD_INDEX.equals(indexName);
+    }
+
+    /** Partition keys holding one month of the scope's records in the index; a null scope is the period index. */
+    public static List<String> periodKeys(String indexName, String scope, String period) {
+        String key = scope == null ? period : scoped(scope, period);
+        if (!isWriteSharded(indexName)) return List.of(key);
+        List<String> keys = new ArrayList<>(PERIOD_SHARDS);
+        for (int shard = 0; shard < PERIOD_SHARDS; shard++) keys.add(sharded(key, shard));
+        return keys;
+    }
+
+    /** A periodBucket written before the period index was write-sharded ({@code yyyy-MM}, no shard suffix). */
+    public static boolean isUnshardedBucket(String periodBucket) {
+        return periodBucket != null && periodBucket.length() == 7;
+    }
+
+    private static String sharded(String key, int shard) {
+        return key == null ? null : key + "#" + shard;
     }
     
     @DynamoDbPartitionKey
@@ -132,6 +212,7 @@ public class ReportRecord {
         this.agentEmail = agentEmail;
     }
     
+    @DynamoDbSecondarySortKey(indexNames = {PERIOD_INDEX, AGENT_PERIOD_INDEX, TOUR_PERIOD_INDEX, TYPE_PERIOD_INDEX})
     public String getEventTimestamp() {
         return eventTimestamp;
     }
@@ -235,5 +316,40 @@ public class ReportRecord {
     public void setFeedbackDate(String feedbackDate) {
         this.feedbackDate = feedbackDate;
     }
-}
 
+    @DynamoDbSecondaryPartitionKey(indexNames = PERIOD_INDEX)
+    public String getPeriodBucket() {
+        return periodBucket;
+    }
+
+    public void setPeriodBucket(String periodBucket) {
+        this.periodBucket = periodBucket;
+    }
+
+    @DynamoDbSecondaryPartitionKey(indexNames = AGENT_PERIOD_INDEX)
+    public String getAgentPeriod() {
+        return agentPeriod;
+    }
+
+    public void setAgentPeriod(String agentPeriod) {
+        this.agentPeriod = agentPeriod;
+    }
+
+    @DynamoDbSecondaryPartitionKey(indexNames = TOUR_PERIOD_INDEX)
+    public String getTourPeriod() {
+        return tourPeriod;
+    }
+
+    public void setTourPeriod(String tourPeriod) {
+        this.tourPeriod = tourPeriod;
+    }
+
+    @DynamoDbSecondaryPartitionKey(indexNames = TYPE_PERIOD_INDEX)
+    public String getTypePeriod() {
+        return typePeriod;
+    }
+
+    public void setTypePeriod(String typePeriod) {
+        this.typePeriod = typePeriod;
+    }
+}
@@ -0,0 +1,61 @@
+package com.travelbackendapp.travelmanagement.model.entity;
+
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSortKey;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Metrics of one closed reporting period for one scope, computed once and reused for every later delta.
+ * Keyed by scope ({@code AGENT#email}, {@code TOUR#tourId} or {@code ALL}) and period ({@code MONTHLY#2025-03-01}).
+ */
+@DynamoDbBean
+public class ReportSnapshot {
+
+    public static final String AGENT = "AGENT";
+    public static final String TOUR = "TOUR";
+    public static final String ALL = "ALL";
+
+    private String scope;       // PK
+    private String periodKey;   // SK: PERIOD#start date
+    private String periodStart;
+    private String periodEnd;
+    private Map<String, Double> metrics;
+    private String computedAt;
+    private Integer version;    // metric definitions the values were computed with
+
+    public ReportSnapshot() {}
+
+    public static String scope(String type, String id) {
+        return ALL.equals(type) ? ALL : type + "#" + id;
+    }
+
+    public static String periodKey(String period, LocalDateTime start) {
+        return period.toUpperCase() + "#" + start.toLocalDate();
+    }
+
+    @DynamoDbPartitionKey
+    public String getScope() { return scope; }
+    public void setScope(String scope) { this.scope = scope; }
+
+    @DynamoDbSortKey
+    public String getPeriodKey() { return periodKey; }
+    public void setPeriodKey(String periodKey) { this.periodKey = periodKey; }
+
+    public String getPeriodStart() { return periodStart; }
+    public void setPeriodStart(String periodStart) { this.periodStart = periodStart; }
+
+    public String getPeriodEnd() { return periodEnd; }
+    public void setPeriodEnd(String periodEnd) { this.periodEnd = periodEnd; }
+
+    public Map<String, Double> getMetrics() { return metrics; }
+    public void setMetrics(Map<String, Double> metrics) { this.metrics = metrics; }
+
+    public String getComputedAt() { return computedAt; }
+    public void setComputedAt(String computedAt) { this.computedAt = computedAt; }
+
+    public Integer getVersion() { return version; }
+    public void setVersion(Integer version) { this.version = version; }
+}
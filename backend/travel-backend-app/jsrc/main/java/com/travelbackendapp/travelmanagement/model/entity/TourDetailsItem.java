@@ -0,0 +1,40 @@
+package com.travelbackendapp.travelmanagement.model.entity;
+
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.*;
+import java.util.Map;
+
+/**
+ * Bulky, details-page-only content of a tour, kept apart from {@link TourItem}
+ * when the split layout is enabled so list scans stay small.
+ */
+@DynamoDbBean
+public class TourDetailsItem {
+
+    private String tourId;
+    private String summary;
+    private String accommodation;
+    private String hotelDescription;
+    private Map<String, String> customDetails;
+
+    public TourDetailsItem() {}
+
+    @DynamoDbPartitionKey @DynamoDbAttribute("tourId")
+    public String getTourId() { return tourId; }
+    public void setTourId(String tourId) { this.tourId = tourId; }
+
+    @DynamoDbAttribute("summary")
+    public String getSummary() { return summary; }
+    public void setSummary(String summary) { this.summary = summary; }
+
+    @DynamoDbAttribute("accommodation")
+    public String getAccommodation() { return accommodation; }
+    public void setAccommodation(String accommodation) { this.accommodation = accommodation; }
+
+    @DynamoDbAttribute("hotelDescription")
+    public String getHotelDescription() { return hotelDescription; }
+    public void setHotelDescription(String hotelDescription) { this.hotelDescription = hotelDescription; }
+
+    @DynamoDbAttribute("customDetails")
+    public Map<String, String> getCustomDetails() { return customDetails; }
+    public void setCustomDetails(Map<String, String> customDetails) { this.customDetails = customDetails; }
+}
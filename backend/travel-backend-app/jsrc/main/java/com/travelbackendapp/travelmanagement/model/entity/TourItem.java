@@ -32,6 +32,8 @@ public class TourItem {
     private Integer maxAdults;
     private Integer maxChildren;
     private Integer availablePackages;
+    // > 0 when capacity lives in N shard items of the inventory table instead of availablePackages
+    private Integer inventoryShards;
 
     // --- details content ---
     private List<String> imageUrls;
@@ -40,7 +42,11 @@ public class TourItem {
     private String hotelName;
     private String hotelDescription;
     private Map<String, String> customDetails;
+    // true when summary/accommodation/hotelDescription/customDetails live in the details table
+    private Boolean detailsSplit;
     private String agentEmail;
+    // bumped on every catalog edit; keys compiled price tables
+    private Long version;
 
     public TourItem() {}
 
@@ -116,6 +122,10 @@ public class TourItem {
     public Integer getAvailablePackages() { return availablePackages; }
     public void setAvailablePackages(Integer availablePackages) { this.availablePackages = availablePackages; }
 
+    @DynamoDbAttribute("inventoryShards")
+    public Integer getInventoryShards() { return inventoryShards; }
+    public void setInventoryShards(Integer inventoryShards) { this.inventoryShards = inventoryShards; }
+
     // --- details content ---
     @DynamoDbAttribute("imageUrls")
     public List<String> getImageUrls() { return imageUrls; }
@@ -140,7 +150,16 @@ public class TourItem {
     @DynamoDbAttribute("customDetails")
     public Map<String, String> getCustomDetails() { return customDetails; }
     public void setCustomDetails(Map<String, String> customDetails) { this.customDetails = customDetails; }
+
+    @DynamoDbAttribute("detailsSplit")
+    public Boolean getDetailsSplit() { return detailsSplit; }
+    public void setDetailsSplit(Boolean detailsSplit) { this.detailsSplit = detailsSplit; }
+
     @DynamoDbAttribute("agentEmail")
     public String getAgentEmail() { return agentEmail; }
     public void setAgentEmail(String agentEmail) { this.agentEmail = agentEmail; }
+
+    @DynamoDbAttribute("version")
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
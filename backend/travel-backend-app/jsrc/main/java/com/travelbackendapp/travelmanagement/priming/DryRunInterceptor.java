@@ -0,0 +1,45 @@
+package com.travelbackendapp.travelmanagement.priming;
+
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+
+/**
+ * Stops AWS SDK calls that {@link #run} makes right before they are sent, after the request was marshalled, its
+ * endpoint resolved and signed with the resolved credentials. Other calls are untouched.
+ */
+public final class DryRunInterceptor implements ExecutionInterceptor {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    /** Runs {@code call} with its SDK requests stopped before transmission; other failures propagate. */
+    static void run(Runnable call) {
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            call.run();
+        } catch (RuntimeException e) {
+            if (!stopped(e)) throw e;
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes attributes) {
+        if (ACTIVE.get() != null) throw new Stopped();
+    }
+
+    /** The SDK may wrap what an interceptor throws. */
+    private static boolean stopped(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof Stopped) return true;
+        }
+        return false;
+    }
+
+    static final class Stopped extends RuntimeException {
+        Stopped() {
+            super("dry run", null, false, false);
+        }
+    }
+}
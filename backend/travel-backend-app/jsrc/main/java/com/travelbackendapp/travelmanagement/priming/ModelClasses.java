@@ -0,0 +1,64 @@
+package com.travelbackendapp.travelmanagement.priming;
+
+import com.travelbackendapp.travelmanagement.validation.GeneratedValidator;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Top-level classes of a package and its subpackages, read from wherever this class was loaded: the extracted
+ * deployment package in Lambda, the jar elsewhere, or the build output in tests. The validators generated next to
+ * constrained classes are left out.
+ */
+final class ModelClasses {
+
+    private ModelClasses() {
+    }
+
+    static List<Class<?>> under(String pkg) {
+        String prefix = pkg.replace('.', '/') + "/";
+        List<Class<?>> classes = new ArrayList<>();
+        for (String entry : entries(prefix)) {
+            if (!entry.endsWith(".class") || entry.indexOf('$') >= 0) continue;
+            String name = entry.substring(0, entry.length() - ".class".length()).replace('/', '.');
+            try {
+                Class<?> type = Class.forName(name, false, ModelClasses.class.getClassLoader());
+                if (!GeneratedValidator.class.isAssignableFrom(type)) classes.add(type);
+            } catch (ClassNotFoundException | LinkageError e) {
+                // listed but not loadable, e.g. an optional dependency is missing: nothing to prime
+            }
+        }
+        return classes;
+    }
+
+    private static List<String> entries(String prefix) {
+        try {
+            Path root = Paths.get(ModelClasses.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            if (Files.isDirectory(root)) {
+                Path dir = root.resolve(prefix);
+                if (!Files.isDirectory(dir)) return List.of();
+                try (Stream<Path> files = Files.walk(dir)) {
+                    return files.map(f -> root.relativize(f).toString().replace(File.separatorChar, '/'))
+                            .sorted()
+                            .collect(Collectors.toList());
+                }
+            }
+            try (JarFile jar = new JarFile(root.toFile())) {
+                return jar.stream().map(JarEntry::getName).filter(n -> n.startsWith(prefix)).sorted()
+                        .collect(Collectors.toList());
+            }
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            return List.of();
+        }
+    }
+}
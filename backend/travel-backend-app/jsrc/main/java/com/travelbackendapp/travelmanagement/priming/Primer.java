@@ -0,0 +1,216 @@
+package com.travelbackendapp.travelmanagement.priming;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.travelbackendapp.travelmanagement.metrics.Downstream;
+import com.travelbackendapp.travelmanagement.model.api.request.ToursSearchRequest;
+import com.travelbackendapp.travelmanagement.routing.CallerContext;
+import com.travelbackendapp.travelmanagement.routing.RequestRouter;
+import com.travelbackendapp.travelmanagement.validation.PrecompiledValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.sqs.SqsClient;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import javax.validation.Validator;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The warm-up steps of a handler's {@link Priming priming} phase. All of them stay in the process: serializers and
+ * validation metadata are built, route matching runs until the JIT compiles it, and each AWS client marshals and
+ * signs one request that {@link DryRunInterceptor} stops before it is sent. Nothing is written, no cache is filled and
+ * no connection is opened. Clients and the validator are only created for the steps a handler runs.
+ */
+@Singleton
+public class Primer {
+    private static final Logger log = LoggerFactory.getLogger(Primer.class);
+
+    static final String MODEL_PACKAGE = "com.travelbackendapp.travelmanagement.model";
+    static final String REQUEST_PACKAGE = MODEL_PACKAGE + ".api.request";
+    /** Enough passes over the sample requests for C1 and C2 to compile route matching and claim parsing. */
+    static final int ROUTE_ROUNDS = 2_000;
+    private static final String DRY_RUN = "priming-dry-run";
+    private static final String[][] SAMPLE_REQUESTS = {
+            {"GET", "/tours/available"}, {"GET", "/tours/T-1"}, {"GET", "/tours/T-1/feedbacks"},
+            {"GET", "/tours/T-1/quote"}, {"GET", "/bookings"}, {"POST", "/bookings"}, {"PATCH", "/bookings/B-1"},
+            {"POST", "/bookings/B-1/confirm"}, {"GET", "/bookings/B-1/documents"}, {"POST", "/auth/sign-in"},
+            {"GET", "/users/u%40example.com"}, {"GET", "/admin/travel-agents"}, {"GET", "/unknown"}};
+    private static final Map<String, String> SAMPLE_QUERY = Map.of(
+            "destination", "Rome, Italy", "startDate", "2026-05-01", "endDate", "2026-09-30", "mealPlan", "BB,HB",
+            "tourType", "RESORT", "durationBucket", "4-7", "guestQuantity", "{\"adults\":2,\"children\":1}",
+            "sortBy", "PRICE_ASC", "page", "1", "pageSize", "6");
+
+    private final ObjectMapper mapper;
+    private final Provider<Validator> validator;
+    private final Provider<DynamoDbClient> dynamoDb;
+    private final Provider<S3Client> s3;
+    private final Provider<SqsClient> sqs;
+    private final Provider<CognitoIdentityProviderClient> cognito;
+
+    @Inject
+    public Primer(ObjectMapper mapper, Provider<Validator> validator, Provider<DynamoDbClient> dynamoDb,
+                  Provider<S3Client> s3, Provider<SqsClient> sqs, Provider<CognitoIdentityProviderClient> cognito) {
+        this.mapper = mapper;
+        this.validator = validator;
+        this.dynamoDb = dynamoDb;
+        this.s3 = s3;
+        this.sqs = sqs;
+        this.cognito = cognito;
+    }
+
+    /**
+     * Builds the serializer and deserializer of every model class and round-trips an empty instance of each one that
+     * has a no-arg constructor.
+     *
+     * @return how many classes were primed
+     */
+    public int json() {
+        long start = System.nanoTime();
+        int primed = 0;
+        for (Class<?> type : ModelClasses.under(MODEL_PACKAGE)) {
+            try {
+                ObjectWriter writer = mapper.writerFor(type);
+                ObjectReader reader = mapper.readerFor(type);
+                Object empty = newInstance(type);
+                if (empty != null) reader.readValue(writer.writeValueAsBytes(empty));
+                primed++;
+            } catch (Exception e) {
+                log.debug("Priming skipped JSON of {}: {}", type.getSimpleName(), e.toString());
+            }
+        }
+        done("json", primed, start);
+        return primed;
+    }
+
+    /**
+     * Validates an empty instance of every constrained request class. With the {@link PrecompiledValidator} that loads
+     * the generated validators and only bootstraps Hibernate Validator if one of them hands over to it; otherwise it
+     * bootstraps Hibernate and interpolates the violation messages.
+     *
+     * @return how many request classes were validated
+     */
+    public int validation() {
+        long start = System.nanoTime();
+        Validator v = validator.get();
+        PrecompiledValidator precompiled = v instanceof PrecompiledValidator ? (PrecompiledValidator) v : null;
+        int primed = 0;
+        for (Class<?> type : ModelClasses.under(REQUEST_PACKAGE)) {
+            try {
+                boolean constrained = precompiled != null ? precompiled.covers(type)
+                        : v.getConstraintsForClass(type).isBeanConstrained();
+                if (!constrained) continue;
+                Object empty = newInstance(type);
+                if (empty == null) continue;
+                v.validate(empty);
+                primed++;
+            } catch (Exception e) {
+                log.debug("Priming skipped validation of {}: {}", type.getSimpleName(), e.toString());
+            }
+        }
+        done("validation", primed, start);
+        return primed;
+    }
+
+    /**
+     * Matches sample requests to their routes, parses their claims and parses a full search query,
+     * {@value #ROUTE_ROUNDS} times over.
+     *
+     * @return how many of the sample requests matched a route
+     */
+    public int routes() {
+        long start = System.nanoTime();
+        List<APIGatewayProxyRequestEvent> events = new ArrayList<>();
+        for (String[] r : SAMPLE_REQUESTS) {
+            APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+            event.setHttpMethod(r[0]);
+            event.setPath("/api" + r[1]);
+            APIGatewayProxyRequestEvent.ProxyRequestContext ctx = new APIGatewayProxyRequestEvent.ProxyRequestContext();
+            ctx.setStage("api");
+            ctx.setAuthorizer(Map.of("claims", Map.of(
+                    "sub", "priming", "email", "priming@example.com", "custom:role", "CUSTOMER")));
+            event.setRequestContext(ctx);
+            events.add(event);
+        }
+        int matched = 0;
+        for (int i = 0; i < ROUTE_ROUNDS; i++) {
+            for (APIGatewayProxyRequestEvent event : events) {
+                boolean routed = !RequestRouter.routeOf(event).endsWith(" unmatched");
+                if (i == 0 && routed) matched++;
+                CallerContext.from(event, email -> null).role();
+            }
+            ToursSearchRequest.fromQuery(SAMPLE_QUERY, mapper);
+        }
+        done("routes", matched, start);
+        return matched;
+    }
+
+    /**
+     * Sends one request through each client up to the point of transmission: request marshalling, endpoint and
+     * credential resolution, signing and the metrics and tracing interceptors run, the network is never touched.
+     * Locally, without credentials, a client stops at credential resolution instead.
+     *
+     * @return how many clients reached the point of transmission
+     */
+    public int aws(Downstream... downstreams) {
+        long start = System.nanoTime();
+        int primed = 0;
+        for (Downstream downstream : downstreams) {
+            try {
+                DryRunInterceptor.run(() -> dryRun(downstream));
+                primed++;
+            } catch (RuntimeException e) {
+                log.info("Priming the {} client stopped early: {}", downstream, e.toString());
+            }
+        }
+        done("aws", primed, start);
+        return primed;
+    }
+
+    private void dryRun(Downstream downstream) {
+        switch (downstream) {
+            case DYNAMODB:
+                dynamoDb.get().getItem(b -> b.tableName(DRY_RUN)
+                        .key(Map.of("id", AttributeValue.builder().s(DRY_RUN).build())));
+                break;
+            case S3:
+                s3.get().headObject(b -> b.bucket(DRY_RUN).key(DRY_RUN));
+                break;
+            case SQS:
+                sqs.get().getQueueUrl(b -> b.queueName(DRY_RUN));
+                break;
+            case COGNITO:
+                cognito.get().describeUserPool(b -> b.userPoolId(DRY_RUN));
+                break;
+            default:
+                throw new IllegalArgumentException("No dry run for " + downstream);
+        }
+    }
+
+    private static Object newInstance(Class<?> type) throws ReflectiveOperationException {
+        if (type.isInterface() || type.isEnum() || Modifier.isAbstract(type.getModifiers())) return null;
+        Constructor<?> constructor;
+        try {
+            constructor = type.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+        if (!Modifier.isPublic(constructor.getModifiers())) return null;
+        return constructor.newInstance();
+    }
+
+    private static void done(String step, int count, long startNanos) {
+        log.info("Primed {}: {} in {}ms", step, count, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+}
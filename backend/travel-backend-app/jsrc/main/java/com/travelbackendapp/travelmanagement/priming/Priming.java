@@ -0,0 +1,74 @@
+package com.travelbackendapp.travelmanagement.priming;
+
+import com.travelbackendapp.travelmanagement.util.SnapSafeRandom;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Runs a handler's warm-up ({@link Primer}) before its first request: in the Lambda init phase, or, when the function
+ * is initialized for a SnapStart snapshot, in the CRaC before-checkpoint hook so the warmed-up state is what the
+ * snapshot holds. Failures are logged and never fail the init; the first requests then warm up as before.
+ * <p>
+ * After a restore, per-thread random seeds are renewed ({@link SnapSafeRandom}); every environment restored from the
+ * same snapshot would otherwise draw the same numbers. Priming opens no connection and fills no cache or clock-stamped
+ * state, so that is all a restore has to refresh. {@code priming=off} skips the warm-up.
+ */
+public final class Priming {
+    private static final Logger log = LoggerFactory.getLogger(Priming.class);
+
+    static final boolean ENABLED = !"off".equalsIgnoreCase(System.getenv("priming"));
+    static final boolean SNAP_START = "snap-start".equals(System.getenv("AWS_LAMBDA_INITIALIZATION_TYPE"));
+
+    /** CRaC holds registered resources weakly. */
+    private static final List<Resource> HOOKS = new CopyOnWriteArrayList<>();
+
+    private Priming() {
+    }
+
+    /** Primes {@code handler} now, or before the checkpoint under SnapStart, and refreshes it after a restore. */
+    public static void register(String handler, Runnable prime) {
+        Resource hook = new Hook(handler, prime);
+        HOOKS.add(hook);
+        Core.getGlobalContext().register(hook);
+        if (!SNAP_START) run(handler, prime);
+    }
+
+    static void run(String handler, Runnable prime) {
+        if (!ENABLED) return;
+        long start = System.nanoTime();
+        try {
+            prime.run();
+            log.info("Primed {} in {}ms", handler, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Priming {} failed after {}ms, the first requests warm up instead: {}",
+                    handler, (System.nanoTime() - start) / 1_000_000, e.toString());
+        }
+    }
+
+    private static final class Hook implements Resource {
+        private final String handler;
+        private final Runnable prime;
+
+        Hook(String handler, Runnable prime) {
+            this.handler = handler;
+            this.prime = prime;
+        }
+
+        @Override
+        public void beforeCheckpoint(Context<? extends Resource> context) {
+            if (SNAP_START) run(handler, prime);
+        }
+
+        @Override
+        public void afterRestore(Context<? extends Resource> context) {
+            SnapSafeRandom.reseed();
+            log.info("Restored {} from a snapshot, random seeds renewed", handler);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.travelbackendapp.travelmanagement.repository;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.travelbackendapp.travelmanagement.model.entity.ArchivedBooking;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Cold storage for terminal bookings: gzip-compressed NDJSON objects (one {@link ArchivedBooking} per line)
+ * partitioned by booking month, {@code bookings/year=yyyy/month=MM/run-<runId>-<part>.ndjson.gz}.
+ * Objects are written once and never modified, so recently read ones are kept in a small in-memory cache.
+ */
+@Singleton
+public class BookingArchiveRepository {
+    private static final Logger log = LoggerFactory.getLogger(BookingArchiveRepository.class);
+
+    static final String PREFIX = "bookings/";
+    private static final int CACHED_OBJECTS = 16;
+
+    private final S3Client s3;
+    private final String bucket;
+    private final ObjectMapper mapper;
+
+    // archive key -> bookingId -> record; access-ordered for LRU eviction
+    private final Map<String, Map<String, ArchivedBooking>> recent =
+            Collections.synchronizedMap(new LinkedHashMap<>(CACHED_OBJECTS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Map<String, ArchivedBooking>> eldest) {
+                    return size() > CACHED_OBJECTS;
+                }
+            });
+
+    @Inject
+    public BookingArchiveRepository(S3Client s3Client,
+                                    @Named("BOOKING_ARCHIVE_BUCKET") String bucket,
+                                    ObjectMapper mapper) {
+        this.s3 = s3Client;
+        this.bucket = bucket;
+        // archived records must stay readable as BookingItem gains or drops fields
+        this.mapper = mapper.copy()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /** Key of one archive object; {@code month} is the booking month as yyyy-MM. */
+    public static String objectKey(String month, String runId, int part) {
+        return PREFIX + "year=" + month.substring(0, 4) + "/month=" + month.substring(5, 7)
+                + "/run-" + runId + "-" + part + ".ndjson.gz";
+    }
+
+    /** Writes one archive object; returns only once S3 has acknowledged it. */
+    public void write(String key, List<ArchivedBooking> records) {
+        byte[] body = encode(records);
+        s3.putObject(PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType("application/x-ndjson")
+                        .build(),
+                RequestBody.fromBytes(body));
+        log.info("Archived {} bookings to s3://{}/{} ({} bytes)", records.size(), bucket, key, body.length);
+    }
+
+    /** Records of one archive object by bookingId. */
+    public Map<String, ArchivedBooking> read(String key) {
+        Map<String, ArchivedBooking> cached = recent.get(key);
+        if (cached != null) return cached;
+
+        List<ArchivedBooking> records;
+        try (ResponseInputStream<GetObjectResponse> in = s3.getObject(GetObjectRequest.builder()
+                .bucket(bucket).key(key).build())) {
+            records = decode(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to read archive object " + key, e);
+        }
+        Map<String, ArchivedBooking> byId = new LinkedHashMap<>();
+        for (ArchivedBooking r : records) {
+            if (r.getBooking() != null) byId.put(r.getBooking().getBookingId(), r);
+        }
+        Map<String, ArchivedBooking> out = Collections.unmodifiableMap(byId);
+        recent.put(key, out);
+        return out;
+    }
+
+    /** One JSON document per line, gzip-compressed. */
+    byte[] encode(List<ArchivedBooking> records) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gz = new GZIPOutputStream(bytes)) {
+            for (ArchivedBooking r : records) {
+                gz.write(mapper.writeValueAsBytes(r));
+                gz.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to encode booking archive", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    List<ArchivedBooking> decode(InputStream compressed) throws IOException {
+        List<ArchivedBooking> out = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(compressed), UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                out.add(mapper.readValue(line, ArchivedBooking.class));
+            }
+        }
+        return out;
+    }
+}
@@ -2,243 +2,105 @@ package com.travelbackendapp.travelmanagement.repository;
 
 import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
 import com.travelbackendapp.travelmanagement.model.entity.TourItem;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import software.amazon.awssdk.enhanced.dynamodb.*;
-import software.amazon.awssdk.enhanced.dynamodb.model.Page;
-import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
-import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
-import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
-import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.Expression;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
-import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
-
-
-import javax.inject.Inject;
-import javax.inject.Named;
-import javax.inject.Singleton;
-import java.util.ArrayList;
-import java.util.HashMap;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-
-@Singleton
-public class BookingsRepository {
-    private static final Logger log = LoggerFactory.getLogger(BookingsRepository.class);
-
-    private final DynamoDbEnhancedClient enhanced;
-    private final DynamoDbTable<BookingItem> bookingTable;
-    private final DynamoDbTable<TourItem> toursTable;
-    private final DynamoDbClient lowLevel;
-
-    @Inject
-    public BookingsRepository(DynamoDbEnhancedClient enhanced,
-                              DynamoDbClient lowLevel,
-                              @Named("BOOKINGS_TABLE") String bookingsTableName,
-                              @Named("TOUR_TABLE") String toursTableName) {
-        this.enhanced = enhanced;
-        this.lowLevel = lowLevel;
-        this.bookingTable = enhanced.table(bookingsTableName, TableSchema.fromBean(BookingItem.class));
-        this.toursTable = enhanced.table(toursTableName, TableSchema.fromBean(TourItem.class));
-    }
+
+/**
+ * Bookings, keyed by (userId, bookingId), together with the seat reservation on their tour.
+ * Both backends report a failed capacity or version guard with the DynamoDB exception types,
+ * so callers map conflicts the same way whichever one is bound.
+ */
+public interface BookingsRepository {
 
     /**
-     * Atomically decrements availablePackages and writes the booking in a single transaction.
-     * Fails if the tour has no capacity left or if capacity changed concurrently.
+     * Atomically takes {@code seats} from the tour's availablePackages and writes the booking.
+     * Concurrent bookings on the same tour do not invalidate each other while seats remain;
+     * a shortfall surfaces as {@link TransactionCanceledException} with a ConditionalCheckFailed reason so the
+     * caller can map it to 409; one without such a reason means conflict retries ran out and nothing was written.
      */
-// BookingsRepository.java
-    public void transactReserveSeatsAndSave(BookingItem booking, String tourId, int seats) {
-        if (seats <= 0) {
-            throw new IllegalArgumentException("seats must be > 0");
-        }
+    void transactReserveSeatsAndSave(BookingItem booking, String tourId, int seats);
 
-        // 1) Read current capacity
-        TourItem current = toursTable.getItem(r -> r.key(k -> k.partitionValue(tourId)));
-        if (current == null) {
-            throw new IllegalStateException("tour not found: " + tourId);
-        }
-        int cur = current.getAvailablePackages() == null ? 0 : current.getAvailablePackages();
-        if (cur < seats) {
-            // mirror transaction-style failure so caller can map to 409
-            throw software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException
-                    .builder().message("not enough capacity").build();
-        }
+    /**
+     * Same as {@link #transactReserveSeatsAndSave(BookingItem, String, int)}, but for a tour with
+     * {@code shardCount > 0} the seats are taken from its inventory shards (sticky by userId).
+     */
+    void transactReserveSeatsAndSave(BookingItem booking, String tourId, int seats, int shardCount);
 
-        // 2) Build partial item with the new capacity
-        TourItem updated = new TourItem();
-        updated.setTourId(tourId);
-        updated.setAvailablePackages(cur - seats);
-
-        // 3) Condition: value didn’t change and still covers the requested seats
-        Expression cond = Expression.builder()
-                .expression("#ap = :prev AND #ap >= :seats")
-                .expressionNames(java.util.Map.of("#ap", "availablePackages"))
-                .expressionValues(java.util.Map.of(
-                        ":prev", software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder().n(String.valueOf(cur)).build(),
-                        ":seats", software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder().n(String.valueOf(seats)).build()
-                ))
-                .build();
-
-        var updateReq = software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest
-                .builder(TourItem.class)
-                .ignoreNulls(true)
-                .item(updated)
-                .conditionExpression(cond)
-                .build();
-
-        var tx = software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest
-                .builder()
-                .addUpdateItem(toursTable, updateReq)
-                .addPutItem(bookingTable, booking)
-                .build();
-
-        // 4) Execute
-        enhanced.transactWriteItems(tx);
-    }
-    public BookingItem get(String userId, String bookingId) {
-        return bookingTable.getItem(Key.builder()
-                .partitionValue(userId)
-                .sortValue(bookingId)
-                .build());
-    }
+    /**
+     * Reserves against the tour snapshot the booking was validated and priced with: for a plain tour the
+     * reservation is also conditioned on the snapshot's {@code version}, so a tour edited in between cancels
+     * it instead of booking against changed prices or dates. Sharded tours skip the version check.
+     */
+    void transactReserveSeatsAndSave(BookingItem booking, TourItem tour, int seats);
 
-    public void put(BookingItem booking) {
-        bookingTable.putItem(booking);
-    }
+    BookingItem get(String userId, String bookingId);
 
-    public void adjustTourCapacity(String tourId, int delta) {
-        if (delta == 0) return;
-
-        // Key
-        Map<String, AttributeValue> key = Map.of(
-                "tourId", AttributeValue.builder().s(tourId).build()
-        );
-
-        Map<String, String> names = Map.of("#ap", "availablePackages");
-
-        if (delta > 0) {
-            // Consume seats: availablePackages = availablePackages - :d
-            int d = delta;
-
-            Map<String, AttributeValue> values = Map.of(
-                    ":d", AttributeValue.builder().n(Integer.toString(d)).build()
-            );
-
-            lowLevel.updateItem(UpdateItemRequest.builder()
-                    .tableName(toursTable.tableName())
-                    .key(key)
-                    .updateExpression("SET #ap = #ap - :d")
-                    // Guard: cannot consume below zero
-                    .conditionExpression("#ap >= :d")
-                    .expressionAttributeNames(names)
-                    .expressionAttributeValues(values)
-                    .returnValues(ReturnValue.NONE)
-                    .build());
-
-        } else {
-            // Return seats: availablePackages = if_not_exists(availablePackages, 0) + :inc
-            int inc = -delta;
-
-            Map<String, AttributeValue> values = Map.of(
-                    ":inc", AttributeValue.builder().n(Integer.toString(inc)).build(),
-                    ":zero", AttributeValue.builder().n("0").build()
-            );
-
-            lowLevel.updateItem(UpdateItemRequest.builder()
-                    .tableName(toursTable.tableName())
-                    .key(key)
-                    .updateExpression("SET #ap = if_not_exists(#ap, :zero) + :inc")
-                    .expressionAttributeNames(names)
-                    .expressionAttributeValues(values)
-                    .returnValues(ReturnValue.NONE)
-                    .build());
-        }
-    }
+    void put(BookingItem booking);
 
-    // Query by PK (userId) — efficient
-    public List<BookingItem> findByUserId(String userId) {
-        var out = new ArrayList<BookingItem>();
-        bookingTable.query(r -> r.queryConditional(
-                        QueryConditional.keyEqualTo(k -> k.partitionValue(userId))))
-                .items()
-                .forEach(out::add);
-        return out;
-    }
+    void adjustTourCapacity(String tourId, int delta);
 
-    public List<BookingItem> findByAgentEmail(String email) {
-        Expression cond = Expression.builder()
-                .expression("agentEmail = :email")
-                .expressionValues(Map.of(":email", AttributeValue.fromS(email)))
-                .build();
+    /**
+     * Consumes (delta > 0) or returns (delta < 0) seats. Sharded tours go through their inventory shards;
+     * a shortfall is reported as {@link ConditionalCheckFailedException} in both modes.
+     */
+    void adjustTourCapacity(String tourId, int delta, int shardCount);
 
-        var scanRequest = ScanEnhancedRequest.builder()
-                .filterExpression(cond)
-                .build();
+    List<BookingItem> findByUserId(String userId);
 
-        var out = new ArrayList<BookingItem>();
-        bookingTable.scan(scanRequest).items().forEach(out::add);
-        return out;
-    }
+    /**
+     * One page of a user's bookings in bookingId order. The date range applies to the date-prefixed bookingId
+     * ({@code yyyy-MM-dd_uuid}); the returned cursor is the last returned bookingId, or null once the
+     * user's bookings in the range are exhausted.
+     *
+     * @param from            first booking date (inclusive) or null
+     * @param to              last booking date (inclusive) or null
+     * @param statuses        status names to keep, empty for any
+     * @param limit           max items, or {@code <= 0} for all
+     * @param afterBookingId  exclusive start (from a previous page), or null
+     * @param includeArchived whether archive tombstones are returned
+     */
+    BookingsPage findByUserId(String userId, String from, String to, Collection<String> statuses,
+                              int limit, String afterBookingId, boolean includeArchived);
 
-    public List<BookingItem> findAll() {
-        var out = new ArrayList<BookingItem>();
-        try {
-            for (Page<BookingItem> page : bookingTable.scan()) {
-                out.addAll(page.items());
-            }
-            log.info("Found {} bookings", out.size());
-        } catch (Exception e) {
-            log.error("Failed to list all bookings", e);
-        }
-        return out;
-    }
+    /**
+     * One page of an agent's bookings in bookingId order, filtered like
+     * {@link #findByUserId(String, String, String, Collection, int, String, boolean)}. An agent's bookings span
+     * users, so the cursor is the (userId, bookingId) of the last returned booking.
+     */
+    BookingsPage findByAgentEmail(String email, String from, String to, Collection<String> statuses,
+                                  int limit, String afterUserId, String afterBookingId, boolean includeArchived);
 
-    public BookingItem getByBookingId(String bookingId) {
-        var req = ScanEnhancedRequest.builder()
-                .filterExpression(Expression.builder()
-                        .expression("#bid = :bid")
-                        .expressionNames(Map.of("#bid", "bookingId"))
-                        .expressionValues(Map.of(":bid", AttributeValue.builder().s(bookingId).build()))
-                        .build())
-                .limit(1)
-                .build();
-        for (Page<BookingItem> p : bookingTable.scan(req)) {
-            for (BookingItem it : p.items()) return it;
+    /** Every booking; for bulk jobs and tests, listings page through the overload below. */
+    List<BookingItem> findAll();
+
+    /**
+     * One page of all bookings in (userId, bookingId) order, filtered like
+     * {@link #findByUserId(String, String, String, Collection, int, String, boolean)}.
+     */
+    BookingsPage findAll(String from, String to, Collection<String> statuses,
+                         int limit, String afterUserId, String afterBookingId, boolean includeArchived);
+
+    BookingItem getByBookingId(String bookingId);
+
+    List<String> findBookingIdsByTourId(String tourId);
+
+    /** Result of the paged finders. */
+    final class BookingsPage {
+        public final List<BookingItem> items;
+        public final String lastBookingId;   // null when there are no more pages
+        public final String lastUserId;      // with lastBookingId, for cursors that span users
+
+        public BookingsPage(List<BookingItem> items, String lastBookingId) {
+            this(items, lastBookingId, null);
         }
-        return null;
-    }
 
-    public List<String> findBookingIdsByTourId(String tourId) {
-        List<String> out = new ArrayList<>();
-        try {
-            Expression filter = Expression.builder()
-                    .expression("#tid = :tid")
-                    .expressionNames(Map.of("#tid", "tourId"))
-                    .expressionValues(Map.of(":tid", AttributeValue.builder().s(tourId).build()))
-                    .build();
-
-            // Project only bookingId to reduce read cost
-            ScanEnhancedRequest req = ScanEnhancedRequest.builder()
-                    .filterExpression(filter)
-                    .attributesToProject("bookingId")
-                    .build();
-
-            for (Page<BookingItem> p : bookingTable.scan(req)) {
-                for (BookingItem b : p.items()) {
-                    if (b.getBookingId() != null) out.add(b.getBookingId());
-                }
-            }
-        } catch (Exception e) {
-            log.error("findBookingIdsByTourId scan failed for {}", tourId, e);
+        public BookingsPage(List<BookingItem> items, String lastBookingId, String lastUserId) {
+            this.items = items;
+            this.lastBookingId = lastBookingId;
+            this.lastUserId = lastUserId;
         }
-        return out;
     }
-
-
 }
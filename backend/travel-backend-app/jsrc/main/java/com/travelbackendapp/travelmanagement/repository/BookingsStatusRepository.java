@@ -1,135 +1,51 @@
 package com.travelbackendapp.travelmanagement.repository;
 
 import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
-import com.travelbackendapp.travelmanagement.domain.BookingStatus;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.core.pagination.sync.SdkIterable;
-import software.amazon.awssdk.enhanced.dynamodb.*;
 import software.amazon.awssdk.enhanced.dynamodb.model.Page;
-import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
-import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 
-import javax.inject.Inject;
-import javax.inject.Named;
-import javax.inject.Singleton;
+import java.util.List;
 import java.util.Map;
 
-@Singleton
-public class BookingsStatusRepository {
-    private static final Logger log = LoggerFactory.getLogger(BookingsStatusRepository.class);
-
-    private final DynamoDbTable<BookingItem> bookingTable;
-
-    @Inject
-    public BookingsStatusRepository(DynamoDbEnhancedClient enhanced,
-                                    @Named("BOOKINGS_TABLE") String bookingsTableName) {
-        this.bookingTable = enhanced.table(bookingsTableName, TableSchema.fromBean(BookingItem.class));
-    }
+/**
+ * Status transitions and bulk scans over the bookings table, used by the crons.
+ * The mark* methods are conditional and throw {@link ConditionalCheckFailedException} when the booking
+ * is not in the expected state.
+ */
+public interface BookingsStatusRepository {
 
     /**
-     * Stream only fields we need; skip FINISHED and CANCELLED.
-     * We still want BOOKED (candidate for STARTED) and STARTED (candidate for FINISHED).
+     * Bookings that are not FINISHED or CANCELLED and have a startDate and duration,
+     * projected to userId, bookingId, startDate, duration and status.
      */
-    public SdkIterable<Page<BookingItem>> scanActiveForStatusUpdate() {
-        var names = Map.of(
-                "#st", "status",
-                "#dur", "duration"
-        );
-        var values = Map.of(
-                ":fin", AttributeValue.builder().s(BookingStatus.FINISHED.name()).build(),
-                ":can", AttributeValue.builder().s(BookingStatus.CANCELLED.name()).build()
-        );
+    SdkIterable<Page<BookingItem>> scanActiveForStatusUpdate();
 
-        var filter = Expression.builder()
-                .expression("attribute_exists(startDate) AND attribute_exists(#dur) " +
-                        "AND (#st <> :fin) AND (#st <> :can)")
-                .expressionNames(names)
-                .expressionValues(values)
-                .build();
+    /**
+     * FINISHED and CANCELLED bookings starting before {@code beforeDate} (ISO yyyy-MM-dd)
+     * that are not tombstones yet; full items, since they are copied to the archive as-is.
+     */
+    SdkIterable<Page<BookingItem>> scanArchivable(String beforeDate);
 
-        var req = ScanEnhancedRequest.builder()
-                .attributesToProject("userId", "bookingId", "startDate", "duration", "status")
-                .filterExpression(filter)
-                .build();
+    /**
+     * One segment of a parallel full-table scan, resuming after {@code exclusiveStartKey} (null to start from the beginning).
+     */
+    SdkIterable<Page<BookingItem>> scanSegment(int segment, int totalSegments,
+                                              Map<String, AttributeValue> exclusiveStartKey);
 
-        return bookingTable.scan(req);
-    }
+    /**
+     * Overwrites archived bookings with their tombstones; a put replaces the whole item,
+     * so this drops the bulky attributes in the same write. Throws if some are still left.
+     */
+    void replaceWithTombstones(List<BookingItem> tombstones);
 
     /** Set status = STARTED only if currently BOOKED (idempotent). */
-    public void markStarted(String userId, String bookingId) {
-        BookingItem item = new BookingItem();
-        item.setUserId(userId);
-        item.setBookingId(bookingId);
-        item.setStatus(BookingStatus.STARTED.name());
-
-        var names = Map.of("#st", "status");
-        var vals  = Map.of(":cur", AttributeValue.builder().s(BookingStatus.BOOKED.name()).build());
-
-        var condition = Expression.builder()
-                .expression("#st = :cur")   // only transition BOOKED -> STARTED
-                .expressionNames(names)
-                .expressionValues(vals)
-                .build();
-
-        bookingTable.updateItem(UpdateItemEnhancedRequest.builder(BookingItem.class)
-                .item(item)
-                .ignoreNulls(true)
-                .conditionExpression(condition)
-                .build());
-    }
+    void markStarted(String userId, String bookingId);
 
     /** Set status = FINISHED if not already FINISHED (idempotent, conditional). */
-    public void markFinished(String userId, String bookingId) {
-        BookingItem item = new BookingItem();
-        item.setUserId(userId);
-        item.setBookingId(bookingId);
-        item.setStatus(BookingStatus.FINISHED.name());
-
-        var names = Map.of("#st", "status");
-        var vals  = Map.of(":fin", AttributeValue.builder().s(BookingStatus.FINISHED.name()).build());
-
-        var condition = Expression.builder()
-                .expression("attribute_not_exists(#st) OR #st <> :fin")
-                .expressionNames(names)
-                .expressionValues(vals)
-                .build();
-
-        bookingTable.updateItem(UpdateItemEnhancedRequest.builder(BookingItem.class)
-                .item(item)
-                .ignoreNulls(true)
-                .conditionExpression(condition)
-                .build());
-    }
+    void markFinished(String userId, String bookingId);
 
     /** Confirm only if currently BOOKED and assigned to this agent. */
-    public void markConfirmed(String userId, String bookingId, String agentEmail) {
-        BookingItem patch = new BookingItem();
-        patch.setUserId(userId);
-        patch.setBookingId(bookingId);
-        patch.setStatus(BookingStatus.CONFIRMED.name());
-        patch.setConfirmedAtEpoch(System.currentTimeMillis());
-
-        var names = Map.of(
-                "#st", "status",
-                "#ae", "agentEmail"
-        );
-        var values = Map.of(
-                ":booked", AttributeValue.builder().s(BookingStatus.BOOKED.name()).build(),
-                ":agent",  AttributeValue.builder().s(agentEmail).build()
-        );
-
-        var cond = Expression.builder()
-                .expression("#st = :booked AND #ae = :agent")
-                .expressionNames(names)
-                .expressionValues(values)
-                .build();
-
-        bookingTable.updateItem(UpdateItemEnhancedRequest.builder(BookingItem.class)
-                .item(patch)
-                .ignoreNulls(true)
-                .conditionExpression(cond)
-                .build());
-    }
+    void markConfirmed(String userId, String bookingId, String agentEmail);
 }
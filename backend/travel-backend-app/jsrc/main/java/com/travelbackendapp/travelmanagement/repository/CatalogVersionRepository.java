@@ -0,0 +1,24 @@
+package com.travelbackendapp.travelmanagement.repository;
+
+/**
+ * Catalog/inventory version shared by all instances, bumped whenever tours change or a tour sells out or gets seats back.
+ * Search caches compare it to decide whether their entries are still current.
+ */
+public interface CatalogVersionRepository {
+
+    /** Current version; on read errors the last known value is kept. */
+    long current();
+
+    /** Increments the version; if the write fails this instance still moves on locally. */
+    void bump(String reason);
+
+    /**
+     * Marks the version as changed for a seat change that moves a tour in or out of search results (across zero
+     * seats left); other seat changes do not bump. This instance sees the new version right away, the shared
+     * write waits for {@link #flush} so the bumps of one request are coalesced into one.
+     */
+    void bumpSoon(String reason);
+
+    /** Writes the bumps {@link #bumpSoon} left pending, if any; handlers call it before returning. */
+    void flush();
+}
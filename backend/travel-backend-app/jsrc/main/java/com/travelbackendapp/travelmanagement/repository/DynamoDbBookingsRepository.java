@@ -0,0 +1,450 @@
+package com.travelbackendapp.travelmanagement.repository;
+
+import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.enhanced.dynamodb.*;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Singleton
+public class DynamoDbBookingsRepository implements BookingsRepository {
+    private static final Logger log = LoggerFactory.getLogger(DynamoDbBookingsRepository.class);
+
+    private final DynamoDbEnhancedClient enhanced;
+    private final DynamoDbTable<BookingItem> bookingTable;
+    private final DynamoDbTable<TourItem> toursTable;
+    private final DynamoDbClient lowLevel;
+    private final DynamoDbTourInventoryRepository inventory;
+
+    @Inject
+    public DynamoDbBookingsRepository(DynamoDbEnhancedClient enhanced,
+                              DynamoDbClient lowLevel,
+                              DynamoDbTourInventoryRepository inventory,
+                              @Named("BOOKINGS_TABLE") String bookingsTableName,
+                              @Named("TOUR_TABLE") String toursTableName) {
+        this.enhanced = enhanced;
+        this.lowLevel = lowLevel;
+        this.inventory = inventory;
+        this.bookingTable = enhanced.table(bookingsTableName, TableSchema.fromBean(BookingItem.class));
+        this.toursTable = enhanced.table(toursTableName, TableSchema.fromBean(TourItem.class));
+    }
+
+    /**
+     * Atomically decrements availablePackages and writes the booking in a single transaction.
+     * The decrement is a relative {@code SET #ap = #ap - :seats} guarded only by {@code #ap >= :seats},
+     * so concurrent bookings on the same tour do not invalidate each other while seats remain.
+     * Transaction conflicts are retried with jittered backoff; a failed capacity guard is not retried
+     * and surfaces as {@link TransactionCanceledException} so the caller can map it to 409.
+     */
+    @Override
+    public void transactReserveSeatsAndSave(BookingItem booking, String tourId, int seats) {
+        transactReserveSeatsAndSave(booking, tourId, seats, 0);
+    }
+
+    /**
+     * Same as {@link #transactReserveSeatsAndSave(BookingItem, String, int)}, but for a tour with
+     * {@code shardCount > 0} the seats are taken from its inventory shards (sticky by userId).
+     */
+    @Override
+    public void transactReserveSeatsAndSave(BookingItem booking, String tourId, int seats, int shardCount) {
+        reserveAndSave(booking, tourId, seats, shardCount, false, null);
+    }
+
+    /**
+     * Reserves against the tour snapshot the booking was validated and priced with: for a plain tour the
+     * decrement is also conditioned on the snapshot's {@code version}, so a tour edited in between cancels
+     * the transaction instead of booking against changed prices or dates. Sharded tours skip the version
+     * check to keep the tour item out of the hot path.
+     */
+    @Override
+    public void transactReserveSeatsAndSave(BookingItem booking, TourItem tour, int seats) {
+        if (TourInventoryRepository.isSharded(tour)) {
+            reserveAndSave(booking, tour.getTourId(), seats, tour.getInventoryShards(), false, null);
+        } else {
+            reserveAndSave(booking, tour.getTourId(), seats, 0, true, tour.getVersion());
+        }
+    }
+
+    private void reserveAndSave(BookingItem booking, String tourId, int seats, int shardCount,
+                                boolean checkVersion, Long version) {
+        if (seats <= 0) {
+            throw new IllegalArgumentException("seats must be > 0");
+        }
+
+        TransactWriteItem save = TransactWriteItem.builder().put(Put.builder()
+                .tableName(bookingTable.tableName())
+                .item(bookingTable.tableSchema().itemToMap(booking, true))
+                .build()).build();
+
+        if (shardCount > 0) {
+            inventory.reserve(tourId, shardCount, seats, booking.getUserId(), save);
+            return;
+        }
+
+        Map<String, String> names = new HashMap<>();
+        names.put("#ap", "availablePackages");
+        Map<String, AttributeValue> values = new HashMap<>();
+        values.put(":seats", AttributeValue.builder().n(Integer.toString(seats)).build());
+        String condition = "#ap >= :seats";
+        if (checkVersion) {
+            names.put("#v", "version");
+            if (version == null) {
+                condition += " AND attribute_not_exists(#v)";
+            } else {
+                condition += " AND #v = :ver";
+                values.put(":ver", AttributeValue.builder().n(Long.toString(version)).build());
+            }
+        }
+
+        Update reserve = Update.builder()
+                .tableName(toursTable.tableName())
+                .key(Map.of("tourId", AttributeValue.builder().s(tourId).build()))
+                .updateExpression("SET #ap = #ap - :seats")
+                .conditionExpression(condition)
+                .expressionAttributeNames(names)
+                .expressionAttributeValues(values)
+                .build();
+
+        TransactWriteItemsRequest tx = TransactWriteItemsRequest.builder()
+                .transactItems(TransactWriteItem.builder().update(reserve).build(), save)
+                .build();
+
+        TransactWrites.execute(lowLevel, tx, "reserve seats", tourId);
+    }
+
+    /** Number of transactions cancelled by a concurrent transaction on the same items. */
+    public static long reserveConflictCount() {
+        return TransactWrites.CONFLICTS.get();
+    }
+
+    /** Number of transaction attempts retried after a conflict. */
+    public static long reserveRetryCount() {
+        return TransactWrites.RETRIES.get();
+    }
+
+    /** Number of transactions rejected by their condition, e.g. not enough seats left. */
+    public static long reserveCapacityRejectedCount() {
+        return TransactWrites.CONDITION_FAILURES.get();
+    }
+
+    @Override
+    public BookingItem get(String userId, String bookingId) {
+        return bookingTable.getItem(Key.builder()
+                .partitionValue(userId)
+                .sortValue(bookingId)
+                .build());
+    }
+
+    @Override
+    public void put(BookingItem booking) {
+        bookingTable.putItem(booking);
+    }
+
+    @Override
+    public void adjustTourCapacity(String tourId, int delta) {
+        adjustTourCapacity(tourId, delta, 0);
+    }
+
+    /**
+     * Consumes (delta > 0) or returns (delta < 0) seats. Sharded tours go through their inventory shards;
+     * a shortfall is reported as {@link ConditionalCheckFailedException} in both modes.
+     */
+    @Override
+    public void adjustTourCapacity(String tourId, int delta, int shardCount) {
+        if (delta == 0) return;
+
+        if (shardCount > 0) {
+            if (delta > 0) {
+                try {
+                    inventory.reserve(tourId, shardCount, delta, null, null);
+                } catch (TransactionCanceledException e) {
+                    throw ConditionalCheckFailedException.builder().message("not enough capacity").build();
+                }
+            } else {
+                inventory.release(tourId, shardCount, -delta);
+            }
+            return;
+        }
+
+        // Key
+        Map<String, AttributeValue> key = Map.of(
+                "tourId", AttributeValue.builder().s(tourId).build()
+        );
+
+        Map<String, String> names = Map.of("#ap", "availablePackages");
+
+        if (delta > 0) {
+            // Consume seats: availablePackages = availablePackages - :d
+            int d = delta;
+
+            Map<String, AttributeValue> values = Map.of(
+                    ":d", AttributeValue.builder().n(Integer.toString(d)).build()
+            );
+
+            lowLevel.updateItem(UpdateItemRequest.builder()
+                    .tableName(toursTable.tableName())
+                    .key(key)
+                    .updateExpression("SET #ap = #ap - :d")
+                    // Guard: cannot consume below zero
+                    .conditionExpression("#ap >= :d")
+                    .expressionAttributeNames(names)
+                    .expressionAttributeValues(values)
+                    .returnValues(ReturnValue.NONE)
+                    .build());
+
+        } else {
+            // Return seats: availablePackages = if_not_exists(availablePackages, 0) + :inc
+            int inc = -delta;
+
+            Map<String, AttributeValue> values = Map.of(
+                    ":inc", AttributeValue.builder().n(Integer.toString(inc)).build(),
+                    ":zero", AttributeValue.builder().n("0").build()
+            );
+
+            lowLevel.updateItem(UpdateItemRequest.builder()
+                    .tableName(toursTable.tableName())
+                    .key(key)
+                    .updateExpression("SET #ap = if_not_exists(#ap, :zero) + :inc")
+                    .expressionAttributeNames(names)
+                    .expressionAttributeValues(values)
+                    .returnValues(ReturnValue.NONE)
+                    .build());
+        }
+    }
+
+    // Query by PK (userId) — efficient
+    @Override
+    public List<BookingItem> findByUserId(String userId) {
+        var out = new ArrayList<BookingItem>();
+        bookingTable.query(r -> r.queryConditional(
+                        QueryConditional.keyEqualTo(k -> k.partitionValue(userId))))
+                .items()
+                .forEach(out::add);
+        return out;
+    }
+
+    /**
+     * One page of a user's bookings. The date range is a key condition on the date-prefixed bookingId
+     * ({@code yyyy-MM-dd_uuid}); statuses are a filter. Because DynamoDB applies Limit before the filter,
+     * pages are read until {@code limit} items match, and the returned cursor is the last returned bookingId.
+     *
+     * @param from            first booking date (inclusive) or null
+     * @param to              last booking date (inclusive) or null
+     * @param statuses        status names to keep, empty for any
+     * @param limit           max items, or {@code <= 0} for all
+     * @param afterBookingId  exclusive start (from a previous page), or null
+     * @param includeArchived whether archive tombstones are returned
+     */
+    @Override
+    public BookingsPage findByUserId(String userId, String from, String to, Collection<String> statuses,
+                                     int limit, String afterBookingId, boolean includeArchived) {
+        QueryEnhancedRequest.Builder req = QueryEnhancedRequest.builder().queryConditional(bookingIdRange(userId, from, to));
+        Expression filter = listingFilter(statuses, includeArchived, null, null);
+        if (filter != null) req.filterExpression(filter);
+        if (limit > 0) req.limit(limit);
+        if (afterBookingId != null) {
+            req.exclusiveStartKey(Map.of(
+                    "userId", AttributeValue.builder().s(userId).build(),
+                    "bookingId", AttributeValue.builder().s(afterBookingId).build()));
+        }
+        return firstMatches(bookingTable.query(req.build()), limit);
+    }
+
+    /**
+     * Queries {@link BookingItem#AGENT_INDEX} (agentEmail, bookingId): the date range is a key condition,
+     * statuses and archive tombstones are filters, as in {@link #findByUserId(String, String, String, Collection, int, String, boolean)}.
+     */
+    @Override
+    public BookingsPage findByAgentEmail(String email, String from, String to, Collection<String> statuses,
+                                         int limit, String afterUserId, String afterBookingId, boolean includeArchived) {
+        QueryEnhancedRequest.Builder req = QueryEnhancedRequest.builder().queryConditional(bookingIdRange(email, from, to));
+        Expression filter = listingFilter(statuses, includeArchived, null, null);
+        if (filter != null) req.filterExpression(filter);
+        if (limit > 0) req.limit(limit);
+        if (afterBookingId != null && afterUserId != null) {
+            req.exclusiveStartKey(Map.of(
+                    "agentEmail", AttributeValue.builder().s(email).build(),
+                    "bookingId", AttributeValue.builder().s(afterBookingId).build(),
+                    "userId", AttributeValue.builder().s(afterUserId).build()));
+        }
+        return firstMatches(bookingTable.index(BookingItem.AGENT_INDEX).query(req.build()), limit);
+    }
+
+    /**
+     * There is no key every booking shares, so this stays a Scan, but a resumable one: with a limit each call reads
+     * only until {@code limit} bookings match and hands back the last key. Pages come in key order, not date order.
+     */
+    @Override
+    public BookingsPage findAll(String from, String to, Collection<String> statuses,
+                                int limit, String afterUserId, String afterBookingId, boolean includeArchived) {
+        ScanEnhancedRequest.Builder req = ScanEnhancedRequest.builder();
+        Expression filter = listingFilter(statuses, includeArchived, from, to);
+        if (filter != null) req.filterExpression(filter);
+        if (limit > 0) req.limit(limit);
+        if (afterBookingId != null && afterUserId != null) {
+            req.exclusiveStartKey(Map.of(
+                    "userId", AttributeValue.builder().s(afterUserId).build(),
+                    "bookingId", AttributeValue.builder().s(afterBookingId).build()));
+        }
+        return firstMatches(bookingTable.scan(req.build()), limit);
+    }
+
+    // Key condition on the date-prefixed bookingId under one partition value
+    private static QueryConditional bookingIdRange(String partition, String from, String to) {
+        String upper = to == null ? null : to + "_~";     // '~' sorts after any uuid character
+        if (from != null && upper != null) {
+            return QueryConditional.sortBetween(
+                    k -> k.partitionValue(partition).sortValue(from),
+                    k -> k.partitionValue(partition).sortValue(upper));
+        } else if (from != null) {
+            return QueryConditional.sortGreaterThanOrEqualTo(k -> k.partitionValue(partition).sortValue(from));
+        } else if (upper != null) {
+            return QueryConditional.sortLessThanOrEqualTo(k -> k.partitionValue(partition).sortValue(upper));
+        }
+        return QueryConditional.keyEqualTo(k -> k.partitionValue(partition));
+    }
+
+    // Status and archive filters; the date range too when it cannot be a key condition (scans). Null when empty.
+    private static Expression listingFilter(Collection<String> statuses, boolean includeArchived, String from, String to) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, String> names = new HashMap<>();
+        Map<String, AttributeValue> values = new HashMap<>();
+        if (statuses != null && !statuses.isEmpty()) {
+            List<String> refs = new ArrayList<>();
+            int i = 0;
+            for (String st : statuses) {
+                String ref = ":st" + i++;
+                refs.add(ref);
+                values.put(ref, AttributeValue.builder().s(st).build());
+            }
+            conditions.add("#st IN (" + String.join(", ", refs) + ")");
+            names.put("#st", "status");
+        }
+        if (!includeArchived) {
+            conditions.add("attribute_not_exists(#ak)");
+            names.put("#ak", "archiveKey");
+        }
+        if (from != null) {
+            conditions.add("#bid >= :from");
+            values.put(":from", AttributeValue.builder().s(from).build());
+        }
+        if (to != null) {
+            conditions.add("#bid <= :to");
+            values.put(":to", AttributeValue.builder().s(to + "_~").build());
+        }
+        if (from != null || to != null) names.put("#bid", "bookingId");
+        if (conditions.isEmpty()) return null;
+        return Expression.builder()
+                .expression(String.join(" AND ", conditions))
+                .expressionNames(names)
+                .expressionValues(values.isEmpty() ? null : values)
+                .build();
+    }
+
+    /**
+     * Reads pages until {@code limit} items passed the filter. Because DynamoDB applies Limit before the filter,
+     * one request is rarely enough; the returned cursor is the key of the last returned item.
+     */
+    private static BookingsPage firstMatches(Iterable<Page<BookingItem>> pages, int limit) {
+        List<BookingItem> out = new ArrayList<>();
+        for (Page<BookingItem> p : pages) {
+            for (BookingItem b : p.items()) {
+                out.add(b);
+                if (limit > 0 && out.size() == limit) {
+                    // more may follow unless this was the page's last item and the query is exhausted
+                    boolean last = b == p.items().get(p.items().size() - 1) && p.lastEvaluatedKey() == null;
+                    return last ? new BookingsPage(out, null) : new BookingsPage(out, b.getBookingId(), b.getUserId());
+                }
+            }
+        }
+        return new BookingsPage(out, null);
+    }
+
+    @Override
+    public List<BookingItem> findAll() {
+        var out = new ArrayList<BookingItem>();
+        try {
+            for (Page<BookingItem> page : bookingTable.scan()) {
+                out.addAll(page.items());
+            }
+            log.info("Found {} bookings", out.size());
+        } catch (Exception e) {
+            log.error("Failed to list all bookings", e);
+        }
+        return out;
+    }
+
+    @Override
+    public BookingItem getByBookingId(String bookingId) {
+        var req = ScanEnhancedRequest.builder()
+                .filterExpression(Expression.builder()
+                        .expression("#bid = :bid")
+                        .expressionNames(Map.of("#bid", "bookingId"))
+                        .expressionValues(Map.of(":bid", AttributeValue.builder().s(bookingId).build()))
+                        .build())
+                .limit(1)
+                .build();
+        for (Page<BookingItem> p : bookingTable.scan(req)) {
+            for (BookingItem it : p.items()) return it;
+        }
+        return null;
+    }
+
+    @Override
+    public List<String> findBookingIdsByTourId(String tourId) {
+        List<String> out = new ArrayList<>();
+        try {
+            Expression filter = Expression.builder()
+                    .expression("#tid = :tid")
+                    .expressionNames(Map.of("#tid", "tourId"))
+                    .expressionValues(Map.of(":tid", AttributeValue.builder().s(tourId).build()))
+                    .build();
+
+            // Project only bookingId to reduce read cost
+            ScanEnhancedRequest req = ScanEnhancedRequest.builder()
+                    .filterExpression(filter)
+                    .attributesToProject("bookingId")
+                    .build();
+
+            for (Page<BookingItem> p : bookingTable.scan(req)) {
+                for (BookingItem b : p.items()) {
+                    if (b.getBookingId() != null) out.add(b.getBookingId());
+                }
+            }
+        } catch (Exception e) {
+            log.error("findBookingIdsByTourId scan failed for {}", tourId, e);
+        }
+        return out;
+    }
+
+
+}
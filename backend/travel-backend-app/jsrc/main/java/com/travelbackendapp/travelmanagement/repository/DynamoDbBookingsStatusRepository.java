@@ -0,0 +1,213 @@
+package com.travelbackendapp.travelmanagement.repository;
+
+import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
+import com.travelbackendapp.travelmanagement.domain.BookingStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.enhanced.dynamodb.*;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.List;
+import java.util.Map;
+
+@Singleton
+public class DynamoDbBookingsStatusRepository implements BookingsStatusRepository {
+    private static final Logger log = LoggerFactory.getLogger(DynamoDbBookingsStatusRepository.class);
+
+    /** BatchWriteItem accepts at most 25 requests. */
+    static final int BATCH_SIZE = 25;
+    private static final int MAX_BATCH_ATTEMPTS = 8;
+
+    private final DynamoDbEnhancedClient enhanced;
+    private final DynamoDbTable<BookingItem> bookingTable;
+
+    @Inject
+    public DynamoDbBookingsStatusRepository(DynamoDbEnhancedClient enhanced,
+                                    @Named("BOOKINGS_TABLE") String bookingsTableName) {
+        this.enhanced = enhanced;
+        this.bookingTable = enhanced.table(bookingsTableName, TableSchema.fromBean(BookingItem.class));
+    }
+
+    /**
+     * Stream only fields we need; skip FINISHED and CANCELLED.
+     * We still want BOOKED (candidate for STARTED) and STARTED (candidate for FINISHED).
+     */
+    @Override
+    public SdkIterable<Page<BookingItem>> scanActiveForStatusUpdate() {
+        var names = Map.of(
+                "#st", "status",
+                "#dur", "duration"
+        );
+        var values = Map.of(
+                ":fin", AttributeValue.builder().s(BookingStatus.FINISHED.name()).build(),
+                ":can", AttributeValue.builder().s(BookingStatus.CANCELLED.name()).build()
+        );
+
+        var filter = Expression.builder()
+                .expression("attribute_exists(startDate) AND attribute_exists(#dur) " +
+                        "AND (#st <> :fin) AND (#st <> :can)")
+                .expressionNames(names)
+                .expressionValues(values)
+                .build();
+
+        var req = ScanEnhancedRequest.builder()
+                .attributesToProject("userId", "bookingId", "startDate", "duration", "status")
+                .filterExpression(filter)
+                .build();
+
+        return bookingTable.scan(req);
+    }
+
+    /**
+     * FINISHED and CANCELLED bookings starting before {@code beforeDate} (ISO yyyy-MM-dd)
+     * that are not tombstones yet; full items, since they are copied to the archive as-is.
+     */
+    @Override
+    public SdkIterable<Page<BookingItem>> scanArchivable(String beforeDate) {
+        var filter = Expression.builder()
+                .expression("(#st = :fin OR #st = :can) AND #sd < :before AND attribute_not_exists(#ak)")
+                .expressionNames(Map.of("#st", "status", "#sd", "startDate", "#ak", "archiveKey"))
+                .expressionValues(Map.of(
+                        ":fin", AttributeValue.builder().s(BookingStatus.FINISHED.name()).build(),
+                        ":can", AttributeValue.builder().s(BookingStatus.CANCELLED.name()).build(),
+                        ":before", AttributeValue.builder().s(beforeDate).build()))
+                .build();
+        return bookingTable.scan(ScanEnhancedRequest.builder().filterExpression(filter).build());
+    }
+
+    /**
+     * One segment of a parallel full-table scan, resuming after {@code exclusiveStartKey} (null to start from the beginning).
+     */
+    @Override
+    public SdkIterable<Page<BookingItem>> scanSegment(int segment, int totalSegments,
+                                                     Map<String, AttributeValue> exclusiveStartKey) {
+        return bookingTable.scan(ScanEnhancedRequest.builder()
+                .segment(segment)
+                .totalSegments(totalSegments)
+                .exclusiveStartKey(exclusiveStartKey)
+                .build());
+    }
+
+    /**
+     * Overwrites archived bookings with their tombstones in BatchWriteItem chunks of {@link #BATCH_SIZE};
+     * a put replaces the whole item, so this drops the bulky attributes in the same write.
+     * Unprocessed items are retried with backoff; throws if some are still left.
+     */
+    @Override
+    public void replaceWithTombstones(List<BookingItem> tombstones) {
+        for (int from = 0; from < tombstones.size(); from += BATCH_SIZE) {
+            List<BookingItem> pending = tombstones.subList(from, Math.min(from + BATCH_SIZE, tombstones.size()));
+            for (int attempt = 0; !pending.isEmpty(); attempt++) {
+                if (attempt == MAX_BATCH_ATTEMPTS) {
+                    throw new IllegalStateException(pending.size() + " tombstone writes left unprocessed");
+                }
+                if (attempt > 0) backoff(attempt);
+                WriteBatch.Builder<BookingItem> batch = WriteBatch.builder(BookingItem.class)
+                        .mappedTableResource(bookingTable);
+                pending.forEach(batch::addPutItem);
+                BatchWriteResult res = enhanced.batchWriteItem(BatchWriteItemEnhancedRequest.builder()
+                        .writeBatches(batch.build())
+                        .build());
+                pending = res.unprocessedPutItemsForTable(bookingTable);
+            }
+        }
+    }
+
+    static void backoff(int attempt) {
+        try {
+            Thread.sleep(Math.min(1_000L, 50L << attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while retrying batch write", e);
+        }
+    }
+
+    /** Set status = STARTED only if currently BOOKED (idempotent). */
+    @Override
+    public void markStarted(String userId, String bookingId) {
+        BookingItem item = new BookingItem();
+        item.setUserId(userId);
+        item.setBookingId(bookingId);
+        item.setStatus(BookingStatus.STARTED.name());
+
+        var names = Map.of("#st", "status");
+        var vals  = Map.of(":cur", AttributeValue.builder().s(BookingStatus.BOOKED.name()).build());
+
+        var condition = Expression.builder()
+                .expression("#st = :cur")   // only transition BOOKED -> STARTED
+                .expressionNames(names)
+                .expressionValues(vals)
+                .build();
+
+        bookingTable.updateItem(UpdateItemEnhancedRequest.builder(BookingItem.class)
+                .item(item)
+                .ignoreNulls(true)
+                .conditionExpression(condition)
+                .build());
+    }
+
+    /** Set status = FINISHED if not already FINISHED (idempotent, conditional). */
+    @Override
+    public void markFinished(String userId, String bookingId) {
+        BookingItem item = new BookingItem();
+        item.setUserId(userId);
+        item.setBookingId(bookingId);
+        item.setStatus(BookingStatus.FINISHED.name());
+
+        var names = Map.of("#st", "status");
+        var vals  = Map.of(":fin", AttributeValue.builder().s(BookingStatus.FINISHED.name()).build());
+
+        var condition = Expression.builder()
+                .expression("attribute_not_exists(#st) OR #st <> :fin")
+                .expressionNames(names)
+                .expressionValues(vals)
+                .build();
+
+        bookingTable.updateItem(UpdateItemEnhancedRequest.builder(BookingItem.class)
+                .item(item)
+                .ignoreNulls(true)
+                .conditionExpression(condition)
+                .build());
+    }
+
+    /** Confirm only if currently BOOKED and assigned to this agent. */
+    @Override
+    public void markConfirmed(String userId, String bookingId, String agentEmail) {
+        BookingItem patch = new BookingItem();
+        patch.setUserId(userId);
+        patch.setBookingId(bookingId);
+        patch.setStatus(BookingStatus.CONFIRMED.name());
+        patch.setConfirmedAtEpoch(System.currentTimeMillis());
+
+        var names = Map.of(
+                "#st", "status",
+                "#ae", "agentEmail"
+        );
+        var values = Map.of(
+                ":booked", AttributeValue.builder().s(BookingStatus.BOOKED.name()).build(),
+                ":agent",  AttributeValue.builder().s(agentEmail).build()
+        );
+
+        var cond = Expression.builder()
+                .expression("#st = :booked AND #ae = :agent")
+                .expressionNames(names)
+                .expressionValues(values)
+                .build();
+
+        bookingTable.updateItem(UpdateItemEnhancedRequest.builder(BookingItem.class)
+                .item(patch)
+                .ignoreNulls(true)
+                .conditionExpression(cond)
+                .build());
+    }
+}
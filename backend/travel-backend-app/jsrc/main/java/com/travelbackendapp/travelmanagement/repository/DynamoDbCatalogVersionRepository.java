@@ -0,0 +1,110 @@
+package com.travelbackendapp.travelmanagement.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catalog/inventory version shared by all instances, bumped whenever tours or their capacity change.
+ * Stored as a single counter item (tourId = "#catalog", shardId = 0) in the inventory table;
+ * reads are cached for {@link #REFRESH_MS} so a search costs at most one GetItem per second.
+ * Seat changes {@link #bumpSoon bump} this instance's version at once and leave the shared write to {@link #flush},
+ * which the handler calls in its {@code finally}, so a request with several seat changes writes the item once.
+ */
+@Singleton
+public class DynamoDbCatalogVersionRepository implements CatalogVersionRepository {
+    private static final Logger log = LoggerFactory.getLogger(DynamoDbCatalogVersionRepository.class);
+
+    static final String COUNTER_ID = "#catalog";
+    private static final long REFRESH_MS = 1_000;
+
+    private final DynamoDbClient ddb;
+    private final String table;
+
+    private volatile long remote;
+    private volatile long remoteAt;
+    // seat changes and bumps whose write failed; invalidate this instance's caches before anyone else's
+    private final AtomicLong localBumps = new AtomicLong();
+    // a seat change is counted locally and not yet written
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    private volatile String pendingReason;
+
+    @Inject
+    public DynamoDbCatalogVersionRepository(DynamoDbClient dynamoDbClient,
+                                    @Named("INVENTORY_TABLE") String tableName) {
+        this.ddb = dynamoDbClient;
+        this.table = tableName;
+    }
+
+    /** Current version; on read errors the last known value is kept. */
+    @Override
+    public long current() {
+        long now = System.currentTimeMillis();
+        if (remoteAt != 0 && now - remoteAt < REFRESH_MS) return remote + localBumps.get();
+        try {
+            Map<String, AttributeValue> item = ddb.getItem(GetItemRequest.builder()
+                    .tableName(table)
+                    .key(key())
+                    .projectionExpression("#v")
+                    .expressionAttributeNames(Map.of("#v", "version"))
+                    .build()).item();
+            AttributeValue v = item == null ? null : item.get("version");
+            remote = Math.max(remote, v == null ? 0L : Long.parseLong(v.n()));
+        } catch (Exception e) {
+            log.warn("catalog version read failed, keeping {}: {}", remote, e.toString());
+        }
+        remoteAt = now;
+        return remote + localBumps.get();
+    }
+
+    /** Increments the version; if the write fails this instance still moves on locally. */
+    @Override
+    public void bump(String reason) {
+        try {
+            UpdateItemResponse resp = ddb.updateItem(UpdateItemRequest.builder()
+                    .tableName(table)
+                    .key(key())
+                    .updateExpression("ADD #v :one")
+                    .expressionAttributeNames(Map.of("#v", "version"))
+                    .expressionAttributeValues(Map.of(":one", AttributeValue.builder().n("1").build()))
+                    .returnValues(ReturnValue.UPDATED_NEW)
+                    .build());
+            remote = Math.max(remote, Long.parseLong(resp.attributes().get("version").n()));
+            remoteAt = System.currentTimeMillis();
+        } catch (Exception e) {
+            log.warn("catalog version bump failed ({}): {}", reason, e.toString());
+            localBumps.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void bumpSoon(String reason) {
+        localBumps.incrementAndGet();
+        pendingReason = reason;
+        flushPending.set(true);
+    }
+
+    @Override
+    public void flush() {
+        if (!flushPending.getAndSet(false)) return;
+        bump(pendingReason);
+    }
+
+    private static Map<String, AttributeValue> key() {
+        return Map.of(
+                "tourId", AttributeValue.builder().s(COUNTER_ID).build(),
+                "shardId", AttributeValue.builder().n("0").build());
+    }
+}
@@ -0,0 +1,339 @@
+package com.travelbackendapp.travelmanagement.repository;
+
+import com.travelbackendapp.travelmanagement.model.entity.ReportRecord;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+@Singleton
+public class DynamoDbReportsRepository implements ReportsRepository {
+    
+    private static final int MAX_BATCH_ATTEMPTS = 8;
+    
+    private final DynamoDbEnhancedClient enhancedClient;
+    private final DynamoDbTable<ReportRecord> reportsTable;
+    private final String tableName;
+    
+    @Inject
+    public DynamoDbReportsRepository(DynamoDbClient dynamoDbClient, String reportsTableName) {
+        this.tableName = reportsTableName;
+        this.enhancedClient = DynamoDbEnhancedClient.builder()
+            .dynamoDbClient(dynamoDbClient)
+            .build();
+        
+        this.reportsTable = enhancedClient.table(tableName, TableSchema.fromBean(ReportRecord.class));
+    }
+    
+    /**
+     * Save a report record to DynamoDB
+     * @param reportRecord The report record to save
+     * @return The saved report record
+     */
+    @Override
+    public ReportRecord save(ReportRecord reportRecord) {
+        try {
+            reportRecord.assignPeriodKeys();
+            reportsTable.putItem(reportRecord);
+            return reportRecord;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save report record: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Writes records in BatchWriteItem chunks of {@link #BATCH_SIZE}; puts overwrite, so rewriting the
+     * same reportIds is idempotent. Unprocessed items are retried with backoff; throws if some are still left.
+     */
+    @Override
+    public void saveAll(List<ReportRecord> records) {
+        for (int from = 0; from < records.size(); from += BATCH_SIZE) {
+            List<ReportRecord> pending = records.subList(from, Math.min(from + BATCH_SIZE, records.size()));
+            pending.forEach(ReportRecord::assignPeriodKeys);
+            for (int attempt = 0; !pending.isEmpty(); attempt++) {
+                if (attempt == MAX_BATCH_ATTEMPTS) {
+                    throw new IllegalStateException(pending.size() + " report writes left unprocessed");
+                }
+                if (attempt > 0) DynamoDbBookingsStatusRepository.backoff(attempt);
+                WriteBatch.Builder<ReportRecord> batch = WriteBatch.builder(ReportRecord.class)
+                        .mappedTableResource(reportsTable);
+                pending.forEach(batch::addPutItem);
+                BatchWriteResult res = enhancedClient.batchWriteItem(BatchWriteItemEnhancedRequest.builder()
+                        .writeBatches(batch.build())
+                        .build());
+                pending = res.unprocessedPutItemsForTable(reportsTable);
+            }
+        }
+    }
+    
+    /**
+     * One segment of a parallel scan returning only reportId, eventType and bookingId.
+     */
+    @Override
+    public SdkIterable<Page<ReportRecord>> scanKeysSegment(int segment, int totalSegments) {
+        return reportsTable.scan(ScanEnhancedRequest.builder()
+                .segment(segment)
+                .totalSegments(totalSegments)
+                .attributesToProject("reportId", "eventType", "bookingId")
+                .build());
+    }
+    
+    /**
+     * Find a report record by reportId
+     * @param reportId The report ID to search for
+     * @return Optional containing the report record if found
+     */
+    @Override
+    public Optional<ReportRecord> findByReportId(String reportId) {
+        try {
+            Key key = Key.builder()
+                .partitionValue(reportId)
+                .build();
+            
+            ReportRecord reportRecord = reportsTable.getItem(key);
+            return Optional.ofNullable(reportRecord);
+        } catch (ResourceNotFoundException e) {
+            return Optional.empty();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to find report record with ID: " + reportId, e);
+        }
+    }
+    
+    /**
+     * Delete a report record by reportId
+     * @param reportId The report ID to delete
+     * @return true if the record was deleted, false if not found
+     */
+    @Override
+    public boolean deleteByReportId(String reportId) {
+        try {
+            Key key = Key.builder()
+                .partitionValue(reportId)
+                .build();
+            
+            ReportRecord deletedRecord = reportsTable.deleteItem(key);
+            return deletedRecord != null;
+        } catch (ResourceNotFoundException e) {
+            return false;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to delete report record with ID: " + reportId, e);
+        }
+    }
+    
+    /**
+     * Check if the reports table exists and is accessible
+     * @return true if the table is accessible
+     */
+    @Override
+    public boolean isTableAccessible() {
+        try {
+            // Try to describe the table to check if it exists and is accessible
+            reportsTable.describeTable();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Get the table name
+     * @return The DynamoDB table name
+     */
+    @Override
+    public String getTableName() {
+        return tableName;
+    }
+    
+    /**
+     * Get all report records from the table
+     * @return List of all report records
+     */
+    @Override
+    public List<ReportRecord> findAll() {
+        try {
+            List<ReportRecord> reports = new ArrayList<>();
+            reportsTable.scan().items().forEach(reports::add);
+            return reports;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to scan all reports: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * All reports with an eventTimestamp in [from, to], read from the period index.
+     */
+    @Override
+    public List<ReportRecord> findByPeriod(LocalDateTime from, LocalDateTime to) {
+        return queryPeriods(ReportRecord.PERIOD_INDEX, null, from, to);
+    }
+
+    /**
+     * Same records as {@link #findByPeriod}, handed to {@code sink} page by page instead of collected,
+     * so callers that only aggregate never hold the whole period in memory.
+     */
+    @Override
+    public void forEachInPeriod(LocalDateTime from, LocalDateTime to, Consumer<ReportRecord> sink) {
+        forEachInPeriods(ReportRecord.PERIOD_INDEX, null, from, to, sink);
+    }
+
+    /**
+     * Distinct agent emails across all reports; a scan projected to the one attribute.
+     */
+    @Override
+    public Set<String> findAgentEmails() {
+        try {
+            Set<String> emails = new TreeSet<>();
+            reportsTable.scan(ScanEnhancedRequest.builder().attributesToProject("agentEmail").build())
+                    .items()
+                    .forEach(r -> {
+                        if (r.getAgentEmail() != null && !r.getAgentEmail().isEmpty()) emails.add(r.getAgentEmail());
+                    });
+            return emails;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to scan agent emails: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reports of one agent with an eventTimestamp in [from, to]
+     * @param agentEmail The agent email to filter by
+     * @return List of report records for the agent, oldest first
+     */
+    @Override
+    public List<ReportRecord> findByAgentEmail(String agentEmail, LocalDateTime from, LocalDateTime to) {
+        return queryPeriods(ReportRecord.AGENT_PERIOD_INDEX, agentEmail, from, to);
+    }
+
+    /**
+     * Reports of one tour with an eventTimestamp in [from, to]
+     * @param tourId The tour ID to filter by
+     * @return List of report records for the tour, oldest first
+     */
+    @Override
+    public List<ReportRecord> findByTourId(String tourId, LocalDateTime from, LocalDateTime to) {
+        return queryPeriods(ReportRecord.TOUR_PERIOD_INDEX, tourId, from, to);
+    }
+
+    /**
+     * Reports of one event type with an eventTimestamp in [from, to]
+     * @param eventType The event type to filter by (CONFIRM, CANCEL, FINISH)
+     * @return List of report records for the event type, oldest first
+     */
+    @Override
+    public List<ReportRecord> findByEventType(String eventType, LocalDateTime from, LocalDateTime to) {
+        return queryPeriods(ReportRecord.TYPE_PERIOD_INDEX, eventType, from, to);
+    }
+
+    /**
+     * One Query per month bucket between {@code from} and {@code to}, each a range on eventTimestamp.
+     * ISO-8601 local timestamps sort lexicographically, so the range matches the old parsed comparison.
+     */
+    private List<ReportRecord> queryPeriods(String indexName, String scope, LocalDateTime from, LocalDateTime to) {
+        List<ReportRecord> out = new ArrayList<>();
+        forEachInPeriods(indexName, scope, from, to, out::add);
+        return out;
+    }
+
+    private void forEachInPeriods(String indexName, String scope, LocalDateTime from, LocalDateTime to, Consumer<ReportRecord> sink) {
+        if (from.isAfter(to)) return;
+        String lower = from.toString();
+        String upper = to.toString();
+        DynamoDbIndex<ReportRecord> index = reportsTable.index(indexName);
+        try {
+            for (YearMonth ym = YearMonth.from(from); !ym.isAfter(YearMonth.from(to)); ym = ym.plusMonths(1)) {
+                // each write shard comes back in eventTimestamp order; merging them keeps the month oldest first
+                PriorityQueue<Head> heads = new PriorityQueue<>();
+                for (String key : ReportRecord.periodKeys(indexName, scope, ym.toString())) {
+                    QueryConditional cond = QueryConditional.sortBetween(
+                            k -> k.partitionValue(key).sortValue(lower),
+                            k -> k.partitionValue(key).sortValue(upper));
+                    Head.offer(heads, index.query(r -> r.queryConditional(cond)).stream()
+                            .flatMap(page -> page.items().stream())
+                            .iterator());
+                }
+                while (!heads.isEmpty()) {
+                    Head head = heads.poll();
+                    sink.accept(head.record);
+                    Head.offer(heads, head.rest);
+                }
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to query " + indexName + " for " + (scope == null ? "all" : scope) + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Adds the period index keys to records written before they existed, and rewrites the unsharded
+     * {@code yyyy-MM} keys of records written before the period indexes were write-sharded; safe to run repeatedly.
+     * @return number of records updated
+     */
+    @Override
+    public int backfillPeriodKeys() {
+        Expression missing = Expression.builder()
+                .expression("attribute_exists(#ts) AND (attribute_not_exists(#pb) OR size(#pb) = :unsharded)")
+                .expressionNames(Map.of("#ts", "eventTimestamp", "#pb", "periodBucket"))
+                .expressionValues(Map.of(":unsharded", AttributeValue.builder().n("7").build()))
+                .build();
+        int updated = 0;
+        for (Page<ReportRecord> page : reportsTable.scan(ScanEnhancedRequest.builder().filterExpression(missing).build())) {
+            for (ReportRecord r : page.items()) {
+                r.assignPeriodKeys();
+                if (r.getPeriodBucket() == null) continue;
+                reportsTable.updateItem(UpdateItemEnhancedRequest.builder(ReportRecord.class)
+                        .item(r)
+                        .ignoreNulls(true)
+                        .build());
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    /** Next record of one write shard's query and the rest of it, ordered by (eventTimestamp, reportId). */
+    private static final class Head implements Comparable<Head> {
+        final ReportRecord record;
+        final Iterator<ReportRecord> rest;
+
+        private Head(ReportRecord record, Iterator<ReportRecord> rest) {
+            this.record = record;
+            this.rest = rest;
+        }
+
+        static void offer(PriorityQueue<Head> heads, Iterator<ReportRecord> shard) {
+            if (shard.hasNext()) heads.add(new Head(shard.next(), shard));
+        }
+
+        @Override
+        public int compareTo(Head o) {
+            int c = record.getEventTimestamp().compareTo(o.record.getEventTimestamp());
+            return c != 0 ? c : record.getReportId().compareTo(o.record.getReportId());
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.travelbackendapp.travelmanagement.repository;
+
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import com.travelbackendapp.travelmanagement.util.SnapSafeRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sharded seat inventory for hot tours.
+ * A tour with {@code inventoryShards = N} keeps its capacity in N items (tourId, shardId 0..N-1)
+ * of the inventory table; its own availablePackages stays at 0 while sharding is on.
+ */
+@Singleton
+public class DynamoDbTourInventoryRepository implements TourInventoryRepository {
+    private static final Logger log = LoggerFactory.getLogger(DynamoDbTourInventoryRepository.class);
+
+    // how many single-shard attempts before falling back to a multi-shard split
+    private static final int PROBE_LIMIT = 3;
+    private static final long AGGREGATE_TTL_MS = 5_000;
+    // release re-reads the tour's mode this many times at most before giving up
+    private static final int RELEASE_ATTEMPTS = 3;
+
+    private final DynamoDbClient ddb;
+    private final String table;
+    private final String toursTable;
+
+    private final Map<String, CachedTotal> aggregates = new ConcurrentHashMap<>();
+
+    @Inject
+    public DynamoDbTourInventoryRepository(DynamoDbClient dynamoDbClient,
+                                   @Named("INVENTORY_TABLE") String tableName,
+                                   @Named("TOUR_TABLE") String toursTableName) {
+        this.ddb = dynamoDbClient;
+        this.table = tableName;
+        this.toursTable = toursTableName;
+    }
+
+    /**
+     * Seats left for a tour: availablePackages for plain tours,
+     * the (briefly cached) sum of all shards for sharded ones.
+     */
+    @Override
+    public Integer availableSeats(TourItem tour) {
+        if (!TourInventoryRepository.isSharded(tour)) return tour.getAvailablePackages();
+        String tourId = tour.getTourId();
+        long now = System.currentTimeMillis();
+        CachedTotal c = aggregates.get(tourId);
+        if (c != null && c.expiresAt > now) return c.total;
+
+        int total = 0;
+        for (int v : readShards(tourId, false).values()) total += Math.max(v, 0);
+        aggregates.put(tourId, new CachedTotal(total, now + AGGREGATE_TTL_MS));
+        return total;
+    }
+
+    /** shardId -> seats for every existing shard of the tour. */
+    @Override
+    public Map<Integer, Integer> readShards(String tourId, boolean consistent) {
+        Map<Integer, Integer> out = new TreeMap<>();
+        Map<String, AttributeValue> startKey = null;
+        do {
+            QueryResponse resp = ddb.query(QueryRequest.builder()
+                    .tableName(table)
+                    .keyConditionExpression("tourId = :t")
+                    .expressionAttributeValues(Map.of(":t", AttributeValue.builder().s(tourId).build()))
+                    .consistentRead(consistent)
+                    .exclusiveStartKey(startKey)
+                    .build());
+            for (Map<String, AttributeValue> m : resp.items()) {
+                int shard = Integer.parseInt(m.get("shardId").n());
+                AttributeValue seats = m.get("seats");
+                out.put(shard, seats == null ? 0 : Integer.parseInt(seats.n()));
+            }
+            startKey = resp.hasLastEvaluatedKey() && !resp.lastEvaluatedKey().isEmpty() ? resp.lastEvaluatedKey() : null;
+        } while (startKey != null);
+        return out;
+    }
+
+    /**
+     * Takes {@code seats} from the tour's shards, optionally in the same transaction as {@code companion}
+     * (e.g. the booking Put). The first shard is chosen from {@code stickyKey} (random when null) and
+     * neighbours are probed on a failed guard; if no single shard is large enough the seats are split
+     * across shards read consistently. Throws {@link TransactionCanceledException} when capacity is short.
+     */
+    public void reserve(String tourId, int shardCount, int seats, String stickyKey, TransactWriteItem companion) {
+        int start = stickyKey == null
+                ? SnapSafeRandom.current().nextInt(shardCount)
+                : Math.floorMod(stickyKey.hashCode(), shardCount);
+
+        int probes = Math.min(PROBE_LIMIT, shardCount);
+        for (int i = 0; i < probes; i++) {
+            int shard = (start + i) % shardCount;
+            List<TransactWriteItem> items = new ArrayList<>();
+            items.add(TransactWriteItem.builder().update(decrement(tourId, shard, seats)).build());
+            if (companion != null) items.add(companion);
+            try {
+                TransactWrites.execute(ddb, TransactWriteItemsRequest.builder().transactItems(items).build(),
+                        "reserve shard seats", tourId + "#" + shard);
+                aggregates.remove(tourId);
+                return;
+            } catch (TransactionCanceledException e) {
+                if (!TransactWrites.isConditionFailure(e)) throw e;
+                log.info("shard {} of tour {} cannot cover {} seats, probing next", shard, tourId, seats);
+            }
+        }
+
+        // Fallback: split across the fullest shards in one transaction
+        List<Map.Entry<Integer, Integer>> shards = new ArrayList<>(readShards(tourId, true).entrySet());
+        shards.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+
+        List<TransactWriteItem> items = new ArrayList<>();
+        int remaining = seats;
+        for (Map.Entry<Integer, Integer> e : shards) {
+            if (remaining <= 0) break;
+            int take = Math.min(remaining, e.getValue());
+            if (take <= 0) continue;
+            items.add(TransactWriteItem.builder().update(decrement(tourId, e.getKey(), take)).build());
+            remaining -= take;
+        }
+        if (remaining > 0) {
+            // reported like a failed guard so callers can tell a shortfall from exhausted conflict retries
+            throw TransactionCanceledException.builder().message("not enough capacity")
+                    .cancellationReasons(CancellationReason.builder().code("ConditionalCheckFailed").build())
+                    .build();
+        }
+        if (companion != null) items.add(companion);
+        TransactWrites.execute(ddb, TransactWriteItemsRequest.builder().transactItems(items).build(),
+                "reserve split seats", tourId);
+        aggregates.remove(tourId);
+    }
+
+    /**
+     * Returns seats to a random shard, guarded by a check that the tour still has {@code shardCount} shards.
+     * When sharding was switched off (or resized) in the meantime the seats go to wherever the tour keeps its
+     * capacity now, rather than to a shard nobody reads any more.
+     */
+    public void release(String tourId, int shardCount, int seats) {
+        int shards = shardCount;
+        for (int attempt = 1; ; attempt++) {
+            if (shards > 0 ? releaseToShard(tourId, shards, seats) : releaseToTour(tourId, seats)) {
+                aggregates.remove(tourId);
+                return;
+            }
+            if (attempt >= RELEASE_ATTEMPTS) {
+                throw ConditionalCheckFailedException.builder()
+                        .message("inventory mode of tour " + tourId + " keeps changing, " + seats + " seats not returned")
+                        .build();
+            }
+            shards = currentShardCount(tourId);
+            log.info("tour {} inventory changed while returning {} seats, now {} shards", tourId, seats, shards);
+        }
+    }
+
+    private boolean releaseToShard(String tourId, int shardCount, int seats) {
+        int shard = SnapSafeRandom.current().nextInt(shardCount);
+        try {
+            TransactWrites.execute(ddb, TransactWriteItemsRequest.builder().transactItems(
+                    TransactWriteItem.builder().conditionCheck(ConditionCheck.builder()
+                            .tableName(toursTable)
+                            .key(tourKey(tourId))
+                            .conditionExpression("#sh = :n")
+                            .expressionAttributeNames(Map.of("#sh", "inventoryShards"))
+                            .expressionAttributeValues(Map.of(":n", num(shardCount)))
+                            .build()).build(),
+                    TransactWriteItem.builder().update(increment(tourId, shard, seats)).build()
+            ).build(), "release shard seats", tourId + "#" + shard);
+            return true;
+        } catch (TransactionCanceledException e) {
+            if (!TransactWrites.isConditionFailure(e)) throw e;
+            return false;
+        }
+    }
+
+    // Same update as the unsharded path of adjustTourCapacity, but only while the tour is not sharded
+    private boolean releaseToTour(String tourId, int seats) {
+        try {
+            ddb.updateItem(UpdateItemRequest.builder()
+                    .tableName(toursTable)
+                    .key(tourKey(tourId))
+                    .updateExpression("SET #ap = if_not_exists(#ap, :zero) + :n")
+                    .conditionExpression("attribute_not_exists(#sh) OR #sh = :zero")
+                    .expressionAttributeNames(Map.of("#ap", "availablePackages", "#sh", "inventoryShards"))
+                    .expressionAttributeValues(Map.of(":n", num(seats), ":zero", num(0)))
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    private int currentShardCount(String tourId) {
+        GetItemResponse resp = ddb.getItem(GetItemRequest.builder()
+                .tableName(toursTable)
+                .key(tourKey(tourId))
+                .projectionExpression("#sh")
+                .expressionAttributeNames(Map.of("#sh", "inventoryShards"))
+                .consistentRead(true)
+                .build());
+        AttributeValue sh = resp.hasItem() ? resp.item().get("inventoryShards") : null;
+        return sh == null || sh.n() == null ? 0 : Integer.parseInt(sh.n());
+    }
+
+    /**
+     * Moves the tour's capacity into {@code shardCount} shard items and flags the tour as sharded.
+     * Guarded on the current availablePackages so a concurrent booking makes this fail instead of losing seats.
+     */
+    @Override
+    public void enableSharding(String tourId, int expectedAvailable, int total, int shardCount) {
+        List<TransactWriteItem> items = new ArrayList<>();
+        items.add(TransactWriteItem.builder().update(Update.builder()
+                .tableName(toursTable)
+                .key(tourKey(tourId))
+                .updateExpression("SET #ap = :zero, #sh = :n")
+                .conditionExpression("#ap = :cur")
+                .expressionAttributeNames(Map.of("#ap", "availablePackages", "#sh", "inventoryShards"))
+                .expressionAttributeValues(Map.of(
+                        ":zero", num(0),
+                        ":n", num(shardCount),
+                        ":cur", num(expectedAvailable)))
+                .build()).build());
+
+        int[] split = TourInventoryRepository.split(total, shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            items.add(TransactWriteItem.builder().put(Put.builder()
+                    .tableName(table)
+                    .item(shardItem(tourId, shard, split[shard]))
+                    .build()).build());
+        }
+        TransactWrites.execute(ddb, TransactWriteItemsRequest.builder().transactItems(items).build(),
+                "enable sharding", tourId);
+        aggregates.remove(tourId);
+        log.info("Tour {} sharded into {} shards with {} seats", tourId, shardCount, total);
+    }
+
+    /**
+     * Folds all shards back into availablePackages and clears the flag.
+     * Each shard delete is guarded on the value just read, so it fails rather than drop a concurrent booking.
+     */
+    @Override
+    public int disableSharding(String tourId) {
+        Map<Integer, Integer> shards = readShards(tourId, true);
+        int total = 0;
+        List<TransactWriteItem> items = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> e : shards.entrySet()) {
+            total += Math.max(e.getValue(), 0);
+            items.add(TransactWriteItem.builder().delete(Delete.builder()
+                    .tableName(table)
+                    .key(shardKey(tourId, e.getKey()))
+                    .conditionExpression("#s = :v")
+                    .expressionAttributeNames(Map.of("#s", "seats"))
+                    .expressionAttributeValues(Map.of(":v", num(e.getValue())))
+                    .build()).build());
+        }
+        items.add(TransactWriteItem.builder().update(Update.builder()
+                .tableName(toursTable)
+                .key(tourKey(tourId))
+                .updateExpression("SET #ap = :total REMOVE #sh")
+                .expressionAttributeNames(Map.of("#ap", "availablePackages", "#sh", "inventoryShards"))
+                .expressionAttributeValues(Map.of(":total", num(total)))
+                .build()).build());
+
+        TransactWrites.execute(ddb, TransactWriteItemsRequest.builder().transactItems(items).build(),
+                "disable sharding", tourId);
+        aggregates.remove(tourId);
+        log.info("Tour {} unsharded with {} seats", tourId, total);
+        return total;
+    }
+
+    /**
+     * Evens out seats across shards so that sticky shard choice keeps finding capacity.
+     * Each move is its own guarded transaction; a move that loses a race is skipped until the next run.
+     * Returns the number of seats moved.
+     */
+    @Override
+    public int rebalance(String tourId, int shardCount) {
+        Map<Integer, Integer> cur = readShards(tourId, true);
+        int total = 0;
+        for (int shard = 0; shard < shardCount; shard++) total += Math.max(cur.getOrDefault(shard, 0), 0);
+        int[] target = TourInventoryRepository.split(total, shardCount);
+
+        Deque<int[]> surplus = new ArrayDeque<>();   // {shard, seats over target}
+        Deque<int[]> deficit = new ArrayDeque<>();   // {shard, seats under target}
+        for (int shard = 0; shard < shardCount; shard++) {
+            int diff = Math.max(cur.getOrDefault(shard, 0), 0) - target[shard];
+            if (diff > 0) surplus.add(new int[]{shard, diff});
+            else if (diff < 0) deficit.add(new int[]{shard, -diff});
+        }
+
+        int moved = 0;
+        while (!surplus.isEmpty() && !deficit.isEmpty()) {
+            int[] from = surplus.peek();
+            int[] to = deficit.peek();
+            int n = Math.min(from[1], to[1]);
+            try {
+                TransactWrites.execute(ddb, TransactWriteItemsRequest.builder().transactItems(
+                        TransactWriteItem.builder().update(decrement(tourId, from[0], n)).build(),
+                        TransactWriteItem.builder().update(increment(tourId, to[0], n)).build()
+                ).build(), "rebalance shards", tourId);
+                moved += n;
+            } catch (TransactionCanceledException e) {
+                log.info("rebalance move {}->{} of {} seats skipped for tour {}", from[0], to[0], n, tourId);
+            }
+            from[1] -= n;
+            to[1] -= n;
+            if (from[1] == 0) surplus.poll();
+            if (to[1] == 0) deficit.poll();
+        }
+        if (moved > 0) aggregates.remove(tourId);
+        return moved;
+    }
+
+    private Update decrement(String tourId, int shard, int seats) {
+        return Update.builder()
+                .tableName(table)
+                .key(shardKey(tourId, shard))
+                .updateExpression("SET #s = #s - :n")
+                .conditionExpression("#s >= :n")
+                .expressionAttributeNames(Map.of("#s", "seats"))
+                .expressionAttributeValues(Map.of(":n", num(seats)))
+                .build();
+    }
+
+    private Update increment(String tourId, int shard, int seats) {
+        return Update.builder()
+                .tableName(table)
+                .key(shardKey(tourId, shard))
+                .updateExpression("SET #s = if_not_exists(#s, :zero) + :n")
+                .expressionAttributeNames(Map.of("#s", "seats"))
+                .expressionAttributeValues(Map.of(":n", num(seats), ":zero", num(0)))
+                .build();
+    }
+
+    private static Map<String, AttributeValue> tourKey(String tourId) {
+        return Map.of("tourId", AttributeValue.builder().s(tourId).build());
+    }
+
+    private static Map<String, AttributeValue> shardKey(String tourId, int shard) {
+        Map<String, AttributeValue> key = new HashMap<>();
+        key.put("tourId", AttributeValue.builder().s(tourId).build());
+        key.put("shardId", num(shard));
+        return key;
+    }
+
+    private static Map<String, AttributeValue> shardItem(String tourId, int shard, int seats) {
+        Map<String, AttributeValue> item = shardKey(tourId, shard);
+        item.put("seats", num(seats));
+        return item;
+    }
+
+    private static AttributeValue num(int v) {
+        return AttributeValue.builder().n(Integer.toString(v)).build();
+    }
+
+    private static final class CachedTotal {
+        final int total;
+        final long expiresAt;
+
+        CachedTotal(int total, long expiresAt) {
+            this.total = total;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,653 @@
+package com.travelbackendapp.travelmanagement.repository;
+
+import com.travelbackendapp.travelmanagement.model.entity.TourDetailsItem;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPageIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.ReadBatch;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+@Singleton
+public class DynamoDbToursRepository implements ToursRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(DynamoDbToursRepository.class);
+    private static final int BATCH_GET_SIZE = 100;
+    // kept in the details item when the split layout is on
+    private static final Set<String> DETAIL_ATTRIBUTES = Set.of("summary", "accommodation", "hotelDescription", "customDetails");
+    // written by bookings and inventory changes (relative or guarded) and by reviews; a tour edit leaves them alone
+    private static final Set<String> OWNED_ELSEWHERE = Set.of("availablePackages", "inventoryShards", "rating", "reviews");
+
+    private final DynamoDbEnhancedClient client;
+    private final DynamoDbClient lowLevel;
+    private final DynamoDbTable<TourItem> table;
+    private final DynamoDbTable<TourDetailsItem> detailsTable;   // null when the split layout is off
+
+    @Inject
+    public DynamoDbToursRepository(DynamoDbEnhancedClient client, DynamoDbClient lowLevel,
+                           @Named("TOUR_TABLE") String tableName,
+                           @Named("TOUR_DETAILS_TABLE") String detailsTableName) {
+        this.client = client;
+        this.lowLevel = lowLevel;
+        this.table = client.table(tableName, TableSchema.fromBean(TourItem.class));
+        this.detailsTable = detailsTableName == null || detailsTableName.isEmpty()
+                ? null
+                : client.table(detailsTableName, TableSchema.fromBean(TourDetailsItem.class));
+    }
+
+    // DynamoDbToursRepository.java
+    @Override
+    public List<TourItem> findAvailableTours(
+            String destination,
+            String startDate,
+            String endDate,
+            String duration,
+            List<String> mealPlans,
+            List<String> tourTypes,
+            Integer reqAdults,
+            Integer reqChildren
+    ) {
+        log.info("findAvailableTours: destination={}, startDate={}, endDate={}, duration={}, mealPlans={}, tourTypes={}, adults={}, children={}",
+                destination, startDate, endDate, duration, mealPlans, tourTypes, reqAdults, reqChildren);
+
+        List<TourItem> out = new ArrayList<>();
+
+        try {
+            Map<String, AttributeValue> values = new HashMap<>();
+            Map<String, String> names = new HashMap<>();
+            StringBuilder filter = new StringBuilder();
+
+            // Always require bookable packages + agent email + not expired.
+            // Sharded tours keep availablePackages at 0; the caller sums their shards.
+            filter.append("(#ap > :zero OR #ish > :zero)");
+            names.put("#ap", "availablePackages");
+            names.put("#ish", "inventoryShards");
+            values.put(":zero", AttributeValue.builder().n("0").build());
+
+            filter.append(" AND attribute_exists(#ae) AND size(#ae) > :zeroLen");
+            names.put("#ae", "agentEmail");
+            values.put(":zeroLen", AttributeValue.builder().n("0").build());
+
+            names.put("#sd", "startDate");
+            String todayIso = java.time.LocalDate.now(java.time.ZoneOffset.UTC).toString();
+            filter.append(" AND #sd >= :today");
+            values.put(":today", AttributeValue.builder().s(todayIso).build());
+
+            // tourTypes: (#tt = :tt0 OR #tt = :tt1 ...)
+            if (tourTypes != null && !tourTypes.isEmpty()) {
+                names.put("#tt", "tourType");
+                List<String> ors = new ArrayList<>();
+                for (int i = 0; i < tourTypes.size(); i++) {
+                    String v = ":tt" + i;
+                    ors.add("#tt = " + v);
+                    values.put(v, AttributeValue.builder().s(tourTypes.get(i)).build());
+                }
+                filter.append(" AND (").append(String.join(" OR ", ors)).append(")");
+            }
+
+            // mealPlans: (contains(#mp,:mp0) OR contains(#mp,:mp1) ...)
+            if (mealPlans != null && !mealPlans.isEmpty()) {
+                names.put("#mp", "mealPlans");
+                List<String> ors = new ArrayList<>();
+                for (int i = 0; i < mealPlans.size(); i++) {
+                    String v = ":mp" + i;
+                    ors.add("contains(#mp, " + v + ")");
+                    values.put(v, AttributeValue.builder().s(mealPlans.get(i)).build());
+                }
+                filter.append(" AND (").append(String.join(" OR ", ors)).append(")");
+            }
+
+            // duration (single string still)
+            if (duration != null && !duration.isEmpty()) {
+                names.put("#dur", "durations");
+                filter.append(" AND contains(#dur, :dur)");
+                values.put(":dur", AttributeValue.builder().s(duration).build());
+            }
+
+            if (reqAdults != null) {
+                names.put("#ma", "maxAdults");
+                filter.append(" AND (#ma >= :ad)");
+                values.put(":ad", AttributeValue.builder().n(String.valueOf(reqAdults)).build());
+            }
+            if (reqChildren != null) {
+                names.put("#mc", "maxChildren");
+                filter.append(" AND (#mc >= :ch)");
+                values.put(":ch", AttributeValue.builder().n(String.valueOf(reqChildren)).build());
+            }
+
+            // Date range bounds
+            boolean hasStartBound = startDate != null && !startDate.isEmpty();
+            boolean hasEndBound   = endDate != null && !endDate.isEmpty();
+            if (hasStartBound) {
+                filter.append(" AND #sd >= :sd");
+                values.put(":sd", AttributeValue.builder().s(startDate).build());
+            }
+            if (hasEndBound) {
+                filter.append(" AND #sd <= :ed");
+                values.put(":ed", AttributeValue.builder().s(endDate).build());
+            }
+
+            // Destination
+            if (destination != null) {
+                String dst = destination.trim();
+                if (!dst.isEmpty() && !"any destination".equalsIgnoreCase(dst)) {
+                    names.put("#dst", "destination");
+                    filter.append(" AND #dst = :dst");
+                    values.put(":dst", AttributeValue.builder().s(dst).build());
+                }
+            }
+
+            Expression filterExpr = Expression.builder()
+                    .expression(filter.toString())
+                    .expressionValues(values)
+                    .expressionNames(names)
+                    .build();
+
+            ScanEnhancedRequest req = ScanEnhancedRequest.builder()
+                    .filterExpression(filterExpr)
+                    .attributesToProject(LIST_ATTRIBUTES)
+                    .build();
+
+            for (Page<TourItem> p : table.scan(req)) {
+                out.addAll(p.items());
+            }
+            log.info("DDB scan returned {} items", out.size());
+        } catch (Exception e) {
+            log.error("DDB scan failed", e);
+        }
+
+        return out;
+    }
+
+
+    /**
+     * Returns unique destination strings that contain the query (case-insensitive), sorted asc, up to `limit`.
+     */
+    @Override
+    public List<String> findDestinationsLike(String query, int limit) {
+        final String needle = query.toLowerCase(Locale.ROOT);
+        final Set<String> uniq = new LinkedHashSet<>();
+
+        try {
+            ScanEnhancedRequest req = ScanEnhancedRequest.builder()
+                    .attributesToProject("destination") // projection
+                    .build();
+
+            SdkIterable<Page<TourItem>> pages = table.scan(req);
+            for (Page<TourItem> p : pages) {
+                for (TourItem it : p.items()) {
+                    String dst = it.getDestination();
+                    if (dst != null && dst.toLowerCase(Locale.ROOT).contains(needle)) {
+                        uniq.add(dst);
+                        if (uniq.size() >= limit) break;
+                    }
+                }
+                if (uniq.size() >= limit) break;
+            }
+        } catch (Exception e) {
+            log.error("findDestinationsLike scan failed", e);
+        }
+
+        return uniq.stream()
+                .sorted(Comparator.comparing(s -> s.toLowerCase(Locale.ROOT)))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<TourItem> getById(String tourId) {
+        try {
+            TourItem found = table.getItem(Key.builder().partitionValue(tourId).build());
+            return Optional.ofNullable(found);
+        } catch (Exception e) {
+            log.error("getById failed", e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Map<String, TourItem> findByIds(Collection<String> tourIds) {
+        Map<String, TourItem> found = new HashMap<>();
+        List<String> pending = tourIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        for (int i = 0; i < pending.size(); i += BATCH_GET_SIZE) {
+            List<String> chunk = pending.subList(i, Math.min(i + BATCH_GET_SIZE, pending.size()));
+            try {
+                ReadBatch.Builder<TourItem> batch = ReadBatch.builder(TourItem.class).mappedTableResource(table);
+                chunk.forEach(id -> batch.addGetItem(Key.builder().partitionValue(id).build()));
+                BatchGetResultPageIterable res = client.batchGetItem(BatchGetItemEnhancedRequest.builder()
+                        .readBatches(batch.build())
+                        .build());
+                for (TourItem tour : res.resultsForTable(table)) found.put(tour.getTourId(), tour);
+            } catch (Exception e) {
+                log.warn("Batch tour lookup failed for {} ids: {}", chunk.size(), e.getMessage());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Full tour including details content. With the split layout on, the tour and its details item
+     * are fetched in one batch round trip and merged; otherwise same as {@link #getById}.
+     */
+    @Override
+    public Optional<TourItem> getDetailedById(String tourId) {
+        if (detailsTable == null) return getById(tourId);
+        try {
+            Key key = Key.builder().partitionValue(tourId).build();
+            BatchGetResultPageIterable res = client.batchGetItem(BatchGetItemEnhancedRequest.builder()
+                    .readBatches(
+                            ReadBatch.builder(TourItem.class).mappedTableResource(table).addGetItem(key).build(),
+                            ReadBatch.builder(TourDetailsItem.class).mappedTableResource(detailsTable).addGetItem(key).build())
+                    .build());
+            TourItem tour = null;
+            TourDetailsItem details = null;
+            for (TourItem t : res.resultsForTable(table)) tour = t;
+            for (TourDetailsItem d : res.resultsForTable(detailsTable)) details = d;
+
+            if (tour == null) return getById(tourId);   // unprocessed by the batch
+            if (Boolean.TRUE.equals(tour.getDetailsSplit())) {
+                if (details == null) details = detailsTable.getItem(key);
+                mergeDetails(tour, details);
+            }
+            return Optional.of(tour);
+        } catch (Exception e) {
+            log.error("getDetailedById failed", e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void applyNewReview(String tourId, int newRate) {
+        final int maxRetries = 3;
+
+        for (int attempt = 1; attempt <= maxRetries; attempt++) {
+            TourItem cur = table.getItem(Key.builder().partitionValue(tourId).build());
+            if (cur == null) {
+                log.warn("applyNewReview: tour not found id={}", tourId);
+                return;
+            }
+
+            int curCount = cur.getReviews() == null ? 0 : cur.getReviews();
+            double curAvg = cur.getRating() == null ? 0.0 : cur.getRating();
+
+            int newCount = curCount + 1;
+            double newAvg = ((curAvg * curCount) + newRate) / newCount;
+            // round to 2 decimals (optional)
+            newAvg = Math.round(newAvg * 100.0) / 100.0;
+
+            cur.setReviews(newCount);
+            cur.setRating(newAvg);
+
+            // Only succeed if nobody else updated reviews in the meantime
+            Map<String, String> names = Map.of("#rv", "reviews");
+            Map<String, AttributeValue> values = Map.of(
+                    ":prev", AttributeValue.builder().n(String.valueOf(curCount)).build()
+            );
+            Expression cond = Expression.builder()
+                    .expression("attribute_not_exists(#rv) OR #rv = :prev")
+                    .expressionNames(names)
+                    .expressionValues(values)
+                    .build();
+
+            try {
+                table.updateItem(UpdateItemEnhancedRequest.builder(TourItem.class)
+                        .item(cur)
+                        .conditionExpression(cond)
+                        .build());
+                return; // success
+            } catch (ConditionalCheckFailedException ccfe) {
+                log.info("applyNewReview conflict (attempt {}/{}), retrying…", attempt, maxRetries);
+            } catch (Exception e) {
+                log.error("applyNewReview failed", e);
+                return;
+            }
+        }
+        log.warn("applyNewReview: failed after {} retries for {}", 3, tourId);
+    }
+
+    @Override
+    public void updateReview(String tourId, int oldRate, int newRate) {
+        final int maxRetries = 3;
+
+        for (int attempt = 1; attempt <= maxRetries; attempt++) {
+            TourItem cur = table.getItem(Key.builder().partitionValue(tourId).build());
+            if (cur == null) {
+                log.warn("applyNewReview: tour not found id={}", tourId);
+                return;
+            }
+
+            int count = cur.getReviews() == null ? 0 : cur.getReviews();
+            double curAvg = cur.getRating() == null ? 0.0 : cur.getRating();
+
+            double newAvg = ((curAvg * count) - oldRate + newRate) / count;
+            // round to 2 decimals (optional)
+            newAvg = Math.round(newAvg * 100.0) / 100.0;
+
+            cur.setRating(newAvg);
+
+            // Only succeed if nobody else updated reviews in the meantime
+            Map<String, String> names = Map.of("#rv", "reviews");
+            Map<String, AttributeValue> values = Map.of(
+                    ":prev", AttributeValue.builder().n(String.valueOf(count)).build()
+            );
+            Expression cond = Expression.builder()
+                    .expression("attribute_not_exists(#rv) OR #rv = :prev")
+                    .expressionNames(names)
+                    .expressionValues(values)
+                    .build();
+
+            try {
+                table.updateItem(UpdateItemEnhancedRequest.builder(TourItem.class)
+                        .item(cur)
+                        .conditionExpression(cond)
+                        .build());
+                return; // success
+            } catch (ConditionalCheckFailedException ccfe) {
+                log.info("applyNewReview conflict (attempt {}/{}), retrying…", attempt, maxRetries);
+            } catch (Exception e) {
+                log.error("applyNewReview failed", e);
+                return;
+            }
+        }
+        log.warn("applyNewReview: failed after {} retries for {}", 3, tourId);
+    }
+
+    /** Tours running in sharded inventory mode, projected to tourId and inventoryShards. */
+    @Override
+    public List<TourItem> findShardedTours() {
+        List<TourItem> out = new ArrayList<>();
+        try {
+            ScanEnhancedRequest req = ScanEnhancedRequest.builder()
+                    .filterExpression(Expression.builder()
+                            .expression("#ish > :zero")
+                            .expressionNames(Map.of("#ish", "inventoryShards"))
+                            .expressionValues(Map.of(":zero", AttributeValue.builder().n("0").build()))
+                            .build())
+                    .attributesToProject("tourId", "inventoryShards")
+                    .build();
+            for (Page<TourItem> p : table.scan(req)) {
+                out.addAll(p.items());
+            }
+        } catch (Exception e) {
+            log.error("findShardedTours scan failed", e);
+        }
+        return out;
+    }
+
+    // repository/DynamoDbToursRepository.java  (add this method)
+    @Override
+    public List<TourItem> listAll() {
+        return listAll(new String[0]);
+    }
+
+    /** All tours projected to {@code attributes} (all attributes when empty). */
+    @Override
+    public List<TourItem> listAll(String... attributes) {
+        java.util.List<TourItem> out = new java.util.ArrayList<>();
+        try {
+            ScanEnhancedRequest.Builder req = ScanEnhancedRequest.builder();
+            if (attributes.length > 0) req.attributesToProject(attributes);
+            for (Page<TourItem> p : table.scan(req.build())) {
+                out.addAll(p.items());
+            }
+        } catch (Exception e) {
+            log.error("listAll scan failed", e);
+        }
+        return out;
+    }
+
+    @Override
+    public void save(TourItem tour) {
+        try {
+            if (detailsTable != null) {
+                writeSplit(tour);
+            } else {
+                table.putItem(tour);
+            }
+            log.info("Tour saved: {}", tour.getTourId());
+        } catch (Exception e) {
+            log.error("Failed to save tour: {}", tour.getTourId(), e);
+            throw new RuntimeException("Failed to save tour", e);
+        }
+    }
+
+    @Override
+    public boolean update(TourItem tour, Long expectedVersion) {
+        return update(tour, expectedVersion, 0);
+    }
+
+    @Override
+    public boolean update(TourItem tour, Long expectedVersion, int seatsTaken) {
+        Map<String, AttributeValue> item = new HashMap<>(table.tableSchema().itemToMap(tour, true));
+        TourDetailsItem details = null;
+        if (detailsTable != null) {
+            details = detailsOf(tour);
+            DETAIL_ATTRIBUTES.forEach(item::remove);
+            item.put("detailsSplit", AttributeValue.builder().bool(true).build());
+        }
+        Update update = versionedUpdate(tour.getTourId(), item, expectedVersion, seatsTaken);
+        try {
+            if (details == null) {
+                lowLevel.updateItem(UpdateItemRequest.builder()
+                        .tableName(update.tableName())
+                        .key(update.key())
+                        .updateExpression(update.updateExpression())
+                        .conditionExpression(update.conditionExpression())
+                        .expressionAttributeNames(update.expressionAttributeNames())
+                        .expressionAttributeValues(update.expressionAttributeValues())
+                        .build());
+            } else {
+                TransactWrites.execute(lowLevel, TransactWriteItemsRequest.builder()
+                        .transactItems(
+                                TransactWriteItem.builder().update(update).build(),
+                                TransactWriteItem.builder().put(Put.builder()
+                                        .tableName(detailsTable.tableName())
+                                        .item(detailsTable.tableSchema().itemToMap(details, true))
+                                        .build()).build())
+                        .build(), "update tour", tour.getTourId());
+            }
+            log.info("Tour updated: {}", tour.getTourId());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return lostUpdate(tour.getTourId(), expectedVersion, seatsTaken);
+        } catch (TransactionCanceledException e) {
+            if (!TransactWrites.isConditionFailure(e)) {
+                log.error("Failed to update tour: {}", tour.getTourId(), e);
+                throw new RuntimeException("Failed to update tour", e);
+            }
+            return lostUpdate(tour.getTourId(), expectedVersion, seatsTaken);
+        } catch (Exception e) {
+            log.error("Failed to update tour: {}", tour.getTourId(), e);
+            throw new RuntimeException("Failed to update tour", e);
+        }
+    }
+
+    /**
+     * Tells which guard failed a conditional update: a changed version is a lost update (false); with seats in
+     * play, an unchanged version means the capacity guard failed, rethrown as a condition failure.
+     */
+    private boolean lostUpdate(String tourId, Long expectedVersion, int seatsTaken) {
+        if (seatsTaken != 0 && Objects.equals(storedVersion(tourId), expectedVersion)) {
+            log.info("Tour update rejected, capacity guard failed: {} seatsTaken={}", tourId, seatsTaken);
+            throw ConditionalCheckFailedException.builder().message("not enough capacity").build();
+        }
+        log.info("Tour update lost to a concurrent edit: {} expectedVersion={}", tourId, expectedVersion);
+        return false;
+    }
+
+    private Long storedVersion(String tourId) {
+        Map<String, AttributeValue> item = lowLevel.getItem(GetItemRequest.builder()
+                .tableName(table.tableName())
+                .key(Map.of("tourId", AttributeValue.builder().s(tourId).build()))
+                .projectionExpression("#version")
+                .expressionAttributeNames(Map.of("#version", "version"))
+                .consistentRead(true)
+                .build()).item();
+        AttributeValue v = item == null ? null : item.get("version");
+        return v == null ? null : Long.parseLong(v.n());
+    }
+
+    /**
+     * SETs every attribute of {@code item} and REMOVEs the absent ones, except the key and {@link #OWNED_ELSEWHERE},
+     * if the stored version is still {@code expectedVersion}; a non-zero {@code seatsTaken} also moves
+     * availablePackages, guarded on the tour being unsharded and, when seats are taken, on enough being left.
+     */
+    private Update versionedUpdate(String tourId, Map<String, AttributeValue> item, Long expectedVersion, int seatsTaken) {
+        Map<String, String> names = new HashMap<>();
+        Map<String, AttributeValue> values = new HashMap<>();
+        List<String> set = new ArrayList<>();
+        List<String> remove = new ArrayList<>();
+        for (String attr : table.tableSchema().attributeNames()) {
+            if ("tourId".equals(attr) || OWNED_ELSEWHERE.contains(attr)) continue;
+            names.put("#" + attr, attr);
+            AttributeValue v = item.get(attr);
+            if (v == null) {
+                remove.add("#" + attr);
+            } else {
+                set.add("#" + attr + " = :" + attr);
+                values.put(":" + attr, v);
+            }
+        }
+        if (seatsTaken != 0) set.add("#availablePackages = if_not_exists(#availablePackages, :zero) - :seatsTaken");
+        String expression = "SET " + String.join(", ", set)
+                + (remove.isEmpty() ? "" : " REMOVE " + String.join(", ", remove));
+
+        names.put("#tourId", "tourId");
+        String condition;
+        if (expectedVersion == null) {
+            condition = "attribute_exists(#tourId) AND attribute_not_exists(#version)";
+        } else {
+            condition = "attribute_exists(#tourId) AND #version = :expectedVersion";
+            values.put(":expectedVersion", AttributeValue.builder().n(Long.toString(expectedVersion)).build());
+        }
+        if (seatsTaken != 0) {
+            names.put("#availablePackages", "availablePackages");
+            names.put("#inventoryShards", "inventoryShards");
+            values.put(":seatsTaken", AttributeValue.builder().n(Integer.toString(seatsTaken)).build());
+            values.put(":zero", AttributeValue.builder().n("0").build());
+            condition += " AND (attribute_not_exists(#inventoryShards) OR #inventoryShards = :zero)";
+            if (seatsTaken > 0) condition += " AND #availablePackages >= :seatsTaken";
+        }
+        return Update.builder()
+                .tableName(table.tableName())
+                .key(Map.of("tourId", AttributeValue.builder().s(tourId).build()))
+                .updateExpression(expression)
+                .conditionExpression(condition)
+                .expressionAttributeNames(names)
+                .expressionAttributeValues(values)
+                .build();
+    }
+
+    @Override
+    public void delete(String tourId) {
+        try {
+            Key key = Key.builder().partitionValue(tourId).build();
+            table.deleteItem(key);
+            if (detailsTable != null) detailsTable.deleteItem(key);
+            log.info("Tour deleted: {}", tourId);
+        } catch (Exception e) {
+            log.error("Failed to delete tour: {}", tourId, e);
+            throw new RuntimeException("Failed to delete tour", e);
+        }
+    }
+
+    @Override
+    public List<TourItem> findByAgentEmail(String agentEmail) {
+        List<TourItem> out = new ArrayList<>();
+        try {
+            Map<String, AttributeValue> values = new HashMap<>();
+            Map<String, String> names = new HashMap<>();
+            
+            names.put("#ae", "agentEmail");
+            values.put(":email", AttributeValue.builder().s(agentEmail).build());
+            
+            Expression filterExpr = Expression.builder()
+                    .expression("#ae = :email")
+                    .expressionValues(values)
+                    .expressionNames(names)
+                    .build();
+
+            ScanEnhancedRequest req = ScanEnhancedRequest.builder()
+                    .filterExpression(filterExpr)
+                    .attributesToProject(LIST_ATTRIBUTES)
+                    .build();
+
+            for (Page<TourItem> p : table.scan(req)) {
+                out.addAll(p.items());
+            }
+            log.info("Found {} tours for agent: {}", out.size(), agentEmail);
+        } catch (Exception e) {
+            log.error("findByAgentEmail scan failed for agent: {}", agentEmail, e);
+        }
+        return out;
+    }
+
+    /**
+     * Writes the tour without its details content plus a separate details item, in one transaction.
+     * The caller's item is left unchanged.
+     */
+    private void writeSplit(TourItem tour) {
+        TourDetailsItem details = detailsOf(tour);
+
+        Boolean wasSplit = tour.getDetailsSplit();
+        tour.setSummary(null);
+        tour.setAccommodation(null);
+        tour.setHotelDescription(null);
+        tour.setCustomDetails(null);
+        tour.setDetailsSplit(true);
+        try {
+            client.transactWriteItems(TransactWriteItemsEnhancedRequest.builder()
+                    .addPutItem(table, tour)
+                    .addPutItem(detailsTable, details)
+                    .build());
+        } finally {
+            mergeDetails(tour, details);
+            tour.setDetailsSplit(wasSplit);
+        }
+    }
+
+    private static TourDetailsItem detailsOf(TourItem tour) {
+        TourDetailsItem details = new TourDetailsItem();
+        details.setTourId(tour.getTourId());
+        details.setSummary(tour.getSummary());
+        details.setAccommodation(tour.getAccommodation());
+        details.setHotelDescription(tour.getHotelDescription());
+        details.setCustomDetails(tour.getCustomDetails());
+        return details;
+    }
+
+    private static void mergeDetails(TourItem tour, TourDetailsItem details) {
+        if (details == null) return;
+        tour.setSummary(details.getSummary());
+        tour.setAccommodation(details.getAccommodation());
+        tour.setHotelDescription(details.getHotelDescription());
+        tour.setCustomDetails(details.getCustomDetails());
+    }
+}
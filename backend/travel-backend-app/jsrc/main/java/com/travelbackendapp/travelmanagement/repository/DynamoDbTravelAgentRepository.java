@@ -0,0 +1,201 @@
+package com.travelbackendapp.travelmanagement.repository;
+
+import com.travelbackendapp.travelmanagement.model.entity.TravelAgent;
+import com.travelbackendapp.travelmanagement.service.impl.BookingsServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPageIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.ReadBatch;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Travel agent records, read through a small per-container cache: almost every authenticated request looks up the
+ * caller, and agents change rarely. Hits live for {@link #TTL_MS}, misses (not an agent) for {@link #NEGATIVE_TTL_MS};
+ * failed reads are not cached. Writes through this repository invalidate the entry, other Lambda containers pick the
+ * change up when their entry expires.
+ */
+@Singleton
+public class DynamoDbTravelAgentRepository implements TravelAgentRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(DynamoDbTravelAgentRepository.class);
+
+    static final long TTL_MS = 60_000;
+    static final long NEGATIVE_TTL_MS = 15_000;
+    static final int MAX_ENTRIES = 1024;
+    /** BatchGetItem limit. */
+    private static final int BATCH_GET_SIZE = 100;
+
+    private final DynamoDbEnhancedClient enhancedClient;
+    private final DynamoDbTable<TravelAgent> travelAgentTable;
+    private final LongSupplier clock;
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+
+    @Inject
+    public DynamoDbTravelAgentRepository(DynamoDbEnhancedClient enhancedClient, 
+                                @Named("TRAVEL_AGENT_TABLE") String tableName) {
+        this(enhancedClient, tableName, System::currentTimeMillis);
+    }
+
+    DynamoDbTravelAgentRepository(DynamoDbEnhancedClient enhancedClient, String tableName, LongSupplier clock) {
+        this.enhancedClient = enhancedClient;
+        this.travelAgentTable = enhancedClient.table(tableName, TableSchema.fromBean(TravelAgent.class));
+        this.clock = clock;
+    }
+
+    /**
+     * Check if an email exists in the Travel Agent list
+     * @param email The email to check
+     * @return TravelAgent object if found, null otherwise
+     */
+    @Override
+    public TravelAgent findByEmail(String email) {
+        if (email == null || email.isBlank()) return null;
+        Cached c = cache.get(email);
+        if (c != null && c.expiresAt > clock.getAsLong()) return c.agent;
+        try {
+            Key key = Key.builder()
+                    .partitionValue(email)
+                    .build();
+            
+            TravelAgent agent = travelAgentTable.getItem(key);
+            remember(email, agent);
+            return agent;
+        } catch (ResourceNotFoundException e) {
+            log.info(e.getMessage());
+            return null;
+        } catch (Exception e) {
+            log.info(e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Batch lookup for enrichment paths: cached emails are answered locally, the rest with BatchGetItem
+     * (100 keys per call). Emails that are not agents are absent from the result.
+     */
+    @Override
+    public Map<String, TravelAgent> findByEmails(Collection<String> emails) {
+        Map<String, TravelAgent> found = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        long now = clock.getAsLong();
+        for (String email : emails) {
+            if (email == null || email.isBlank()) continue;
+            Cached c = cache.get(email);
+            if (c == null || c.expiresAt <= now) missing.add(email);
+            else if (c.agent != null) found.put(email, c.agent);
+        }
+        if (missing.isEmpty()) return found;
+
+        List<String> pending = new ArrayList<>(missing);
+        for (int i = 0; i < pending.size(); i += BATCH_GET_SIZE) {
+            List<String> chunk = pending.subList(i, Math.min(i + BATCH_GET_SIZE, pending.size()));
+            try {
+                ReadBatch.Builder<TravelAgent> batch = ReadBatch.builder(TravelAgent.class).mappedTableResource(travelAgentTable);
+                chunk.forEach(email -> batch.addGetItem(Key.builder().partitionValue(email).build()));
+                BatchGetResultPageIterable res = enhancedClient.batchGetItem(BatchGetItemEnhancedRequest.builder()
+                        .readBatches(batch.build())
+                        .build());
+                for (TravelAgent agent : res.resultsForTable(travelAgentTable)) {
+                    found.put(agent.getEmail(), agent);
+                    remember(agent.getEmail(), agent);
+                    missing.remove(agent.getEmail());
+                }
+                // The paginator re-requests unprocessed keys, so whatever is still missing in this chunk does not exist
+                for (String email : chunk) {
+                    if (missing.remove(email)) remember(email, null);
+                }
+            } catch (Exception e) {
+                log.warn("Batch agent lookup failed for {} emails: {}", chunk.size(), e.getMessage());
+            }
+        }
+        return found;
+    }
+
+    /** Drops the cached entry, so the next lookup reads the table. */
+    @Override
+    public void invalidate(String email) {
+        if (email != null) cache.remove(email);
+    }
+
+    private void remember(String email, TravelAgent agent) {
+        long now = clock.getAsLong();
+        if (cache.size() >= MAX_ENTRIES) {
+            cache.values().removeIf(c -> c.expiresAt <= now);
+            if (cache.size() >= MAX_ENTRIES) cache.clear();
+        }
+        cache.put(email, new Cached(agent, now + (agent != null ? TTL_MS : NEGATIVE_TTL_MS)));
+    }
+
+    private static final class Cached {
+        final TravelAgent agent;
+        final long expiresAt;
+
+        Cached(TravelAgent agent, long expiresAt) {
+            this.agent = agent;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Save a new Travel Agent to the database
+     * @param travelAgent The TravelAgent object to save
+     * @return The saved TravelAgent object
+     */
+    @Override
+    public TravelAgent save(TravelAgent travelAgent) {
+        travelAgentTable.putItem(travelAgent);
+        invalidate(travelAgent.getEmail());
+        return travelAgent;
+    }
+
+    /**
+     * Delete a Travel Agent from the database
+     * @param email The email of the Travel Agent to delete
+     */
+    @Override
+    public void deleteByEmail(String email) {
+        Key key = Key.builder()
+                .partitionValue(email)
+                .build();
+        
+        travelAgentTable.deleteItem(key);
+        invalidate(email);
+    }
+
+    /**
+     * List all travel agents
+     * @return List of all travel agents
+     */
+    @Override
+    public List<TravelAgent> findAll() {
+        List<TravelAgent> agents = new ArrayList<>();
+        try {
+            for (Page<TravelAgent> page : travelAgentTable.scan()) {
+                agents.addAll(page.items());
+            }
+            log.info("Found {} travel agents", agents.size());
+        } catch (Exception e) {
+            log.error("Failed to list travel agents", e);
+        }
+        return agents;
+    }
+}
@@ -0,0 +1,60 @@
+package com.travelbackendapp.travelmanagement.repository;
+
+import com.travelbackendapp.travelmanagement.model.entity.ReportSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.Optional;
+
+/**
+ * Snapshots of closed reporting periods, one item per (scope, period).
+ * Snapshots are never updated in place: they are written once and only removed by an explicit rebuild.
+ */
+@Singleton
+public class ReportSnapshotRepository {
+    private static final Logger log = LoggerFactory.getLogger(ReportSnapshotRepository.class);
+
+    private final DynamoDbTable<ReportSnapshot> table;
+
+    @Inject
+    public ReportSnapshotRepository(DynamoDbEnhancedClient enhancedClient,
+                                    @Named("REPORT_SNAPSHOTS_TABLE") String tableName) {
+        this.table = enhancedClient.table(tableName, TableSchema.fromBean(ReportSnapshot.class));
+    }
+
+    public Optional<ReportSnapshot> find(String scope, String periodKey) {
+        return Optional.ofNullable(table.getItem(Key.builder()
+                .partitionValue(scope)
+                .sortValue(periodKey)
+                .build()));
+    }
+
+    public void save(ReportSnapshot snapshot) {
+        table.putItem(snapshot);
+    }
+
+    /**
+     * Deletes the snapshots of a scope whose period key starts with {@code periodPrefix}
+     * (e.g. {@code MONTHLY#} or {@code MONTHLY#2025-03-01}); an empty prefix drops the whole scope.
+     */
+    public int deleteByScope(String scope, String periodPrefix) {
+        QueryConditional condition = periodPrefix == null || periodPrefix.isEmpty()
+                ? QueryConditional.keyEqualTo(Key.builder().partitionValue(scope).build())
+                : QueryConditional.sortBeginsWith(Key.builder().partitionValue(scope).sortValue(periodPrefix).build());
+        int deleted = 0;
+        for (ReportSnapshot s : table.query(condition).items()) {
+            table.deleteItem(Key.builder().partitionValue(s.getScope()).sortValue(s.getPeriodKey()).build());
+            deleted++;
+        }
+        log.info("Deleted {} report snapshots for scope={} prefix={}", deleted, scope, periodPrefix);
+        return deleted;
+    }
+}
@@ -1,169 +1,115 @@
 package com.travelbackendapp.travelmanagement.repository;
 
 import com.travelbackendapp.travelmanagement.model.entity.ReportRecord;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
-import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
-
-import javax.inject.Inject;
-import javax.inject.Singleton;
-import java.util.ArrayList;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-
-@Singleton
-public class ReportsRepository {
-    
-    private final DynamoDbTable<ReportRecord> reportsTable;
-    private final String tableName;
-    
-    @Inject
-    public ReportsRepository(DynamoDbClient dynamoDbClient, String reportsTableName) {
-        this.tableName = reportsTableName;
-        DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder()
-            .dynamoDbClient(dynamoDbClient)
-            .build();
-        
-        this.reportsTable = enhancedClient.table(tableName, TableSchema.fromBean(ReportRecord.class));
-    }
-    
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Booking event records behind the reports. Period lookups are inclusive ranges on eventTimestamp
+ * and return records oldest first.
+ */
+public interface ReportsRepository {
+
+    /** BatchWriteItem accepts at most 25 requests. */
+    int BATCH_SIZE = 25;
+
     /**
-     * Save a report record to DynamoDB
+     * Save a report record, filling its period keys first
      * @param reportRecord The report record to save
      * @return The saved report record
      */
-    public ReportRecord save(ReportRecord reportRecord) {
-        try {
-            reportsTable.putItem(reportRecord);
-            return reportRecord;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to save report record: " + e.getMessage(), e);
-        }
-    }
-    
+    ReportRecord save(ReportRecord reportRecord);
+
+    /**
+     * Writes records in chunks of {@link #BATCH_SIZE}; puts overwrite, so rewriting the
+     * same reportIds is idempotent. Throws if some records are still left unwritten.
+     */
+    void saveAll(List<ReportRecord> records);
+
+    /**
+     * One segment of a parallel scan returning only reportId, eventType and bookingId.
+     */
+    SdkIterable<Page<ReportRecord>> scanKeysSegment(int segment, int totalSegments);
+
     /**
      * Find a report record by reportId
      * @param reportId The report ID to search for
      * @return Optional containing the report record if found
      */
-    public Optional<ReportRecord> findByReportId(String reportId) {
-        try {
-            Key key = Key.builder()
-                .partitionValue(reportId)
-                .build();
-            
-            ReportRecord reportRecord = reportsTable.getItem(key);
-            return Optional.ofNullable(reportRecord);
-        } catch (ResourceNotFoundException e) {
-            return Optional.empty();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to find report record with ID: " + reportId, e);
-        }
-    }
-    
+    Optional<ReportRecord> findByReportId(String reportId);
+
     /**
      * Delete a report record by reportId
      * @param reportId The report ID to delete
      * @return true if the record was deleted, false if not found
      */
-    public boolean deleteByReportId(String reportId) {
-        try {
-            Key key = Key.builder()
-                .partitionValue(reportId)
-                .build();
-            
-            ReportRecord deletedRecord = reportsTable.deleteItem(key);
-            return deletedRecord != null;
-        } catch (ResourceNotFoundException e) {
-            return false;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to delete report record with ID: " + reportId, e);
-        }
-    }
-    
+    boolean deleteByReportId(String reportId);
+
     /**
      * Check if the reports table exists and is accessible
      * @return true if the table is accessible
      */
-    public boolean isTableAccessible() {
-        try {
-            // Try to describe the table to check if it exists and is accessible
-            reportsTable.describeTable();
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-    
+    boolean isTableAccessible();
+
     /**
      * Get the table name
-     * @return The DynamoDB table name
+     * @return The table name
      */
-    public String getTableName() {
-        return tableName;
-    }
-    
+    String getTableName();
+
     /**
-     * Get all report records from the table
+     * Get all report records
      * @return List of all report records
      */
-    public List<ReportRecord> findAll() {
-        try {
-            List<ReportRecord> reports = new ArrayList<>();
-            reportsTable.scan().items().forEach(reports::add);
-            return reports;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to scan all reports: " + e.getMessage(), e);
-        }
-    }
-    
+    List<ReportRecord> findAll();
+
     /**
-     * Find all reports by agent email
+     * All reports with an eventTimestamp in [from, to].
+     */
+    List<ReportRecord> findByPeriod(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Same records as {@link #findByPeriod}, handed to {@code sink} one by one instead of collected,
+     * so callers that only aggregate never hold the whole period in memory.
+     */
+    void forEachInPeriod(LocalDateTime from, LocalDateTime to, Consumer<ReportRecord> sink);
+
+    /**
+     * Distinct agent emails across all reports, sorted.
+     */
+    Set<String> findAgentEmails();
+
+    /**
+     * Reports of one agent with an eventTimestamp in [from, to]
      * @param agentEmail The agent email to filter by
-     * @return List of report records for the agent
+     * @return List of report records for the agent, oldest first
      */
-    public List<ReportRecord> findByAgentEmail(String agentEmail) {
-        try {
-            return findAll().stream()
-                .filter(report -> agentEmail.equals(report.getAgentEmail()))
-                .collect(Collectors.toList());
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to find reports by agent email: " + e.getMessage(), e);
-        }
-    }
-    
+    List<ReportRecord> findByAgentEmail(String agentEmail, LocalDateTime from, LocalDateTime to);
+
     /**
-     * Find all reports by tour ID
+     * Reports of one tour with an eventTimestamp in [from, to]
      * @param tourId The tour ID to filter by
-     * @return List of report records for the tour
+     * @return List of report records for the tour, oldest first
      */
-    public List<ReportRecord> findByTourId(String tourId) {
-        try {
-            return findAll().stream()
-                .filter(report -> tourId.equals(report.getTourId()))
-                .collect(Collectors.toList());
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to find reports by tour ID: " + e.getMessage(), e);
-        }
-    }
-    
+    List<ReportRecord> findByTourId(String tourId, LocalDateTime from, LocalDateTime to);
+
     /**
-     * Find all reports by event type
+     * Reports of one event type with an eventTimestamp in [from, to]
      * @param eventType The event type to filter by (CONFIRM, CANCEL, FINISH)
-     * @return List of report records for the event type
+     * @return List of report records for the event type, oldest first
      */
-    public List<ReportRecord> findByEventType(String eventType) {
-        try {
-            return findAll().stream()
-                .filter(report -> eventType.equals(report.getEventType()))
-                .collect(Collectors.toList());
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to find reports by event type: " + e.getMessage(), e);
-        }
-    }
-}
+    List<ReportRecord> findByEventType(String eventType, LocalDateTime from, LocalDateTime to);
 
+    /**
+     * Adds the period keys to records written before they existed, or before the period and type keys were
+     * write-sharded; safe to run repeatedly.
+     * @return number of records updated
+     */
+    int backfillPeriodKeys();
+}
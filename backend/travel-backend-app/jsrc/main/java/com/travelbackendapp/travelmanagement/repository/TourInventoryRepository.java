@@ -0,0 +1,54 @@
+package com.travelbackendapp.travelmanagement.repository;
+
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+
+import java.util.Map;
+
+/**
+ * Sharded seat inventory for hot tours.
+ * A tour with {@code inventoryShards = N} keeps its capacity in N shards (0..N-1);
+ * its own availablePackages stays at 0 while sharding is on.
+ */
+public interface TourInventoryRepository {
+
+    int MAX_SHARDS = 32;
+
+    static boolean isSharded(TourItem tour) {
+        return tour != null && tour.getInventoryShards() != null && tour.getInventoryShards() > 0;
+    }
+
+    /**
+     * Seats left for a tour: availablePackages for plain tours, the sum of all shards for sharded ones.
+     */
+    Integer availableSeats(TourItem tour);
+
+    /** shardId -> seats for every existing shard of the tour. */
+    Map<Integer, Integer> readShards(String tourId, boolean consistent);
+
+    /**
+     * Moves the tour's capacity into {@code shardCount} shards and flags the tour as sharded.
+     * Guarded on the current availablePackages so a concurrent booking makes this fail instead of losing seats.
+     */
+    void enableSharding(String tourId, int expectedAvailable, int total, int shardCount);
+
+    /**
+     * Folds all shards back into availablePackages and clears the flag; fails rather than drop a concurrent booking.
+     * Returns the seats folded back.
+     */
+    int disableSharding(String tourId);
+
+    /**
+     * Evens out seats across shards so that sticky shard choice keeps finding capacity.
+     * Returns the number of seats moved.
+     */
+    int rebalance(String tourId, int shardCount);
+
+    /** Splits {@code total} into {@code parts} near-equal non-negative amounts; the remainder goes to the first shards. */
+    static int[] split(int total, int parts) {
+        int[] out = new int[parts];
+        int base = Math.max(total, 0) / parts;
+        int rem = Math.max(total, 0) % parts;
+        for (int i = 0; i < parts; i++) out[i] = base + (i < rem ? 1 : 0);
+        return out;
+    }
+}
@@ -1,368 +1,95 @@
 package com.travelbackendapp.travelmanagement.repository;
 
 import com.travelbackendapp.travelmanagement.model.entity.TourItem;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import software.amazon.awssdk.core.pagination.sync.SdkIterable;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.Expression;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.enhanced.dynamodb.model.Page;
-import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
-import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
-import javax.inject.Inject;
-import javax.inject.Named;
-import javax.inject.Singleton;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
-import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
-import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+/**
+ * Tour catalog. {@link DynamoDbToursRepository} is the deployed backend; the in-memory one in
+ * {@code repository.memory} keeps the same conditions and is meant for local load tests.
+ */
+public interface ToursRepository {
 
-@Singleton
-public class ToursRepository {
-
-    private static final Logger log = LoggerFactory.getLogger(ToursRepository.class);
-
-    private final DynamoDbTable<TourItem> table;
-
-    @Inject
-    public ToursRepository(DynamoDbEnhancedClient client, @Named("TOUR_TABLE") String tableName) {
-        this.table = client.table(tableName, TableSchema.fromBean(TourItem.class));
-    }
-
-    // ToursRepository.java
-    public List<TourItem> findAvailableTours(
-            String destination,
-            String startDate,
-            String endDate,
-            String duration,
-            List<String> mealPlans,
-            List<String> tourTypes,
-            Integer reqAdults,
-            Integer reqChildren
-    ) {
-        log.info("findAvailableTours: destination={}, startDate={}, endDate={}, duration={}, mealPlans={}, tourTypes={}, adults={}, children={}",
-                destination, startDate, endDate, duration, mealPlans, tourTypes, reqAdults, reqChildren);
-
-        List<TourItem> out = new ArrayList<>();
-
-        try {
-            Map<String, AttributeValue> values = new HashMap<>();
-            Map<String, String> names = new HashMap<>();
-            StringBuilder filter = new StringBuilder();
-
-            // Always require bookable packages + agent email + not expired
-            filter.append("#ap > :zero");
-            names.put("#ap", "availablePackages");
-            values.put(":zero", AttributeValue.builder().n("0").build());
-
-            filter.append(" AND attribute_exists(#ae) AND size(#ae) > :zeroLen");
-            names.put("#ae", "agentEmail");
-            values.put(":zeroLen", AttributeValue.builder().n("0").build());
-
-            names.put("#sd", "startDate");
-            String todayIso = java.time.LocalDate.now(java.time.ZoneOffset.UTC).toString();
-            filter.append(" AND #sd >= :today");
-            values.put(":today", AttributeValue.builder().s(todayIso).build());
-
-            // tourTypes: (#tt = :tt0 OR #tt = :tt1 ...)
-            if (tourTypes != null && !tourTypes.isEmpty()) {
-                names.put("#tt", "tourType");
-                List<String> ors = new ArrayList<>();
-                for (int i = 0; i < tourTypes.size(); i++) {
-                    String v = ":tt" + i;
-                    ors.add("#tt = " + v);
-                    values.put(v, AttributeValue.builder().s(tourTypes.get(i)).build());
-                }
-                filter.append(" AND (").append(String.join(" OR ", ors)).append(")");
-            }
-
-            // mealPlans: (contains(#mp,:mp0) OR contains(#mp,:mp1) ...)
-            if (mealPlans != null && !mealPlans.isEmpty()) {
-                names.put("#mp", "mealPlans");
-                List<String> ors = new ArrayList<>();
-                for (int i = 0; i < mealPlans.size(); i++) {
-                    String v = ":mp" + i;
-                    ors.add("contains(#mp, " + v + ")");
-                    values.put(v, AttributeValue.builder().s(mealPlans.get(i)).build());
-                }
-                filter.append(" AND (").append(String.join(" OR ", ors)).append(")");
-            }
-
-            // duration (single string still)
-            if (duration != null && !duration.isEmpty()) {
-                names.put("#dur", "durations");
-                filter.append(" AND contains(#dur, :dur)");
-                values.put(":dur", AttributeValue.builder().s(duration).build());
-            }
-
-            if (reqAdults != null) {
-                names.put("#ma", "maxAdults");
-                filter.append(" AND (#ma >= :ad)");
-                values.put(":ad", AttributeValue.builder().n(String.valueOf(reqAdults)).build());
-            }
-            if (reqChildren != null) {
-                names.put("#mc", "maxChildren");
-                filter.append(" AND (#mc >= :ch)");
-                values.put(":ch", AttributeValue.builder().n(String.valueOf(reqChildren)).build());
-            }
-
-            // Date range bounds
-            boolean hasStartBound = startDate != null && !startDate.isEmpty();
-            boolean hasEndBound   = endDate != null && !endDate.isEmpty();
-            if (hasStartBound) {
-                filter.append(" AND #sd >= :sd");
-                values.put(":sd", AttributeValue.builder().s(startDate).build());
-            }
-            if (hasEndBound) {
-                filter.append(" AND #sd <= :ed");
-                values.put(":ed", AttributeValue.builder().s(endDate).build());
-            }
-
-            // Destination
-            if (destination != null) {
-                String dst = destination.trim();
-                if (!dst.isEmpty() && !"any destination".equalsIgnoreCase(dst)) {
-                    names.put("#dst", "destination");
-                    filter.append(" AND #dst = :dst");
-                    values.put(":dst", AttributeValue.builder().s(dst).build());
-                }
-            }
-
-            Expression filterExpr = Expression.builder()
-                    .expression(filter.toString())
-                    .expressionValues(values)
-                    .expressionNames(names)
-                    .build();
-
-            ScanEnhancedRequest req = ScanEnhancedRequest.builder()
-                    .filterExpression(filterExpr)
-                    .build();
-
-            for (Page<TourItem> p : table.scan(req)) {
-                out.addAll(p.items());
-            }
-            log.info("DDB scan returned {} items", out.size());
-        } catch (Exception e) {
-            log.error("DDB scan failed", e);
-        }
+    /**
+     * Attributes list cards ({@code TourMapper.toResponse}) and the search filters, facets and sort read.
+     * Items read with a projection are partial: never write them back.
+     */
+    String[] LIST_ATTRIBUTES = {
+            "tourId", "name", "destination", "startDate", "tourType", "imageUrls", "durations", "mealPlans",
+            "priceFrom", "rating", "reviews", "freeCancellation", "freeCancellationDaysBefore",
+            "availablePackages", "inventoryShards"
+    };
 
-        return out;
-    }
+    /** {@link #LIST_ATTRIBUTES} plus what the chat assistant ranks and summarizes on ({@code TourSnippets}). */
+    String[] SNIPPET_ATTRIBUTES = concat(LIST_ATTRIBUTES, "hotelName", "summary", "startDates");
 
+    /**
+     * Bookable tours matching the search: seats left, an assigned agent, a start date from today on, and every
+     * given criterion. Items are projected to {@link #LIST_ATTRIBUTES}.
+     */
+    List<TourItem> findAvailableTours(String destination, String startDate, String endDate, String duration,
+                                      List<String> mealPlans, List<String> tourTypes,
+                                      Integer reqAdults, Integer reqChildren);
 
     /**
      * Returns unique destination strings that contain the query (case-insensitive), sorted asc, up to `limit`.
      */
-    public List<String> findDestinationsLike(String query, int limit) {
-        final String needle = query.toLowerCase(Locale.ROOT);
-        final Set<String> uniq = new LinkedHashSet<>();
-
-        try {
-            ScanEnhancedRequest req = ScanEnhancedRequest.builder()
-                    .attributesToProject("destination") // projection
-                    .build();
+    List<String> findDestinationsLike(String query, int limit);
 
-            SdkIterable<Page<TourItem>> pages = table.scan(req);
-            for (Page<TourItem> p : pages) {
-                for (TourItem it : p.items()) {
-                    String dst = it.getDestination();
-                    if (dst != null && dst.toLowerCase(Locale.ROOT).contains(needle)) {
-                        uniq.add(dst);
-                        if (uniq.size() >= limit) break;
-                    }
-                }
-                if (uniq.size() >= limit) break;
-            }
-        } catch (Exception e) {
-            log.error("findDestinationsLike scan failed", e);
-        }
+    Optional<TourItem> getById(String tourId);
 
-        return uniq.stream()
-                .sorted(Comparator.comparing(s -> s.toLowerCase(Locale.ROOT)))
-                .limit(limit)
-                .collect(Collectors.toList());
-    }
-
-    public Optional<TourItem> getById(String tourId) {
-        try {
-            TourItem found = table.getItem(Key.builder().partitionValue(tourId).build());
-            return Optional.ofNullable(found);
-        } catch (Exception e) {
-            log.error("getById failed", e);
-            return Optional.empty();
-        }
-    }
-
-    public void applyNewReview(String tourId, int newRate) {
-        final int maxRetries = 3;
-
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
-            TourItem cur = table.getItem(Key.builder().partitionValue(tourId).build());
-            if (cur == null) {
-                log.warn("applyNewReview: tour not found id={}", tourId);
-                return;
-            }
-
-            int curCount = cur.getReviews() == null ? 0 : cur.getReviews();
-            double curAvg = cur.getRating() == null ? 0.0 : cur.getRating();
-
-            int newCount = curCount + 1;
-            double newAvg = ((curAvg * curCount) + newRate) / newCount;
-            // round to 2 decimals (optional)
-            newAvg = Math.round(newAvg * 100.0) / 100.0;
-
-            cur.setReviews(newCount);
-            cur.setRating(newAvg);
-
-            // Only succeed if nobody else updated reviews in the meantime
-            Map<String, String> names = Map.of("#rv", "reviews");
-            Map<String, AttributeValue> values = Map.of(
-                    ":prev", AttributeValue.builder().n(String.valueOf(curCount)).build()
-            );
-            Expression cond = Expression.builder()
-                    .expression("attribute_not_exists(#rv) OR #rv = :prev")
-                    .expressionNames(names)
-                    .expressionValues(values)
-                    .build();
-
-            try {
-                table.updateItem(UpdateItemEnhancedRequest.builder(TourItem.class)
-                        .item(cur)
-                        .conditionExpression(cond)
-                        .build());
-                return; // success
-            } catch (ConditionalCheckFailedException ccfe) {
-                log.info("applyNewReview conflict (attempt {}/{}), retrying…", attempt, maxRetries);
-            } catch (Exception e) {
-                log.error("applyNewReview failed", e);
-                return;
-            }
-        }
-        log.warn("applyNewReview: failed after {} retries for {}", 3, tourId);
-    }
-
-    public void updateReview(String tourId, int oldRate, int newRate) {
-        final int maxRetries = 3;
-
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
-            TourItem cur = table.getItem(Key.builder().partitionValue(tourId).build());
-            if (cur == null) {
-                log.warn("applyNewReview: tour not found id={}", tourId);
-                return;
-            }
+    /** Tours by id, read in batches of up to 100; ids that do not exist are absent from the map. */
+    Map<String, TourItem> findByIds(Collection<String> tourIds);
 
-            int count = cur.getReviews() == null ? 0 : cur.getReviews();
-            double curAvg = cur.getRating() == null ? 0.0 : cur.getRating();
+    /**
+     * Full tour including details content. With the split layout on, the tour and its details item
+     * are fetched in one batch round trip and merged; otherwise same as {@link #getById}.
+     */
+    Optional<TourItem> getDetailedById(String tourId);
 
-            double newAvg = ((curAvg * count) - oldRate + newRate) / count;
-            // round to 2 decimals (optional)
-            newAvg = Math.round(newAvg * 100.0) / 100.0;
+    /** Adds one review to the tour's count and average, retrying when another review lands first. */
+    void applyNewReview(String tourId, int newRate);
 
-            cur.setRating(newAvg);
+    /** Replaces one review's rate in the tour's average, retrying when another review lands first. */
+    void updateReview(String tourId, int oldRate, int newRate);
 
-            // Only succeed if nobody else updated reviews in the meantime
-            Map<String, String> names = Map.of("#rv", "reviews");
-            Map<String, AttributeValue> values = Map.of(
-                    ":prev", AttributeValue.builder().n(String.valueOf(count)).build()
-            );
-            Expression cond = Expression.builder()
-                    .expression("attribute_not_exists(#rv) OR #rv = :prev")
-                    .expressionNames(names)
-                    .expressionValues(values)
-                    .build();
+    /** Tours running in sharded inventory mode, projected to tourId and inventoryShards. */
+    List<TourItem> findShardedTours();
 
-            try {
-                table.updateItem(UpdateItemEnhancedRequest.builder(TourItem.class)
-                        .item(cur)
-                        .conditionExpression(cond)
-                        .build());
-                return; // success
-            } catch (ConditionalCheckFailedException ccfe) {
-                log.info("applyNewReview conflict (attempt {}/{}), retrying…", attempt, maxRetries);
-            } catch (Exception e) {
-                log.error("applyNewReview failed", e);
-                return;
-            }
-        }
-        log.warn("applyNewReview: failed after {} retries for {}", 3, tourId);
-    }
+    List<TourItem> listAll();
 
-    // repository/ToursRepository.java  (add this method)
-    public List<TourItem> listAll() {
-        java.util.List<TourItem> out = new java.util.ArrayList<>();
-        try {
-            for (Page<TourItem> p : table.scan(ScanEnhancedRequest.builder().build())) {
-                out.addAll(p.items());
-            }
-        } catch (Exception e) {
-            log.error("listAll scan failed", e);
-        }
-        return out;
-    }
+    /** All tours projected to {@code attributes} (all attributes when empty). */
+    List<TourItem> listAll(String... attributes);
 
-    public void save(TourItem tour) {
-        try {
-            table.putItem(tour);
-            log.info("Tour saved: {}", tour.getTourId());
-        } catch (Exception e) {
-            log.error("Failed to save tour: {}", tour.getTourId(), e);
-            throw new RuntimeException("Failed to save tour", e);
-        }
-    }
+    void save(TourItem tour);
 
-    public void update(TourItem tour) {
-        try {
-            table.updateItem(tour);
-            log.info("Tour updated: {}", tour.getTourId());
-        } catch (Exception e) {
-            log.error("Failed to update tour: {}", tour.getTourId(), e);
-            throw new RuntimeException("Failed to update tour", e);
-        }
-    }
+    /**
+     * Replaces the stored tour if its version is still {@code expectedVersion} (null: no version yet); pass a full
+     * item, e.g. from {@link #getDetailedById}, with its new version set. Seats, inventory shards, rating and
+     * review count are left as stored: bookings, inventory changes and reviews write those on their own.
+     * Returns false when another edit changed the version first.
+     */
+    boolean update(TourItem tour, Long expectedVersion);
 
-    public void delete(String tourId) {
-        try {
-            Key key = Key.builder().partitionValue(tourId).build();
-            table.deleteItem(key);
-            log.info("Tour deleted: {}", tourId);
-        } catch (Exception e) {
-            log.error("Failed to delete tour: {}", tourId, e);
-            throw new RuntimeException("Failed to delete tour", e);
-        }
-    }
+    /**
+     * {@link #update(TourItem, Long)} that also takes {@code seatsTaken} from availablePackages (negative: adds
+     * seats) in the same conditional write, so the fields and the capacity change apply together or not at all.
+     * Only for tours in plain inventory mode. Returns false when another edit changed the version first; throws
+     * {@code ConditionalCheckFailedException} when fewer seats are left or the tour was sharded meanwhile.
+     */
+    boolean update(TourItem tour, Long expectedVersion, int seatsTaken);
 
-    public List<TourItem> findByAgentEmail(String agentEmail) {
-        List<TourItem> out = new ArrayList<>();
-        try {
-            Map<String, AttributeValue> values = new HashMap<>();
-            Map<String, String> names = new HashMap<>();
-            
-            names.put("#ae", "agentEmail");
-            values.put(":email", AttributeValue.builder().s(agentEmail).build());
-            
-            Expression filterExpr = Expression.builder()
-                    .expression("#ae = :email")
-                    .expressionValues(values)
-                    .expressionNames(names)
-                    .build();
+    void delete(String tourId);
 
-            ScanEnhancedRequest req = ScanEnhancedRequest.builder()
-                    .filterExpression(filterExpr)
-                    .build();
+    List<TourItem> findByAgentEmail(String agentEmail);
 
-            for (Page<TourItem> p : table.scan(req)) {
-                out.addAll(p.items());
-            }
-            log.info("Found {} tours for agent: {}", out.size(), agentEmail);
-        } catch (Exception e) {
-            log.error("findByAgentEmail scan failed for agent: {}", agentEmail, e);
-        }
+    private static String[] concat(String[] a, String... b) {
+        String[] out = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, out, a.length, b.length);
         return out;
     }
-
 }
@@ -0,0 +1,91 @@
+package com.travelbackendapp.travelmanagement.repository;
+
+import com.travelbackendapp.travelmanagement.metrics.InvocationMetrics;
+import com.travelbackendapp.travelmanagement.util.SnapSafeRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs TransactWriteItems with jittered-backoff retries on TransactionConflict.
+ * A cancellation caused by a failed condition is never retried and is rethrown as-is.
+ * Conflicts, retries and condition failures are counted for the process and in the current {@link InvocationMetrics}.
+ */
+public final class TransactWrites {
+    private static final Logger log = LoggerFactory.getLogger(TransactWrites.class);
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long BACKOFF_BASE_MS = 20;
+    private static final long BACKOFF_CAP_MS = 400;
+
+    static final AtomicLong CONFLICTS = new AtomicLong();
+    static final AtomicLong RETRIES = new AtomicLong();
+    static final AtomicLong CONDITION_FAILURES = new AtomicLong();
+
+    private TransactWrites() {}
+
+    static void execute(DynamoDbClient client, TransactWriteItemsRequest tx, String label, String key) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                client.transactWriteItems(tx);
+                return;
+            } catch (TransactionCanceledException e) {
+                if (!isTransactionConflict(e)) {
+                    long n = CONDITION_FAILURES.incrementAndGet();
+                    InvocationMetrics.recordTransact(InvocationMetrics.Transact.CONDITION_FAILED);
+                    log.info("{} rejected by condition key={} totalRejected={}", label, key, n);
+                    throw e;
+                }
+                long conflicts = CONFLICTS.incrementAndGet();
+                InvocationMetrics.recordTransact(InvocationMetrics.Transact.CONFLICT);
+                if (attempt >= MAX_ATTEMPTS) {
+                    log.warn("{} gave up after {} attempts key={} totalConflicts={}", label, attempt, key, conflicts);
+                    throw e;
+                }
+                long retries = RETRIES.incrementAndGet();
+                InvocationMetrics.recordTransact(InvocationMetrics.Transact.RETRY);
+                log.info("{} conflict key={} attempt={} totalConflicts={} totalRetries={}",
+                        label, key, attempt, conflicts, retries);
+                sleepWithJitter(attempt, label, key);
+            }
+        }
+    }
+
+    public static boolean isConditionFailure(TransactionCanceledException e) {
+        if (!e.hasCancellationReasons()) return false;
+        for (CancellationReason r : e.cancellationReasons()) {
+            if ("ConditionalCheckFailed".equals(r.code())) return true;
+        }
+        return false;
+    }
+
+    private static boolean isTransactionConflict(TransactionCanceledException e) {
+        if (!e.hasCancellationReasons() || isConditionFailure(e)) return false;
+        for (CancellationReason r : e.cancellationReasons()) {
+            if ("TransactionConflict".equals(r.code())) return true;
+        }
+        return false;
+    }
+
+    // Full jitter: sleep uniformly in [0, min(cap, base * 2^(attempt-1))]; an interrupt ends the retries
+    private static void sleepWithJitter(int attempt, String label, String key) {
+        long ceiling = Math.min(BACKOFF_CAP_MS, BACKOFF_BASE_MS << (attempt - 1));
+        long delay = SnapSafeRandom.current().nextLong(ceiling + 1);
+        try {
+            if (Thread.interrupted()) throw new InterruptedException();   // sleep(0) would not notice
+            Thread.sleep(delay);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw AbortedException.builder()
+                    .message(label + " interrupted before retry " + attempt + " key=" + key)
+                    .cause(ie)
+                    .build();
+        }
+    }
+}
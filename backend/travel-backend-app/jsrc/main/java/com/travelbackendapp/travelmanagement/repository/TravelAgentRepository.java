@@ -1,91 +1,45 @@
 package com.travelbackendapp.travelmanagement.repository;
 
 import com.travelbackendapp.travelmanagement.model.entity.TravelAgent;
-import com.travelbackendapp.travelmanagement.service.impl.BookingsServiceImpl;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.enhanced.dynamodb.model.Page;
-import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
 
-import javax.inject.Inject;
-import javax.inject.Named;
-import javax.inject.Singleton;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
-@Singleton
-public class TravelAgentRepository {
-
-    private static final Logger log = LoggerFactory.getLogger(TravelAgentRepository.class);
-    private final DynamoDbTable<TravelAgent> travelAgentTable;
-
-    @Inject
-    public TravelAgentRepository(DynamoDbEnhancedClient enhancedClient, 
-                                @Named("TRAVEL_AGENT_TABLE") String tableName) {
-        this.travelAgentTable = enhancedClient.table(tableName, TableSchema.fromBean(TravelAgent.class));
-    }
+/** Travel agent records, keyed by email. */
+public interface TravelAgentRepository {
 
     /**
      * Check if an email exists in the Travel Agent list
      * @param email The email to check
      * @return TravelAgent object if found, null otherwise
      */
-    public TravelAgent findByEmail(String email) {
-        try {
-            Key key = Key.builder()
-                    .partitionValue(email)
-                    .build();
-            
-            return travelAgentTable.getItem(key);
-        } catch (ResourceNotFoundException e) {
-            log.info(e.getMessage());
-            return null;
-        } catch (Exception e) {
-            log.info(e.getMessage());
-            return null;
-        }
-    }
+    TravelAgent findByEmail(String email);
+
+    /**
+     * Batch lookup for enrichment paths. Emails that are not agents are absent from the result.
+     */
+    Map<String, TravelAgent> findByEmails(Collection<String> emails);
+
+    /** Drops any locally cached entry, so the next lookup reads the store. */
+    void invalidate(String email);
 
     /**
-     * Save a new Travel Agent to the database
+     * Save a new Travel Agent
      * @param travelAgent The TravelAgent object to save
      * @return The saved TravelAgent object
      */
-    public TravelAgent save(TravelAgent travelAgent) {
-        travelAgentTable.putItem(travelAgent);
-        return travelAgent;
-    }
+    TravelAgent save(TravelAgent travelAgent);
 
     /**
-     * Delete a Travel Agent from the database
+     * Delete a Travel Agent
      * @param email The email of the Travel Agent to delete
      */
-    public void deleteByEmail(String email) {
-        Key key = Key.builder()
-                .partitionValue(email)
-                .build();
-        
-        travelAgentTable.deleteItem(key);
-    }
+    void deleteByEmail(String email);
 
     /**
      * List all travel agents
      * @return List of all travel agents
      */
-    public List<TravelAgent> findAll() {
-        List<TravelAgent> agents = new ArrayList<>();
-        try {
-            for (Page<TravelAgent> page : travelAgentTable.scan()) {
-                agents.addAll(page.items());
-            }
-            log.info("Found {} travel agents", agents.size());
-        } catch (Exception e) {
-            log.error("Failed to list travel agents", e);
-        }
-        return agents;
-    }
+    List<TravelAgent> findAll();
 }
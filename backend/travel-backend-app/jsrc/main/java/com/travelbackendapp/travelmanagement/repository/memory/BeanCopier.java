@@ -0,0 +1,29 @@
+package com.travelbackendapp.travelmanagement.repository.memory;
+
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+
+import java.util.Arrays;
+
+/**
+ * Copies entity beans through their table schema, i.e. exactly what a write and a read back through DynamoDB
+ * would keep. The in-memory tables store and hand out copies so callers can mutate what they get, as they do
+ * with items read from DynamoDB.
+ */
+final class BeanCopier<T> {
+
+    private final TableSchema<T> schema;
+
+    BeanCopier(Class<T> type) {
+        this.schema = TableSchema.fromBean(type);
+    }
+
+    T copy(T item) {
+        return item == null ? null : schema.mapToItem(schema.itemToMap(item, true));
+    }
+
+    /** Same as a read with a projection: only {@code attributes} are set, or everything when none are given. */
+    T project(T item, String... attributes) {
+        if (item == null || attributes.length == 0) return copy(item);
+        return schema.mapToItem(schema.itemToMap(item, Arrays.asList(attributes)));
+    }
+}
@@ -0,0 +1,249 @@
+package com.travelbackendapp.travelmanagement.repository.memory;
+
+import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import com.travelbackendapp.travelmanagement.repository.BookingsRepository;
+import com.travelbackendapp.travelmanagement.repository.TourInventoryRepository;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * {@link BookingsRepository} over {@link InMemoryTables}. A reservation checks the seats (and the tour version,
+ * for plain tours) and writes the booking inside one atomic update of the tour, so it fails or succeeds as a whole
+ * like the DynamoDB transaction, with the same exception types.
+ */
+@Singleton
+public class InMemoryBookingsRepository implements BookingsRepository {
+
+    private final InMemoryTables tables;
+    private final InMemoryTourInventoryRepository inventory;
+
+    @Inject
+    public InMemoryBookingsRepository(InMemoryTables tables, InMemoryTourInventoryRepository inventory) {
+        this.tables = tables;
+        this.inventory = inventory;
+    }
+
+    @Override
+    public void transactReserveSeatsAndSave(BookingItem booking, String tourId, int seats) {
+        transactReserveSeatsAndSave(booking, tourId, seats, 0);
+    }
+
+    @Override
+    public void transactReserveSeatsAndSave(BookingItem booking, String tourId, int seats, int shardCount) {
+        reserveAndSave(booking, tourId, seats, shardCount, false, null);
+    }
+
+    @Override
+    public void transactReserveSeatsAndSave(BookingItem booking, TourItem tour, int seats) {
+        if (TourInventoryRepository.isSharded(tour)) {
+            reserveAndSave(booking, tour.getTourId(), seats, tour.getInventoryShards(), false, null);
+        } else {
+            reserveAndSave(booking, tour.getTourId(), seats, 0, true, tour.getVersion());
+        }
+    }
+
+    private void reserveAndSave(BookingItem booking, String tourId, int seats, int shardCount,
+                                boolean checkVersion, Long version) {
+        if (seats <= 0) {
+            throw new IllegalArgumentException("seats must be > 0");
+        }
+        BookingItem save = tables.bookingCopier.copy(booking);
+
+        if (shardCount > 0) {
+            inventory.reserve(tourId, seats, booking.getUserId(), () -> tables.putBooking(save));
+            return;
+        }
+
+        tables.tours.compute(tourId, (id, cur) -> {
+            if (cur == null || cur.getAvailablePackages() == null || cur.getAvailablePackages() < seats
+                    || (checkVersion && !Objects.equals(cur.getVersion(), version))) {
+                throw Items.transactionConditionFailed("reserve seats rejected", 2, 0);
+            }
+            TourItem next = tables.tourCopier.copy(cur);
+            next.setAvailablePackages(cur.getAvailablePackages() - seats);
+            tables.putBooking(save);
+            return next;
+        });
+    }
+
+    @Override
+    public BookingItem get(String userId, String bookingId) {
+        Map<String, BookingItem> byId = tables.bookings.get(userId);
+        return byId == null ? null : tables.bookingCopier.copy(byId.get(bookingId));
+    }
+
+    @Override
+    public void put(BookingItem booking) {
+        tables.putBooking(booking);
+    }
+
+    @Override
+    public void adjustTourCapacity(String tourId, int delta) {
+        adjustTourCapacity(tourId, delta, 0);
+    }
+
+    @Override
+    public void adjustTourCapacity(String tourId, int delta, int shardCount) {
+        if (delta == 0) return;
+
+        if (shardCount > 0) {
+            if (delta > 0) {
+                try {
+                    inventory.reserve(tourId, delta, null, null);
+                } catch (TransactionCanceledException e) {
+                    throw Items.conditionFailed("not enough capacity");
+                }
+            } else {
+                inventory.release(tourId, shardCount, -delta);
+            }
+            return;
+        }
+
+        tables.tours.compute(tourId, (id, cur) -> {
+            if (delta > 0) {
+                // Guard: cannot consume below zero
+                if (cur == null || cur.getAvailablePackages() == null || cur.getAvailablePackages() < delta) {
+                    throw Items.conditionFailed("not enough capacity");
+                }
+                TourItem next = tables.tourCopier.copy(cur);
+                next.setAvailablePackages(cur.getAvailablePackages() - delta);
+                return next;
+            }
+            // Returning seats creates the attribute (and the item) when missing, as if_not_exists does
+            TourItem next = cur == null ? new TourItem() : tables.tourCopier.copy(cur);
+            next.setTourId(tourId);
+            next.setAvailablePackages((next.getAvailablePackages() == null ? 0 : next.getAvailablePackages()) - delta);
+            return next;
+        });
+    }
+
+    @Override
+    public List<BookingItem> findByUserId(String userId) {
+        Map<String, BookingItem> byId = tables.bookings.get(userId);
+        if (byId == null) return new ArrayList<>();
+        return byId.values().stream().map(tables.bookingCopier::copy).collect(Collectors.toList());
+    }
+
+    @Override
+    public BookingsPage findByUserId(String userId, String from, String to, Collection<String> statuses,
+                                     int limit, String afterBookingId, boolean includeArchived) {
+        NavigableMap<String, BookingItem> view = tables.bookings.get(userId);
+        List<BookingItem> out = new ArrayList<>();
+        if (view == null) return new BookingsPage(out, null);
+
+        String upper = to == null ? null : to + "_~";     // '~' sorts after any uuid character
+        if (afterBookingId != null && (from == null || afterBookingId.compareTo(from) >= 0)) {
+            view = view.tailMap(afterBookingId, false);
+        } else if (from != null) {
+            view = view.tailMap(from, true);
+        }
+
+        for (BookingItem b : view.values()) {
+            if (upper != null && b.getBookingId().compareTo(upper) > 0) break;
+            if (statuses != null && !statuses.isEmpty() && !statuses.contains(b.getStatus())) continue;
+            if (!includeArchived && b.getArchiveKey() != null) continue;
+            out.add(tables.bookingCopier.copy(b));
+            if (limit > 0 && out.size() == limit) {
+                String next = view.higherKey(b.getBookingId());
+                boolean last = next == null || (upper != null && next.compareTo(upper) > 0);
+                return new BookingsPage(out, last ? null : b.getBookingId());
+            }
+        }
+        return new BookingsPage(out, null);
+    }
+
+    @Override
+    public BookingsPage findByAgentEmail(String email, String from, String to, Collection<String> statuses,
+                                         int limit, String afterUserId, String afterBookingId, boolean includeArchived) {
+        // the GSI's order: bookingId, then the table key as tie-breaker
+        Comparator<BookingItem> order = Comparator.comparing(BookingItem::getBookingId).thenComparing(BookingItem::getUserId);
+        List<BookingItem> ordered = tables.bookingsInKeyOrder().stream()
+                .filter(b -> email != null && email.equals(b.getAgentEmail()))
+                .sorted(order)
+                .collect(Collectors.toList());
+        return page(ordered, order, from, to, statuses, limit, afterUserId, afterBookingId, includeArchived);
+    }
+
+    @Override
+    public List<BookingItem> findAll() {
+        return scan(b -> true);
+    }
+
+    @Override
+    public BookingsPage findAll(String from, String to, Collection<String> statuses,
+                                int limit, String afterUserId, String afterBookingId, boolean includeArchived) {
+        Comparator<BookingItem> order = Comparator.comparing(BookingItem::getUserId).thenComparing(BookingItem::getBookingId);
+        return page(tables.bookingsInKeyOrder(), order, from, to, statuses, limit, afterUserId, afterBookingId, includeArchived);
+    }
+
+    @Override
+    public BookingItem getByBookingId(String bookingId) {
+        for (Map<String, BookingItem> byId : tables.bookings.values()) {
+            BookingItem b = byId.get(bookingId);
+            if (b != null) return tables.bookingCopier.copy(b);
+        }
+        return null;
+    }
+
+    @Override
+    public List<String> findBookingIdsByTourId(String tourId) {
+        List<String> out = new ArrayList<>();
+        for (Map<String, BookingItem> byId : tables.bookings.values()) {
+            for (BookingItem b : byId.values()) {
+                if (tourId != null && tourId.equals(b.getTourId())) out.add(b.getBookingId());
+            }
+        }
+        return out;
+    }
+
+    // One page of the bookings in ordered that come after the cursor and pass the filters
+    private BookingsPage page(List<BookingItem> ordered, Comparator<BookingItem> order, String from, String to,
+                              Collection<String> statuses, int limit, String afterUserId, String afterBookingId,
+                              boolean includeArchived) {
+        BookingItem after = null;
+        if (afterUserId != null && afterBookingId != null) {
+            after = new BookingItem();
+            after.setUserId(afterUserId);
+            after.setBookingId(afterBookingId);
+        }
+        String upper = to == null ? null : to + "_~";     // '~' sorts after any uuid character
+        List<BookingItem> matches = new ArrayList<>();
+        for (BookingItem b : ordered) {
+            if (after != null && order.compare(b, after) <= 0) continue;
+            if (from != null && b.getBookingId().compareTo(from) < 0) continue;
+            if (upper != null && b.getBookingId().compareTo(upper) > 0) continue;
+            if (statuses != null && !statuses.isEmpty() && !statuses.contains(b.getStatus())) continue;
+            if (!includeArchived && b.getArchiveKey() != null) continue;
+            matches.add(b);
+        }
+        boolean more = limit > 0 && matches.size() > limit;
+        List<BookingItem> out = (more ? matches.subList(0, limit) : matches).stream()
+                .map(tables.bookingCopier::copy)
+                .collect(Collectors.toList());
+        if (!more) return new BookingsPage(out, null);
+        BookingItem last = out.get(out.size() - 1);
+        return new BookingsPage(out, last.getBookingId(), last.getUserId());
+    }
+
+    private List<BookingItem> scan(Predicate<BookingItem> filter) {
+        List<BookingItem> out = new ArrayList<>();
+        for (Map<String, BookingItem> byId : tables.bookings.values()) {
+            for (BookingItem b : byId.values()) {
+                if (filter.test(b)) out.add(tables.bookingCopier.copy(b));
+            }
+        }
+        return out;
+    }
+}
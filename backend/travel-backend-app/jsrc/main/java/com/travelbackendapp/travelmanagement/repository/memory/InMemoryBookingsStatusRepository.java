@@ -0,0 +1,118 @@
+package com.travelbackendapp.travelmanagement.repository.memory;
+
+import com.travelbackendapp.travelmanagement.domain.BookingStatus;
+import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
+import com.travelbackendapp.travelmanagement.repository.BookingsStatusRepository;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * {@link BookingsStatusRepository} over the bookings of {@link InMemoryTables}. Scans return pages in
+ * (userId, bookingId) order with resumable keys; status transitions are atomic per booking and fail with
+ * the same exception as the conditional DynamoDB update.
+ */
+@Singleton
+public class InMemoryBookingsStatusRepository implements BookingsStatusRepository {
+
+    private final InMemoryTables tables;
+
+    @Inject
+    public InMemoryBookingsStatusRepository(InMemoryTables tables) {
+        this.tables = tables;
+    }
+
+    @Override
+    public SdkIterable<Page<BookingItem>> scanActiveForStatusUpdate() {
+        return scan(b -> b.getStartDate() != null && b.getDuration() != null && b.getStatus() != null
+                        && !BookingStatus.FINISHED.name().equals(b.getStatus())
+                        && !BookingStatus.CANCELLED.name().equals(b.getStatus()),
+                "userId", "bookingId", "startDate", "duration", "status");
+    }
+
+    @Override
+    public SdkIterable<Page<BookingItem>> scanArchivable(String beforeDate) {
+        return scan(b -> (BookingStatus.FINISHED.name().equals(b.getStatus())
+                        || BookingStatus.CANCELLED.name().equals(b.getStatus()))
+                && b.getStartDate() != null && b.getStartDate().compareTo(beforeDate) < 0
+                && b.getArchiveKey() == null);
+    }
+
+    @Override
+    public SdkIterable<Page<BookingItem>> scanSegment(int segment, int totalSegments,
+                                                     Map<String, AttributeValue> exclusiveStartKey) {
+        String afterUser = exclusiveStartKey == null ? null : exclusiveStartKey.get("userId").s();
+        String afterBooking = exclusiveStartKey == null ? null : exclusiveStartKey.get("bookingId").s();
+        return scan(b -> Items.inSegment(b.getUserId(), segment, totalSegments)
+                && (afterUser == null || after(b, afterUser, afterBooking)));
+    }
+
+    @Override
+    public void replaceWithTombstones(List<BookingItem> tombstones) {
+        tombstones.forEach(tables::putBooking);
+    }
+
+    @Override
+    public void markStarted(String userId, String bookingId) {
+        transition(userId, bookingId, cur -> BookingStatus.BOOKED.name().equals(cur.getStatus()), next ->
+                next.setStatus(BookingStatus.STARTED.name()));
+    }
+
+    @Override
+    public void markFinished(String userId, String bookingId) {
+        // attribute_not_exists(status) also lets the DynamoDB update create a missing booking; keep that
+        tables.bookingsOf(userId).compute(bookingId, (id, cur) -> {
+            if (cur != null && BookingStatus.FINISHED.name().equals(cur.getStatus())) {
+                throw Items.conditionFailed("booking already finished");
+            }
+            BookingItem next = cur == null ? new BookingItem() : tables.bookingCopier.copy(cur);
+            next.setUserId(userId);
+            next.setBookingId(bookingId);
+            next.setStatus(BookingStatus.FINISHED.name());
+            return next;
+        });
+    }
+
+    @Override
+    public void markConfirmed(String userId, String bookingId, String agentEmail) {
+        transition(userId, bookingId,
+                cur -> BookingStatus.BOOKED.name().equals(cur.getStatus()) && agentEmail.equals(cur.getAgentEmail()),
+                next -> {
+                    next.setStatus(BookingStatus.CONFIRMED.name());
+                    next.setConfirmedAtEpoch(System.currentTimeMillis());
+                });
+    }
+
+    private void transition(String userId, String bookingId, Predicate<BookingItem> condition,
+                            Consumer<BookingItem> change) {
+        Map<String, BookingItem> byId = tables.bookings.get(userId);
+        if (byId == null) throw Items.conditionFailed("booking not found");
+        byId.compute(bookingId, (id, cur) -> {
+            if (cur == null || !condition.test(cur)) throw Items.conditionFailed("booking status changed");
+            BookingItem next = tables.bookingCopier.copy(cur);
+            change.accept(next);
+            return next;
+        });
+    }
+
+    private SdkIterable<Page<BookingItem>> scan(Predicate<BookingItem> filter, String... attributes) {
+        List<BookingItem> items = tables.bookingsInKeyOrder().stream()
+                .filter(filter)
+                .map(b -> tables.bookingCopier.project(b, attributes))
+                .collect(Collectors.toList());
+        return Items.pages(items, b -> Map.of("userId", Items.s(b.getUserId()), "bookingId", Items.s(b.getBookingId())));
+    }
+
+    private static boolean after(BookingItem b, String userId, String bookingId) {
+        int c = b.getUserId().compareTo(userId);
+        return c > 0 || (c == 0 && b.getBookingId().compareTo(bookingId) > 0);
+    }
+}
@@ -0,0 +1,37 @@
+package com.travelbackendapp.travelmanagement.repository.memory;
+
+import com.travelbackendapp.travelmanagement.repository.CatalogVersionRepository;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** {@link CatalogVersionRepository} as a counter; with a single process there is nothing to refresh. */
+@Singleton
+public class InMemoryCatalogVersionRepository implements CatalogVersionRepository {
+
+    private final AtomicLong version = new AtomicLong();
+
+    @Inject
+    public InMemoryCatalogVersionRepository() {
+    }
+
+    @Override
+    public long current() {
+        return version.get();
+    }
+
+    @Override
+    public void bump(String reason) {
+        version.incrementAndGet();
+    }
+
+    @Override
+    public void bumpSoon(String reason) {
+        version.incrementAndGet();
+    }
+
+    @Override
+    public void flush() {
+    }
+}
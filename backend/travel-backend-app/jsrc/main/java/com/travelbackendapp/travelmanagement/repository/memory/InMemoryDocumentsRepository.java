@@ -0,0 +1,71 @@
+package com.travelbackendapp.travelmanagement.repository.memory;
+
+import com.travelbackendapp.travelmanagement.model.entity.DocumentRecord;
+import com.travelbackendapp.travelmanagement.repository.DocumentsRepository;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/** {@link DocumentsRepository} kept as bookingId -> docId -> record, so listings come back in docId order. */
+@Singleton
+public class InMemoryDocumentsRepository implements DocumentsRepository {
+
+    private final ConcurrentHashMap<String, NavigableMap<String, DocumentRecord>> docs = new ConcurrentHashMap<>();
+
+    @Inject
+    public InMemoryDocumentsRepository() {
+    }
+
+    @Override
+    public void put(DocumentRecord r) {
+        docs.computeIfAbsent(r.getBookingId(), k -> new ConcurrentSkipListMap<>()).put(r.getDocId(), copy(r));
+    }
+
+    @Override
+    public List<DocumentRecord> listByBookingId(String bookingId) {
+        NavigableMap<String, DocumentRecord> byId = docs.get(bookingId);
+        if (byId == null || byId.isEmpty()) return List.of();
+        return byId.descendingMap().values().stream()
+                .map(InMemoryDocumentsRepository::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public DocumentRecord get(String bookingId, String docId) {
+        NavigableMap<String, DocumentRecord> byId = docs.get(bookingId);
+        return byId == null ? null : copy(byId.get(docId));
+    }
+
+    @Override
+    public void delete(String bookingId, String docId) {
+        NavigableMap<String, DocumentRecord> byId = docs.get(bookingId);
+        if (byId != null) byId.remove(docId);
+    }
+
+    @Override
+    public void deleteAll(List<DocumentRecord> records) {
+        records.forEach(r -> delete(r.getBookingId(), r.getDocId()));
+    }
+
+    private static DocumentRecord copy(DocumentRecord r) {
+        if (r == null) return null;
+        DocumentRecord c = new DocumentRecord();
+        c.setBookingId(r.getBookingId());
+        c.setDocId(r.getDocId());
+        c.setS3Key(r.getS3Key());
+        c.setCategory(r.getCategory());
+        c.setGuestName(r.getGuestName());
+        c.setFileName(r.getFileName());
+        c.setContentType(r.getContentType());
+        c.setSizeBytes(r.getSizeBytes());
+        c.setSha256(r.getSha256());
+        c.setUploadedAtEpoch(r.getUploadedAtEpoch());
+        c.setUploadedBy(r.getUploadedBy());
+        return c;
+    }
+}
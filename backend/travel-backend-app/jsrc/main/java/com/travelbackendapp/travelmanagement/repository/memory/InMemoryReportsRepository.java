@@ -0,0 +1,187 @@
+package com.travelbackendapp.travelmanagement.repository.memory;
+
+import com.travelbackendapp.travelmanagement.model.entity.ReportRecord;
+import com.travelbackendapp.travelmanagement.repository.ReportsRepository;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ReportsRepository} kept by reportId plus an eventTimestamp-ordered index standing in for the period indexes.
+ * A record is found through an index only when its period key for that index is set, as with the sparse GSIs,
+ * so records written before {@link #backfillPeriodKeys} stay out of period lookups until it runs.
+ */
+@Singleton
+public class InMemoryReportsRepository implements ReportsRepository {
+
+    static final String TABLE_NAME = "reports (in memory)";
+
+    private final ConcurrentHashMap<String, ReportRecord> byId = new ConcurrentHashMap<>();
+    /** eventTimestamp + '\0' + reportId -> reportId, for records that have an eventTimestamp. */
+    private final ConcurrentSkipListMap<String, String> byTimestamp = new ConcurrentSkipListMap<>();
+    private final BeanCopier<ReportRecord> copier = new BeanCopier<>(ReportRecord.class);
+
+    @Inject
+    public InMemoryReportsRepository() {
+    }
+
+    @Override
+    public ReportRecord save(ReportRecord reportRecord) {
+        reportRecord.assignPeriodKeys();
+        store(reportRecord);
+        return reportRecord;
+    }
+
+    @Override
+    public void saveAll(List<ReportRecord> records) {
+        records.forEach(this::save);
+    }
+
+    @Override
+    public SdkIterable<Page<ReportRecord>> scanKeysSegment(int segment, int totalSegments) {
+        List<ReportRecord> items = byId.values().stream()
+                .filter(r -> Items.inSegment(r.getReportId(), segment, totalSegments))
+                .map(r -> copier.project(r, "reportId", "eventType", "bookingId"))
+                .collect(Collectors.toList());
+        return Items.pages(items, r -> Map.of("reportId", Items.s(r.getReportId())));
+    }
+
+    @Override
+    public Optional<ReportRecord> findByReportId(String reportId) {
+        return Optional.ofNullable(copier.copy(byId.get(reportId)));
+    }
+
+    @Override
+    public boolean deleteByReportId(String reportId) {
+        boolean[] deleted = new boolean[1];
+        byId.computeIfPresent(reportId, (id, cur) -> {
+            unindex(cur);
+            deleted[0] = true;
+            return null;
+        });
+        return deleted[0];
+    }
+
+    @Override
+    public boolean isTableAccessible() {
+        return true;
+    }
+
+    @Override
+    public String getTableName() {
+        return TABLE_NAME;
+    }
+
+    @Override
+    public List<ReportRecord> findAll() {
+        return byId.values().stream().map(copier::copy).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ReportRecord> findByPeriod(LocalDateTime from, LocalDateTime to) {
+        List<ReportRecord> out = new ArrayList<>();
+        forEachInPeriods(ReportRecord.PERIOD_INDEX, ReportRecord::getPeriodBucket, null, from, to, out::add);
+        return out;
+    }
+
+    @Override
+    public void forEachInPeriod(LocalDateTime from, LocalDateTime to, Consumer<ReportRecord> sink) {
+        forEachInPeriods(ReportRecord.PERIOD_INDEX, ReportRecord::getPeriodBucket, null, from, to, sink);
+    }
+
+    @Override
+    public Set<String> findAgentEmails() {
+        Set<String> emails = new TreeSet<>();
+        for (ReportRecord r : byId.values()) {
+            if (r.getAgentEmail() != null && !r.getAgentEmail().isEmpty()) emails.add(r.getAgentEmail());
+        }
+        return emails;
+    }
+
+    @Override
+    public List<ReportRecord> findByAgentEmail(String agentEmail, LocalDateTime from, LocalDateTime to) {
+        List<ReportRecord> out = new ArrayList<>();
+        forEachInPeriods(ReportRecord.AGENT_PERIOD_INDEX, ReportRecord::getAgentPeriod, agentEmail, from, to, out::add);
+        return out;
+    }
+
+    @Override
+    public List<ReportRecord> findByTourId(String tourId, LocalDateTime from, LocalDateTime to) {
+        List<ReportRecord> out = new ArrayList<>();
+        forEachInPeriods(ReportRecord.TOUR_PERIOD_INDEX, ReportRecord::getTourPeriod, tourId, from, to, out::add);
+        return out;
+    }
+
+    @Override
+    public List<ReportRecord> findByEventType(String eventType, LocalDateTime from, LocalDateTime to) {
+        List<ReportRecord> out = new ArrayList<>();
+        forEachInPeriods(ReportRecord.TYPE_PERIOD_INDEX, ReportRecord::getTypePeriod, eventType, from, to, out::add);
+        return out;
+    }
+
+    @Override
+    public int backfillPeriodKeys() {
+        int updated = 0;
+        for (ReportRecord cur : byId.values()) {
+            if (cur.getEventTimestamp() == null) continue;
+            if (cur.getPeriodBucket() != null && !ReportRecord.isUnshardedBucket(cur.getPeriodBucket())) continue;
+            ReportRecord next = copier.copy(cur);
+            next.assignPeriodKeys();
+            if (next.getPeriodBucket() == null) continue;
+            store(next);
+            updated++;
+        }
+        return updated;
+    }
+
+    /**
+     * Records with an eventTimestamp in [from, to] whose key for the index ({@code indexKey}) is one of the
+     * {@code scope}'s month keys, oldest first; a null scope is the unscoped period index.
+     */
+    private void forEachInPeriods(String indexName, Function<ReportRecord, String> indexKey, String scope,
+                                  LocalDateTime from, LocalDateTime to, Consumer<ReportRecord> sink) {
+        if (from.isAfter(to)) return;
+        String lower = from.toString();
+        String upper = to.toString() + '\u0001';   // sorts after every upper + '\0' + reportId
+        for (String reportId : byTimestamp.subMap(lower, true, upper, false).values()) {
+            ReportRecord r = byId.get(reportId);
+            if (r == null) continue;
+            String period = ReportRecord.periodOf(r.getEventTimestamp());
+            String key = indexKey.apply(r);
+            if (period != null && key != null && ReportRecord.periodKeys(indexName, scope, period).contains(key)) {
+                sink.accept(copier.copy(r));
+            }
+        }
+    }
+
+    private void store(ReportRecord record) {
+        ReportRecord stored = copier.copy(record);
+        byId.compute(stored.getReportId(), (id, cur) -> {
+            if (cur != null) unindex(cur);
+            if (stored.getEventTimestamp() != null) byTimestamp.put(timestampKey(stored), id);
+            return stored;
+        });
+    }
+
+    private void unindex(ReportRecord r) {
+        if (r.getEventTimestamp() != null) byTimestamp.remove(timestampKey(r));
+    }
+
+    private static String timestampKey(ReportRecord r) {
+        return r.getEventTimestamp() + '\u0000' + r.getReportId();
+    }
+}
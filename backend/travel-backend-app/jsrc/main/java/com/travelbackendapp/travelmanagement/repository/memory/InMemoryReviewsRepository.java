@@ -0,0 +1,70 @@
+package com.travelbackendapp.travelmanagement.repository.memory;
+
+import com.travelbackendapp.travelmanagement.model.entity.ReviewItem;
+import com.travelbackendapp.travelmanagement.repository.ReviewsRepository;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/** {@link ReviewsRepository} kept in a map keyed by bookingId. */
+@Singleton
+public class InMemoryReviewsRepository implements ReviewsRepository {
+
+    private final Map<String, ReviewItem> reviews = new ConcurrentHashMap<>();
+    private final BeanCopier<ReviewItem> copier = new BeanCopier<>(ReviewItem.class);
+
+    @Inject
+    public InMemoryReviewsRepository() {
+    }
+
+    @Override
+    public List<ReviewItem> scanByTourId(String tourId) {
+        return scan(r -> tourId != null && tourId.equals(r.getTourId()));
+    }
+
+    @Override
+    public SdkIterable<Page<ReviewItem>> scanSegment(int segment, int totalSegments) {
+        List<ReviewItem> items = reviews.values().stream()
+                .filter(r -> Items.inSegment(r.getBookingId(), segment, totalSegments))
+                .map(r -> copier.project(r, "bookingId", "tourId", "rate", "createdAt"))
+                .collect(Collectors.toList());
+        return Items.pages(items, r -> Map.of("bookingId", Items.s(r.getBookingId())));
+    }
+
+    @Override
+    public ReviewItem getByBookingId(String bookingId) {
+        return copier.copy(reviews.get(bookingId));
+    }
+
+    @Override
+    public void put(ReviewItem item) {
+        reviews.put(item.getBookingId(), copier.copy(item));
+    }
+
+    @Override
+    public void update(ReviewItem item) {
+        reviews.put(item.getBookingId(), copier.copy(item));
+    }
+
+    @Override
+    public void deleteByBookingId(String bookingId) {
+        reviews.remove(bookingId);
+    }
+
+    @Override
+    public List<ReviewItem> scanByTourAndAuthor(String tourId, String authorId) {
+        return scan(r -> tourId != null && tourId.equals(r.getTourId())
+                && authorId != null && authorId.equals(r.getAuthorId()));
+    }
+
+    private List<ReviewItem> scan(Predicate<ReviewItem> filter) {
+        return reviews.values().stream().filter(filter).map(copier::copy).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,66 @@
+package com.travelbackendapp.travelmanagement.repository.memory;
+
+import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The tables more than one in-memory repository writes: tours, their inventory shards and bookings.
+ * <p>
+ * Conditional writes are {@link ConcurrentHashMap#compute} calls, which run once and atomically per key; a write
+ * that spans tables runs inside the compute of the first one. Nesting always goes tours, then shards, then bookings,
+ * so two writes never wait on each other in opposite order. Stored items are never mutated: every write stores a
+ * fresh copy and every read returns one.
+ */
+@Singleton
+public final class InMemoryTables {
+
+    final ConcurrentHashMap<String, TourItem> tours = new ConcurrentHashMap<>();
+    /** tourId -> seats per shard; replaced, never modified in place. */
+    final ConcurrentHashMap<String, int[]> shards = new ConcurrentHashMap<>();
+    /** userId -> bookingId -> booking, so a user's bookings come back in sort key order. */
+    final ConcurrentHashMap<String, ConcurrentSkipListMap<String, BookingItem>> bookings = new ConcurrentHashMap<>();
+
+    final BeanCopier<TourItem> tourCopier = new BeanCopier<>(TourItem.class);
+    final BeanCopier<BookingItem> bookingCopier = new BeanCopier<>(BookingItem.class);
+
+    @Inject
+    public InMemoryTables() {
+    }
+
+    /** Drops everything, e.g. between load test runs. */
+    public void clear() {
+        tours.clear();
+        shards.clear();
+        bookings.clear();
+    }
+
+    NavigableMap<String, BookingItem> bookingsOf(String userId) {
+        return bookings.computeIfAbsent(userId, k -> new ConcurrentSkipListMap<>());
+    }
+
+    void putBooking(BookingItem booking) {
+        bookingsOf(booking.getUserId()).put(booking.getBookingId(), bookingCopier.copy(booking));
+    }
+
+    /** Stored bookings (not copies) ordered by (userId, bookingId), the order resumable scans use. */
+    List<BookingItem> bookingsInKeyOrder() {
+        List<String> users = new ArrayList<>(bookings.keySet());
+        users.sort(Comparator.naturalOrder());
+        List<BookingItem> out = new ArrayList<>();
+        for (String userId : users) {
+            Map<String, BookingItem> byId = bookings.get(userId);
+            if (byId != null) out.addAll(byId.values());
+        }
+        return out;
+    }
+}
@@ -0,0 +1,144 @@
+package com.travelbackendapp.travelmanagement.repository.memory;
+
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import com.travelbackendapp.travelmanagement.repository.TourInventoryRepository;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link TourInventoryRepository} over {@link InMemoryTables}. All shards of a tour change in one atomic step,
+ * so a reservation succeeds exactly when the shards together hold enough seats, which is what the DynamoDB
+ * probe-then-split reservation converges to. Seats are taken starting at the sticky shard.
+ */
+@Singleton
+public class InMemoryTourInventoryRepository implements TourInventoryRepository {
+
+    private final InMemoryTables tables;
+
+    @Inject
+    public InMemoryTourInventoryRepository(InMemoryTables tables) {
+        this.tables = tables;
+    }
+
+    @Override
+    public Integer availableSeats(TourItem tour) {
+        if (!TourInventoryRepository.isSharded(tour)) return tour.getAvailablePackages();
+        int[] seats = tables.shards.get(tour.getTourId());
+        return seats == null ? 0 : total(seats);
+    }
+
+    @Override
+    public Map<Integer, Integer> readShards(String tourId, boolean consistent) {
+        Map<Integer, Integer> out = new TreeMap<>();
+        int[] seats = tables.shards.get(tourId);
+        if (seats != null) {
+            for (int shard = 0; shard < seats.length; shard++) out.put(shard, seats[shard]);
+        }
+        return out;
+    }
+
+    /**
+     * Takes {@code seats} from the tour's shards and runs {@code companion} (e.g. the booking write) in the same
+     * atomic step. Throws {@link software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException}
+     * when capacity is short.
+     */
+    void reserve(String tourId, int seats, String stickyKey, Runnable companion) {
+        tables.shards.compute(tourId, (id, cur) -> {
+            if (cur == null || total(cur) < seats) {
+                throw Items.transactionConditionFailed("not enough capacity", companion == null ? 1 : 2, 0);
+            }
+            int[] next = cur.clone();
+            int start = stickyKey == null
+                    ? ThreadLocalRandom.current().nextInt(next.length)
+                    : Math.floorMod(stickyKey.hashCode(), next.length);
+            int remaining = seats;
+            for (int i = 0; i < next.length && remaining > 0; i++) {
+                int shard = (start + i) % next.length;
+                int take = Math.min(remaining, Math.max(next[shard], 0));
+                next[shard] -= take;
+                remaining -= take;
+            }
+            if (companion != null) companion.run();
+            return next;
+        });
+    }
+
+    /**
+     * Returns seats to a random shard, or to availablePackages when the tour is no longer sharded;
+     * like the DynamoDB update, this creates the shard when it is missing.
+     */
+    void release(String tourId, int shardCount, int seats) {
+        tables.tours.compute(tourId, (id, cur) -> {
+            if (TourInventoryRepository.isSharded(cur)) {
+                tables.shards.compute(tourId, (sid, shards) -> {
+                    int[] next = shards == null ? new int[cur.getInventoryShards()] : shards.clone();
+                    next[ThreadLocalRandom.current().nextInt(next.length)] += seats;
+                    return next;
+                });
+                return cur;
+            }
+            TourItem next = cur == null ? new TourItem() : tables.tourCopier.copy(cur);
+            next.setTourId(tourId);
+            next.setAvailablePackages((next.getAvailablePackages() == null ? 0 : next.getAvailablePackages()) + seats);
+            return next;
+        });
+    }
+
+    @Override
+    public void enableSharding(String tourId, int expectedAvailable, int total, int shardCount) {
+        tables.tours.compute(tourId, (id, cur) -> {
+            if (cur == null || !Objects.equals(cur.getAvailablePackages(), expectedAvailable)) {
+                throw Items.transactionConditionFailed("availablePackages changed", shardCount + 1, 0);
+            }
+            TourItem next = tables.tourCopier.copy(cur);
+            next.setAvailablePackages(0);
+            next.setInventoryShards(shardCount);
+            tables.shards.put(tourId, TourInventoryRepository.split(total, shardCount));
+            return next;
+        });
+    }
+
+    @Override
+    public int disableSharding(String tourId) {
+        int[] folded = new int[1];
+        tables.tours.compute(tourId, (id, cur) -> {
+            int[] seats = tables.shards.remove(tourId);
+            folded[0] = seats == null ? 0 : total(seats);
+            TourItem next = cur == null ? new TourItem() : tables.tourCopier.copy(cur);
+            next.setTourId(tourId);
+            next.setAvailablePackages(folded[0]);
+            next.setInventoryShards(null);
+            return next;
+        });
+        return folded[0];
+    }
+
+    @Override
+    public int rebalance(String tourId, int shardCount) {
+        int[] moved = new int[1];
+        tables.shards.computeIfPresent(tourId, (id, cur) -> {
+            int[] next = Arrays.copyOf(cur, Math.max(cur.length, shardCount));
+            int total = 0;
+            for (int shard = 0; shard < shardCount; shard++) total += Math.max(next[shard], 0);
+            int[] target = TourInventoryRepository.split(total, shardCount);
+            for (int shard = 0; shard < shardCount; shard++) {
+                moved[0] += Math.max(Math.max(next[shard], 0) - target[shard], 0);
+                next[shard] = target[shard];
+            }
+            return next;
+        });
+        return moved[0];
+    }
+
+    private static int total(int[] seats) {
+        int total = 0;
+        for (int v : seats) total += Math.max(v, 0);
+        return total;
+    }
+}
@@ -0,0 +1,212 @@
+package com.travelbackendapp.travelmanagement.repository.memory;
+
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import com.travelbackendapp.travelmanagement.repository.ToursRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ToursRepository} over {@link InMemoryTables}: the scans filter the same attributes with the same
+ * comparisons as the DynamoDB filter expressions, and review updates are atomic instead of retried.
+ * There is no hot/cold split, so {@link #getDetailedById} is {@link #getById}.
+ */
+@Singleton
+public class InMemoryToursRepository implements ToursRepository {
+    private static final Logger log = LoggerFactory.getLogger(InMemoryToursRepository.class);
+
+    private final InMemoryTables tables;
+
+    @Inject
+    public InMemoryToursRepository(InMemoryTables tables) {
+        this.tables = tables;
+    }
+
+    @Override
+    public List<TourItem> findAvailableTours(String destination, String startDate, String endDate, String duration,
+                                             List<String> mealPlans, List<String> tourTypes,
+                                             Integer reqAdults, Integer reqChildren) {
+        String today = LocalDate.now(ZoneOffset.UTC).toString();
+        String dst = destination == null ? "" : destination.trim();
+        boolean anyDestination = dst.isEmpty() || "any destination".equalsIgnoreCase(dst);
+
+        Predicate<TourItem> match = t ->
+                (positive(t.getAvailablePackages()) || positive(t.getInventoryShards()))
+                        && t.getAgentEmail() != null && !t.getAgentEmail().isEmpty()
+                        && atLeast(t.getStartDate(), today)
+                        && (tourTypes == null || tourTypes.isEmpty() || tourTypes.contains(t.getTourType()))
+                        && (mealPlans == null || mealPlans.isEmpty()
+                            || (t.getMealPlans() != null && mealPlans.stream().anyMatch(t.getMealPlans()::contains)))
+                        && (duration == null || duration.isEmpty()
+                            || (t.getDurations() != null && t.getDurations().contains(duration)))
+                        && (reqAdults == null || (t.getMaxAdults() != null && t.getMaxAdults() >= reqAdults))
+                        && (reqChildren == null || (t.getMaxChildren() != null && t.getMaxChildren() >= reqChildren))
+                        && (startDate == null || startDate.isEmpty() || atLeast(t.getStartDate(), startDate))
+                        && (endDate == null || endDate.isEmpty() || atMost(t.getStartDate(), endDate))
+                        && (anyDestination || dst.equals(t.getDestination()));
+
+        return tables.tours.values().stream()
+                .filter(match)
+                .map(t -> tables.tourCopier.project(t, LIST_ATTRIBUTES))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> findDestinationsLike(String query, int limit) {
+        final String needle = query.toLowerCase(Locale.ROOT);
+        final Set<String> uniq = new LinkedHashSet<>();
+        for (TourItem t : tables.tours.values()) {
+            String dst = t.getDestination();
+            if (dst != null && dst.toLowerCase(Locale.ROOT).contains(needle)) {
+                uniq.add(dst);
+                if (uniq.size() >= limit) break;
+            }
+        }
+        return uniq.stream()
+                .sorted(Comparator.comparing(s -> s.toLowerCase(Locale.ROOT)))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<TourItem> getById(String tourId) {
+        return Optional.ofNullable(tables.tourCopier.copy(tables.tours.get(tourId)));
+    }
+
+    @Override
+    public Map<String, TourItem> findByIds(Collection<String> tourIds) {
+        Map<String, TourItem> found = new HashMap<>();
+        for (String tourId : tourIds) {
+            if (tourId != null) getById(tourId).ifPresent(t -> found.put(tourId, t));
+        }
+        return found;
+    }
+
+    @Override
+    public Optional<TourItem> getDetailedById(String tourId) {
+        return getById(tourId);
+    }
+
+    @Override
+    public void applyNewReview(String tourId, int newRate) {
+        TourItem updated = tables.tours.computeIfPresent(tourId, (id, cur) -> {
+            TourItem next = tables.tourCopier.copy(cur);
+            int count = cur.getReviews() == null ? 0 : cur.getReviews();
+            double avg = cur.getRating() == null ? 0.0 : cur.getRating();
+            next.setReviews(count + 1);
+            next.setRating(round2(((avg * count) + newRate) / (count + 1)));
+            return next;
+        });
+        if (updated == null) log.warn("applyNewReview: tour not found id={}", tourId);
+    }
+
+    @Override
+    public void updateReview(String tourId, int oldRate, int newRate) {
+        TourItem updated = tables.tours.computeIfPresent(tourId, (id, cur) -> {
+            int count = cur.getReviews() == null ? 0 : cur.getReviews();
+            if (count == 0) return cur;
+            double avg = cur.getRating() == null ? 0.0 : cur.getRating();
+            TourItem next = tables.tourCopier.copy(cur);
+            next.setRating(round2(((avg * count) - oldRate + newRate) / count));
+            return next;
+        });
+        if (updated == null) log.warn("updateReview: tour not found id={}", tourId);
+    }
+
+    @Override
+    public List<TourItem> findShardedTours() {
+        return tables.tours.values().stream()
+                .filter(t -> positive(t.getInventoryShards()))
+                .map(t -> tables.tourCopier.project(t, "tourId", "inventoryShards"))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<TourItem> listAll() {
+        return listAll(new String[0]);
+    }
+
+    @Override
+    public List<TourItem> listAll(String... attributes) {
+        return tables.tours.values().stream()
+                .map(t -> tables.tourCopier.project(t, attributes))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void save(TourItem tour) {
+        tables.tours.put(tour.getTourId(), tables.tourCopier.copy(tour));
+    }
+
+    @Override
+    public boolean update(TourItem tour, Long expectedVersion) {
+        return update(tour, expectedVersion, 0);
+    }
+
+    @Override
+    public boolean update(TourItem tour, Long expectedVersion, int seatsTaken) {
+        boolean[] written = {false};
+        tables.tours.computeIfPresent(tour.getTourId(), (id, cur) -> {
+            if (!Objects.equals(cur.getVersion(), expectedVersion)) return cur;
+            int seats = cur.getAvailablePackages() == null ? 0 : cur.getAvailablePackages();
+            if (seatsTaken != 0) {
+                boolean sharded = cur.getInventoryShards() != null && cur.getInventoryShards() > 0;
+                if (sharded || (seatsTaken > 0 && seats < seatsTaken)) throw Items.conditionFailed("not enough capacity");
+            }
+            TourItem next = tables.tourCopier.copy(tour);
+            next.setAvailablePackages(seatsTaken == 0 ? cur.getAvailablePackages() : seats - seatsTaken);
+            next.setInventoryShards(cur.getInventoryShards());
+            next.setRating(cur.getRating());
+            next.setReviews(cur.getReviews());
+            written[0] = true;
+            return next;
+        });
+        return written[0];
+    }
+
+    @Override
+    public void delete(String tourId) {
+        tables.tours.remove(tourId);
+    }
+
+    @Override
+    public List<TourItem> findByAgentEmail(String agentEmail) {
+        return tables.tours.values().stream()
+                .filter(t -> agentEmail != null && agentEmail.equals(t.getAgentEmail()))
+                .map(t -> tables.tourCopier.project(t, LIST_ATTRIBUTES))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean positive(Integer v) {
+        return v != null && v > 0;
+    }
+
+    // missing attributes fail comparisons, as in a filter expression
+    private static boolean atLeast(String v, String bound) {
+        return v != null && v.compareTo(bound) >= 0;
+    }
+
+    private static boolean atMost(String v, String bound) {
+        return v != null && v.compareTo(bound) <= 0;
+    }
+
+    private static double round2(double v) {
+        return Math.round(v * 100.0) / 100.0;
+    }
+}
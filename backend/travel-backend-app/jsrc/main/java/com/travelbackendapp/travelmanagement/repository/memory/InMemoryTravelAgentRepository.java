@@ -0,0 +1,62 @@
+package com.travelbackendapp.travelmanagement.repository.memory;
+
+import com.travelbackendapp.travelmanagement.model.entity.TravelAgent;
+import com.travelbackendapp.travelmanagement.repository.TravelAgentRepository;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/** {@link TravelAgentRepository} kept in a map keyed by email; reads are always current, so nothing is cached. */
+@Singleton
+public class InMemoryTravelAgentRepository implements TravelAgentRepository {
+
+    private final Map<String, TravelAgent> agents = new ConcurrentHashMap<>();
+    private final BeanCopier<TravelAgent> copier = new BeanCopier<>(TravelAgent.class);
+
+    @Inject
+    public InMemoryTravelAgentRepository() {
+    }
+
+    @Override
+    public TravelAgent findByEmail(String email) {
+        if (email == null || email.isBlank()) return null;
+        return copier.copy(agents.get(email));
+    }
+
+    @Override
+    public Map<String, TravelAgent> findByEmails(Collection<String> emails) {
+        Map<String, TravelAgent> found = new HashMap<>();
+        for (String email : emails) {
+            TravelAgent agent = findByEmail(email);
+            if (agent != null) found.put(email, agent);
+        }
+        return found;
+    }
+
+    @Override
+    public void invalidate(String email) {
+        // nothing cached
+    }
+
+    @Override
+    public TravelAgent save(TravelAgent travelAgent) {
+        agents.put(travelAgent.getEmail(), copier.copy(travelAgent));
+        return travelAgent;
+    }
+
+    @Override
+    public void deleteByEmail(String email) {
+        agents.remove(email);
+    }
+
+    @Override
+    public List<TravelAgent> findAll() {
+        return agents.values().stream().map(copier::copy).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,75 @@
+package com.travelbackendapp.travelmanagement.repository.memory;
+
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/** Paging, scan segments and the DynamoDB failure types, shared by the in-memory repositories. */
+final class Items {
+
+    /** Items per scan page; DynamoDB cuts pages at 1 MB, which is roughly this many tours or bookings. */
+    static final int PAGE_SIZE = 1000;
+
+    private Items() {}
+
+    /**
+     * {@code items} as scan pages; every page but the last carries the key of its last item,
+     * so callers that resume from {@code lastEvaluatedKey} work unchanged.
+     */
+    static <T> SdkIterable<Page<T>> pages(List<T> items, Function<T, Map<String, AttributeValue>> keyOf) {
+        return () -> new Iterator<>() {
+            private int from = 0;
+            private boolean emitted = false;
+
+            @Override
+            public boolean hasNext() {
+                // an empty scan still yields one empty page, as DynamoDB does
+                return from < items.size() || !emitted;
+            }
+
+            @Override
+            public Page<T> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                int to = Math.min(from + PAGE_SIZE, items.size());
+                List<T> page = Collections.unmodifiableList(new ArrayList<>(items.subList(from, to)));
+                Map<String, AttributeValue> lastKey = to < items.size() ? keyOf.apply(items.get(to - 1)) : null;
+                from = to;
+                emitted = true;
+                return Page.create(page, lastKey);
+            }
+        };
+    }
+
+    /** Whether a partition key falls into {@code segment} of a parallel scan over {@code totalSegments}. */
+    static boolean inSegment(String partitionKey, int segment, int totalSegments) {
+        return Math.floorMod(partitionKey.hashCode(), totalSegments) == segment;
+    }
+
+    static AttributeValue s(String v) {
+        return AttributeValue.builder().s(v).build();
+    }
+
+    /** What a transaction with a failed condition on one of its {@code itemCount} items throws. */
+    static TransactionCanceledException transactionConditionFailed(String message, int itemCount, int failedItem) {
+        List<CancellationReason> reasons = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            reasons.add(CancellationReason.builder().code(i == failedItem ? "ConditionalCheckFailed" : "None").build());
+        }
+        return TransactionCanceledException.builder().message(message).cancellationReasons(reasons).build();
+    }
+
+    static ConditionalCheckFailedException conditionFailed(String message) {
+        return ConditionalCheckFailedException.builder().message(message).build();
+    }
+}
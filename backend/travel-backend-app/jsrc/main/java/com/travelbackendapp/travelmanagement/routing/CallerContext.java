@@ -0,0 +1,149 @@
+package com.travelbackendapp.travelmanagement.routing;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.travelbackendapp.travelmanagement.model.entity.TravelAgent;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Who is calling, built once per request by {@link RequestRouter#route} from the Cognito authorizer claims.
+ * The travel agent record behind {@link #email()} is read only when a service first asks for it and then reused
+ * for the rest of the request; {@link #authNanos()} is the time spent on both.
+ */
+public final class CallerContext {
+
+    public enum Role {
+        CUSTOMER, TRAVEL_AGENT, ADMIN, NONE;
+
+        static Role parse(String claim) {
+            if (claim == null || claim.isBlank()) return NONE;
+            try {
+                return valueOf(claim.trim().toUpperCase(java.util.Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return NONE;
+            }
+        }
+    }
+
+    private static final CallerContext ANONYMOUS = new CallerContext(Map.of(), email -> null, 0);
+
+    private final Map<String, String> claims;
+    private final Role role;
+    private final Function<String, TravelAgent> agentLookup;
+    private long authNanos;
+
+    private boolean agentLoaded;
+    private TravelAgent agent;
+
+    private CallerContext(Map<String, String> claims, Function<String, TravelAgent> agentLookup, long parseNanos) {
+        this.claims = claims;
+        this.role = Role.parse(claims.get("custom:role"));
+        this.agentLookup = agentLookup;
+        this.authNanos = parseNanos;
+    }
+
+    /** Reads the authorizer claims of {@code event}; {@code agentLookup} resolves the caller's travel agent record on demand. */
+    public static CallerContext from(APIGatewayProxyRequestEvent event, Function<String, TravelAgent> agentLookup) {
+        long start = System.nanoTime();
+        Map<String, String> claims = Collections.emptyMap();
+        if (event != null && event.getRequestContext() != null && event.getRequestContext().getAuthorizer() != null) {
+            Object claimsObj = event.getRequestContext().getAuthorizer().get("claims");
+            if (claimsObj instanceof Map) {
+                Map<String, String> parsed = new HashMap<>();
+                ((Map<?, ?>) claimsObj).forEach((k, v) -> {
+                    if (k != null && v != null) parsed.put(k.toString(), v.toString());
+                });
+                claims = parsed;
+            }
+        }
+        return new CallerContext(claims, agentLookup, System.nanoTime() - start);
+    }
+
+    /** A caller without claims, for code paths outside API Gateway. */
+    public static CallerContext anonymous() {
+        return ANONYMOUS;
+    }
+
+    public String claim(String name) {
+        return claims.get(name);
+    }
+
+    /** Cognito user id. */
+    public String sub() {
+        return claims.get("sub");
+    }
+
+    public String email() {
+        return claims.get("email");
+    }
+
+    public String givenName() {
+        return claims.get("given_name");
+    }
+
+    public String familyName() {
+        return claims.get("family_name");
+    }
+
+    public String picture() {
+        return claims.get("picture");
+    }
+
+    public String phoneNumber() {
+        return claims.get("phone_number");
+    }
+
+    /** Role claimed by the token; verify with {@link #isRegisteredAgent()} or {@link #isRegisteredAdmin()} where it grants access. */
+    public Role role() {
+        return role;
+    }
+
+    public boolean hasEmail() {
+        String e = email();
+        return e != null && !e.isBlank();
+    }
+
+    public boolean is(Role r) {
+        return role == r;
+    }
+
+    public boolean isStaff() {
+        return role == Role.TRAVEL_AGENT || role == Role.ADMIN;
+    }
+
+    /** The travel agent record for {@link #email()}, or null; looked up at most once per request. */
+    public TravelAgent agent() {
+        if (!agentLoaded) {
+            long start = System.nanoTime();
+            agent = hasEmail() ? agentLookup.apply(email()) : null;
+            agentLoaded = true;
+            authNanos += System.nanoTime() - start;
+        }
+        return agent;
+    }
+
+    /** The caller has a travel agent record with role TRAVEL_AGENT or ADMIN. */
+    public boolean isRegisteredAgent() {
+        TravelAgent a = agent();
+        return a != null && ("TRAVEL_AGENT".equals(a.getRole()) || "ADMIN".equals(a.getRole()));
+    }
+
+    /** The caller has a travel agent record with role ADMIN. */
+    public boolean isRegisteredAdmin() {
+        TravelAgent a = agent();
+        return a != null && "ADMIN".equals(a.getRole());
+    }
+
+    /** Time spent parsing claims and verifying the agent record so far. */
+    public long authNanos() {
+        return authNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "CallerContext{role=" + role + ", email=" + email() + ", agentLoaded=" + agentLoaded + "}";
+    }
+}
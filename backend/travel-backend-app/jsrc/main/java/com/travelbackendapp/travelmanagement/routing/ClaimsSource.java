@@ -0,0 +1,76 @@
+package com.travelbackendapp.travelmanagement.routing;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Supplies the authorizer claims for requests served outside API Gateway, where no Cognito authorizer runs.
+ * Only for local and trusted deployments: none of these sources verify a token signature.
+ */
+@FunctionalInterface
+public interface ClaimsSource {
+
+    /** Claims for a request with the given headers, or an empty map for an anonymous caller. */
+    Map<String, Object> claims(Map<String, List<String>> headers);
+
+    /** No caller is ever authenticated. */
+    static ClaimsSource none() {
+        return headers -> Map.of();
+    }
+
+    /**
+     * Decodes the payload of the {@code Authorization: Bearer <id_token>} header without checking its signature,
+     * so tokens from {@code /auth/sign-in} carry the same claims they would behind the Cognito authorizer.
+     * Anyone can forge such a token; {@code TravelApiServer} only accepts this source on a loopback address.
+     */
+    static ClaimsSource unverifiedJwt(ObjectMapper mapper) {
+        return headers -> {
+            String auth = firstHeader(headers, "Authorization");
+            if (auth == null || !auth.regionMatches(true, 0, "Bearer ", 0, 7)) return Map.of();
+            String[] parts = auth.substring(7).trim().split("\\.");
+            if (parts.length < 2) return Map.of();
+            try {
+                byte[] payload = Base64.getUrlDecoder().decode(parts[1]);
+                return mapper.readValue(new String(payload, StandardCharsets.UTF_8), new TypeReference<Map<String, Object>>() {});
+            } catch (IllegalArgumentException | IOException e) {
+                return Map.of();
+            }
+        };
+    }
+
+    /** Every request is made by the caller described in a JSON file, e.g. {@code {"email": "...", "custom:role": "ADMIN"}}. */
+    static ClaimsSource fixed(ObjectMapper mapper, File file) {
+        Map<String, Object> claims;
+        try {
+            claims = Map.copyOf(mapper.readValue(file, new TypeReference<Map<String, Object>>() {}));
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to read claims from " + file, e);
+        }
+        return headers -> claims;
+    }
+
+    /** {@code none}, {@code jwt} or {@code file:<path>}. */
+    static ClaimsSource parse(String spec, ObjectMapper mapper) {
+        if (spec == null || spec.isBlank() || "none".equals(spec)) return none();
+        if ("jwt".equals(spec)) return unverifiedJwt(mapper);
+        if (spec.startsWith("file:")) return fixed(mapper, new File(spec.substring(5)));
+        throw new IllegalArgumentException("unknown claims source: " + spec + " (expected none, jwt or file:<path>)");
+    }
+
+    private static String firstHeader(Map<String, List<String>> headers, String name) {
+        for (Map.Entry<String, List<String>> e : headers.entrySet()) {
+            if (name.equalsIgnoreCase(e.getKey()) && e.getValue() != null && !e.getValue().isEmpty()) {
+                return e.getValue().get(0);
+            }
+        }
+        return null;
+    }
+}
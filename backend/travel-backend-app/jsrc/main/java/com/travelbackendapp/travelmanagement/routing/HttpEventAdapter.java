@@ -0,0 +1,121 @@
+package com.travelbackendapp.travelmanagement.routing;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts between a plain HTTP exchange and the API Gateway proxy events {@link RequestRouter} works with,
+ * so the standalone server runs exactly the code paths of the Lambda.
+ */
+public final class HttpEventAdapter {
+
+    private HttpEventAdapter() {}
+
+    /**
+     * Builds the event API Gateway would send: single-value parameters and headers keep the last value, as the
+     * REST proxy integration does, and an empty body is null.
+     */
+    public static APIGatewayProxyRequestEvent toEvent(String method, URI uri, Map<String, List<String>> headers,
+                                                      byte[] body, Map<String, Object> claims) {
+        APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+        event.setHttpMethod(method);
+        event.setPath(uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath());
+
+        Map<String, List<String>> multiQuery = parseQuery(uri.getRawQuery());
+        if (!multiQuery.isEmpty()) {
+            event.setMultiValueQueryStringParameters(multiQuery);
+            event.setQueryStringParameters(lastValues(multiQuery));
+        }
+        if (headers != null && !headers.isEmpty()) {
+            Map<String, List<String>> multiHeaders = new LinkedHashMap<>(headers);
+            event.setMultiValueHeaders(multiHeaders);
+            event.setHeaders(lastValues(multiHeaders));
+        }
+        event.setBody(body == null || body.length == 0 ? null : new String(body, StandardCharsets.UTF_8));
+        event.setIsBase64Encoded(false);
+
+        APIGatewayProxyRequestEvent.ProxyRequestContext requestContext = new APIGatewayProxyRequestEvent.ProxyRequestContext();
+        requestContext.setHttpMethod(method);
+        requestContext.setPath(event.getPath());
+        if (claims != null && !claims.isEmpty()) {
+            Map<String, Object> authorizer = new HashMap<>();
+            authorizer.put("claims", claims);
+            requestContext.setAuthorizer(authorizer);
+        }
+        event.setRequestContext(requestContext);
+        return event;
+    }
+
+    /** Reads the request of {@code exchange} into an event, with claims from {@code claimsSource}. */
+    public static APIGatewayProxyRequestEvent toEvent(HttpExchange exchange, ClaimsSource claimsSource) throws IOException {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readAllBytes();
+        }
+        Headers headers = exchange.getRequestHeaders();
+        return toEvent(exchange.getRequestMethod(), exchange.getRequestURI(), headers, body, claimsSource.claims(headers));
+    }
+
+    /** Sends {@code response} on {@code exchange}; a null response is a 500, as API Gateway reports a broken integration. */
+    public static void write(HttpExchange exchange, APIGatewayProxyResponseEvent response) throws IOException {
+        int status = response != null && response.getStatusCode() != null ? response.getStatusCode() : 500;
+        Headers out = exchange.getResponseHeaders();
+        if (response != null && response.getHeaders() != null) {
+            response.getHeaders().forEach(out::set);
+        }
+        if (response != null && response.getMultiValueHeaders() != null) {
+            response.getMultiValueHeaders().forEach((name, values) -> out.put(name, new ArrayList<>(values)));
+        }
+        byte[] body = responseBody(response);
+        boolean noBody = body.length == 0 || status == 204 || status == 304 || "HEAD".equalsIgnoreCase(exchange.getRequestMethod());
+        exchange.sendResponseHeaders(status, noBody ? -1 : body.length);
+        if (!noBody) {
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        }
+        exchange.close();
+    }
+
+    static byte[] responseBody(APIGatewayProxyResponseEvent response) {
+        if (response == null || response.getBody() == null) return new byte[0];
+        if (Boolean.TRUE.equals(response.getIsBase64Encoded())) return Base64.getDecoder().decode(response.getBody());
+        return response.getBody().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static Map<String, List<String>> parseQuery(String rawQuery) {
+        Map<String, List<String>> params = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return params;
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) continue;
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+        }
+        return params;
+    }
+
+    private static Map<String, String> lastValues(Map<String, List<String>> multi) {
+        Map<String, String> single = new LinkedHashMap<>();
+        multi.forEach((name, values) -> {
+            if (values != null && !values.isEmpty()) single.put(name, values.get(values.size() - 1));
+        });
+        return single;
+    }
+}
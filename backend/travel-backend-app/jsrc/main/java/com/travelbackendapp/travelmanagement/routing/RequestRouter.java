@@ -4,7 +4,11 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.travelbackendapp.travelmanagement.controller.AuthController;
+import com.travelbackendapp.travelmanagement.controller.ReportsController;
 import com.travelbackendapp.travelmanagement.controller.UsersController;
+import com.travelbackendapp.travelmanagement.metrics.Span;
+import com.travelbackendapp.travelmanagement.metrics.Tracer;
+import com.travelbackendapp.travelmanagement.repository.TravelAgentRepository;
 import com.travelbackendapp.travelmanagement.service.AiChatService;
 import com.travelbackendapp.travelmanagement.service.BookingsService;
 import com.travelbackendapp.travelmanagement.service.ToursService;
@@ -13,6 +17,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
+import java.util.Locale;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -24,8 +30,11 @@ public class RequestRouter {
     private final AiChatService aiChatService;
     private final UsersController usersController;
     private final TravelAgentsService travelAgentsService;
+    private final ReportsController reportsController;
+    private final TravelAgentRepository agentsRepo;
     private static final Pattern TOUR_DETAILS = Pattern.compile("^/tours/([^/]+)$");
     private static final Pattern TOUR_REVIEWS = Pattern.compile("^/tours/([^/]+)/feedbacks$");
+    private static final Pattern TOUR_QUOTE = Pattern.compile("^/tours/([^/]+)/quote$");
     private static final Pattern BOOKING_ID = Pattern.compile("^/bookings/([^/]+)$");
     private static final Pattern BOOKING_CONFIRM = Pattern.compile("^/bookings/([^/]+)/confirm$");
     private static final Pattern BOOKING_DOCUMENTS = Pattern.compile("^/bookings/([^/]+)/documents$");
@@ -34,17 +43,23 @@ public class RequestRouter {
     private static final Pattern USER_PASSWORD = Pattern.compile("^/users/([^/]+)/password$");
     private static final Pattern USER_IMAGE = Pattern.compile("^/users/([^/]+)/image$");
     private static final Pattern TRAVEL_AGENT_EMAIL = Pattern.compile("^/admin/travel-agents/([^/]+)$");
+    private static final Pattern BOOKING_DOCUMENT = Pattern.compile("^/bookings/[^/]+/documents/.+$");
+    private static final Set<String> FIXED_PATHS = Set.of(
+            "/tours/available", "/tours/destinations", "/tours/my", "/tours", "/bookings", "/auth/sign-up",
+            "/auth/sign-in", "/ai/chat", "/admin/travel-agents", "/admin/reports/snapshots/rebuild");
 
 
 
     @Inject
-    public RequestRouter(ToursService toursService, AuthController authController, BookingsService bookingsService, AiChatService aiChatService, UsersController usersController, TravelAgentsService travelAgentsService) {
+    public RequestRouter(ToursService toursService, AuthController authController, BookingsService bookingsService, AiChatService aiChatService, UsersController usersController, TravelAgentsService travelAgentsService, ReportsController reportsController, TravelAgentRepository agentsRepo) {
         this.toursService = toursService;
         this.authController = authController;
         this.bookingsService = bookingsService;
         this.aiChatService = aiChatService;
         this.usersController = usersController;
         this.travelAgentsService = travelAgentsService;
+        this.reportsController = reportsController;
+        this.agentsRepo = agentsRepo;
     }
 
     public APIGatewayProxyResponseEvent route(APIGatewayProxyRequestEvent event, Context ctx) {
@@ -52,35 +67,86 @@ public class RequestRouter {
         if ("OPTIONS".equalsIgnoreCase(method)) {
             return com.travelbackendapp.travelmanagement.util.HttpResponses.empty(204);
         }
+        // One trace per request; services, repositories and AWS calls below open their spans under it
+        Span trace = Tracer.startTrace(routeOf(event));
+        try {
+            // Claims are parsed once here; the caller's agent record is read only if a service asks for it
+            CallerContext caller = CallerContext.from(event, agentsRepo::findByEmail);
+            APIGatewayProxyResponseEvent response = dispatch(event, caller, ctx);
+            if (log.isDebugEnabled()) {
+                log.debug("Caller role={} auth={}us", caller.role(), caller.authNanos() / 1000);
+            }
+            trace.attr("role", caller.role()).attr("status", response != null ? response.getStatusCode() : null);
+            return response;
+        } catch (RuntimeException e) {
+            trace.error(e);
+            throw e;
+        } finally {
+            trace.close();
+        }
+    }
 
+    /**
+     * The route template of a request, e.g. {@code GET /tours/{id}}, for metrics: ids never end up in a dimension,
+     * and paths no route serves collapse into {@code <METHOD> unmatched}.
+     */
+    public static String routeOf(APIGatewayProxyRequestEvent event) {
+        String method = event.getHttpMethod() == null ? "ANY" : event.getHttpMethod().toUpperCase(Locale.ROOT);
+        String path = pathOf(event);
+        String template;
+        if (path == null) template = "unmatched";
+        else if (FIXED_PATHS.contains(path)) template = path;
+        else if (TOUR_DETAILS.matcher(path).matches()) template = "/tours/{id}";
+        else if (TOUR_REVIEWS.matcher(path).matches()) template = "/tours/{id}/feedbacks";
+        else if (TOUR_QUOTE.matcher(path).matches()) template = "/tours/{id}/quote";
+        else if (BOOKING_ID.matcher(path).matches()) template = "/bookings/{id}";
+        else if (BOOKING_CONFIRM.matcher(path).matches()) template = "/bookings/{id}/confirm";
+        else if (BOOKING_DOCUMENTS.matcher(path).matches()) template = "/bookings/{id}/documents";
+        else if (BOOKING_DOCUMENT.matcher(path).matches()) template = "/bookings/{id}/documents/{documentId}";
+        else if (USER_GET.matcher(path).matches()) template = "/users/{id}";
+        else if (USER_NAME.matcher(path).matches()) template = "/users/{id}/name";
+        else if (USER_PASSWORD.matcher(path).matches()) template = "/users/{id}/password";
+        else if (USER_IMAGE.matcher(path).matches()) template = "/users/{id}/image";
+        else if (TRAVEL_AGENT_EMAIL.matcher(path).matches()) template = "/admin/travel-agents/{email}";
+        else template = "unmatched";
+        return method + " " + template;
+    }
 
+    /** The request path without the API Gateway stage prefix. */
+    private static String pathOf(APIGatewayProxyRequestEvent event) {
         String path = event.getPath();
         String stage = event.getRequestContext() != null ? event.getRequestContext().getStage() : null;
-        String httpMethod = event.getHttpMethod();
-
         if (stage != null && path != null && path.startsWith("/" + stage)) {
             path = path.substring(stage.length() + 1);
         }
+        return path;
+    }
+
+    private APIGatewayProxyResponseEvent dispatch(APIGatewayProxyRequestEvent event, CallerContext caller, Context ctx) {
+
+        String path = pathOf(event);
+        String httpMethod = event.getHttpMethod();
+
         log.info("Routing path={}", path);
 
         if ("/tours/available".equals(path)) return toursService.getAvailableTours(event);
         if ("/tours/destinations".equals(path)) return toursService.getDestinations(event);
         if ("/tours/my".equals(path) && "GET".equalsIgnoreCase(httpMethod)) {
-            return toursService.getMyTours(event);
+            return toursService.getMyTours(event, caller);
         }
         if ("/tours".equals(path) && "POST".equalsIgnoreCase(httpMethod)) {
-            return toursService.createTour(event);
+            return toursService.createTour(event, caller);
         }
         if ("/bookings".equals(path) && "POST".equalsIgnoreCase(httpMethod)) {
-            return bookingsService.create(event);
+            return bookingsService.create(event, caller);
         }
         if ("/bookings".equals(path) && "GET".equalsIgnoreCase(httpMethod)) {
-            return bookingsService.view(event);
+            return bookingsService.view(event, caller);
         }
         Matcher m = TOUR_DETAILS.matcher(path);
         if (m.matches()) {
-            if ("PUT".equalsIgnoreCase(httpMethod)) return toursService.updateTour(event, m.group(1));
-            if ("DELETE".equalsIgnoreCase(httpMethod)) return toursService.deleteTour(event, m.group(1));
+            if ("PUT".equalsIgnoreCase(httpMethod)) return toursService.updateTour(event, caller, m.group(1));
+            if ("DELETE".equalsIgnoreCase(httpMethod)) return toursService.deleteTour(event, caller, m.group(1));
             return toursService.getTourDetails(event, m.group(1));
         }
 
@@ -88,41 +154,46 @@ public class RequestRouter {
         if (mr.matches()) {
             String id = mr.group(1);
             if ("GET".equalsIgnoreCase(httpMethod)) return toursService.getTourReviews(event, id);
-            if ("POST".equalsIgnoreCase(httpMethod)) return toursService.postTourReview(event, id);
+            if ("POST".equalsIgnoreCase(httpMethod)) return toursService.postTourReview(event, caller, id);
+        }
+
+        Matcher mq = TOUR_QUOTE.matcher(path);
+        if (mq.matches() && "GET".equalsIgnoreCase(httpMethod)) {
+            return toursService.getTourQuote(event, mq.group(1));
         }
 
         Matcher mb = BOOKING_ID.matcher(path);
         if (mb.matches()) {
             String id = mb.group(1);
-            if ("PATCH".equalsIgnoreCase(httpMethod)) return bookingsService.update(event, id);
-            if ("DELETE".equalsIgnoreCase(httpMethod)) return bookingsService.cancel(event, id);
+            if ("PATCH".equalsIgnoreCase(httpMethod)) return bookingsService.update(event, caller, id);
+            if ("DELETE".equalsIgnoreCase(httpMethod)) return bookingsService.cancel(event, caller, id);
         }
 
         Matcher mc = BOOKING_CONFIRM.matcher(path);
         if (mc.matches()) {
             String id = mc.group(1);
-            if ("POST".equalsIgnoreCase(httpMethod)) return bookingsService.confirm(event, id);
+            if ("POST".equalsIgnoreCase(httpMethod)) return bookingsService.confirm(event, caller, id);
         }
 
         Matcher md = BOOKING_DOCUMENTS.matcher(path);
         if (md.matches()) {
             String id = md.group(1);
-            if ("POST".equalsIgnoreCase(httpMethod)) return bookingsService.uploadDocuments(event, id);
+            if ("POST".equalsIgnoreCase(httpMethod)) return bookingsService.uploadDocuments(event, caller, id);
         }
 
         if (path != null && path.matches("^/bookings/[^/]+/documents$")) {
             String[] parts = path.split("/");
             String bookingId = parts[2]; // "/bookings/{id}/documents"
             if ("GET".equalsIgnoreCase(event.getHttpMethod())) {
-                return bookingsService.listDocuments(event, bookingId);
+                return bookingsService.listDocuments(event, caller, bookingId);
             }
         }
 
-        if ("DELETE".equalsIgnoreCase(httpMethod) && path != null && path.matches("^/bookings/[^/]+/documents/.+$")) {
+        if ("DELETE".equalsIgnoreCase(httpMethod) && path != null && BOOKING_DOCUMENT.matcher(path).matches()) {
             String[] parts = path.split("/");
             String bookingId = parts[2]; // /bookings/{id}/documents/{documentId}
             String documentId = parts[4];
-            return bookingsService.deleteDocument(event, bookingId, documentId);
+            return bookingsService.deleteDocument(event, caller, bookingId, documentId);
         }
 
 
@@ -161,15 +232,19 @@ public class RequestRouter {
 
         // Admin travel agent management routes
         if ("/admin/travel-agents".equals(path) && "POST".equalsIgnoreCase(httpMethod)) {
-            return travelAgentsService.createTravelAgent(event);
+            return travelAgentsService.createTravelAgent(event, caller);
         }
         if ("/admin/travel-agents".equals(path) && "GET".equalsIgnoreCase(httpMethod)) {
-            return travelAgentsService.listTravelAgents(event);
+            return travelAgentsService.listTravelAgents(event, caller);
         }
         Matcher ta = TRAVEL_AGENT_EMAIL.matcher(path);
         if (ta.matches() && "DELETE".equalsIgnoreCase(httpMethod)) {
             String email = java.net.URLDecoder.decode(ta.group(1), java.nio.charset.StandardCharsets.UTF_8);
-            return travelAgentsService.deleteTravelAgent(event, email);
+            return travelAgentsService.deleteTravelAgent(event, caller, email);
+        }
+
+        if ("/admin/reports/snapshots/rebuild".equals(path) && "POST".equalsIgnoreCase(httpMethod)) {
+            return reportsController.rebuildSnapshots(event, caller, ctx);
         }
 
         log.warn("No route matched path={}", path);
@@ -0,0 +1,124 @@
+package com.travelbackendapp.travelmanagement.service;
+
+import com.travelbackendapp.travelmanagement.model.entity.ArchivedBooking;
+import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
+import com.travelbackendapp.travelmanagement.model.entity.DocumentRecord;
+import com.travelbackendapp.travelmanagement.repository.BookingArchiveRepository;
+import com.travelbackendapp.travelmanagement.repository.BookingsStatusRepository;
+import com.travelbackendapp.travelmanagement.repository.DocumentsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Moves FINISHED and CANCELLED bookings that started more than {@code ARCHIVE_AFTER_DAYS} ago out of the hot table.
+ * Per scan page: the bookings and their document records are written to S3 grouped by booking month,
+ * then each booking is overwritten by a tombstone pointing at its archive object and its document records are deleted.
+ * S3 is written first, so a failure in between leaves a booking both archived and live, and the next run archives it again.
+ */
+@Singleton
+public class BookingArchiver {
+    private static final Logger log = LoggerFactory.getLogger(BookingArchiver.class);
+
+    private final BookingsStatusRepository bookingsRepo;
+    private final DocumentsRepository documentsRepo;
+    private final BookingArchiveRepository archiveRepo;
+    private final int archiveAfterDays;
+
+    @Inject
+    public BookingArchiver(BookingsStatusRepository bookingsRepo,
+                           DocumentsRepository documentsRepo,
+                           BookingArchiveRepository archiveRepo,
+                           @Named("ARCHIVE_AFTER_DAYS") int archiveAfterDays) {
+        this.bookingsRepo = bookingsRepo;
+        this.documentsRepo = documentsRepo;
+        this.archiveRepo = archiveRepo;
+        this.archiveAfterDays = archiveAfterDays;
+    }
+
+    /**
+     * Archives eligible bookings until the scan ends or {@code remainingMs} drops below {@code reserveMs};
+     * whatever is left is picked up by the next run.
+     */
+    public Result run(LocalDate today, LongSupplier remainingMs, long reserveMs) {
+        String before = today.minusDays(archiveAfterDays).toString();
+        String runId = today.toString().replace("-", "") + "-" + UUID.randomUUID().toString().substring(0, 8);
+        Result result = new Result(before);
+
+        for (Page<BookingItem> page : bookingsRepo.scanArchivable(before)) {
+            if (!page.items().isEmpty()) archivePage(page.items(), runId, result);
+            if (remainingMs.getAsLong() < reserveMs) {
+                result.complete = false;
+                break;
+            }
+        }
+        return result;
+    }
+
+    private void archivePage(List<BookingItem> bookings, String runId, Result result) {
+        long now = System.currentTimeMillis();
+        Map<String, List<ArchivedBooking>> byMonth = new TreeMap<>();
+        List<DocumentRecord> docs = new ArrayList<>();
+        for (BookingItem b : bookings) {
+            List<DocumentRecord> bookingDocs = documentsRepo.listByBookingId(b.getBookingId());
+            docs.addAll(bookingDocs);
+            byMonth.computeIfAbsent(month(b), m -> new ArrayList<>()).add(new ArchivedBooking(b, bookingDocs, now));
+        }
+
+        List<BookingItem> tombstones = new ArrayList<>(bookings.size());
+        for (Map.Entry<String, List<ArchivedBooking>> e : byMonth.entrySet()) {
+            String key = BookingArchiveRepository.objectKey(e.getKey(), runId, result.objects++);
+            archiveRepo.write(key, e.getValue());
+            for (ArchivedBooking a : e.getValue()) tombstones.add(tombstone(a.getBooking(), key));
+        }
+
+        bookingsRepo.replaceWithTombstones(tombstones);
+        documentsRepo.deleteAll(docs);
+        result.bookings += tombstones.size();
+        result.documents += docs.size();
+        log.info("Archived page: bookings={} documents={} objects={}", tombstones.size(), docs.size(), byMonth.size());
+    }
+
+    /** Keys, status and the lookup attributes other paths filter on; everything else lives in the archive. */
+    static BookingItem tombstone(BookingItem b, String archiveKey) {
+        BookingItem t = new BookingItem();
+        t.setUserId(b.getUserId());
+        t.setBookingId(b.getBookingId());
+        t.setStatus(b.getStatus());
+        t.setTourId(b.getTourId());
+        t.setAgentEmail(b.getAgentEmail());
+        t.setStartDate(b.getStartDate());
+        t.setArchiveKey(archiveKey);
+        return t;
+    }
+
+    /** Booking month (yyyy-MM) from the date-prefixed bookingId, falling back to the start date. */
+    static String month(BookingItem b) {
+        String id = b.getBookingId();
+        if (id != null && id.length() >= 7 && id.charAt(4) == '-') return id.substring(0, 7);
+        return b.getStartDate().substring(0, 7);
+    }
+
+    public static final class Result {
+        public final String startedBefore;
+        public int bookings;
+        public int documents;
+        public int objects;
+        public boolean complete = true;
+
+        Result(String startedBefore) {
+            this.startedBefore = startedBefore;
+        }
+    }
+}
@@ -2,15 +2,16 @@ package com.travelbackendapp.travelmanagement.service;
 
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.travelbackendapp.travelmanagement.routing.CallerContext;
 
 public interface BookingsService {
-    APIGatewayProxyResponseEvent create(APIGatewayProxyRequestEvent event);
-    APIGatewayProxyResponseEvent view(APIGatewayProxyRequestEvent event);
-    APIGatewayProxyResponseEvent update(APIGatewayProxyRequestEvent event, String bookingId);
-    APIGatewayProxyResponseEvent cancel(APIGatewayProxyRequestEvent event, String bookingId);
-    APIGatewayProxyResponseEvent confirm(APIGatewayProxyRequestEvent event, String bookingId);
-    APIGatewayProxyResponseEvent uploadDocuments(APIGatewayProxyRequestEvent event, String bookingId);
-    APIGatewayProxyResponseEvent listDocuments(APIGatewayProxyRequestEvent event, String bookingId);
-    APIGatewayProxyResponseEvent deleteDocument(APIGatewayProxyRequestEvent event, String bookingId, String documentId);
+    APIGatewayProxyResponseEvent create(APIGatewayProxyRequestEvent event, CallerContext caller);
+    APIGatewayProxyResponseEvent view(APIGatewayProxyRequestEvent event, CallerContext caller);
+    APIGatewayProxyResponseEvent update(APIGatewayProxyRequestEvent event, CallerContext caller, String bookingId);
+    APIGatewayProxyResponseEvent cancel(APIGatewayProxyRequestEvent event, CallerContext caller, String bookingId);
+    APIGatewayProxyResponseEvent confirm(APIGatewayProxyRequestEvent event, CallerContext caller, String bookingId);
+    APIGatewayProxyResponseEvent uploadDocuments(APIGatewayProxyRequestEvent event, CallerContext caller, String bookingId);
+    APIGatewayProxyResponseEvent listDocuments(APIGatewayProxyRequestEvent event, CallerContext caller, String bookingId);
+    APIGatewayProxyResponseEvent deleteDocument(APIGatewayProxyRequestEvent event, CallerContext caller, String bookingId, String documentId);
 
 }
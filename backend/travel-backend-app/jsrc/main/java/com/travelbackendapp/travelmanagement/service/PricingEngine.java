@@ -0,0 +1,194 @@
+package com.travelbackendapp.travelmanagement.service;
+
+import com.travelbackendapp.travelmanagement.exceptions.BadRequestException;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prices bookings from a per-tour table compiled once per tour version:
+ * days -> (canonical duration key, base price per person) and meal code -> supplement per day per person.
+ * Shared by booking create/update and the quote endpoint so all three price identically.
+ */
+@Singleton
+public class PricingEngine {
+
+    private final Map<String, PriceTable> tables = new ConcurrentHashMap<>();
+
+    @Inject
+    public PricingEngine() {}
+
+    /**
+     * Prices {@code seats} guests for the given duration ("7 days") and meal plan ("BB" or "Breakfast (BB)").
+     * Throws {@link BadRequestException} with the booking API's messages when the selection is not offered.
+     */
+    public Quote quote(TourItem tour, String duration, String mealPlan, int seats) {
+        PriceTable t = tableFor(tour);
+
+        int days = parseDays(duration);
+        PriceTable.DurationPrice dp = days > 0 ? t.byDays.get(days) : null;
+        if (dp == null) {
+            throw new BadRequestException("selected duration is not available for this tour");
+        }
+
+        String mealCode = normalizeMealPlanToCode(mealPlan);
+        if (mealCode == null || !t.mealCodes.contains(mealCode.toUpperCase(Locale.ROOT))) {
+            throw new BadRequestException("selected meal plan is not available for this tour");
+        }
+        if (dp.basePerPerson == null) {
+            throw new BadRequestException("selected duration has no price configured");
+        }
+
+        double supplement = t.supplements.getOrDefault(mealCode.toUpperCase(Locale.ROOT), 0.0);
+        double total = dp.basePerPerson * seats + (supplement * days * seats);
+        return new Quote(dp.key, days, mealCode, seats, dp.basePerPerson, supplement, total);
+    }
+
+    /** Returns the compiled table for the tour, recompiling only when its version changed. */
+    PriceTable tableFor(TourItem tour) {
+        long version = tour.getVersion() == null ? 0L : tour.getVersion();
+        PriceTable cached = tables.get(tour.getTourId());
+        if (cached != null && cached.version == version) return cached;
+
+        PriceTable compiled = PriceTable.compile(tour, version);
+        tables.put(tour.getTourId(), compiled);
+        return compiled;
+    }
+
+    /** Drops the compiled table, e.g. after the tour is deleted. */
+    public void evict(String tourId) {
+        tables.remove(tourId);
+    }
+
+    /** Extract integer day count from strings like "7 days". */
+    public static int parseDays(String durationStr) {
+        if (durationStr == null) return -1;
+        String s = durationStr.trim().toLowerCase(Locale.ROOT);
+        int i = 0;
+        while (i < s.length() && !Character.isDigit(s.charAt(i))) i++;
+        int j = i;
+        while (j < s.length() && Character.isDigit(s.charAt(j))) j++;
+        if (i < j) {
+            try {
+                return Integer.parseInt(s.substring(i, j));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Normalize meal plan to code (BB/HB/FB/AI). Accepts "BB" or "Breakfast (BB)".
+     */
+    public static String normalizeMealPlanToCode(String raw) {
+        if (raw == null) return null;
+        String s = raw.trim();
+        int li = s.lastIndexOf('(');
+        int ri = s.lastIndexOf(')');
+        if (li >= 0 && ri > li + 1) {
+            String code = s.substring(li + 1, ri).trim();
+            if (!code.isEmpty()) return code;
+        }
+        return s.toUpperCase(Locale.ROOT);
+    }
+
+    /** Immutable pricing view of one tour version. */
+    static final class PriceTable {
+        final long version;
+        final Map<Integer, DurationPrice> byDays;
+        final Set<String> mealCodes;          // upper-case
+        final Map<String, Double> supplements; // upper-case code -> per day per person
+
+        private PriceTable(long version, Map<Integer, DurationPrice> byDays,
+                           Set<String> mealCodes, Map<String, Double> supplements) {
+            this.version = version;
+            this.byDays = byDays;
+            this.mealCodes = mealCodes;
+            this.supplements = supplements;
+        }
+
+        static PriceTable compile(TourItem tour, long version) {
+            // days -> price from priceByDuration, by exact key first, then by any key with the same day count
+            Map<String, Double> priceMap = tour.getPriceByDuration() == null ? Map.of() : tour.getPriceByDuration();
+            Map<Integer, Double> priceByDays = new HashMap<>();
+            for (Map.Entry<String, Double> e : priceMap.entrySet()) {
+                int d = parseDays(e.getKey());
+                if (d > 0 && e.getValue() != null) priceByDays.putIfAbsent(d, e.getValue());
+            }
+            Double fallback = tour.getPriceFrom() != null && tour.getPriceFrom() > 0 ? tour.getPriceFrom() : null;
+
+            Map<Integer, DurationPrice> byDays = new HashMap<>();
+            List<String> durations = tour.getDurations() == null ? List.of() : tour.getDurations();
+            for (String key : durations) {
+                int d = parseDays(key);
+                if (d <= 0 || byDays.containsKey(d)) continue; // first offered key wins
+                Double base = priceMap.get(key);
+                if (base == null) base = priceByDays.get(d);
+                if (base == null) base = fallback;
+                byDays.put(d, new DurationPrice(key, base));
+            }
+
+            Set<String> mealCodes = new HashSet<>();
+            if (tour.getMealPlans() != null) {
+                for (String m : tour.getMealPlans()) {
+                    if (m != null) mealCodes.add(m.toUpperCase(Locale.ROOT));
+                }
+            }
+
+            Map<String, Double> supplements = new HashMap<>();
+            if (tour.getMealSupplementsPerDay() != null) {
+                for (Map.Entry<String, Double> e : tour.getMealSupplementsPerDay().entrySet()) {
+                    if (e.getKey() != null && e.getValue() != null) {
+                        supplements.putIfAbsent(e.getKey().toUpperCase(Locale.ROOT), e.getValue());
+                    }
+                }
+            }
+
+            return new PriceTable(version,
+                    Collections.unmodifiableMap(byDays),
+                    Collections.unmodifiableSet(mealCodes),
+                    Collections.unmodifiableMap(supplements));
+        }
+
+        static final class DurationPrice {
+            final String key;
+            final Double basePerPerson;
+
+            DurationPrice(String key, Double basePerPerson) {
+                this.key = key;
+                this.basePerPerson = basePerPerson;
+            }
+        }
+    }
+
+    /** Result of pricing one selection. */
+    public static final class Quote {
+        public final String durationKey;
+        public final int days;
+        public final String mealCode;
+        public final int seats;
+        public final double basePerPerson;
+        public final double supplementPerDayPerPerson;
+        public final double total;
+
+        Quote(String durationKey, int days, String mealCode, int seats,
+              double basePerPerson, double supplementPerDayPerPerson, double total) {
+            this.durationKey = durationKey;
+            this.days = days;
+            this.mealCode = mealCode;
+            this.seats = seats;
+            this.basePerPerson = basePerPerson;
+            this.supplementPerDayPerPerson = supplementPerDayPerPerson;
+            this.total = total;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.travelbackendapp.travelmanagement.service;
+
+import com.travelbackendapp.travelmanagement.repository.ReportsRepository;
+import com.travelbackendapp.travelmanagement.util.S3MultipartOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Streams the scheduled reports as CSV into S3, one row per agent or tour as soon as it is computed, and returns a
+ * presigned download link. Nothing but the current row and one upload part is held in memory, unlike the HTML
+ * preview which builds every row into the Lambda response.
+ * Objects are written to {@code reports/<type>/<period>-<year>-<yyyyMMdd-HHmmss>.csv}.
+ */
+@Singleton
+public class ReportCsvExporter {
+    private static final Logger log = LoggerFactory.getLogger(ReportCsvExporter.class);
+
+    static final String PREFIX = "reports/";
+    /** Upper bound; a link signed with the Lambda role's session credentials stops working when the session expires. */
+    static final Duration LINK_TTL = Duration.ofDays(7);
+    private static final DateTimeFormatter RUN_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    static final List<String> AGENT_COLUMNS = List.of(
+            "TA e-mail", "Report period start", "Report period end", "Tours sold",
+            "Delta of tours sold to previous period %",
+            "Average Feedback rate for Travel experience (1 to 5)",
+            "Minimum Feedback rate for Travel experience (1 to 5)",
+            "Delta of Average Feedback rate to previous period %",
+            "Revenue for tours finished within reported period (USD)",
+            "Delta of revenue to previous period %");
+
+    static final List<String> TOUR_COLUMNS = List.of(
+            "Tour name", "Destination country", "Destination city", "Report period start", "Report period end", "Tours sold",
+            "Delta of tours sold to previous period %",
+            "Average Feedback rate for Travel experience (1 to 5)",
+            "Minimum Feedback rate for Travel experience (1 to 5)",
+            "Delta of Average Feedback rate to previous period %",
+            "Revenue for tours finished within reported period (USD)",
+            "Delta of revenue to previous period %");
+
+    private final TravelReportsService reportsService;
+    private final ReportsRepository reportsRepository;
+    private final S3Client s3;
+    private final S3Presigner presigner;
+    private final Provider<String> bucket;
+
+    @Inject
+    public ReportCsvExporter(TravelReportsService reportsService, ReportsRepository reportsRepository, S3Client s3,
+                             S3Presigner presigner, @Named("REPORTS_EXPORT_BUCKET") Provider<String> bucket) {
+        this.reportsService = reportsService;
+        this.reportsRepository = reportsRepository;
+        this.s3 = s3;
+        this.presigner = presigner;
+        this.bucket = bucket;
+    }
+
+    /** One row per agent found in the reports table; an agent whose report fails is logged and left out. */
+    public Export exportAgents(String period, Integer year) {
+        String[] dates = periodDates(period, year);
+        Set<String> agentEmails = reportsRepository.findAgentEmails();
+        log.info("Exporting {} agents for {} {}", agentEmails.size(), period, year);
+        return write("agents", period, year, AGENT_COLUMNS, row -> {
+            for (String agentEmail : agentEmails) {
+                Map<String, Object> r;
+                try {
+                    r = reportsService.generateTravelAgentPerformanceReport(agentEmail, period, year, "ADMIN");
+                } catch (Exception e) {
+                    log.warn("Skipping agent {} in export: {}", agentEmail, e.getMessage());
+                    continue;
+                }
+                row.accept(Arrays.asList(
+                        agentEmail, dates[0], dates[1],
+                        r.get("toursProcessed"), r.get("toursProcessedDelta"),
+                        r.get("averageFeedbackRate"), r.get("minimumFeedbackRate"), r.get("averageFeedbackRateDelta"),
+                        r.get("revenue"), r.get("revenueDelta")));
+            }
+        });
+    }
+
+    /** One row per tour sold in the period. */
+    public Export exportTours(String period, Integer year) {
+        String[] dates = periodDates(period, year);
+        return write("tours", period, year, TOUR_COLUMNS, row ->
+                reportsService.forEachTourSalesDetails(period, year, "ADMIN", t -> row.accept(Arrays.asList(
+                        t.get("name"), t.get("destination"), t.get("hotelName"), dates[0], dates[1],
+                        t.get("bookingsCount"), t.get("toursSoldDelta"),
+                        t.get("averageRating"), t.get("minimumRating"), t.get("averageFeedbackDelta"),
+                        t.get("revenue"), t.get("revenueDelta")))));
+    }
+
+    private Export write(String type, String period, Integer year, List<String> columns, RowSource source) {
+        String key = PREFIX + type + "/" + period.toUpperCase(Locale.ROOT) + "-" + year + "-" + LocalDateTime.now().format(RUN_STAMP) + ".csv";
+        String bucketName = bucket.get();
+        S3MultipartOutputStream out = new S3MultipartOutputStream(s3, bucketName, key, "text/csv; charset=utf-8");
+        Export export = new Export();
+        export.key = key;
+        try {
+            Writer w = new BufferedWriter(new OutputStreamWriter(out, UTF_8), 64 * 1024);
+            // BOM so spreadsheet applications detect UTF-8
+            w.write('\uFEFF');
+            writeRow(w, columns);
+            source.emit(cells -> {
+                try {
+                    writeRow(w, cells);
+                    export.rows++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            w.close();
+        } catch (IOException | RuntimeException e) {
+            out.abort();
+            throw new RuntimeException("Failed to export " + type + " report to s3://" + bucketName + "/" + key + ": " + e.getMessage(), e);
+        }
+        export.bytes = out.getBytesWritten();
+        export.url = presigner.presignGetObject(p -> p
+                .signatureDuration(LINK_TTL)
+                .getObjectRequest(g -> g.bucket(bucketName).key(key)
+                        .responseContentDisposition("attachment; filename=\"" + key.substring(key.lastIndexOf('/') + 1) + "\"")))
+                .url().toString();
+        log.info("Exported {} {} rows to s3://{}/{} ({} bytes)", export.rows, type, bucketName, key, export.bytes);
+        return export;
+    }
+
+    static void writeRow(Writer w, List<?> cells) throws IOException {
+        for (int i = 0; i < cells.size(); i++) {
+            if (i > 0) w.write(',');
+            w.write(cell(cells.get(i)));
+        }
+        w.write("\r\n");
+    }
+
+    /**
+     * Numbers are written plain so they stay numeric in a spreadsheet; text is quoted when needed, and text that a
+     * spreadsheet would evaluate as a formula is prefixed with an apostrophe.
+     */
+    static String cell(Object v) {
+        if (v == null) return "";
+        if (v instanceof Double || v instanceof Float) {
+            double d = ((Number) v).doubleValue();
+            return Double.isFinite(d) ? String.format(Locale.ROOT, "%.2f", d) : "";
+        }
+        if (v instanceof Number) return v.toString();
+        String s = v.toString();
+        if (!s.isEmpty() && "=+-@".indexOf(s.charAt(0)) >= 0) s = "'" + s;
+        if (s.indexOf(',') >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0) {
+            s = "\"" + s.replace("\"", "\"\"") + "\"";
+        }
+        return s;
+    }
+
+    /**
+     * Report period as dd.MM.yyyy start and end, as shown in the report tables.
+     * WEEKLY is the current week; MONTHLY and QUARTERLY use the current month or quarter in {@code year}.
+     */
+    public static String[] periodDates(String period, Integer year) {
+        String[] dates = new String[2];
+
+        if ("WEEKLY".equalsIgnoreCase(period)) {
+            // Current week (Monday to Sunday) - match TravelReportsServiceImpl logic
+            LocalDateTime now = LocalDateTime.now();
+            int dayOfWeek = now.getDayOfWeek().getValue(); // 1 = Monday, 7 = Sunday
+            LocalDateTime weekStart = now.minusDays(dayOfWeek - 1).withHour(0).withMinute(0).withSecond(0);
+            LocalDateTime weekEnd = now.plusDays(7 - dayOfWeek).withHour(23).withMinute(59).withSecond(59);
+            dates[0] = String.format("%02d.%02d.%d", weekStart.getDayOfMonth(), weekStart.getMonthValue(), weekStart.getYear());
+            dates[1] = String.format("%02d.%02d.%d", weekEnd.getDayOfMonth(), weekEnd.getMonthValue(), weekEnd.getYear());
+        } else if ("MONTHLY".equalsIgnoreCase(period)) {
+            int currentMonth = LocalDateTime.now().getMonthValue();
+            dates[0] = String.format("%02d.01.%d", currentMonth, year);
+            LocalDateTime endOfMonth = LocalDateTime.of(year, currentMonth, 1, 0, 0).plusMonths(1).minusDays(1);
+            dates[1] = String.format("%02d.%02d.%d", endOfMonth.getDayOfMonth(), currentMonth, year);
+        } else if ("QUARTERLY".equalsIgnoreCase(period)) {
+            int currentQuarter = (LocalDateTime.now().getMonthValue() - 1) / 3;
+            int startMonth = currentQuarter * 3 + 1;
+            int endMonth = startMonth + 2;
+            dates[0] = String.format("%02d.01.%d", startMonth, year);
+            LocalDateTime endOfQuarter = LocalDateTime.of(year, endMonth, 1, 0, 0).plusMonths(1).minusDays(1);
+            dates[1] = String.format("%02d.%02d.%d", endOfQuarter.getDayOfMonth(), endMonth, year);
+        } else if ("YEARLY".equalsIgnoreCase(period)) {
+            dates[0] = String.format("01.01.%d", year);
+            dates[1] = String.format("31.12.%d", year);
+        } else {
+            dates[0] = "N/A";
+            dates[1] = "N/A";
+        }
+
+        return dates;
+    }
+
+    @FunctionalInterface
+    interface RowSource {
+        void emit(Consumer<List<?>> row);
+    }
+
+    /** Where an export was written; {@code url} is a presigned GET valid for at most {@link #LINK_TTL}. */
+    public static class Export {
+        public String key;
+        public int rows;
+        public long bytes;
+        public String url;
+    }
+}
@@ -0,0 +1,379 @@
+package com.travelbackendapp.travelmanagement.service;
+
+import com.travelbackendapp.travelmanagement.domain.BookingStatus;
+import com.travelbackendapp.travelmanagement.metrics.InvocationMetrics;
+import com.travelbackendapp.travelmanagement.model.entity.ArchivedBooking;
+import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
+import com.travelbackendapp.travelmanagement.model.entity.ReportRecord;
+import com.travelbackendapp.travelmanagement.model.entity.ReviewItem;
+import com.travelbackendapp.travelmanagement.model.entity.TravelAgent;
+import com.travelbackendapp.travelmanagement.repository.BookingArchiveRepository;
+import com.travelbackendapp.travelmanagement.repository.BookingsStatusRepository;
+import com.travelbackendapp.travelmanagement.repository.ReportsRepository;
+import com.travelbackendapp.travelmanagement.repository.ReviewsRepository;
+import com.travelbackendapp.travelmanagement.repository.TravelAgentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Rebuilds report records from the bookings and reviews tables, for when report logic changed or queue
+ * events were lost. Each booking yields its CONFIRM, CANCEL and FINISH records with the same reportIds
+ * the event handler uses ({@link ReportRecord#reportIdFor}), so replaying twice writes the same items.
+ *
+ * <p>Reviews and the keys of existing reports are loaded first with a parallel segmented scan; bookings
+ * are then scanned segment by segment in parallel and written back with throttled BatchWriteItem. After
+ * every page the segment's position is recorded in the {@link Checkpoint}, so a stopped run resumes there.
+ */
+@Singleton
+public class ReportReplayer {
+    private static final Logger log = LoggerFactory.getLogger(ReportReplayer.class);
+
+    private static final long PROGRESS_LOG_MS = 10_000;
+
+    private final BookingsStatusRepository bookingsRepo;
+    private final ReviewsRepository reviewsRepo;
+    private final ReportsRepository reportsRepo;
+    private final TravelAgentRepository agentsRepo;
+    // only needed when a tombstone is met, so runs without archived bookings don't need the bucket configured
+    private final Provider<BookingArchiveRepository> archiveRepo;
+
+    @Inject
+    public ReportReplayer(BookingsStatusRepository bookingsRepo,
+                          ReviewsRepository reviewsRepo,
+                          ReportsRepository reportsRepo,
+                          TravelAgentRepository agentsRepo,
+                          Provider<BookingArchiveRepository> archiveRepo) {
+        this.bookingsRepo = bookingsRepo;
+        this.reviewsRepo = reviewsRepo;
+        this.reportsRepo = reportsRepo;
+        this.agentsRepo = agentsRepo;
+        this.archiveRepo = archiveRepo;
+    }
+
+    /**
+     * Replays until every segment is scanned or {@code remainingMs} drops below {@code reserveMs}.
+     * {@code onCheckpoint} receives the checkpoint after every written page (calls are serialized).
+     */
+    public Result run(Options options, Checkpoint checkpoint, LongSupplier remainingMs, long reserveMs,
+                      Consumer<Checkpoint> onCheckpoint) {
+        Checkpoint cp = checkpoint != null ? checkpoint : new Checkpoint(options.segments);
+        int segments = cp.segments;
+        Result result = new Result(cp);
+        long started = System.currentTimeMillis();
+
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(segments, r -> {
+            Thread t = new Thread(r, "replay-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            Map<String, ReviewItem> reviews = new ConcurrentHashMap<>();
+            parallel(pool, segments, s -> {
+                for (Page<ReviewItem> page : reviewsRepo.scanSegment(s, segments)) {
+                    for (ReviewItem r : page.items()) reviews.put(r.getBookingId(), r);
+                }
+                return null;
+            });
+            // eventType#bookingId -> reportId of what is already stored
+            Map<String, String> existing = new ConcurrentHashMap<>();
+            parallel(pool, segments, s -> {
+                for (Page<ReportRecord> page : reportsRepo.scanKeysSegment(s, segments)) {
+                    for (ReportRecord r : page.items()) {
+                        if (r.getEventType() != null && r.getBookingId() != null) {
+                            existing.put(r.getEventType() + "#" + r.getBookingId(), r.getReportId());
+                        }
+                    }
+                }
+                return null;
+            });
+            log.info("Replay loaded {} reviews and {} existing reports in {} ms",
+                    reviews.size(), existing.size(), System.currentTimeMillis() - started);
+
+            Throttle throttle = new Throttle(options.writesPerSecond);
+            Map<String, String> agentRoles = new ConcurrentHashMap<>();
+            AtomicBoolean outOfTime = new AtomicBoolean();
+            AtomicLong lastLog = new AtomicLong(started);
+
+            List<Integer> failed = parallel(pool, segments, s -> {
+                if (cp.isDone(s)) return null;
+                for (Page<BookingItem> page : bookingsRepo.scanSegment(s, segments, cp.startKey(s))) {
+                    List<ReportRecord> records = new ArrayList<>();
+                    for (BookingItem b : page.items()) {
+                        BookingItem booking = b.isArchived() ? fromArchive(b) : b;
+                        for (ReportRecord r : synthesize(booking, reviews.get(b.getBookingId()), agentRole(booking, agentRoles))) {
+                            String stored = existing.get(r.getEventType() + "#" + r.getBookingId());
+                            boolean keep = stored == null || (options.overwrite && stored.equals(r.getReportId()));
+                            if (keep) records.add(r); else result.skipped.incrementAndGet();
+                        }
+                    }
+                    for (int from = 0; from < records.size(); from += ReportsRepository.BATCH_SIZE) {
+                        List<ReportRecord> chunk = records.subList(from, Math.min(from + ReportsRepository.BATCH_SIZE, records.size()));
+                        throttle.acquire(chunk.size());
+                        reportsRepo.saveAll(chunk);
+                    }
+                    result.scanned.addAndGet(page.items().size());
+                    result.written.addAndGet(records.size());
+
+                    synchronized (cp) {
+                        cp.advance(s, page.lastEvaluatedKey());
+                        onCheckpoint.accept(cp);
+                    }
+                    logProgress(result, started, lastLog);
+                    if (remainingMs.getAsLong() < reserveMs) {
+                        outOfTime.set(true);
+                        return null;
+                    }
+                }
+                synchronized (cp) {
+                    cp.advance(s, null);
+                    onCheckpoint.accept(cp);
+                }
+                return null;
+            });
+
+            result.failedSegments = failed;
+            result.complete = !outOfTime.get() && failed.isEmpty() && cp.allDone();
+        } finally {
+            pool.shutdownNow();
+        }
+        result.elapsedMs = System.currentTimeMillis() - started;
+        log.info("Replay finished: {}", result);
+        return result;
+    }
+
+    /**
+     * CONFIRM, CANCEL and FINISH records implied by a booking's current state, timestamped when the
+     * original event was published: confirmedAt, cancelledAt, and the day after the trip ends
+     * (when the status job marks it FINISHED).
+     */
+    static List<ReportRecord> synthesize(BookingItem b, ReviewItem review, String agentRole) {
+        List<ReportRecord> out = new ArrayList<>(2);
+        if (b.getBookingId() == null || b.getUserId() == null) return out;
+
+        if (b.getConfirmedAtEpoch() != null) {
+            out.add(record("CONFIRM", b, fromEpochMs(b.getConfirmedAtEpoch()), BookingStatus.CONFIRMED, agentRole));
+        }
+        if (BookingStatus.CANCELLED.name().equals(b.getStatus()) && b.getCancelledAtEpoch() != null) {
+            ReportRecord r = record("CANCEL", b, fromEpochMs(b.getCancelledAtEpoch()), BookingStatus.CANCELLED, agentRole);
+            r.setCancellationReason(b.getCancellationReason() != null ? b.getCancellationReason() : "Booking cancelled");
+            out.add(r);
+        }
+        if (BookingStatus.FINISHED.name().equals(b.getStatus())) {
+            finishedAt(b).ifPresent(at -> {
+                ReportRecord r = record("FINISH", b, at, BookingStatus.FINISHED, agentRole);
+                if (review != null && review.getRate() != null) {
+                    r.setRating(review.getRate());
+                    r.setFeedbackDate(review.getCreatedAt());
+                }
+                out.add(r);
+            });
+        }
+        return out;
+    }
+
+    private static ReportRecord record(String eventType, BookingItem b, LocalDateTime at, BookingStatus status, String agentRole) {
+        ReportRecord r = new ReportRecord(ReportRecord.reportIdFor(eventType, b.getBookingId()), eventType,
+                b.getBookingId(), b.getUserId(), b.getTourId(), b.getAgentEmail(), at);
+        r.setBookingStatus(status.name());
+        r.setBookingDate(b.getCreatedAtEpoch() != null ? fromEpochMs(b.getCreatedAtEpoch()).toString() : null);
+        r.setTravelDate(b.getStartDate());
+        r.setNumberOfGuests((b.getAdults() != null ? b.getAdults() : 0) + (b.getChildren() != null ? b.getChildren() : 0));
+        r.setTotalPrice(b.getTotalPrice());
+        r.setAgentName(b.getAgentName());
+        r.setAgentRole(agentRole);
+        return r;
+    }
+
+    static Optional<LocalDateTime> finishedAt(BookingItem b) {
+        if (b.getStartDate() == null) return Optional.empty();
+        int days = PricingEngine.parseDays(b.getDuration());
+        if (days <= 0) return Optional.empty();
+        return Optional.of(LocalDate.parse(b.getStartDate()).plusDays(days).atStartOfDay());
+    }
+
+    private static LocalDateTime fromEpochMs(long ms) {
+        return LocalDateTime.ofEpochSecond(ms / 1000, 0, ZoneOffset.UTC);
+    }
+
+    private BookingItem fromArchive(BookingItem tombstone) {
+        ArchivedBooking a = archiveRepo.get().read(tombstone.getArchiveKey()).get(tombstone.getBookingId());
+        return a != null && a.getBooking() != null ? a.getBooking() : tombstone;
+    }
+
+    private String agentRole(BookingItem b, Map<String, String> cache) {
+        if (b.getAgentEmail() == null) return null;
+        String role = cache.computeIfAbsent(b.getAgentEmail(), email -> {
+            TravelAgent agent = agentsRepo.findByEmail(email);
+            return agent != null && agent.getRole() != null ? agent.getRole() : "";
+        });
+        return role.isEmpty() ? null : role;
+    }
+
+    private static void logProgress(Result result, long started, AtomicLong lastLog) {
+        long now = System.currentTimeMillis();
+        long last = lastLog.get();
+        if (now - last >= PROGRESS_LOG_MS && lastLog.compareAndSet(last, now)) {
+            log.info("Replay progress: scanned={} written={} skipped={} rows/sec={}",
+                    result.scanned.get(), result.written.get(), result.skipped.get(),
+                    Math.round(rowsPerSecond(result.scanned.get(), now - started)));
+        }
+    }
+
+    static double rowsPerSecond(long rows, long elapsedMs) {
+        return elapsedMs <= 0 ? 0 : rows * 1000.0 / elapsedMs;
+    }
+
+    /** Runs {@code task} once per segment on the pool; returns the segments that failed. */
+    private static List<Integer> parallel(ExecutorService pool, int segments, IntFunction<Void> task) {
+        List<Future<Void>> futures = new ArrayList<>(segments);
+        for (int s = 0; s < segments; s++) {
+            int segment = s;
+            // segment threads book their capacity into the invoking handler's ledger
+            futures.add(pool.submit(InvocationMetrics.propagate(() -> task.apply(segment)), null));
+        }
+        List<Integer> failed = new ArrayList<>();
+        for (int s = 0; s < segments; s++) {
+            try {
+                futures.get(s).get();
+            } catch (ExecutionException e) {
+                log.error("Replay segment {} failed", s, e.getCause());
+                failed.add(s);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while replaying reports", e);
+            }
+        }
+        return failed;
+    }
+
+    /** Spaces writes so the run as a whole stays under {@code perSecond} items per second. */
+    static final class Throttle {
+        private final long nanosPerItem;
+        private long next = System.nanoTime();
+
+        Throttle(int perSecond) {
+            this.nanosPerItem = perSecond <= 0 ? 0 : 1_000_000_000L / perSecond;
+        }
+
+        void acquire(int items) {
+            if (nanosPerItem == 0) return;
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long at = Math.max(next, now);
+                next = at + nanosPerItem * items;
+                wait = at - now;
+            }
+            if (wait > 0) {
+                try {
+                    Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted while throttling report writes", e);
+                }
+            }
+        }
+    }
+
+    public static final class Options {
+        public int segments = 4;
+        public int writesPerSecond = 100;
+        /** Rewrite records that already exist under the deterministic reportId; legacy ids are always kept. */
+        public boolean overwrite;
+    }
+
+    /**
+     * Scan position per segment: the last evaluated bookings key (userId, bookingId), or done.
+     * Plain fields so it can be round-tripped as JSON through a Lambda response or a file.
+     */
+    public static final class Checkpoint {
+        public int segments;
+        public Map<Integer, Map<String, String>> positions = new TreeMap<>();
+        public List<Integer> done = new ArrayList<>();
+
+        public Checkpoint() {}
+
+        Checkpoint(int segments) {
+            this.segments = segments;
+        }
+
+        boolean isDone(int segment) {
+            return done.contains(segment);
+        }
+
+        boolean allDone() {
+            return done.size() == segments;
+        }
+
+        Map<String, AttributeValue> startKey(int segment) {
+            Map<String, String> pos = positions.get(segment);
+            if (pos == null) return null;
+            Map<String, AttributeValue> key = new LinkedHashMap<>();
+            pos.forEach((k, v) -> key.put(k, AttributeValue.builder().s(v).build()));
+            return key;
+        }
+
+        void advance(int segment, Map<String, AttributeValue> lastEvaluatedKey) {
+            if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) {
+                positions.remove(segment);
+                if (!done.contains(segment)) done.add(segment);
+                return;
+            }
+            Map<String, String> pos = new LinkedHashMap<>();
+            lastEvaluatedKey.forEach((k, v) -> pos.put(k, v.s()));
+            positions.put(segment, pos);
+        }
+    }
+
+    public static final class Result {
+        public final Checkpoint checkpoint;
+        public final AtomicInteger scanned = new AtomicInteger();
+        public final AtomicInteger written = new AtomicInteger();
+        public final AtomicInteger skipped = new AtomicInteger();
+        public List<Integer> failedSegments = List.of();
+        public long elapsedMs;
+        public boolean complete;
+
+        Result(Checkpoint checkpoint) {
+            this.checkpoint = checkpoint;
+        }
+
+        public double rowsPerSecond() {
+            return ReportReplayer.rowsPerSecond(scanned.get(), elapsedMs);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(java.util.Locale.ROOT,
+                    "{\"scanned\":%d,\"written\":%d,\"skipped\":%d,\"rowsPerSecond\":%.1f,\"elapsedMs\":%d,\"failedSegments\":%s,\"complete\":%b}",
+                    scanned.get(), written.get(), skipped.get(), rowsPerSecond(), elapsedMs, failedSegments, complete);
+        }
+    }
+}
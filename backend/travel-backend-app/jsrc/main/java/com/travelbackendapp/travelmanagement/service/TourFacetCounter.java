@@ -0,0 +1,153 @@
+package com.travelbackendapp.travelmanagement.service;
+
+import com.travelbackendapp.travelmanagement.domain.DurationBucket;
+import com.travelbackendapp.travelmanagement.domain.SearchFacet;
+import com.travelbackendapp.travelmanagement.model.api.request.ToursSearchRequest;
+import com.travelbackendapp.travelmanagement.model.api.response.FacetsResponse;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Splits search candidates into results and facet counts in a single pass.
+ * Candidates must come from a search with the faceted filters left out ({@link #scanDestination} etc.);
+ * each tour is then checked against the destination, tour type, meal plan and duration bucket filters once,
+ * counted toward every facet whose <em>other</em> filters it passes, and kept as a result if it passes all.
+ * Counting uses int cells per distinct value, so nothing is allocated per tour.
+ */
+public final class TourFacetCounter {
+
+    /** Lower edges of the priceFrom histogram buckets; the last bucket is open-ended. */
+    static final double[] PRICE_EDGES = {0, 500, 1000, 1500, 2000, 3000, 5000};
+
+    private static final DurationBucket[] BUCKETS = DurationBucket.values();
+
+    private final ToursSearchRequest req;
+    private final Set<SearchFacet> facets;
+    private final String destination;   // null when not filtering
+
+    private final Map<String, int[]> destinations = new TreeMap<>();
+    private final Map<String, int[]> tourTypes = new TreeMap<>();
+    private final Map<String, int[]> mealPlans = new TreeMap<>();
+    private final int[] buckets = new int[BUCKETS.length];
+    private final int[] prices = new int[PRICE_EDGES.length];
+
+    private final List<TourItem> results = new ArrayList<>();
+
+    public TourFacetCounter(ToursSearchRequest req) {
+        this.req = req;
+        this.facets = req.facets;
+        String dst = req.destination == null ? null : req.destination.trim();
+        this.destination = dst == null || dst.isEmpty() || "any destination".equalsIgnoreCase(dst) ? null : dst;
+    }
+
+    /** Destination to pass to the repository scan: dropped when it is counted as a facet. */
+    public static String scanDestination(ToursSearchRequest req) {
+        return req.facets.contains(SearchFacet.DESTINATION) ? null : req.destination;
+    }
+
+    public static List<String> scanTourTypes(ToursSearchRequest req) {
+        return req.facets.contains(SearchFacet.TOUR_TYPE) ? List.of() : req.tourTypes;
+    }
+
+    public static List<String> scanMealPlans(ToursSearchRequest req) {
+        return req.facets.contains(SearchFacet.MEAL_PLAN) ? List.of() : req.mealPlans;
+    }
+
+    public void accept(TourItem t) {
+        boolean dst = destination == null || destination.equals(t.getDestination());
+        boolean tt = req.tourTypes.isEmpty() || req.tourTypes.contains(t.getTourType());
+        boolean mp = matchesMealPlan(t.getMealPlans());
+        boolean db = matchesBucket(t.getDurations());
+
+        if (dst && tt && mp && db) {
+            results.add(t);
+            if (facets.contains(SearchFacet.PRICE)) countPrice(t.getPriceFrom());
+        }
+        if (tt && mp && db && facets.contains(SearchFacet.DESTINATION)) {
+            inc(destinations, t.getDestination());
+        }
+        if (dst && mp && db && facets.contains(SearchFacet.TOUR_TYPE)) {
+            inc(tourTypes, t.getTourType());
+        }
+        if (dst && tt && db && facets.contains(SearchFacet.MEAL_PLAN) && t.getMealPlans() != null) {
+            List<String> offered = t.getMealPlans();
+            for (int i = 0; i < offered.size(); i++) inc(mealPlans, offered.get(i));
+        }
+        if (dst && tt && mp && facets.contains(SearchFacet.DURATION_BUCKET)) {
+            for (DurationBucket b : BUCKETS) {
+                if (b.matches(t.getDurations())) buckets[b.ordinal()]++;
+            }
+        }
+    }
+
+    /** Tours passing every filter, in scan order. */
+    public List<TourItem> results() {
+        return results;
+    }
+
+    /** Requested facet counts, or null when no facets were requested. */
+    public FacetsResponse facets() {
+        if (facets.isEmpty()) return null;
+        FacetsResponse out = new FacetsResponse();
+        if (facets.contains(SearchFacet.DESTINATION)) out.destination = toCounts(destinations);
+        if (facets.contains(SearchFacet.TOUR_TYPE)) out.tourType = toCounts(tourTypes);
+        if (facets.contains(SearchFacet.MEAL_PLAN)) out.mealPlan = toCounts(mealPlans);
+        if (facets.contains(SearchFacet.DURATION_BUCKET)) {
+            out.durationBucket = new TreeMap<>();
+            for (DurationBucket b : BUCKETS) out.durationBucket.put(b.label(), buckets[b.ordinal()]);
+        }
+        if (facets.contains(SearchFacet.PRICE)) {
+            out.price = new ArrayList<>(PRICE_EDGES.length);
+            for (int i = 0; i < PRICE_EDGES.length; i++) {
+                Double max = i + 1 < PRICE_EDGES.length ? PRICE_EDGES[i + 1] : null;
+                out.price.add(new FacetsResponse.PriceBucket(PRICE_EDGES[i], max, prices[i]));
+            }
+        }
+        return out;
+    }
+
+    private boolean matchesMealPlan(List<String> offered) {
+        if (req.mealPlans.isEmpty()) return true;
+        if (offered == null) return false;
+        for (int i = 0; i < req.mealPlans.size(); i++) {
+            if (offered.contains(req.mealPlans.get(i))) return true;
+        }
+        return false;
+    }
+
+    private boolean matchesBucket(List<String> durations) {
+        if (req.durationBuckets.isEmpty()) return true;
+        for (DurationBucket b : BUCKETS) {
+            if (req.durationBuckets.contains(b) && b.matches(durations)) return true;
+        }
+        return false;
+    }
+
+    private void countPrice(Double price) {
+        if (price == null || price < 0) return;
+        int i = PRICE_EDGES.length - 1;
+        while (i > 0 && price < PRICE_EDGES[i]) i--;
+        prices[i]++;
+    }
+
+    private static void inc(Map<String, int[]> counts, String value) {
+        if (value == null || value.isEmpty()) return;
+        int[] cell = counts.get(value);
+        if (cell == null) {
+            cell = new int[1];
+            counts.put(value, cell);
+        }
+        cell[0]++;
+    }
+
+    private static Map<String, Integer> toCounts(Map<String, int[]> counts) {
+        Map<String, Integer> out = new TreeMap<>();
+        for (Map.Entry<String, int[]> e : counts.entrySet()) out.put(e.getKey(), e.getValue()[0]);
+        return out;
+    }
+}
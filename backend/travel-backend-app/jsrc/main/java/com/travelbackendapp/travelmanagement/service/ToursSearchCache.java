@@ -0,0 +1,174 @@
+package com.travelbackendapp.travelmanagement.service;
+
+import com.travelbackendapp.travelmanagement.model.api.request.ToursSearchRequest;
+import com.travelbackendapp.travelmanagement.model.api.response.FacetsResponse;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import com.travelbackendapp.travelmanagement.repository.CatalogVersionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches the filtered, sorted result list of /tours/available per {@link ToursSearchRequest#cacheKey()},
+ * so every page of the same search is a slice of one list; facet counts, when requested, are cached alongside.
+ * An entry is fresh while the catalog version it was built at is current; after a bump it is still
+ * served for up to {@link #STALE_MS} while a single background reload replaces it.
+ */
+@Singleton
+public class ToursSearchCache {
+    private static final Logger log = LoggerFactory.getLogger(ToursSearchCache.class);
+
+    static final int MAX_ENTRIES = 256;
+    static final long STALE_MS = 30_000;
+    // upper bound regardless of version, the search also filters on today's date
+    static final long MAX_AGE_MS = 10 * 60_000;
+
+    private final CatalogVersionRepository versions;
+    private final ExecutorService executor;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> refreshing = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Inject
+    public ToursSearchCache(CatalogVersionRepository versions,
+                            @Named("ioExecutor") ExecutorService executor) {
+        this.versions = versions;
+        this.executor = executor;
+    }
+
+    /**
+     * Sorted results for the search; {@code loader} runs the repository search, filtering and sort
+     * and is only called on a miss or (in the background) on revalidation.
+     */
+    public Result search(ToursSearchRequest req, Supplier<Result> loader) {
+        String key = req.cacheKey();
+        long version = versions.current();
+        long now = System.currentTimeMillis();
+
+        Entry e = entries.get(key);
+        if (e != null && now - e.builtAt < MAX_AGE_MS) {
+            if (e.version == version) {
+                hits.incrementAndGet();
+                return e.result();
+            }
+            if (e.staleSince == 0) e.staleSince = now;
+            if (now - e.staleSince < STALE_MS) {
+                staleHits.incrementAndGet();
+                revalidate(key, loader);
+                return e.result();
+            }
+        }
+
+        misses.incrementAndGet();
+        return load(key, loader).result();
+    }
+
+    /** Drops every entry; the next search of each key reloads. */
+    public void clear() {
+        entries.clear();
+    }
+
+    public long hitCount() { return hits.get(); }
+    public long staleHitCount() { return staleHits.get(); }
+    public long missCount() { return misses.get(); }
+
+    private void revalidate(String key, Supplier<Result> loader) {
+        if (refreshing.putIfAbsent(key, Boolean.TRUE) != null) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    load(key, loader);
+                } catch (Exception ex) {
+                    log.warn("tours search revalidation failed for key={}: {}", key, ex.toString());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RuntimeException rejected) {
+            refreshing.remove(key);
+        }
+    }
+
+    private Entry load(String key, Supplier<Result> loader) {
+        // read the version first: a bump racing with the load leaves the entry one version behind, never ahead
+        long version = versions.current();
+        Result loaded = loader.get();
+        List<TourItem> sorted = loaded.tours;
+
+        List<String> ids = new ArrayList<>(sorted.size());
+        Map<String, TourItem> byId = new HashMap<>();
+        for (TourItem t : sorted) {
+            ids.add(t.getTourId());
+            byId.put(t.getTourId(), t);
+        }
+        Entry e = new Entry(version, System.currentTimeMillis(),
+                Collections.unmodifiableList(ids), Collections.unmodifiableMap(byId), loaded.facets);
+        entries.put(key, e);
+        if (entries.size() > MAX_ENTRIES) evictOldest();
+        return e;
+    }
+
+    private void evictOldest() {
+        entries.entrySet().stream()
+                .min(Comparator.comparingLong(en -> en.getValue().builtAt))
+                .ifPresent(en -> entries.remove(en.getKey(), en.getValue()));
+    }
+
+    private static final class Entry {
+        final long version;
+        final long builtAt;
+        final List<String> ids;            // sorted result order
+        final Map<String, TourItem> byId;
+        final FacetsResponse facets;       // null unless requested
+        volatile long staleSince;          // first time a newer version was seen, 0 while fresh
+
+        Entry(long version, long builtAt, List<String> ids, Map<String, TourItem> byId, FacetsResponse facets) {
+            this.version = version;
+            this.builtAt = builtAt;
+            this.ids = ids;
+            this.byId = byId;
+            this.facets = facets;
+        }
+
+        Result result() {
+            return new Result(tours(), facets);
+        }
+
+        /** Read-only view in sorted order; a page is a subList, nothing is copied. */
+        List<TourItem> tours() {
+            return new AbstractList<TourItem>() {
+                @Override public TourItem get(int i) { return byId.get(ids.get(i)); }
+                @Override public int size() { return ids.size(); }
+            };
+        }
+    }
+
+    /** Sorted search results plus facet counts (null unless requested). */
+    public static final class Result {
+        public final List<TourItem> tours;
+        public final FacetsResponse facets;
+
+        public Result(List<TourItem> tours, FacetsResponse facets) {
+            this.tours = tours;
+            this.facets = facets;
+        }
+    }
+}
@@ -2,15 +2,17 @@ package com.travelbackendapp.travelmanagement.service;
 
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.travelbackendapp.travelmanagement.routing.CallerContext;
 
 public interface ToursService {
     APIGatewayProxyResponseEvent getAvailableTours(APIGatewayProxyRequestEvent event);
     APIGatewayProxyResponseEvent getDestinations(APIGatewayProxyRequestEvent event);
     APIGatewayProxyResponseEvent getTourDetails(APIGatewayProxyRequestEvent event, String tourId);
+    APIGatewayProxyResponseEvent getTourQuote(APIGatewayProxyRequestEvent event, String tourId);
     APIGatewayProxyResponseEvent getTourReviews(APIGatewayProxyRequestEvent event, String tourId);
-    APIGatewayProxyResponseEvent postTourReview(APIGatewayProxyRequestEvent event, String tourId);
-    APIGatewayProxyResponseEvent createTour(APIGatewayProxyRequestEvent event);
-    APIGatewayProxyResponseEvent updateTour(APIGatewayProxyRequestEvent event, String tourId);
-    APIGatewayProxyResponseEvent deleteTour(APIGatewayProxyRequestEvent event, String tourId);
-    APIGatewayProxyResponseEvent getMyTours(APIGatewayProxyRequestEvent event);
+    APIGatewayProxyResponseEvent postTourReview(APIGatewayProxyRequestEvent event, CallerContext caller, String tourId);
+    APIGatewayProxyResponseEvent createTour(APIGatewayProxyRequestEvent event, CallerContext caller);
+    APIGatewayProxyResponseEvent updateTour(APIGatewayProxyRequestEvent event, CallerContext caller, String tourId);
+    APIGatewayProxyResponseEvent deleteTour(APIGatewayProxyRequestEvent event, CallerContext caller, String tourId);
+    APIGatewayProxyResponseEvent getMyTours(APIGatewayProxyRequestEvent event, CallerContext caller);
 }
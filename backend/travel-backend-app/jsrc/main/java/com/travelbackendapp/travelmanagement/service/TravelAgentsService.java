@@ -2,10 +2,11 @@ package com.travelbackendapp.travelmanagement.service;
 
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.travelbackendapp.travelmanagement.routing.CallerContext;
 
 public interface TravelAgentsService {
-    APIGatewayProxyResponseEvent createTravelAgent(APIGatewayProxyRequestEvent event);
-    APIGatewayProxyResponseEvent listTravelAgents(APIGatewayProxyRequestEvent event);
-    APIGatewayProxyResponseEvent deleteTravelAgent(APIGatewayProxyRequestEvent event, String email);
+    APIGatewayProxyResponseEvent createTravelAgent(APIGatewayProxyRequestEvent event, CallerContext caller);
+    APIGatewayProxyResponseEvent listTravelAgents(APIGatewayProxyRequestEvent event, CallerContext caller);
+    APIGatewayProxyResponseEvent deleteTravelAgent(APIGatewayProxyRequestEvent event, CallerContext caller, String email);
 }
 
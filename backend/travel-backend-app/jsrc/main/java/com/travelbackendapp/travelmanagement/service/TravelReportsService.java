@@ -1,6 +1,7 @@
 package com.travelbackendapp.travelmanagement.service;
 
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Service for generating specific travel agent and sales statistics reports
@@ -61,6 +62,19 @@ public interface TravelReportsService {
      */
     Double getRevenueForFinishedToursByTour(String tourId, String period, Integer year, String requesterRole);
     
+    /**
+     * Hand the per-tour sales details of every tour sold in the period to {@code sink}, one tour at a time
+     * @return number of tours emitted
+     */
+    int forEachTourSalesDetails(String period, Integer year, String requesterRole, Consumer<Map<String, Object>> sink);
+    
+    // ========== CLOSED PERIOD SNAPSHOTS ==========
+    
+    /**
+     * Drop the stored snapshots of a scope (AGENT, TOUR or ALL) and, when a period is given, compute them again
+     */
+    Map<String, Object> rebuildSnapshots(String scope, String id, String period, Integer year);
+    
     // ========== PERIOD COMPARISON UTILITIES ==========
     
     /**
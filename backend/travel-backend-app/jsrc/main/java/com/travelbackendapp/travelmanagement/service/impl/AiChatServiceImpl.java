@@ -85,7 +85,7 @@ public class AiChatServiceImpl implements AiChatService {
             }
 
             // 2) Suggestions -> fetch, rank, cards + concise LLM summary
-            List<TourItem> all = toursRepo.listAll();
+            List<TourItem> all = toursRepo.listAll(ToursRepository.SNIPPET_ATTRIBUTES);
             if (all.isEmpty()) {
                 // No inventory: still give useful general guidance instead of dead-end
                 String reply = normalizeReply(llmNoInventoryAdvice(userMsg));
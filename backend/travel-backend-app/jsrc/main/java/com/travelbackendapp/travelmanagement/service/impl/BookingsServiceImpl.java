@@ -4,19 +4,25 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.travelbackendapp.travelmanagement.domain.BookingStatus;
+import com.travelbackendapp.travelmanagement.exceptions.BadRequestException;
+import com.travelbackendapp.travelmanagement.model.api.request.BookingsQueryRequest;
 import com.travelbackendapp.travelmanagement.model.api.request.CreateBookingRequest;
 import com.travelbackendapp.travelmanagement.model.api.response.CreateBookingResponse;
 import com.travelbackendapp.travelmanagement.model.api.response.ListDocumentsResponse;
 import com.travelbackendapp.travelmanagement.model.api.response.ViewBookingDTO;
+import com.travelbackendapp.travelmanagement.model.entity.ArchivedBooking;
 import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
 import com.travelbackendapp.travelmanagement.model.entity.DocumentRecord;
 import com.travelbackendapp.travelmanagement.model.entity.TourItem;
 import com.travelbackendapp.travelmanagement.model.entity.TravelAgent;
 import com.travelbackendapp.travelmanagement.repository.*;
+import com.travelbackendapp.travelmanagement.routing.CallerContext;
 import com.travelbackendapp.travelmanagement.service.BookingEventPublisher;
 import com.travelbackendapp.travelmanagement.service.BookingsService;
+import com.travelbackendapp.travelmanagement.service.PricingEngine;
 import com.travelbackendapp.travelmanagement.util.HttpResponses;
 import com.travelbackendapp.travelmanagement.util.S3DocumentsStorage;
+import com.travelbackendapp.travelmanagement.util.StepTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.travelbackendapp.travelmanagement.model.api.request.UploadDocumentsRequest;
@@ -29,6 +35,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 import static com.travelbackendapp.travelmanagement.util.RequestUtils.isBlank;
@@ -45,6 +53,11 @@ public class BookingsServiceImpl implements BookingsService {
     private final BookingEventPublisher eventPublisher;
     private final S3DocumentsStorage s3Docs;
     private final DocumentsRepository documentsRepo;
+    private final TourInventoryRepository inventoryRepo;
+    private final PricingEngine pricing;
+    private final ExecutorService ioExecutor;
+    private final CatalogVersionRepository catalogVersion;
+    private final BookingArchiveRepository archiveRepo;
     private final String bookingDocsBucket;
     private final String awsRegion;
 
@@ -52,7 +65,11 @@ public class BookingsServiceImpl implements BookingsService {
     @Inject
     public BookingsServiceImpl(ObjectMapper mapper, ToursRepository toursRepo, BookingsRepository bookingsRepo, TravelAgentRepository agentsRepo,
                                BookingsStatusRepository bookingsStatusRepository, BookingEventPublisher eventPublisher, S3DocumentsStorage s3Docs,
-                               DocumentsRepository documentsRepo, @Named("BOOKING_DOCS_BUCKET") String bookingDocsBucket,
+                               DocumentsRepository documentsRepo, TourInventoryRepository inventoryRepo,
+                               PricingEngine pricing, @Named("ioExecutor") ExecutorService ioExecutor,
+                               CatalogVersionRepository catalogVersion,
+                               BookingArchiveRepository archiveRepo,
+                               @Named("BOOKING_DOCS_BUCKET") String bookingDocsBucket,
                                @Named("AWS_REGION") String awsRegion) {
         this.mapper = mapper;
         this.toursRepo = toursRepo;
@@ -62,15 +79,21 @@ public class BookingsServiceImpl implements BookingsService {
         this.bookingsStatusRepo = bookingsStatusRepository;
         this.s3Docs = s3Docs;
         this.documentsRepo = documentsRepo;
+        this.inventoryRepo = inventoryRepo;
+        this.pricing = pricing;
+        this.ioExecutor = ioExecutor;
+        this.catalogVersion = catalogVersion;
+        this.archiveRepo = archiveRepo;
         this.bookingDocsBucket = bookingDocsBucket;
         this.awsRegion = awsRegion;
     }
 
     @Override
-    public APIGatewayProxyResponseEvent create(APIGatewayProxyRequestEvent event) {
+    public APIGatewayProxyResponseEvent create(APIGatewayProxyRequestEvent event, CallerContext caller) {
+        StepTimer timer = StepTimer.start("POST /bookings");
         try {
             // ---- Auth: require Cognito claims via API Gateway authorizer ----
-            String userId = extractClaim(event, "sub");                // stable user identifier
+            String userId = caller.sub();                // stable user identifier
             if (userId == null) {
                 // No claims → user not logged in (or route not protected)
                 return HttpResponses.error(mapper, 401, "authentication required: please log in or sign up");
@@ -91,8 +114,11 @@ public class BookingsServiceImpl implements BookingsService {
                 return HttpResponses.error(mapper, 400, "date must be ISO yyyy-MM-dd");
             }
 
-            // Load tour
+            timer.step("parse");
+
+            // Load tour; this snapshot is validated, priced and reused by the reservation below
             var opt = toursRepo.getById(body.tourId);
+            timer.step("tourRead");
             if (opt.isEmpty()) return HttpResponses.error(mapper, 404, "tour not found");
             TourItem tour = opt.get();
 
@@ -100,16 +126,13 @@ public class BookingsServiceImpl implements BookingsService {
             if (agentEmail == null || agentEmail.trim().isEmpty()) {
                 return HttpResponses.error(mapper, 409, "tour has no assigned travel agent");
             }
-            var agent = agentsRepo.findByEmail(agentEmail);
-            if (agent == null || agent.getRole() == null || 
-                (!"TRAVEL_AGENT".equals(agent.getRole()) && !"ADMIN".equals(agent.getRole()))) {
-                return HttpResponses.error(mapper, 409, "assigned travel agent is not available");
-            }
-
-            // Capacity presence check
-            if (tour.getAvailablePackages() != null && tour.getAvailablePackages() <= 0) {
-                return HttpResponses.error(mapper, 409, "tour is fully booked");
-            }
+            // The agent lookup (cached per container) and a sharded tour's capacity read overlap with validation
+            CompletableFuture<TravelAgent> agentRead =
+                    CompletableFuture.supplyAsync(() -> agentsRepo.findByEmail(agentEmail), ioExecutor);
+            // Sharded tours need a shard read for capacity; plain tours have it on the snapshot
+            CompletableFuture<Integer> availRead = TourInventoryRepository.isSharded(tour)
+                    ? CompletableFuture.supplyAsync(() -> inventoryRepo.availableSeats(tour), ioExecutor)
+                    : CompletableFuture.completedFuture(tour.getAvailablePackages());
 
             // Start date checks
             if (start.isBefore(LocalDate.now())) {
@@ -121,52 +144,46 @@ public class BookingsServiceImpl implements BookingsService {
                 }
             }
 
-            String canonicalDurationKey = matchDurationKey(body.duration, tour.getDurations());
-            if (canonicalDurationKey == null) {
-                return HttpResponses.error(mapper, 400, "selected duration is not available for this tour");
-            }
-            int durationDays = parseDays(canonicalDurationKey);
-
-            String mealCode = normalizeMealPlanToCode(body.mealPlan);
-            if (!mealPlanOffered(mealCode, tour.getMealPlans())) {
-                return HttpResponses.error(mapper, 400, "selected meal plan is not available for this tour");
-            }
-
             // Seat count
             int adults = Math.max(0, body.guests.adult);
             int children = Math.max(0, body.guests.children);
             int seats = adults + children;
+
+            // Duration, meal plan and price from the tour's compiled price table
+            PricingEngine.Quote quote;
+            try {
+                quote = pricing.quote(tour, body.duration, body.mealPlan, seats);
+            } catch (BadRequestException bre) {
+                return HttpResponses.error(mapper, 400, bre.getMessage());
+            }
+            String canonicalDurationKey = quote.durationKey;
+            int durationDays = quote.days;
+            String mealCode = quote.mealCode;
+
             if (seats <= 0) {
                 return HttpResponses.error(mapper, 400, "at least one guest is required");
             }
-            Integer avail = tour.getAvailablePackages();
-            if (avail != null && avail < seats) {
-                return HttpResponses.error(mapper, 409, "not enough capacity for the selected number of guests, only " + avail + " seats left");
-            }
+            timer.step("validateAndPrice");
 
-            Map<String, Double> priceMap = tour.getPriceByDuration();
-            Double basePerPerson = null;
-            if (priceMap != null && !priceMap.isEmpty()) {
-                basePerPerson = priceMap.get(canonicalDurationKey);
-                if (basePerPerson == null) {
-                    for (Map.Entry<String, Double> e : priceMap.entrySet()) {
-                        if (parseDays(e.getKey()) == durationDays) {
-                            basePerPerson = e.getValue();
-                            break;
-                        }
-                    }
-                }
+            TravelAgent agent = agentRead.join();
+            if (agent == null || agent.getRole() == null ||
+                (!"TRAVEL_AGENT".equals(agent.getRole()) && !"ADMIN".equals(agent.getRole()))) {
+                return HttpResponses.error(mapper, 409, "assigned travel agent is not available");
             }
-            if (basePerPerson == null) {
-                Double p = tour.getPriceFrom();
-                if (p > 0) basePerPerson = p;
+
+            // Capacity checks (sharded tours sum their shards)
+            Integer avail = availRead.join();
+            timer.step("agentAndCapacityWait");
+            if (avail != null && avail <= 0) {
+                return HttpResponses.error(mapper, 409, "tour is fully booked");
             }
-            if (basePerPerson == null) {
-                return HttpResponses.error(mapper, 400, "selected duration has no price configured");
+            if (avail != null && avail < seats) {
+                return HttpResponses.error(mapper, 409, "not enough capacity for the selected number of guests, only " + avail + " seats left");
             }
-            Map<String, Double> suppMap = tour.getMealSupplementsPerDay();
-            double supplementPerDayPerPerson = (suppMap != null && suppMap.get(mealCode) != null) ? suppMap.get(mealCode) : 0.0;
-            double total = basePerPerson * seats + (supplementPerDayPerPerson * durationDays * seats);
+
+            double basePerPerson = quote.basePerPerson;
+            double supplementPerDayPerPerson = quote.supplementPerDayPerPerson;
+            double total = quote.total;
 
             // Free cancellation date
             int daysBefore = tour.getFreeCancellationDaysBefore() != null ? tour.getFreeCancellationDaysBefore() : 10;
@@ -178,8 +195,8 @@ public class BookingsServiceImpl implements BookingsService {
             String agentName = ((agent.getFirstName() == null ? "" : agent.getFirstName().trim()) + " " +
                     (agent.getLastName() == null ? "" : agent.getLastName().trim())).trim();
 
-            String callerEmail = extractClaim(event, "email");
-            String callerPhone = extractClaim(event, "phone_number");
+            String callerEmail = caller.email();
+            String callerPhone = caller.phoneNumber();
 
             BookingItem b = new BookingItem();
             b.setUserId(userId);
@@ -212,12 +229,23 @@ public class BookingsServiceImpl implements BookingsService {
             b.setStatusEnum(BookingStatus.BOOKED);
             b.setCreatedAtEpoch(System.currentTimeMillis());
 
-            // Atomically reserve all seats and save booking
+            // Atomically reserve all seats and save booking, guarded on the snapshot's version
+            timer.step("buildBooking");
             try {
-                bookingsRepo.transactReserveSeatsAndSave(b, tour.getTourId(), seats);
+                bookingsRepo.transactReserveSeatsAndSave(b, tour, seats);
             } catch (software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException tce) {
+                if (!TransactWrites.isConditionFailure(tce)) {
+                    // every retry lost to a concurrent transaction on the same seats: nothing was written
+                    return HttpResponses.error(mapper, 503, "booking is busy, please retry");
+                }
+                if (!TourInventoryRepository.isSharded(tour) && tourChangedSince(tour)) {
+                    return HttpResponses.error(mapper, 409, "tour was updated, please retry");
+                }
                 return HttpResponses.error(mapper, 409, "not enough capacity left");
+            } finally {
+                timer.step("reserve");
             }
+            bumpIfListingChanged(avail, seats, "tour sold out");
 
             String details = buildConfirmationText(tour.getHotelName(), start, canonicalDurationKey, mealCode, adults, children);
 
@@ -232,21 +260,31 @@ public class BookingsServiceImpl implements BookingsService {
         } catch (Exception e) {
             log.error("create booking failed", e);
             return HttpResponses.error(mapper, 500, "internal server error");
+        } finally {
+            timer.log(log);
         }
     }
 
     @Override
-    public APIGatewayProxyResponseEvent view(APIGatewayProxyRequestEvent event) {
+    public APIGatewayProxyResponseEvent view(APIGatewayProxyRequestEvent event, CallerContext caller) {
         try {
             // ---- Auth ----
-            String callerSub = extractClaim(event, "sub");
-            String callerRole = extractClaim(event, "custom:role");
-            String callerEmail = extractClaim(event, "email");
+            String callerSub = caller.sub();
+            String callerEmail = caller.email();
 
             if (callerSub == null) {
                 return HttpResponses.error(mapper, 401, "authentication required: please log in or sign up");
             }
-            if (callerRole == null) callerRole = "";
+
+            Map<String, String> q = event.getQueryStringParameters() == null
+                    ? Collections.emptyMap()
+                    : event.getQueryStringParameters();
+            BookingsQueryRequest filter;
+            try {
+                filter = BookingsQueryRequest.fromQuery(q);
+            } catch (BadRequestException bre) {
+                return HttpResponses.error(mapper, 400, bre.getMessage());
+            }
 
             final List<ViewBookingDTO> result = new ArrayList<>();
 
@@ -254,66 +292,79 @@ public class BookingsServiceImpl implements BookingsService {
             java.util.function.BiFunction<String, String, String> docDownloadUrl =
                     (bookingId, docId) -> "/bookings/" + urlEncode(bookingId) + "/documents/" + urlEncode(docId);
 
-            if ("CUSTOMER".equalsIgnoreCase(callerRole)) {
-                // Own bookings
-                List<BookingItem> bookingItems = bookingsRepo.findByUserId(callerSub);
-                for (BookingItem booking : bookingItems) {
-                    TourItem tour = toursRepo.getById(booking.getTourId()).orElse(null);
-                    String agentEmail = booking.getAgentEmail();
-                    if (agentEmail == null && tour != null) agentEmail = tour.getAgentEmail();
-                    TravelAgent agent = (agentEmail != null) ? agentsRepo.findByEmail(agentEmail) : null;
-
-                    // fetch documents for this booking
-                    List<DocumentRecord> docs = documentsRepo.listByBookingId(booking.getBookingId());
-
-                    ViewBookingDTO dto = ViewBookingDTO.from(
-                            booking,
-                            agent,
-                            tour,
-                            docs,
-                            r -> s3HttpUrl(r.getS3Key())
-                    );
-                    result.add(dto);
+            if (caller.is(CallerContext.Role.CUSTOMER)) {
+                // Own bookings: one keyset page, date range and status pushed into the query
+                BookingsRepository.BookingsPage page = bookingsRepo.findByUserId(callerSub,
+                        filter.from, filter.to,
+                        filter.statuses.stream().map(Enum::name).collect(Collectors.toList()),
+                        filter.limit == null ? 0 : filter.limit,
+                        filter.afterBookingId,
+                        filter.includeArchived);
+                List<ViewRow> rows = new ArrayList<>();
+                for (BookingItem row : page.items) {
+                    ArchivedBooking archived = row.isArchived() ? archivedBooking(row) : null;
+                    if (row.isArchived() && archived == null) continue;
+                    rows.add(new ViewRow(archived != null ? archived.getBooking() : row, archived));
+                }
+                resolveTours(rows);
+                // every distinct agent of the page in one batch lookup
+                Map<String, TravelAgent> agents = agentsRepo.findByEmails(
+                        rows.stream().map(ViewRow::agentEmail).filter(Objects::nonNull).collect(Collectors.toSet()));
+                for (ViewRow row : rows) {
+                    String agentEmail = row.agentEmail();
+                    result.add(toViewDto(row, agentEmail != null ? agents.get(agentEmail) : null));
                 }
-                return HttpResponses.json(mapper, 200, java.util.Map.of("bookings", result));
+                Map<String, Object> body = new LinkedHashMap<>();
+                body.put("bookings", result);
+                if (page.lastBookingId != null) {
+                    body.put("nextCursor", BookingsQueryRequest.encodeCursor(page.lastBookingId));
+                }
+                return HttpResponses.json(mapper, 200, body);
             }
 
-            if ("TRAVEL_AGENT".equalsIgnoreCase(callerRole) || "ADMIN".equalsIgnoreCase(callerRole)) {
+            if (caller.is(CallerContext.Role.TRAVEL_AGENT) || caller.is(CallerContext.Role.ADMIN)) {
                 if (callerEmail == null || callerEmail.isBlank()) {
                     return HttpResponses.error(mapper, 403, "missing email claim");
                 }
 
-                TravelAgent agent = agentsRepo.findByEmail(callerEmail);
-                if (agent == null || (!"TRAVEL_AGENT".equals(agent.getRole()) && !"ADMIN".equals(agent.getRole()))) {
+                TravelAgent agent = caller.agent();
+                if (!caller.isRegisteredAgent()) {
                     return HttpResponses.error(mapper, 403, "not a registered travel agent or admin");
                 }
 
-                // TRAVEL_AGENT sees only their bookings, ADMIN sees all bookings
-                List<BookingItem> bookingItems;
-                if ("ADMIN".equalsIgnoreCase(callerRole)) {
-                    // Admin sees all bookings - get all bookings
-                    bookingItems = bookingsRepo.findAll();
-                } else {
-                    // Travel agent sees only their bookings
-                    bookingItems = bookingsRepo.findByAgentEmail(callerEmail);
+                // TRAVEL_AGENT sees only their bookings (agent index), ADMIN sees all bookings (resumable scan)
+                List<String> statuses = filter.statuses.stream().map(Enum::name).collect(Collectors.toList());
+                int limit = filter.limit == null ? 0 : filter.limit;
+                BookingsRepository.BookingsPage page = caller.is(CallerContext.Role.ADMIN)
+                        ? bookingsRepo.findAll(filter.from, filter.to, statuses, limit,
+                                filter.afterUserId, filter.afterBookingId, filter.includeArchived)
+                        : bookingsRepo.findByAgentEmail(callerEmail, filter.from, filter.to, statuses, limit,
+                                filter.afterUserId, filter.afterBookingId, filter.includeArchived);
+
+                List<ViewRow> rows = new ArrayList<>();
+                for (BookingItem row : page.items) {
+                    ArchivedBooking archived = row.isArchived() ? archivedBooking(row) : null;
+                    if (row.isArchived() && archived == null) continue;
+                    rows.add(new ViewRow(archived != null ? archived.getBooking() : row, archived));
                 }
-
-                for (BookingItem booking : bookingItems) {
-                    TourItem tour = toursRepo.getById(booking.getTourId()).orElse(null);
-
-                    // fetch documents
-                    List<DocumentRecord> docs = documentsRepo.listByBookingId(booking.getBookingId());
-
-                    ViewBookingDTO dto = ViewBookingDTO.from(
-                            booking,
-                            agent,
-                            tour,
-                            docs,
-                            r -> s3HttpUrl(r.getS3Key())
-                    );
-                    result.add(dto);
+                resolveTours(rows);
+                // an agent's bookings are all theirs; an admin sees each booking's own agent, looked up in one batch
+                Map<String, TravelAgent> agents = caller.is(CallerContext.Role.ADMIN)
+                        ? agentsRepo.findByEmails(rows.stream().map(ViewRow::agentEmail).filter(Objects::nonNull).collect(Collectors.toSet()))
+                        : Map.of();
+                for (ViewRow row : rows) {
+                    String agentEmail = row.agentEmail();
+                    TravelAgent bookingAgent = caller.is(CallerContext.Role.ADMIN)
+                            ? (agentEmail != null ? agents.get(agentEmail) : null)
+                            : agent;
+                    result.add(toViewDto(row, bookingAgent));
                 }
-                return HttpResponses.json(mapper, 200, java.util.Map.of("bookings", result));
+                Map<String, Object> body = new LinkedHashMap<>();
+                body.put("bookings", result);
+                if (page.lastBookingId != null) {
+                    body.put("nextCursor", BookingsQueryRequest.encodeCursor(page.lastBookingId, page.lastUserId));
+                }
+                return HttpResponses.json(mapper, 200, body);
             }
 
             return HttpResponses.error(mapper, 403, "incorrect role: must be either customer, travel agent, or admin");
@@ -323,6 +374,56 @@ public class BookingsServiceImpl implements BookingsService {
         }
     }
 
+    /** Looks up every distinct tour of the listing in one batch, before the agents, which may come from the tour. */
+    private void resolveTours(List<ViewRow> rows) {
+        if (rows.isEmpty()) return;
+        Map<String, TourItem> tours = toursRepo.findByIds(
+                rows.stream().map(r -> r.booking.getTourId()).filter(Objects::nonNull).collect(Collectors.toSet()));
+        for (ViewRow row : rows) row.tour = tours.get(row.booking.getTourId());
+    }
+
+    /** A booking of a listing with its tour, set by {@link #resolveTours}. */
+    private static final class ViewRow {
+        final BookingItem booking;
+        final ArchivedBooking archived;
+        TourItem tour;
+
+        ViewRow(BookingItem booking, ArchivedBooking archived) {
+            this.booking = booking;
+            this.archived = archived;
+        }
+
+        String agentEmail() {
+            String email = booking.getAgentEmail();
+            return email == null && tour != null ? tour.getAgentEmail() : email;
+        }
+    }
+
+    private ViewBookingDTO toViewDto(ViewRow row, TravelAgent agent) {
+        // fetch documents for this booking; archived ones carry their own
+        List<DocumentRecord> docs = row.archived != null
+                ? row.archived.getDocuments()
+                : documentsRepo.listByBookingId(row.booking.getBookingId());
+
+        return ViewBookingDTO.from(
+                row.booking,
+                agent,
+                row.tour,
+                docs,
+                r -> s3HttpUrl(r.getS3Key())
+        );
+    }
+
+    /** Full record behind an archive tombstone, or null when the archive object no longer has it. */
+    private ArchivedBooking archivedBooking(BookingItem tombstone) {
+        ArchivedBooking a = archiveRepo.read(tombstone.getArchiveKey()).get(tombstone.getBookingId());
+        if (a == null || a.getBooking() == null) {
+            log.warn("archived booking {} missing from {}", tombstone.getBookingId(), tombstone.getArchiveKey());
+            return null;
+        }
+        return a;
+    }
+
     // URL-encode for the synthetic links we embed in the DTO
     private static String urlEncode(String s) {
         try {
@@ -334,12 +435,11 @@ public class BookingsServiceImpl implements BookingsService {
 
 
     @Override
-    public APIGatewayProxyResponseEvent update(APIGatewayProxyRequestEvent event, String bookingId) {
+    public APIGatewayProxyResponseEvent update(APIGatewayProxyRequestEvent event, CallerContext caller, String bookingId) {
         try {
             // ---- Auth ----
-            String callerSub   = extractClaim(event, "sub");
-            String callerRole  = extractClaim(event, "custom:role");
-            String callerEmail = extractClaim(event, "email");
+            String callerSub   = caller.sub();
+            String callerEmail = caller.email();
 
             if (callerSub == null) {
                 return HttpResponses.error(mapper, 401, "authentication required: please log in or sign up");
@@ -347,20 +447,19 @@ public class BookingsServiceImpl implements BookingsService {
             if (isBlank(bookingId)) {
                 return HttpResponses.error(mapper, 400, "bookingId is required");
             }
-            if (callerRole == null) callerRole = "";
 
             // ---- Authorization & booking load (customer: own PK; agent: by bookingId + assignment) ----
             BookingItem existing;
-            if ("CUSTOMER".equalsIgnoreCase(callerRole)) {
+            if (caller.is(CallerContext.Role.CUSTOMER)) {
                 existing = bookingsRepo.get(callerSub, bookingId);
                 if (existing == null) {
                     return HttpResponses.error(mapper, 404, "booking not found");
                 }
-            } else if ("TRAVEL_AGENT".equalsIgnoreCase(callerRole)) {
+            } else if (caller.is(CallerContext.Role.TRAVEL_AGENT)) {
                 if (callerEmail == null || callerEmail.isBlank()) {
                     return HttpResponses.error(mapper, 403, "missing email claim");
                 }
-                TravelAgent agent = agentsRepo.findByEmail(callerEmail);
+                TravelAgent agent = caller.agent();
                 if (agent == null || !"TRAVEL_AGENT".equals(agent.getRole())) {
                     return HttpResponses.error(mapper, 403, "not a registered travel agent");
                 }
@@ -424,34 +523,36 @@ public class BookingsServiceImpl implements BookingsService {
                 return HttpResponses.error(mapper, 400, "selected start date is not available for this tour");
             }
 
-            // ---- Duration & meal-plan ----
-            String canonicalDurationKey = matchDurationKey(body.duration, tour.getDurations());
-            if (canonicalDurationKey == null) {
-                return HttpResponses.error(mapper, 400, "selected duration is not available for this tour");
-            }
-            int durationDays = parseDays(canonicalDurationKey);
-
-            String mealCode = normalizeMealPlanToCode(body.mealPlan);
-            if (!mealPlanOffered(mealCode, tour.getMealPlans())) {
-                return HttpResponses.error(mapper, 400, "selected meal plan is not available for this tour");
-            }
-
-            // ---- Seats and capacity delta ----
+            // ---- Seats ----
             int newAdults = Math.max(0, body.guests.adult);
             int newChildren = Math.max(0, body.guests.children);
             int newSeats = newAdults + newChildren;
+
+            // ---- Duration, meal plan & price (validated before any capacity change) ----
+            PricingEngine.Quote quote;
+            try {
+                quote = pricing.quote(tour, body.duration, body.mealPlan, newSeats);
+            } catch (BadRequestException bre) {
+                return HttpResponses.error(mapper, 400, bre.getMessage());
+            }
+            String canonicalDurationKey = quote.durationKey;
+            int durationDays = quote.days;
+            String mealCode = quote.mealCode;
+
+            // ---- Capacity delta ----
             if (newSeats <= 0) {
                 return HttpResponses.error(mapper, 400, "at least one guest is required");
             }
             int oldSeats = (existing.getAdults() == null ? 0 : existing.getAdults())
                     + (existing.getChildren() == null ? 0 : existing.getChildren());
             int delta = newSeats - oldSeats;
+            Integer seatsBefore = delta == 0 ? null : seatsLeft(tour);
 
             if (delta > 0) {
                 try {
-                    bookingsRepo.adjustTourCapacity(tourId, delta); // consume extra seats
+                    bookingsRepo.adjustTourCapacity(tourId, delta, shardCount(tour)); // consume extra seats
                 } catch (software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException e) {
-                    Integer avail = tour.getAvailablePackages();
+                    Integer avail = inventoryRepo.availableSeats(tour);
                     String msg = "not enough capacity left";
                     if (avail != null && avail >= 0) {
                         msg = "not enough capacity for the selected number of guests, only " + avail + " seats left";
@@ -459,35 +560,13 @@ public class BookingsServiceImpl implements BookingsService {
                     return HttpResponses.error(mapper, 409, msg);
                 }
             } else if (delta < 0) {
-                bookingsRepo.adjustTourCapacity(tourId, delta); // return seats
-            }
-
-            // ---- Price calc ----
-            Map<String, Double> priceMap = tour.getPriceByDuration();
-            Double basePerPerson = null;
-            if (priceMap != null && !priceMap.isEmpty()) {
-                basePerPerson = priceMap.get(canonicalDurationKey);
-                if (basePerPerson == null) {
-                    for (Map.Entry<String, Double> e : priceMap.entrySet()) {
-                        if (parseDays(e.getKey()) == durationDays) {
-                            basePerPerson = e.getValue();
-                            break;
-                        }
-                    }
-                }
-            }
-            if (basePerPerson == null) {
-                Double p = tour.getPriceFrom();
-                if (p != null && p > 0) basePerPerson = p;
-            }
-            if (basePerPerson == null) {
-                return HttpResponses.error(mapper, 400, "selected duration has no price configured");
+                bookingsRepo.adjustTourCapacity(tourId, delta, shardCount(tour)); // return seats
             }
+            bumpIfListingChanged(seatsBefore, delta, "booking seats changed");
 
-            Map<String, Double> suppMap = tour.getMealSupplementsPerDay();
-            double supplementPerDayPerPerson =
-                    (suppMap != null && suppMap.get(mealCode) != null) ? suppMap.get(mealCode) : 0.0;
-            double total = basePerPerson * newSeats + (supplementPerDayPerPerson * durationDays * newSeats);
+            double basePerPerson = quote.basePerPerson;
+            double supplementPerDayPerPerson = quote.supplementPerDayPerPerson;
+            double total = quote.total;
 
             // ---- Recompute free-cancel date ----
             int daysBefore = tour.getFreeCancellationDaysBefore() != null ? tour.getFreeCancellationDaysBefore() : 10;
@@ -532,11 +611,10 @@ public class BookingsServiceImpl implements BookingsService {
 
 
     @Override
-    public APIGatewayProxyResponseEvent confirm(APIGatewayProxyRequestEvent event, String bookingId) {
+    public APIGatewayProxyResponseEvent confirm(APIGatewayProxyRequestEvent event, CallerContext caller, String bookingId) {
         try {
-            String role = extractClaim(event, "custom:role");
-            String email = extractClaim(event, "email");
-            if (!"TRAVEL_AGENT".equalsIgnoreCase(role) || email == null) {
+            String email = caller.email();
+            if (!caller.is(CallerContext.Role.TRAVEL_AGENT) || email == null) {
                 return HttpResponses.error(mapper, 403, "only travel agents can confirm bookings");
             }
             if (isBlank(bookingId)) return HttpResponses.error(mapper, 400, "bookingId is required");
@@ -620,57 +698,28 @@ public class BookingsServiceImpl implements BookingsService {
 
     // ---- helpers ----
 
-    private static int parseDays(String durationStr) {
-        if (durationStr == null) return -1;
-        String s = durationStr.trim().toLowerCase(Locale.ROOT);
-        int i = 0;
-        while (i < s.length() && !Character.isDigit(s.charAt(i))) i++;
-        int j = i;
-        while (j < s.length() && Character.isDigit(s.charAt(j))) j++;
-        if (i < j) {
-            try {
-                return Integer.parseInt(s.substring(i, j));
-            } catch (NumberFormatException ignored) {
-            }
-        }
-        return -1;
+    /** True when the stored tour no longer matches the snapshot's version (edited or deleted meanwhile). */
+    private boolean tourChangedSince(TourItem snapshot) {
+        return toursRepo.getById(snapshot.getTourId())
+                .map(cur -> !Objects.equals(cur.getVersion(), snapshot.getVersion()))
+                .orElse(true);
     }
 
-    /**
-     * Find canonical duration key (e.g., "7 days") that matches requested days.
-     */
-    private static String matchDurationKey(String requestedDuration, List<String> offeredDurations) {
-        if (offeredDurations == null || offeredDurations.isEmpty()) return null;
-        int want = parseDays(requestedDuration);
-        if (want <= 0) return null;
-        for (String key : offeredDurations) {
-            if (parseDays(key) == want) return key;
-        }
-        return null;
+    private Integer seatsLeft(TourItem tour) {
+        return TourInventoryRepository.isSharded(tour) ? inventoryRepo.availableSeats(tour) : tour.getAvailablePackages();
     }
 
     /**
-     * Normalize meal plan to code (BB/HB/FB/AI). Accepts "BB" or "Breakfast (BB)".
+     * Search lists only tours with seats left and does not show the count, so a seat change alters its
+     * results only when it moves the tour across zero; other changes leave the shared catalog version alone.
      */
-    private static String normalizeMealPlanToCode(String raw) {
-        if (raw == null) return null;
-        String s = raw.trim();
-        int li = s.lastIndexOf('(');
-        int ri = s.lastIndexOf(')');
-        if (li >= 0 && ri > li + 1) {
-            String code = s.substring(li + 1, ri).trim();
-            if (!code.isEmpty()) return code;
-        }
-        return s.toUpperCase(Locale.ROOT);
+    private void bumpIfListingChanged(Integer seatsBefore, int taken, String reason) {
+        if (seatsBefore == null) return;
+        if ((seatsBefore > 0) != (seatsBefore - taken > 0)) catalogVersion.bumpSoon(reason);
     }
 
-    private static boolean mealPlanOffered(String code, List<String> tourMealPlanCodes) {
-        if (code == null) return false;
-        if (tourMealPlanCodes == null || tourMealPlanCodes.isEmpty()) return false;
-        for (String offered : tourMealPlanCodes) {
-            if (code.equalsIgnoreCase(offered)) return true;
-        }
-        return false;
+    private static int shardCount(TourItem tour) {
+        return TourInventoryRepository.isSharded(tour) ? tour.getInventoryShards() : 0;
     }
 
     private static String money(Double v) {
@@ -680,17 +729,16 @@ public class BookingsServiceImpl implements BookingsService {
     }
 
     @Override
-    public APIGatewayProxyResponseEvent cancel(APIGatewayProxyRequestEvent event, String bookingId) {
+    public APIGatewayProxyResponseEvent cancel(APIGatewayProxyRequestEvent event, CallerContext caller, String bookingId) {
         try {
-            String userId = extractClaim(event, "sub");
-            String role = extractClaim(event, "custom:role");
-            String email = extractClaim(event, "email");
+            String userId = caller.sub();
+            String email = caller.email();
 
             if (userId == null)
                 return HttpResponses.error(mapper, 401, "authentication required: please log in or sign up");
             if (isBlank(bookingId)) return HttpResponses.error(mapper, 400, "bookingId is required");
 
-            final boolean isAgent = "TRAVEL_AGENT".equalsIgnoreCase(role);
+            final boolean isAgent = caller.is(CallerContext.Role.TRAVEL_AGENT);
 
             // Load booking: customers only their own, agents by id (then verify assignment)
             BookingItem existing = isAgent ? bookingsRepo.getByBookingId(bookingId)
@@ -755,7 +803,10 @@ public class BookingsServiceImpl implements BookingsService {
             int seats = (existing.getAdults() == null ? 0 : existing.getAdults())
                     + (existing.getChildren() == null ? 0 : existing.getChildren());
             if (seats > 0 && now.isBefore(startDate)) {
-                bookingsRepo.adjustTourCapacity(existing.getTourId(), -seats);
+                TourItem tour = toursRepo.getById(existing.getTourId()).orElse(null);
+                Integer seatsBefore = tour == null ? null : seatsLeft(tour);
+                bookingsRepo.adjustTourCapacity(existing.getTourId(), -seats, tour == null ? 0 : shardCount(tour));
+                bumpIfListingChanged(seatsBefore, -seats, "seats returned");
             }
 
             Map<String, Object> resp = new LinkedHashMap<>();
@@ -777,12 +828,11 @@ public class BookingsServiceImpl implements BookingsService {
     }
 
     @Override
-    public APIGatewayProxyResponseEvent uploadDocuments(APIGatewayProxyRequestEvent event, String bookingId) {
+    public APIGatewayProxyResponseEvent uploadDocuments(APIGatewayProxyRequestEvent event, CallerContext caller, String bookingId) {
         try {
             // ---- Auth ----
-            String callerSub   = extractClaim(event, "sub");
-            String callerRole  = extractClaim(event, "custom:role");
-            String callerEmail = extractClaim(event, "email");
+            String callerSub   = caller.sub();
+            String callerEmail = caller.email();
 
             if (callerSub == null) {
                 return HttpResponses.error(mapper, 401, "authentication required: please log in or sign up");
@@ -790,17 +840,16 @@ public class BookingsServiceImpl implements BookingsService {
             if (isBlank(bookingId)) {
                 return HttpResponses.error(mapper, 400, "bookingId is required");
             }
-            if (callerRole == null) callerRole = "";
 
             // ---- Authorization & booking load (customer OR assigned agent) ----
             BookingItem booking;
             String uploader; // "CUSTOMER" or "TRAVEL_AGENT"
 
-            if ("TRAVEL_AGENT".equalsIgnoreCase(callerRole)) {
+            if (caller.is(CallerContext.Role.TRAVEL_AGENT)) {
                 if (callerEmail == null || callerEmail.isBlank()) {
                     return HttpResponses.error(mapper, 403, "missing email claim");
                 }
-                TravelAgent agent = agentsRepo.findByEmail(callerEmail);
+                TravelAgent agent = caller.agent();
                 if (agent == null || !"TRAVEL_AGENT".equals(agent.getRole())) {
                     return HttpResponses.error(mapper, 403, "not a registered travel agent");
                 }
@@ -974,12 +1023,11 @@ public class BookingsServiceImpl implements BookingsService {
 
 
     @Override
-    public APIGatewayProxyResponseEvent listDocuments(APIGatewayProxyRequestEvent event, String bookingId) {
+    public APIGatewayProxyResponseEvent listDocuments(APIGatewayProxyRequestEvent event, CallerContext caller, String bookingId) {
         try {
             // ---- Auth ----
-            String callerSub = extractClaim(event, "sub");
-            String callerRole = extractClaim(event, "custom:role");
-            String callerEmail = extractClaim(event, "email");
+            String callerSub = caller.sub();
+            String callerEmail = caller.email();
 
             if (callerSub == null) {
                 return HttpResponses.error(mapper, 401, "authentication required: please log in or sign up");
@@ -987,23 +1035,22 @@ public class BookingsServiceImpl implements BookingsService {
             if (isBlank(bookingId)) {
                 return HttpResponses.error(mapper, 400, "bookingId is required");
             }
-            if (callerRole == null) callerRole = "";
 
             // ---- Authorization & booking load (consistent with view()) ----
             BookingItem booking;
 
-            if ("CUSTOMER".equalsIgnoreCase(callerRole)) {
+            if (caller.is(CallerContext.Role.CUSTOMER)) {
                 // Customer can only access their own booking (PK = sub)
                 booking = bookingsRepo.get(callerSub, bookingId);
                 if (booking == null) {
                     return HttpResponses.error(mapper, 404, "booking not found");
                 }
-            } else if ("TRAVEL_AGENT".equalsIgnoreCase(callerRole)) {
+            } else if (caller.is(CallerContext.Role.TRAVEL_AGENT)) {
                 if (callerEmail == null || callerEmail.isBlank()) {
                     return HttpResponses.error(mapper, 403, "missing email claim");
                 }
                 // verify the agent exists and has proper role
-                TravelAgent agent = agentsRepo.findByEmail(callerEmail);
+                TravelAgent agent = caller.agent();
                 if (agent == null || !"TRAVEL_AGENT".equals(agent.getRole())) {
                     return HttpResponses.error(mapper, 403, "not a registered travel agent");
                 }
@@ -1019,8 +1066,11 @@ public class BookingsServiceImpl implements BookingsService {
                 return HttpResponses.error(mapper, 403, "incorrect role: must be either customer or travel agent");
             }
 
-            // ---- Fetch & shape documents ----
-            java.util.List<DocumentRecord> all = documentsRepo.listByBookingId(bookingId);
+            // ---- Fetch & shape documents (archived bookings carry their own) ----
+            ArchivedBooking archived = booking.isArchived() ? archivedBooking(booking) : null;
+            java.util.List<DocumentRecord> all = archived != null
+                    ? archived.getDocuments()
+                    : documentsRepo.listByBookingId(bookingId);
 
             // Payments (category = PAYMENT)
             java.util.List<ListDocumentsResponse.FileRef> payments = all.stream()
@@ -1055,13 +1105,13 @@ public class BookingsServiceImpl implements BookingsService {
 
     @Override
     public APIGatewayProxyResponseEvent deleteDocument(APIGatewayProxyRequestEvent event,
+                                                       CallerContext caller,
                                                        String bookingId,
                                                        String documentId) {
         try {
             // ---- Auth ----
-            String callerSub   = extractClaim(event, "sub");
-            String callerRole  = extractClaim(event, "custom:role");
-            String callerEmail = extractClaim(event, "email");
+            String callerSub   = caller.sub();
+            String callerEmail = caller.email();
 
             if (callerSub == null) {
                 return HttpResponses.error(mapper, 401, "authentication required: please log in or sign up");
@@ -1069,18 +1119,17 @@ public class BookingsServiceImpl implements BookingsService {
             if (isBlank(bookingId) || isBlank(documentId)) {
                 return HttpResponses.error(mapper, 400, "bookingId and documentId are required");
             }
-            if (callerRole == null) callerRole = "";
 
             // ---- Authorization & booking load (consistent with list/view) ----
             BookingItem booking;
-            if ("CUSTOMER".equalsIgnoreCase(callerRole)) {
+            if (caller.is(CallerContext.Role.CUSTOMER)) {
                 booking = bookingsRepo.get(callerSub, bookingId);
                 if (booking == null) return HttpResponses.error(mapper, 404, "booking not found");
-            } else if ("TRAVEL_AGENT".equalsIgnoreCase(callerRole)) {
+            } else if (caller.is(CallerContext.Role.TRAVEL_AGENT)) {
                 if (callerEmail == null || callerEmail.isBlank()) {
                     return HttpResponses.error(mapper, 403, "missing email claim");
                 }
-                TravelAgent agent = agentsRepo.findByEmail(callerEmail);
+                TravelAgent agent = caller.agent();
                 if (agent == null || !"TRAVEL_AGENT".equals(agent.getRole())) {
                     return HttpResponses.error(mapper, 403, "not a registered travel agent");
                 }
@@ -1170,15 +1219,6 @@ public class BookingsServiceImpl implements BookingsService {
     }
 
 
-    private static String extractClaim(APIGatewayProxyRequestEvent event, String claimName) {
-        if (event == null || event.getRequestContext() == null) return null;
-        var auth = event.getRequestContext().getAuthorizer();
-        if (auth == null) return null;
-        Object claimsObj = auth.get("claims");
-        if (!(claimsObj instanceof java.util.Map)) return null;
-        Object v = ((java.util.Map<?, ?>) claimsObj).get(claimName);
-        return v == null ? null : v.toString();
-    }
 
     private String s3HttpUrl(String key) {
         try {
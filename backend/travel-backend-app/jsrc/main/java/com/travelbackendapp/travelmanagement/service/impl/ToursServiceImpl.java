@@ -15,14 +15,18 @@ import com.travelbackendapp.travelmanagement.model.api.request.DestinationsSearc
 import com.travelbackendapp.travelmanagement.model.api.request.ToursSearchRequest;
 import com.travelbackendapp.travelmanagement.model.api.request.UpdateTourRequest;
 import com.travelbackendapp.travelmanagement.model.api.response.*;
-import com.travelbackendapp.travelmanagement.model.entity.TravelAgent;
-import com.travelbackendapp.travelmanagement.repository.TravelAgentRepository;
+import com.travelbackendapp.travelmanagement.routing.CallerContext;
 import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
 import com.travelbackendapp.travelmanagement.model.entity.ReviewItem;
 import com.travelbackendapp.travelmanagement.model.entity.TourItem;
 import com.travelbackendapp.travelmanagement.repository.BookingsRepository;
+import com.travelbackendapp.travelmanagement.repository.CatalogVersionRepository;
 import com.travelbackendapp.travelmanagement.repository.ReviewsRepository;
+import com.travelbackendapp.travelmanagement.repository.TourInventoryRepository;
 import com.travelbackendapp.travelmanagement.repository.ToursRepository;
+import com.travelbackendapp.travelmanagement.service.PricingEngine;
+import com.travelbackendapp.travelmanagement.service.TourFacetCounter;
+import com.travelbackendapp.travelmanagement.service.ToursSearchCache;
 import com.travelbackendapp.travelmanagement.service.ToursService;
 import com.travelbackendapp.travelmanagement.util.HttpResponses;
 import com.travelbackendapp.travelmanagement.util.Pagination;
@@ -51,7 +55,10 @@ public class ToursServiceImpl implements ToursService {
     private final Validator validator;
     private final CognitoIdentityProviderClient cognitoClient;
     private final String userPoolId;
-    private final TravelAgentRepository agentsRepo;
+    private final TourInventoryRepository inventoryRepo;
+    private final PricingEngine pricing;
+    private final ToursSearchCache searchCache;
+    private final CatalogVersionRepository catalogVersion;
 
 
     @Inject
@@ -59,7 +66,10 @@ public class ToursServiceImpl implements ToursService {
                             BookingsRepository bookingsRepo, ObjectMapper mapper, Validator validator,
                             CognitoIdentityProviderClient cognitoClient,
                             @Named("userPoolId") String userPoolId,
-                            TravelAgentRepository agentsRepo) {
+                            TourInventoryRepository inventoryRepo,
+                            PricingEngine pricing,
+                            ToursSearchCache searchCache,
+                            CatalogVersionRepository catalogVersion) {
         this.repo = repo;
         this.reviewsRepo = reviewsRepo;
         this.mapper = mapper;
@@ -67,7 +77,10 @@ public class ToursServiceImpl implements ToursService {
         this.validator = validator;
         this.cognitoClient = cognitoClient;
         this.userPoolId = userPoolId;
-        this.agentsRepo = agentsRepo;
+        this.inventoryRepo = inventoryRepo;
+        this.pricing = pricing;
+        this.searchCache = searchCache;
+        this.catalogVersion = catalogVersion;
     }
 
     @Override
@@ -85,27 +98,9 @@ public class ToursServiceImpl implements ToursService {
                     req.destination, req.startDate, req.endDate, req.duration, req.durationBuckets,
                     req.mealPlans, req.tourTypes, req.guests.adults, req.guests.children, req.sortBy);
 
-            List<TourItem> items = repo.findAvailableTours(
-                    req.destination,
-                    req.startDate,
-                    req.endDate,
-                    req.duration,
-                    req.mealPlans,
-                    req.tourTypes,
-                    req.guests.adults,
-                    req.guests.children
-            );
-
-
-            if (!req.durationBuckets.isEmpty()) {
-                items = items.stream()
-                        .filter(it -> req.durationBuckets.stream().anyMatch(b -> b.matches(it.getDurations())))
-                        .collect(Collectors.toList());
-            }
-
-
-            // Sort
-            items.sort(req.sortBy.comparator());
+            // Sorted results per normalized search, shared by all pages and reused until the catalog changes
+            ToursSearchCache.Result result = searchCache.search(req, () -> searchSorted(req));
+            List<TourItem> items = result.tours;
 
             // Pagination
             int totalItems = items.size();
@@ -117,7 +112,7 @@ public class ToursServiceImpl implements ToursService {
                     .collect(Collectors.toList());
 
             return HttpResponses.json(mapper, 200,
-                    new ToursPageResponse(tours, req.page, req.pageSize, totalPages, totalItems));
+                    new ToursPageResponse(tours, req.page, req.pageSize, totalPages, totalItems, result.facets));
 
         } catch (BadRequestException bre) {
             log.warn("Bad request: {}", bre.getMessage());
@@ -130,6 +125,34 @@ public class ToursServiceImpl implements ToursService {
         }
     }
 
+    private ToursSearchCache.Result searchSorted(ToursSearchRequest req) {
+        // Faceted filters are left out of the scan and applied in the counting pass,
+        // so each facet can be counted without its own filter
+        List<TourItem> candidates = repo.findAvailableTours(
+                TourFacetCounter.scanDestination(req),
+                req.startDate,
+                req.endDate,
+                req.duration,
+                TourFacetCounter.scanMealPlans(req),
+                TourFacetCounter.scanTourTypes(req),
+                req.guests.adults,
+                req.guests.children
+        );
+
+        TourFacetCounter counter = new TourFacetCounter(req);
+        for (TourItem it : candidates) {
+            // Sharded tours report the cached sum of their shards; the item itself ends up in the shared cache
+            Integer seats = TourInventoryRepository.isSharded(it) ? inventoryRepo.availableSeats(it) : it.getAvailablePackages();
+            if (seats == null || seats <= 0) continue;
+            counter.accept(it);
+        }
+
+        // Sort
+        List<TourItem> items = counter.results();
+        items.sort(req.sortBy.comparator());
+        return new ToursSearchCache.Result(items, counter.facets());
+    }
+
     @Override
     public APIGatewayProxyResponseEvent getDestinations(APIGatewayProxyRequestEvent event) {
         try {
@@ -157,13 +180,14 @@ public class ToursServiceImpl implements ToursService {
                 return HttpResponses.error(mapper, 400, "missing tour id");
             }
 
-            TourItem item = repo.getById(tourId.trim()).orElse(null);
+            TourItem item = repo.getDetailedById(tourId.trim()).orElse(null);
             if (item == null) {
                 return HttpResponses.error(mapper, 404, "tour not found");
             }
 
             // hide non-bookable tours if needed
-            if (item.getAvailablePackages() != null && item.getAvailablePackages() <= 0) {
+            Integer seats = TourInventoryRepository.isSharded(item) ? inventoryRepo.availableSeats(item) : item.getAvailablePackages();
+            if (seats != null && seats <= 0) {
                 return HttpResponses.error(mapper, 404, "tour not available");
             }
 
@@ -176,6 +200,54 @@ public class ToursServiceImpl implements ToursService {
         }
     }
 
+    @Override
+    public APIGatewayProxyResponseEvent getTourQuote(APIGatewayProxyRequestEvent event, String tourId) {
+        try {
+            if (isBlank(tourId)) {
+                return HttpResponses.error(mapper, 400, "missing tour id");
+            }
+
+            Map<String, String> q = event.getQueryStringParameters() == null
+                    ? Collections.emptyMap()
+                    : event.getQueryStringParameters();
+
+            String duration = q.get("duration");
+            String mealPlan = q.get("mealPlan");
+            if (isBlank(duration) || isBlank(mealPlan)) {
+                return HttpResponses.error(mapper, 400, "duration and mealPlan are required");
+            }
+            int adults = clampMin(parseIntOrDefault(q.get("adults"), 1), 0);
+            int children = clampMin(parseIntOrDefault(q.get("children"), 0), 0);
+            int seats = adults + children;
+            if (seats <= 0) {
+                return HttpResponses.error(mapper, 400, "at least one guest is required");
+            }
+
+            TourItem tour = repo.getById(tourId.trim()).orElse(null);
+            if (tour == null) {
+                return HttpResponses.error(mapper, 404, "tour not found");
+            }
+
+            PricingEngine.Quote quote = pricing.quote(tour, duration, mealPlan, seats);
+            QuoteResponse resp = new QuoteResponse(tour.getTourId(), quote.durationKey, quote.mealCode,
+                    money(quote.total),
+                    new CreateBookingResponse.PriceBreakdown(
+                            money(quote.basePerPerson), quote.days, seats, money(quote.supplementPerDayPerPerson)));
+            return HttpResponses.json(mapper, 200, resp);
+
+        } catch (BadRequestException bre) {
+            return HttpResponses.error(mapper, 400, bre.getMessage());
+        } catch (Exception e) {
+            log.error("getTourQuote failed for tourId={}", tourId, e);
+            return HttpResponses.error(mapper, 500, "internal server error");
+        }
+    }
+
+    private static String money(double v) {
+        if (Math.floor(v) == v) return "$" + String.format(Locale.US, "%.0f", v);
+        return "$" + String.format(Locale.US, "%.2f", v);
+    }
+
     @Override
     public APIGatewayProxyResponseEvent getTourReviews(APIGatewayProxyRequestEvent event, String tourId) {
         if (isBlank(tourId)) {
@@ -273,9 +345,9 @@ public class ToursServiceImpl implements ToursService {
 
 
     @Override
-    public APIGatewayProxyResponseEvent postTourReview(APIGatewayProxyRequestEvent event, String tourId) {
+    public APIGatewayProxyResponseEvent postTourReview(APIGatewayProxyRequestEvent event, CallerContext caller, String tourId) {
         // Auth
-        String userId = extractClaim(event, "sub"); // Cognito sub
+        String userId = caller.sub(); // Cognito sub
         if (userId == null) {
             return HttpResponses.error(mapper, 401, "authentication required");
         }
@@ -344,13 +416,13 @@ public class ToursServiceImpl implements ToursService {
         if (existingForBooking == null) ri.setCreatedAt(today);
         ri.setUpdatedAt(today);
 
-        String given = extractClaim(event, "given_name");
-        String family = extractClaim(event, "family_name");
+        String given = caller.givenName();
+        String family = caller.familyName();
         String displayName = null;
         if ((given != null && !given.isBlank()) || (family != null && !family.isBlank())) {
             displayName = ((given == null ? "" : given) + " " + (family == null ? "" : family)).trim();
         }
-        String avatarFromClaims = extractClaim(event, "picture");
+        String avatarFromClaims = caller.picture();
 
         if ((displayName == null || displayName.isBlank()) || (avatarFromClaims == null || avatarFromClaims.isBlank())) {
             UserProfile prof = fetchUserProfileBySub(userId);
@@ -400,15 +472,6 @@ public class ToursServiceImpl implements ToursService {
 
     private static boolean isBlank(String s) { return s == null || s.trim().isEmpty(); }
 
-    private static String extractClaim(APIGatewayProxyRequestEvent event, String claimName) {
-        if (event == null || event.getRequestContext() == null) return null;
-        var auth = event.getRequestContext().getAuthorizer();
-        if (auth == null) return null;
-        Object claimsObj = auth.get("claims");
-        if (!(claimsObj instanceof java.util.Map)) return null;
-        Object v = ((java.util.Map<?, ?>) claimsObj).get(claimName);
-        return v == null ? null : v.toString();
-    }
 
     // ------------ Helpers
 
@@ -451,23 +514,21 @@ public class ToursServiceImpl implements ToursService {
     }
 
     @Override
-    public APIGatewayProxyResponseEvent createTour(APIGatewayProxyRequestEvent event) {
+    public APIGatewayProxyResponseEvent createTour(APIGatewayProxyRequestEvent event, CallerContext caller) {
         try {
             // Auth: require TRAVEL_AGENT or ADMIN role
-            String callerEmail = extractClaim(event, "email");
-            String callerRole = extractClaim(event, "custom:role");
+            String callerEmail = caller.email();
             
-            if (callerEmail == null || callerEmail.isBlank()) {
+            if (!caller.hasEmail()) {
                 return HttpResponses.error(mapper, 401, "authentication required");
             }
             
-            if (!"TRAVEL_AGENT".equals(callerRole) && !"ADMIN".equals(callerRole)) {
+            if (!caller.isStaff()) {
                 return HttpResponses.error(mapper, 403, "only travel agents or admins can create tours");
             }
             
             // Verify agent/admin exists and has proper role
-            TravelAgent agent = agentsRepo.findByEmail(callerEmail);
-            if (agent == null || (!"TRAVEL_AGENT".equals(agent.getRole()) && !"ADMIN".equals(agent.getRole()))) {
+            if (!caller.isRegisteredAgent()) {
                 return HttpResponses.error(mapper, 403, "not a registered travel agent or admin");
             }
             
@@ -517,9 +578,11 @@ public class ToursServiceImpl implements ToursService {
             tour.setAgentEmail(callerEmail);
             tour.setRating(0.0);
             tour.setReviews(0);
+            tour.setVersion(1L);
             
             // Save tour
             repo.save(tour);
+            catalogVersion.bump("tour created");
             
             log.info("Tour created: {} by agent: {}", tourId, callerEmail);
             return HttpResponses.json(mapper, 201, new CreateTourResponse(tourId, "Tour created successfully"));
@@ -531,28 +594,26 @@ public class ToursServiceImpl implements ToursService {
     }
 
     @Override
-    public APIGatewayProxyResponseEvent updateTour(APIGatewayProxyRequestEvent event, String tourId) {
+    public APIGatewayProxyResponseEvent updateTour(APIGatewayProxyRequestEvent event, CallerContext caller, String tourId) {
         try {
             // Auth: require TRAVEL_AGENT or ADMIN role
-            String callerEmail = extractClaim(event, "email");
-            String callerRole = extractClaim(event, "custom:role");
+            String callerEmail = caller.email();
             
-            if (callerEmail == null || callerEmail.isBlank()) {
+            if (!caller.hasEmail()) {
                 return HttpResponses.error(mapper, 401, "authentication required");
             }
             
-            if (!"TRAVEL_AGENT".equals(callerRole) && !"ADMIN".equals(callerRole)) {
+            if (!caller.isStaff()) {
                 return HttpResponses.error(mapper, 403, "only travel agents or admins can update tours");
             }
             
             // Verify agent/admin exists and has proper role
-            TravelAgent agent = agentsRepo.findByEmail(callerEmail);
-            if (agent == null || (!"TRAVEL_AGENT".equals(agent.getRole()) && !"ADMIN".equals(agent.getRole()))) {
+            if (!caller.isRegisteredAgent()) {
                 return HttpResponses.error(mapper, 403, "not a registered travel agent or admin");
             }
             
             // Check tour exists
-            Optional<TourItem> tourOpt = repo.getById(tourId);
+            Optional<TourItem> tourOpt = repo.getDetailedById(tourId);  // full item: update replaces it
             if (tourOpt.isEmpty()) {
                 return HttpResponses.error(mapper, 404, "tour not found");
             }
@@ -560,7 +621,7 @@ public class ToursServiceImpl implements ToursService {
             TourItem tour = tourOpt.get();
             
             // Verify agent owns this tour (ADMIN can update any tour)
-            if (!"ADMIN".equals(callerRole)) {
+            if (!caller.is(CallerContext.Role.ADMIN)) {
                 if (tour.getAgentEmail() == null || !tour.getAgentEmail().equalsIgnoreCase(callerEmail)) {
                     return HttpResponses.error(mapper, 403, "you can only update tours you created");
                 }
@@ -573,6 +634,10 @@ public class ToursServiceImpl implements ToursService {
             } catch (Exception e) {
                 return HttpResponses.error(mapper, 400, "invalid json body");
             }
+            if (body.inventoryShards != null
+                    && (body.inventoryShards < 0 || body.inventoryShards > TourInventoryRepository.MAX_SHARDS)) {
+                return HttpResponses.error(mapper, 400, "inventoryShards must be between 0 and " + TourInventoryRepository.MAX_SHARDS);
+            }
             
             // Update fields (only non-null fields)
             if (body.name != null) tour.setName(body.name);
@@ -589,7 +654,10 @@ public class ToursServiceImpl implements ToursService {
             if (body.tourType != null) tour.setTourType(body.tourType);
             if (body.maxAdults != null) tour.setMaxAdults(body.maxAdults);
             if (body.maxChildren != null) tour.setMaxChildren(body.maxChildren);
-            if (body.availablePackages != null) tour.setAvailablePackages(body.availablePackages);
+            int curShards = TourInventoryRepository.isSharded(tour) ? tour.getInventoryShards() : 0;
+            int newShards = body.inventoryShards != null ? body.inventoryShards : curShards;
+            boolean plainInventory = curShards == 0 && newShards == 0;
+            boolean inventoryChange = body.inventoryShards != null || body.availablePackages != null;
             if (body.imageUrls != null) tour.setImageUrls(body.imageUrls);
             if (body.summary != null) tour.setSummary(body.summary);
             if (body.accommodation != null) tour.setAccommodation(body.accommodation);
@@ -599,11 +667,35 @@ public class ToursServiceImpl implements ToursService {
             if (body.freeCancellation != null) tour.setFreeCancellation(body.freeCancellation);
             if (body.freeCancellationDaysBefore != null) tour.setFreeCancellationDaysBefore(body.freeCancellationDaysBefore);
             
-            // Save updated tour
-            repo.update(tour);
+            // Plain tours move seats relative to what is stored now, in the same conditional write as the fields
+            int seatsTaken = 0;
+            if (plainInventory && body.availablePackages != null) {
+                int read = tour.getAvailablePackages() == null ? 0 : tour.getAvailablePackages();
+                seatsTaken = read - body.availablePackages;
+            }
+
+            // Save updated tour; new version invalidates compiled price tables and fences off concurrent edits
+            Long readVersion = tour.getVersion();
+            tour.setVersion(readVersion == null ? 1L : readVersion + 1);
+            try {
+                if (!repo.update(tour, readVersion, seatsTaken)) {
+                    return HttpResponses.error(mapper, 409, "tour was changed concurrently, please reload and retry");
+                }
+            } catch (software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException e) {
+                log.warn("capacity change for tour {} exceeds the seats left", tourId);
+                return HttpResponses.error(mapper, 409, seatsTaken > 0
+                        ? "fewer seats left than the capacity reduction"
+                        : "capacity changed concurrently, please retry");
+            }
+            String inventoryError = inventoryChange && !plainInventory ? applyInventoryChange(tour, body, curShards, newShards) : null;
+            catalogVersion.bump("tour updated");
             
             log.info("Tour updated: {} by agent: {}", tourId, callerEmail);
-            return HttpResponses.json(mapper, 200, new UpdateTourResponse(tourId, "Tour updated successfully"));
+            UpdateTourResponse resp = new UpdateTourResponse(tourId, inventoryError == null
+                    ? "Tour updated successfully"
+                    : "Tour updated, inventory change failed");
+            resp.inventoryError = inventoryError;
+            return HttpResponses.json(mapper, 200, resp);
             
         } catch (Exception e) {
             log.error("updateTour failed for tourId={}", tourId, e);
@@ -611,24 +703,53 @@ public class ToursServiceImpl implements ToursService {
         }
     }
 
+    /**
+     * Applies availablePackages / inventoryShards of a sharded tour, or of one switching between plain and sharded
+     * inventory, after the rest of the tour is saved. Seats move with guarded transactions, so bookings made since
+     * the tour was read still count. Returns an error message for the response, or null.
+     */
+    private String applyInventoryChange(TourItem tour, UpdateTourRequest body, int curShards, int newShards) {
+        try {
+            int seats = curShards > 0
+                    ? inventoryRepo.disableSharding(tour.getTourId())
+                    : (tour.getAvailablePackages() == null ? 0 : tour.getAvailablePackages());
+            int total = body.availablePackages != null ? body.availablePackages : seats;
+
+            if (newShards > 0) {
+                inventoryRepo.enableSharding(tour.getTourId(), seats, total, newShards);
+                tour.setAvailablePackages(0);
+                tour.setInventoryShards(newShards);
+            } else {
+                bookingsRepo.adjustTourCapacity(tour.getTourId(), seats - total);
+                tour.setAvailablePackages(total);
+                tour.setInventoryShards(null);
+            }
+            return null;
+        } catch (software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException e) {
+            log.warn("capacity change for tour {} exceeds the seats left", tour.getTourId());
+            return "fewer seats left than the capacity reduction";
+        } catch (software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException e) {
+            log.warn("inventory change for tour {} lost a race with bookings", tour.getTourId());
+            return "capacity changed concurrently, please retry";
+        }
+    }
+
     @Override
-    public APIGatewayProxyResponseEvent deleteTour(APIGatewayProxyRequestEvent event, String tourId) {
+    public APIGatewayProxyResponseEvent deleteTour(APIGatewayProxyRequestEvent event, CallerContext caller, String tourId) {
         try {
             // Auth: require TRAVEL_AGENT or ADMIN role
-            String callerEmail = extractClaim(event, "email");
-            String callerRole = extractClaim(event, "custom:role");
+            String callerEmail = caller.email();
             
-            if (callerEmail == null || callerEmail.isBlank()) {
+            if (!caller.hasEmail()) {
                 return HttpResponses.error(mapper, 401, "authentication required");
             }
             
-            if (!"TRAVEL_AGENT".equals(callerRole) && !"ADMIN".equals(callerRole)) {
+            if (!caller.isStaff()) {
                 return HttpResponses.error(mapper, 403, "only travel agents or admins can delete tours");
             }
             
             // Verify agent/admin exists and has proper role
-            TravelAgent agent = agentsRepo.findByEmail(callerEmail);
-            if (agent == null || (!"TRAVEL_AGENT".equals(agent.getRole()) && !"ADMIN".equals(agent.getRole()))) {
+            if (!caller.isRegisteredAgent()) {
                 return HttpResponses.error(mapper, 403, "not a registered travel agent or admin");
             }
             
@@ -641,14 +762,25 @@ public class ToursServiceImpl implements ToursService {
             TourItem tour = tourOpt.get();
             
             // Verify agent owns this tour (ADMIN can delete any tour)
-            if (!"ADMIN".equals(callerRole)) {
+            if (!caller.is(CallerContext.Role.ADMIN)) {
                 if (tour.getAgentEmail() == null || !tour.getAgentEmail().equalsIgnoreCase(callerEmail)) {
                     return HttpResponses.error(mapper, 403, "you can only delete tours you created");
                 }
             }
             
+            // Drop the shard items first: folding them back writes to the tour item, which must still exist
+            if (TourInventoryRepository.isSharded(tour)) {
+                try {
+                    inventoryRepo.disableSharding(tourId);
+                } catch (software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException e) {
+                    return HttpResponses.error(mapper, 409, "seats changed concurrently, please retry");
+                }
+            }
+
             // Delete tour
             repo.delete(tourId);
+            catalogVersion.bump("tour deleted");
+            pricing.evict(tourId);
             
             log.info("Tour deleted: {} by agent: {}", tourId, callerEmail);
             return HttpResponses.json(mapper, 200, new DeleteTourResponse("Tour deleted successfully"));
@@ -660,31 +792,29 @@ public class ToursServiceImpl implements ToursService {
     }
 
     @Override
-    public APIGatewayProxyResponseEvent getMyTours(APIGatewayProxyRequestEvent event) {
+    public APIGatewayProxyResponseEvent getMyTours(APIGatewayProxyRequestEvent event, CallerContext caller) {
         try {
             // Auth: require TRAVEL_AGENT or ADMIN role
-            String callerEmail = extractClaim(event, "email");
-            String callerRole = extractClaim(event, "custom:role");
+            String callerEmail = caller.email();
             
-            if (callerEmail == null || callerEmail.isBlank()) {
+            if (!caller.hasEmail()) {
                 return HttpResponses.error(mapper, 401, "authentication required");
             }
             
-            if (!"TRAVEL_AGENT".equals(callerRole) && !"ADMIN".equals(callerRole)) {
+            if (!caller.isStaff()) {
                 return HttpResponses.error(mapper, 403, "only travel agents or admins can view tours");
             }
             
             // Verify agent/admin exists and has proper role
-            TravelAgent agent = agentsRepo.findByEmail(callerEmail);
-            if (agent == null || (!"TRAVEL_AGENT".equals(agent.getRole()) && !"ADMIN".equals(agent.getRole()))) {
+            if (!caller.isRegisteredAgent()) {
                 return HttpResponses.error(mapper, 403, "not a registered travel agent or admin");
             }
             
             // Get tours: ADMIN sees all tours, TRAVEL_AGENT sees only their own
             List<TourItem> tours;
-            if ("ADMIN".equals(callerRole)) {
+            if (caller.is(CallerContext.Role.ADMIN)) {
                 // Admin can see all tours - get all tours from repository
-                tours = repo.listAll();
+                tours = repo.listAll(ToursRepository.LIST_ATTRIBUTES);
             } else {
                 // Travel agent sees only their own tours
                 tours = repo.findByAgentEmail(callerEmail);
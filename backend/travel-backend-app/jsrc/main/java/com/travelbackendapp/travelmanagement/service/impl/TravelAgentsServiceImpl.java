@@ -7,6 +7,7 @@ import com.travelbackendapp.travelmanagement.model.api.request.CreateTravelAgent
 import com.travelbackendapp.travelmanagement.model.api.response.*;
 import com.travelbackendapp.travelmanagement.model.entity.TravelAgent;
 import com.travelbackendapp.travelmanagement.repository.TravelAgentRepository;
+import com.travelbackendapp.travelmanagement.routing.CallerContext;
 import com.travelbackendapp.travelmanagement.service.TravelAgentsService;
 import com.travelbackendapp.travelmanagement.util.HttpResponses;
 import org.slf4j.Logger;
@@ -46,23 +47,21 @@ public class TravelAgentsServiceImpl implements TravelAgentsService {
     }
 
     @Override
-    public APIGatewayProxyResponseEvent createTravelAgent(APIGatewayProxyRequestEvent event) {
+    public APIGatewayProxyResponseEvent createTravelAgent(APIGatewayProxyRequestEvent event, CallerContext caller) {
         try {
             // Auth: require ADMIN role
-            String callerEmail = extractClaim(event, "email");
-            String callerRole = extractClaim(event, "custom:role");
+            String callerEmail = caller.email();
 
-            if (callerEmail == null || callerEmail.isBlank()) {
+            if (!caller.hasEmail()) {
                 return HttpResponses.error(mapper, 401, "authentication required");
             }
 
-            if (!"ADMIN".equals(callerRole)) {
+            if (!caller.is(CallerContext.Role.ADMIN)) {
                 return HttpResponses.error(mapper, 403, "only admins can create travel agents");
             }
 
             // Verify admin exists
-            TravelAgent admin = agentsRepo.findByEmail(callerEmail);
-            if (admin == null || !"ADMIN".equals(admin.getRole())) {
+            if (!caller.isRegisteredAdmin()) {
                 return HttpResponses.error(mapper, 403, "not a registered admin");
             }
 
@@ -81,6 +80,8 @@ public class TravelAgentsServiceImpl implements TravelAgentsService {
             }
 
             // Check if agent already exists
+            // Authoritative check: skip a cached miss that may predate a create in another container
+            agentsRepo.invalidate(body.email);
             if (agentsRepo.findByEmail(body.email) != null) {
                 return HttpResponses.error(mapper, 409, "travel agent with this email already exists");
             }
@@ -149,23 +150,21 @@ public class TravelAgentsServiceImpl implements TravelAgentsService {
     }
 
     @Override
-    public APIGatewayProxyResponseEvent listTravelAgents(APIGatewayProxyRequestEvent event) {
+    public APIGatewayProxyResponseEvent listTravelAgents(APIGatewayProxyRequestEvent event, CallerContext caller) {
         try {
             // Auth: require ADMIN role
-            String callerEmail = extractClaim(event, "email");
-            String callerRole = extractClaim(event, "custom:role");
+            String callerEmail = caller.email();
 
-            if (callerEmail == null || callerEmail.isBlank()) {
+            if (!caller.hasEmail()) {
                 return HttpResponses.error(mapper, 401, "authentication required");
             }
 
-            if (!"ADMIN".equals(callerRole)) {
+            if (!caller.is(CallerContext.Role.ADMIN)) {
                 return HttpResponses.error(mapper, 403, "only admins can list travel agents");
             }
 
             // Verify admin exists
-            TravelAgent admin = agentsRepo.findByEmail(callerEmail);
-            if (admin == null || !"ADMIN".equals(admin.getRole())) {
+            if (!caller.isRegisteredAdmin()) {
                 return HttpResponses.error(mapper, 403, "not a registered admin");
             }
 
@@ -197,27 +196,26 @@ public class TravelAgentsServiceImpl implements TravelAgentsService {
     }
 
     @Override
-    public APIGatewayProxyResponseEvent deleteTravelAgent(APIGatewayProxyRequestEvent event, String email) {
+    public APIGatewayProxyResponseEvent deleteTravelAgent(APIGatewayProxyRequestEvent event, CallerContext caller, String email) {
         try {
             // Auth: require ADMIN role
-            String callerEmail = extractClaim(event, "email");
-            String callerRole = extractClaim(event, "custom:role");
+            String callerEmail = caller.email();
 
-            if (callerEmail == null || callerEmail.isBlank()) {
+            if (!caller.hasEmail()) {
                 return HttpResponses.error(mapper, 401, "authentication required");
             }
 
-            if (!"ADMIN".equals(callerRole)) {
+            if (!caller.is(CallerContext.Role.ADMIN)) {
                 return HttpResponses.error(mapper, 403, "only admins can delete travel agents");
             }
 
             // Verify admin exists
-            TravelAgent admin = agentsRepo.findByEmail(callerEmail);
-            if (admin == null || !"ADMIN".equals(admin.getRole())) {
+            if (!caller.isRegisteredAdmin()) {
                 return HttpResponses.error(mapper, 403, "not a registered admin");
             }
 
-            // Check if agent exists
+            // Check if agent exists, reading the table rather than a possibly stale cache entry
+            agentsRepo.invalidate(email);
             TravelAgent agent = agentsRepo.findByEmail(email);
             if (agent == null) {
                 return HttpResponses.error(mapper, 404, "travel agent not found");
@@ -251,14 +249,5 @@ public class TravelAgentsServiceImpl implements TravelAgentsService {
         }
     }
 
-    private static String extractClaim(APIGatewayProxyRequestEvent event, String claimName) {
-        if (event == null || event.getRequestContext() == null) return null;
-        var auth = event.getRequestContext().getAuthorizer();
-        if (auth == null) return null;
-        Object claimsObj = auth.get("claims");
-        if (!(claimsObj instanceof java.util.Map)) return null;
-        Object v = ((java.util.Map<?, ?>) claimsObj).get(claimName);
-        return v == null ? null : v.toString();
-    }
 }
 
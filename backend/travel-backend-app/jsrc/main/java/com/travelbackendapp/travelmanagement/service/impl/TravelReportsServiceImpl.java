@@ -1,8 +1,10 @@
 package com.travelbackendapp.travelmanagement.service.impl;
 
 import com.travelbackendapp.travelmanagement.model.entity.ReportRecord;
+import com.travelbackendapp.travelmanagement.model.entity.ReportSnapshot;
 import com.travelbackendapp.travelmanagement.model.entity.TourItem;
 import com.travelbackendapp.travelmanagement.model.entity.ReviewItem;
+import com.travelbackendapp.travelmanagement.repository.ReportSnapshotRepository;
 import com.travelbackendapp.travelmanagement.repository.ReportsRepository;
 import com.travelbackendapp.travelmanagement.repository.ToursRepository;
 import com.travelbackendapp.travelmanagement.repository.ReviewsRepository;
@@ -12,9 +14,13 @@ import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -28,12 +34,26 @@ public class TravelReportsServiceImpl implements TravelReportsService {
     private final ReportsRepository reportsRepository;
     private final ToursRepository toursRepository;
     private final ReviewsRepository reviewsRepository;
+    private final ReportSnapshotRepository snapshotRepository;
+
+    // Bump when a snapshotted metric changes definition; older snapshots are then recomputed on read
+    static final int SNAPSHOT_VERSION = 1;
+    // Events can still arrive through the queue shortly after a period ends; don't freeze it before then
+    static final Duration SNAPSHOT_GRACE = Duration.ofHours(6);
+
+    static final String TOURS_PROCESSED = "toursProcessed";
+    static final String TOURS_SOLD = "toursSold";
+    static final String AVERAGE_FEEDBACK = "averageFeedback";
+    static final String MINIMUM_FEEDBACK = "minimumFeedback";
+    static final String REVENUE = "revenue";
     
     @Inject
-    public TravelReportsServiceImpl(ReportsRepository reportsRepository, ToursRepository toursRepository, ReviewsRepository reviewsRepository) {
+    public TravelReportsServiceImpl(ReportsRepository reportsRepository, ToursRepository toursRepository, ReviewsRepository reviewsRepository,
+                                    ReportSnapshotRepository snapshotRepository) {
         this.reportsRepository = reportsRepository;
         this.toursRepository = toursRepository;
         this.reviewsRepository = reviewsRepository;
+        this.snapshotRepository = snapshotRepository;
     }
     
     // ========== TRAVEL AGENT PERFORMANCE REPORTS ==========
@@ -50,25 +70,27 @@ public class TravelReportsServiceImpl implements TravelReportsService {
             
             Map<String, Object> report = new HashMap<>();
             
-            // Get current period data for comparison with previous period
+            // Previous period is closed: served from its snapshot, only the current period is computed
+            Map<String, Double> previous = previousPeriodMetrics(ReportSnapshot.scope(ReportSnapshot.AGENT, agentEmail), period, year,
+                    () -> computeAgentPreviousPeriod(agentEmail, period, year, requesterRole));
             
             // Tours processed
             Integer toursProcessed = getToursProcessedByAgent(agentEmail, period, year, requesterRole);
-            Integer previousToursProcessed = getToursProcessedByAgentForPreviousPeriod(agentEmail, period, year, requesterRole);
+            Integer previousToursProcessed = previous.getOrDefault(TOURS_PROCESSED, 0.0).intValue();
             Double toursProcessedDelta = calculatePercentageDelta(toursProcessed.doubleValue(), previousToursProcessed.doubleValue());
             
             // Feedback metrics
             Double averageFeedback = getAverageFeedbackRate(agentEmail, period, year, requesterRole);
-            Double previousAverageFeedback = getAverageFeedbackRateForPreviousPeriod(agentEmail, period, year, requesterRole);
+            Double previousAverageFeedback = previous.getOrDefault(AVERAGE_FEEDBACK, 0.0);
             Double averageFeedbackDelta = calculatePercentageDelta(averageFeedback, previousAverageFeedback);
             
             Integer minimumFeedback = getMinimumFeedbackRate(agentEmail, period, year, requesterRole);
-            Double previousMinimumFeedback = getMinimumFeedbackRateForPreviousPeriod(agentEmail, period, year, requesterRole).doubleValue();
+            Double previousMinimumFeedback = previous.getOrDefault(MINIMUM_FEEDBACK, 0.0);
             Double minimumFeedbackDelta = calculatePercentageDelta(minimumFeedback.doubleValue(), previousMinimumFeedback);
             
             // Revenue metrics
             Double revenue = getRevenueForFinishedTours(agentEmail, period, year, requesterRole);
-            Double previousRevenue = getRevenueForFinishedToursForPreviousPeriod(agentEmail, period, year, requesterRole);
+            Double previousRevenue = previous.getOrDefault(REVENUE, 0.0);
             log.info("Revenue: {} Previous Revenue: {}", revenue, previousRevenue);
             Double revenueDelta = calculatePercentageDelta(revenue, previousRevenue);
             
@@ -321,9 +343,12 @@ public class TravelReportsServiceImpl implements TravelReportsService {
             
             Map<String, Object> report = new HashMap<>();
             
+            Map<String, Double> previous = previousPeriodMetrics(ReportSnapshot.scope(ReportSnapshot.TOUR, tourId), period, year,
+                    () -> computeTourPreviousPeriod(tourId, period, year, requesterRole, null));
+            
             // Tours sold
             Integer toursSold = getToursSoldToResort(tourId, period, year, requesterRole);
-            Integer previousToursSold = getToursSoldToResortForPreviousPeriod(tourId, period, year, requesterRole);
+            Integer previousToursSold = previous.getOrDefault(TOURS_SOLD, 0.0).intValue();
             Double toursSoldDelta = calculatePercentageDelta(toursSold.doubleValue(), previousToursSold.doubleValue());
             
             // Feedback metrics
@@ -332,14 +357,14 @@ public class TravelReportsServiceImpl implements TravelReportsService {
             log.info("TEST TEST TEST");
             Integer minimumFeedback = getMinimumFeedbackRateForTour(tourId, period, year, requesterRole);
             log.info("Minimum feedback rate for tour: {} is {}", tourId, minimumFeedback);
-            Double previousAverageFeedback = getAverageFeedbackRateForTourForPreviousPeriod(tourId, period, year, requesterRole);
+            Double previousAverageFeedback = previous.getOrDefault(AVERAGE_FEEDBACK, 0.0);
             log.info("Previous average feedback rate for tour: {} is {}", tourId, previousAverageFeedback);
             Double averageFeedbackDelta = calculatePercentageDelta(averageFeedback, previousAverageFeedback);
             log.info("Average feedback rate delta for tour: {} is {}", tourId, averageFeedbackDelta);
             
             // Revenue metrics
             Double revenue = getRevenueForFinishedToursByTour(tourId, period, year, requesterRole);
-            Double previousRevenue = getRevenueForFinishedToursByTourForPreviousPeriod(tourId, period, year, requesterRole);
+            Double previousRevenue = previous.getOrDefault(REVENUE, 0.0);
             Double revenueDelta = calculatePercentageDelta(revenue, previousRevenue);
             
             // Get details of all tours processed in this period from the entire reports table
@@ -491,25 +516,11 @@ public class TravelReportsServiceImpl implements TravelReportsService {
     
     private List<ReportRecord> getReportsForPeriod(String agentEmail, String period, Integer year, String requesterRole) {
         try {
-            // Query all reports for the agent
-            List<ReportRecord> allReports = reportsRepository.findByAgentEmail(agentEmail);
-            
-            // Filter by period and year based on eventTimestamp
             LocalDateTime periodStart = getPeriodStart(period, year);
             LocalDateTime periodEnd = getPeriodEnd(period, year);
-            
-            List<ReportRecord> filteredReports = allReports.stream()
-                .filter(report -> {
-                    if (report.getEventTimestamp() == null) {
-                        return false;
-                    }
-                    LocalDateTime eventTime = parseEventTimestamp(report.getEventTimestamp());
-                    if (eventTime == null) {
-                        return false;
-                    }
-                    return !eventTime.isBefore(periodStart) && !eventTime.isAfter(periodEnd);
-                })
-                .collect(Collectors.toList());
+
+            // Range query on the agent period index
+            List<ReportRecord> filteredReports = reportsRepository.findByAgentEmail(agentEmail, periodStart, periodEnd);
             
             log.info("Found {} reports for agent {} in period {} {}", filteredReports.size(), agentEmail, period, year);
             return filteredReports;
@@ -521,25 +532,11 @@ public class TravelReportsServiceImpl implements TravelReportsService {
     
     private List<ReportRecord> getReportsForPreviousPeriod(String agentEmail, String period, Integer year, String requesterRole) {
         try {
-            // Query all reports for the agent
-            List<ReportRecord> allReports = reportsRepository.findByAgentEmail(agentEmail);
-            
-            // Filter by previous period and year based on eventTimestamp
             LocalDateTime previousPeriodStart = getPreviousPeriodStart(period, year);
             LocalDateTime previousPeriodEnd = getPreviousPeriodEnd(period, year);
-            
-            List<ReportRecord> filteredReports = allReports.stream()
-                .filter(report -> {
-                    if (report.getEventTimestamp() == null) {
-                        return false;
-                    }
-                    LocalDateTime eventTime = parseEventTimestamp(report.getEventTimestamp());
-                    if (eventTime == null) {
-                        return false;
-                    }
-                    return !eventTime.isBefore(previousPeriodStart) && !eventTime.isAfter(previousPeriodEnd);
-                })
-                .collect(Collectors.toList());
+
+            // Range query on the agent period index
+            List<ReportRecord> filteredReports = reportsRepository.findByAgentEmail(agentEmail, previousPeriodStart, previousPeriodEnd);
             
             log.info("Found {} reports for agent {} in previous period {} {}", filteredReports.size(), agentEmail, period, year);
             return filteredReports;
@@ -551,25 +548,11 @@ public class TravelReportsServiceImpl implements TravelReportsService {
     
     private List<ReportRecord> getReportsForPeriodByTour(String tourId, String period, Integer year, String requesterRole) {
         try {
-            // Query all reports for the tour
-            List<ReportRecord> allReports = reportsRepository.findByTourId(tourId);
-            
-            // Filter by period and year based on eventTimestamp
             LocalDateTime periodStart = getPeriodStart(period, year);
             LocalDateTime periodEnd = getPeriodEnd(period, year);
-            
-            List<ReportRecord> filteredReports = allReports.stream()
-                .filter(report -> {
-                    if (report.getEventTimestamp() == null) {
-                        return false;
-                    }
-                    LocalDateTime eventTime = parseEventTimestamp(report.getEventTimestamp());
-                    if (eventTime == null) {
-                        return false;
-                    }
-                    return !eventTime.isBefore(periodStart) && !eventTime.isAfter(periodEnd);
-                })
-                .collect(Collectors.toList());
+
+            // Range query on the tour period index
+            List<ReportRecord> filteredReports = reportsRepository.findByTourId(tourId, periodStart, periodEnd);
             
             log.info("Found {} reports for tour {} in period {} {}", filteredReports.size(), tourId, period, year);
             return filteredReports;
@@ -720,21 +703,6 @@ public class TravelReportsServiceImpl implements TravelReportsService {
     }
     
     
-    /**
-     * Parse event timestamp string to LocalDateTime
-     */
-    private LocalDateTime parseEventTimestamp(String timestampString) {
-        try {
-            if (timestampString == null || timestampString.trim().isEmpty()) {
-                return null;
-            }
-            return LocalDateTime.parse(timestampString);
-        } catch (Exception e) {
-            log.warn("Failed to parse event timestamp: {}", timestampString, e);
-            return null;
-        }
-    }
-    
     /**
      * Parse review date string to LocalDateTime (handles both date and datetime formats)
      */
@@ -762,6 +730,100 @@ public class TravelReportsServiceImpl implements TravelReportsService {
         }
     }
     
+    // ========== CLOSED PERIOD SNAPSHOTS ==========
+    
+    @Override
+    public Map<String, Object> rebuildSnapshots(String scope, String id, String period, Integer year) {
+        String key = ReportSnapshot.scope(scope, id);
+        String prefix = period == null ? "" : period.toUpperCase() + "#";
+        int deleted = snapshotRepository.deleteByScope(key, prefix);
+        
+        // Regenerating the report recomputes and stores the previous period again
+        boolean rebuilt = false;
+        if (period != null && !ReportSnapshot.ALL.equals(scope)) {
+            int y = year != null ? year : LocalDate.now().getYear();
+            if (ReportSnapshot.AGENT.equals(scope)) {
+                generateTravelAgentPerformanceReport(id, period, y, "ADMIN");
+            } else {
+                generateSalesStatisticsReport(id, period, y, "ADMIN");
+            }
+            rebuilt = true;
+        }
+        log.info("Rebuilt report snapshots scope={} period={} deleted={} rebuilt={}", key, period, deleted, rebuilt);
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("scope", key);
+        result.put("period", period);
+        result.put("deleted", deleted);
+        result.put("rebuilt", rebuilt);
+        return result;
+    }
+    
+    /**
+     * Metrics of the previous period for a scope. A closed period cannot change, so it is read from its
+     * snapshot; on a miss (or an outdated snapshot) it is computed from raw data and stored once the
+     * period is older than {@link #SNAPSHOT_GRACE}. Snapshot storage problems never fail a report.
+     */
+    private Map<String, Double> previousPeriodMetrics(String scope, String period, Integer year, Supplier<Map<String, Double>> compute) {
+        LocalDateTime start = getPreviousPeriodStart(period, year);
+        LocalDateTime end = getPreviousPeriodEnd(period, year);
+        String periodKey = ReportSnapshot.periodKey(period == null ? "MONTHLY" : period, start);
+        
+        try {
+            Optional<ReportSnapshot> snapshot = snapshotRepository.find(scope, periodKey);
+            if (snapshot.isPresent() && snapshot.get().getMetrics() != null
+                    && Integer.valueOf(SNAPSHOT_VERSION).equals(snapshot.get().getVersion())) {
+                log.debug("Using report snapshot {} {}", scope, periodKey);
+                return snapshot.get().getMetrics();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read report snapshot {} {} - {}", scope, periodKey, e.getMessage());
+        }
+        
+        Map<String, Double> metrics = compute.get();
+        if (end.plus(SNAPSHOT_GRACE).isBefore(LocalDateTime.now())) {
+            try {
+                ReportSnapshot snapshot = new ReportSnapshot();
+                snapshot.setScope(scope);
+                snapshot.setPeriodKey(periodKey);
+                snapshot.setPeriodStart(start.toString());
+                snapshot.setPeriodEnd(end.toString());
+                snapshot.setMetrics(new HashMap<>(metrics));
+                snapshot.setComputedAt(LocalDateTime.now().toString());
+                snapshot.setVersion(SNAPSHOT_VERSION);
+                snapshotRepository.save(snapshot);
+            } catch (Exception e) {
+                log.warn("Failed to store report snapshot {} {} - {}", scope, periodKey, e.getMessage());
+            }
+        }
+        return metrics;
+    }
+    
+    private Map<String, Double> computeAgentPreviousPeriod(String agentEmail, String period, Integer year, String requesterRole) {
+        Map<String, Double> metrics = new HashMap<>();
+        metrics.put(TOURS_PROCESSED, getToursProcessedByAgentForPreviousPeriod(agentEmail, period, year, requesterRole).doubleValue());
+        metrics.put(AVERAGE_FEEDBACK, getAverageFeedbackRateForPreviousPeriod(agentEmail, period, year, requesterRole));
+        metrics.put(MINIMUM_FEEDBACK, getMinimumFeedbackRateForPreviousPeriod(agentEmail, period, year, requesterRole).doubleValue());
+        metrics.put(REVENUE, getRevenueForFinishedToursForPreviousPeriod(agentEmail, period, year, requesterRole));
+        return metrics;
+    }
+    
+    /**
+     * @param previousReviews all reviews of the previous period when the caller already has them, else null
+     */
+    private Map<String, Double> computeTourPreviousPeriod(String tourId, String period, Integer year, String requesterRole,
+                                                          Supplier<List<ReviewItem>> previousReviews) {
+        Map<String, Double> metrics = new HashMap<>();
+        metrics.put(TOURS_SOLD, getToursSoldToResortForPreviousPeriod(tourId, period, year, requesterRole).doubleValue());
+        metrics.put(AVERAGE_FEEDBACK, previousReviews == null
+                ? getAverageFeedbackRateForTourForPreviousPeriod(tourId, period, year, requesterRole)
+                : calculateAverageRating(previousReviews.get().stream()
+                    .filter(review -> tourId.equals(review.getTourId()))
+                    .collect(Collectors.toList())));
+        metrics.put(REVENUE, getRevenueForFinishedToursByTourForPreviousPeriod(tourId, period, year, requesterRole));
+        return metrics;
+    }
+    
     /**
      * Get tours processed by agent for previous period
      */
@@ -1045,25 +1107,11 @@ public class TravelReportsServiceImpl implements TravelReportsService {
      */
     private List<ReportRecord> getReportsForPreviousPeriodByTour(String tourId, String period, Integer year, String requesterRole) {
         try {
-            // Query all reports for the tour
-            List<ReportRecord> allReports = reportsRepository.findByTourId(tourId);
-            
-            // Filter by previous period and year based on eventTimestamp
             LocalDateTime previousPeriodStart = getPreviousPeriodStart(period, year);
             LocalDateTime previousPeriodEnd = getPreviousPeriodEnd(period, year);
-            
-            List<ReportRecord> filteredReports = allReports.stream()
-                .filter(report -> {
-                    if (report.getEventTimestamp() == null) {
-                        return false;
-                    }
-                    LocalDateTime eventTime = parseEventTimestamp(report.getEventTimestamp());
-                    if (eventTime == null) {
-                        return false;
-                    }
-                    return !eventTime.isBefore(previousPeriodStart) && !eventTime.isAfter(previousPeriodEnd);
-                })
-                .collect(Collectors.toList());
+
+            // Range query on the tour period index
+            List<ReportRecord> filteredReports = reportsRepository.findByTourId(tourId, previousPeriodStart, previousPeriodEnd);
             
             log.info("Found {} reports for tour {} in previous period {} {}", filteredReports.size(), tourId, period, year);
             return filteredReports;
@@ -1077,112 +1125,104 @@ public class TravelReportsServiceImpl implements TravelReportsService {
      * Get details of all tours processed in the period from the entire reports table
      */
     private List<Map<String, Object>> getAllToursDetailsFromReportsTable(String period, Integer year, String requesterRole) {
+        List<Map<String, Object>> toursDetails = new ArrayList<>();
         try {
-            log.debug("Getting all tours details from reports table for period: {} year: {}", period, year);
-            
-            // Get all reports from the entire reports table for the period
-            List<ReportRecord> allReports = getAllReportsForPeriod(period, year, requesterRole);
-            
-            if (allReports == null || allReports.isEmpty()) {
-                log.debug("No reports found in period: {} year: {}", period, year);
-                return new ArrayList<>();
-            }
-            
-            // Extract unique tour IDs from all reports
-            Set<String> uniqueTourIds = allReports.stream()
-                .filter(r -> r != null && r.getTourId() != null)
-                .map(ReportRecord::getTourId)
-                .collect(Collectors.toSet());
-            
-            List<Map<String, Object>> toursDetails = new ArrayList<>();
-            
-            // Get details for each unique tour
-            for (String tourId : uniqueTourIds) {
-                try {
-                    Optional<TourItem> tourItem = toursRepository.getById(tourId);
-                    if (tourItem.isPresent()) {
-                        Map<String, Object> tourDetails = new HashMap<>();
-                        TourItem tour = tourItem.get();
-                        
-                        // Basic tour information
-                        tourDetails.put("tourId", tour.getTourId());
-                        tourDetails.put("name", tour.getName());
-                        tourDetails.put("destination", tour.getDestination());
-                        tourDetails.put("rating", tour.getRating());
-                        tourDetails.put("reviews", tour.getReviews());
-                        tourDetails.put("hotelName", tour.getHotelName());
-                        tourDetails.put("accommodation", tour.getAccommodation());
-                        tourDetails.put("summary", tour.getSummary());
-                        
-                        // Get statistics for this tour in the period
-                        List<ReportRecord> tourReports = allReports.stream()
-                            .filter(r -> tourId.equals(r.getTourId()))
-                            .collect(Collectors.toList());
-                        
-                        // Calculate metrics for this tour
-                        long bookingsCount = tourReports.stream()
-                            .filter(this::isFinishedBooking)
-                            .count();
-                        
-                        double tourRevenue = tourReports.stream()
-                            .filter(this::isCompletedSale)
-                            .mapToDouble(ReportRecord::getTotalPrice)
-                            .sum();
-                        
-                        // Get reviews from reviews table for current period (all tours in period)
-                        List<ReviewItem> currentPeriodReviews = getAllReviewsForPeriod(period, year);
-                        double averageRating = calculateAverageRating(currentPeriodReviews);
-                        int minimumRating = calculateMinimumRating(currentPeriodReviews);
-                        
-                        // Get previous period data for delta calculations
-                        List<ReportRecord> previousPeriodReports = getReportsForPreviousPeriodByTour(tourId, period, year, requesterRole);
-                        
-                        // Calculate previous period metrics
-                        long previousBookingsCount = previousPeriodReports.stream()
-                            .filter(this::isFinishedBooking)
-                            .count();
-                        
-                        double previousRevenue = previousPeriodReports.stream()
-                            .filter(this::isCompletedSale)
-                            .mapToDouble(ReportRecord::getTotalPrice)
-                            .sum();
-                        
-                        // Get reviews from reviews table for previous period (all tours in previous period)
-                        List<ReviewItem> previousPeriodReviews = getAllReviewsForPreviousPeriod(period, year);
-                        double previousAverageRating = calculateAverageRating(previousPeriodReviews);
-                        
-                        // Calculate deltas
-                        Double toursSoldDelta = calculatePercentageDelta((double) bookingsCount, (double) previousBookingsCount);
-                        Double revenueDelta = calculatePercentageDelta(tourRevenue, previousRevenue);
-                        Double averageFeedbackDelta = calculatePercentageDelta(averageRating, previousAverageRating);
-                        
-                        // Add calculated metrics
-                        tourDetails.put("bookingsCount", (int) bookingsCount);
-                        tourDetails.put("revenue", tourRevenue);
-                        tourDetails.put("averageRating", averageRating);
-                        tourDetails.put("minimumRating", minimumRating);
-                        tourDetails.put("totalRatings", tour.getReviews() != null ? tour.getReviews() : 0);
-                        tourDetails.put("toursSoldDelta", toursSoldDelta);
-                        tourDetails.put("revenueDelta", revenueDelta);
-                        tourDetails.put("averageFeedbackDelta", averageFeedbackDelta);
-                        
-                        toursDetails.add(tourDetails);
-                        
-                        log.debug("Added tour details for: {} with {} bookings and revenue: {}", 
-                                tour.getName(), bookingsCount, tourRevenue);
-                    }
-                } catch (Exception e) {
-                    log.warn("Failed to get details for tour: {} - {}", tourId, e.getMessage());
-                }
-            }
-            
-            log.info("Found {} unique tours with details from reports table for period {} {}", toursDetails.size(), period, year);
-            return toursDetails;
-            
+            forEachTourSalesDetails(period, year, requesterRole, toursDetails::add);
         } catch (Exception e) {
             log.error("Error getting all tours details from reports table for period: {} - {}", period, e.getMessage(), e);
-        return new ArrayList<>();
+            return new ArrayList<>();
         }
+        return toursDetails;
+    }
+    
+    @Override
+    public int forEachTourSalesDetails(String period, Integer year, String requesterRole, Consumer<Map<String, Object>> sink) {
+        log.debug("Getting all tours details from reports table for period: {} year: {}", period, year);
+        
+        // One pass over the period, keeping only per-tour totals: [finished bookings, completed sales revenue]
+        Map<String, double[]> totalsByTour = new LinkedHashMap<>();
+        reportsRepository.forEachInPeriod(getPeriodStart(period, year), getPeriodEnd(period, year), r -> {
+            if (r == null || r.getTourId() == null) return;
+            double[] totals = totalsByTour.computeIfAbsent(r.getTourId(), k -> new double[2]);
+            if (isFinishedBooking(r)) totals[0]++;
+            if (isCompletedSale(r)) totals[1] += r.getTotalPrice();
+        });
+        
+        if (totalsByTour.isEmpty()) {
+            log.debug("No reports found in period: {} year: {}", period, year);
+            return 0;
+        }
+        
+        // Review aggregates span all tours, so they are the same for every tour below
+        List<ReviewItem> currentPeriodReviews = getAllReviewsForPeriod(period, year);
+        double averageRating = calculateAverageRating(currentPeriodReviews);
+        int minimumRating = calculateMinimumRating(currentPeriodReviews);
+        
+        // Loaded at most once, and only if some snapshot below is missing
+        AtomicReference<List<ReviewItem>> previousReviews = new AtomicReference<>();
+        Supplier<List<ReviewItem>> previousPeriodReviews = () ->
+                previousReviews.updateAndGet(r -> r != null ? r : getAllReviewsForPreviousPeriod(period, year));
+        double previousAverageRating = previousPeriodMetrics(ReportSnapshot.scope(ReportSnapshot.ALL, null), period, year,
+                () -> Map.of(AVERAGE_FEEDBACK, calculateAverageRating(previousPeriodReviews.get())))
+                .getOrDefault(AVERAGE_FEEDBACK, 0.0);
+        
+        int emitted = 0;
+        for (Map.Entry<String, double[]> entry : totalsByTour.entrySet()) {
+            String tourId = entry.getKey();
+            try {
+                Optional<TourItem> tourItem = toursRepository.getById(tourId);
+                if (tourItem.isPresent()) {
+                    Map<String, Object> tourDetails = new HashMap<>();
+                    TourItem tour = tourItem.get();
+                    
+                    // Basic tour information
+                    tourDetails.put("tourId", tour.getTourId());
+                    tourDetails.put("name", tour.getName());
+                    tourDetails.put("destination", tour.getDestination());
+                    tourDetails.put("rating", tour.getRating());
+                    tourDetails.put("reviews", tour.getReviews());
+                    tourDetails.put("hotelName", tour.getHotelName());
+                    tourDetails.put("accommodation", tour.getAccommodation());
+                    tourDetails.put("summary", tour.getSummary());
+                    
+                    // Metrics for this tour in the period
+                    long bookingsCount = (long) entry.getValue()[0];
+                    double tourRevenue = entry.getValue()[1];
+                    
+                    // Previous period data for delta calculations, from the tour's snapshot
+                    Map<String, Double> previous = previousPeriodMetrics(ReportSnapshot.scope(ReportSnapshot.TOUR, tourId), period, year,
+                            () -> computeTourPreviousPeriod(tourId, period, year, requesterRole, previousPeriodReviews));
+                    long previousBookingsCount = previous.getOrDefault(TOURS_SOLD, 0.0).longValue();
+                    double previousRevenue = previous.getOrDefault(REVENUE, 0.0);
+                    
+                    // Calculate deltas
+                    Double toursSoldDelta = calculatePercentageDelta((double) bookingsCount, (double) previousBookingsCount);
+                    Double revenueDelta = calculatePercentageDelta(tourRevenue, previousRevenue);
+                    Double averageFeedbackDelta = calculatePercentageDelta(averageRating, previousAverageRating);
+                    
+                    // Add calculated metrics
+                    tourDetails.put("bookingsCount", (int) bookingsCount);
+                    tourDetails.put("revenue", tourRevenue);
+                    tourDetails.put("averageRating", averageRating);
+                    tourDetails.put("minimumRating", minimumRating);
+                    tourDetails.put("totalRatings", tour.getReviews() != null ? tour.getReviews() : 0);
+                    tourDetails.put("toursSoldDelta", toursSoldDelta);
+                    tourDetails.put("revenueDelta", revenueDelta);
+                    tourDetails.put("averageFeedbackDelta", averageFeedbackDelta);
+                    
+                    sink.accept(tourDetails);
+                    emitted++;
+                    
+                    log.debug("Added tour details for: {} with {} bookings and revenue: {}", 
+                            tour.getName(), bookingsCount, tourRevenue);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to get details for tour: {} - {}", tourId, e.getMessage());
+            }
+        }
+        
+        log.info("Found {} unique tours with details from reports table for period {} {}", emitted, period, year);
+        return emitted;
     }
     
     /**
@@ -1190,30 +1230,11 @@ public class TravelReportsServiceImpl implements TravelReportsService {
      */
     private List<ReportRecord> getAllReportsForPeriod(String period, Integer year, String requesterRole) {
         try {
-            // Get all reports from the reports table
-            List<ReportRecord> allReports = reportsRepository.findAll();
-            
-            if (allReports == null || allReports.isEmpty()) {
-                log.debug("No reports found in the reports table");
-                return new ArrayList<>();
-            }
-            
-            // Filter by period and year based on eventTimestamp
             LocalDateTime periodStart = getPeriodStart(period, year);
             LocalDateTime periodEnd = getPeriodEnd(period, year);
-            
-            List<ReportRecord> filteredReports = allReports.stream()
-                .filter(report -> {
-                    if (report.getEventTimestamp() == null) {
-                        return false;
-                    }
-                    LocalDateTime eventTime = parseEventTimestamp(report.getEventTimestamp());
-                    if (eventTime == null) {
-                        return false;
-                    }
-                    return !eventTime.isBefore(periodStart) && !eventTime.isAfter(periodEnd);
-                })
-                .collect(Collectors.toList());
+
+            // Range query on the period index
+            List<ReportRecord> filteredReports = reportsRepository.findByPeriod(periodStart, periodEnd);
             
             log.info("Found {} reports from entire reports table for period {} {}", filteredReports.size(), period, year);
             return filteredReports;
@@ -1228,30 +1249,11 @@ public class TravelReportsServiceImpl implements TravelReportsService {
      */
     private List<ReportRecord> getAllReportsForPreviousPeriod(String period, Integer year, String requesterRole) {
         try {
-            // Get all reports from the reports table
-            List<ReportRecord> allReports = reportsRepository.findAll();
-            
-            if (allReports == null || allReports.isEmpty()) {
-                log.debug("No reports found in the reports table");
-                return new ArrayList<>();
-            }
-            
-            // Filter by previous period and year based on eventTimestamp
             LocalDateTime previousPeriodStart = getPreviousPeriodStart(period, year);
             LocalDateTime previousPeriodEnd = getPreviousPeriodEnd(period, year);
-            
-            List<ReportRecord> filteredReports = allReports.stream()
-                .filter(report -> {
-                    if (report.getEventTimestamp() == null) {
-                        return false;
-                    }
-                    LocalDateTime eventTime = parseEventTimestamp(report.getEventTimestamp());
-                    if (eventTime == null) {
-                        return false;
-                    }
-                    return !eventTime.isBefore(previousPeriodStart) && !eventTime.isAfter(previousPeriodEnd);
-                })
-                .collect(Collectors.toList());
+
+            // Range query on the period index
+            List<ReportRecord> filteredReports = reportsRepository.findByPeriod(previousPeriodStart, previousPeriodEnd);
             
             log.info("Found {} reports from entire reports table for previous period {} {}", filteredReports.size(), period, year);
             return filteredReports;
@@ -3,6 +3,7 @@ package com.travelbackendapp.travelmanagement.util;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.util.HashMap;
 import java.util.Map;
 
 public final class HttpResponses {
@@ -30,6 +31,14 @@ public final class HttpResponses {
         return json(mapper, status, Map.of("error", message));
     }
 
+    /** Adds a header to a built response; the shared header maps are immutable, so this copies them. */
+    public static APIGatewayProxyResponseEvent withHeader(APIGatewayProxyResponseEvent resp, String name, String value) {
+        Map<String, String> headers = resp.getHeaders() == null ? new HashMap<>() : new HashMap<>(resp.getHeaders());
+        headers.put(name, value);
+        resp.setHeaders(headers);
+        return resp;
+    }
+
     /** Handy for preflight. */
     public static APIGatewayProxyResponseEvent empty(int status) {
         return new APIGatewayProxyResponseEvent().withStatusCode(status).withHeaders(JSON);
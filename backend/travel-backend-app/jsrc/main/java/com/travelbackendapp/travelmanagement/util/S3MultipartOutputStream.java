@@ -0,0 +1,147 @@
+package com.travelbackendapp.travelmanagement.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes one S3 object through a fixed-size buffer: every full buffer becomes a multipart upload part, so memory
+ * stays at one part however large the object grows. Objects that never fill a part are sent with a single PutObject.
+ * {@link #close()} completes the upload; {@link #abort()} (also called when a part fails) discards it.
+ */
+public class S3MultipartOutputStream extends OutputStream {
+
+    private static final Logger log = LoggerFactory.getLogger(S3MultipartOutputStream.class);
+
+    /** S3 rejects parts below 5 MiB except the last one. */
+    public static final int DEFAULT_PART_SIZE = 8 * 1024 * 1024;
+
+    private final S3Client s3;
+    private final String bucket;
+    private final String key;
+    private final String contentType;
+    private final byte[] buffer;
+    private int count;
+
+    private String uploadId;
+    private final List<CompletedPart> parts = new ArrayList<>();
+    private long bytesWritten;
+    private boolean closed;
+
+    public S3MultipartOutputStream(S3Client s3, String bucket, String key, String contentType) {
+        this(s3, bucket, key, contentType, DEFAULT_PART_SIZE);
+    }
+
+    S3MultipartOutputStream(S3Client s3, String bucket, String key, String contentType, int partSize) {
+        if (partSize <= 0) throw new IllegalArgumentException("partSize must be positive");
+        this.s3 = Objects.requireNonNull(s3, "s3Client");
+        this.bucket = Objects.requireNonNull(bucket, "bucket");
+        this.key = Objects.requireNonNull(key, "key");
+        this.contentType = contentType;
+        this.buffer = new byte[partSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (count == buffer.length) uploadPart();
+        buffer[count++] = (byte) b;
+        bytesWritten++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        Objects.checkFromIndexSize(off, len, b.length);
+        while (len > 0) {
+            if (count == buffer.length) uploadPart();
+            int n = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+            bytesWritten += n;
+        }
+    }
+
+    /** Completes the object; a no-op after {@link #abort()}. */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        try {
+            if (uploadId == null) {
+                s3.putObject(PutObjectRequest.builder().bucket(bucket).key(key).contentType(contentType).build(),
+                        currentPart());
+            } else {
+                if (count > 0) uploadPart();
+                s3.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                        .bucket(bucket).key(key).uploadId(uploadId)
+                        .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                        .build());
+            }
+            closed = true;
+            log.info("Wrote s3://{}/{} ({} bytes, {} parts)", bucket, key, bytesWritten, Math.max(1, parts.size()));
+        } catch (RuntimeException e) {
+            abort();
+            throw new IOException("Failed to complete s3://" + bucket + "/" + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** Drops the parts uploaded so far; S3 keeps them (and bills them) until the upload is aborted. */
+    public void abort() {
+        if (closed) return;
+        closed = true;
+        if (uploadId == null) return;
+        try {
+            s3.abortMultipartUpload(AbortMultipartUploadRequest.builder().bucket(bucket).key(key).uploadId(uploadId).build());
+        } catch (RuntimeException e) {
+            log.warn("Failed to abort multipart upload {} for s3://{}/{}: {}", uploadId, bucket, key, e.getMessage());
+        }
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    private void uploadPart() throws IOException {
+        try {
+            if (uploadId == null) {
+                uploadId = s3.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(bucket).key(key).contentType(contentType).build()).uploadId();
+            }
+            int partNumber = parts.size() + 1;
+            String eTag = s3.uploadPart(UploadPartRequest.builder()
+                            .bucket(bucket).key(key).uploadId(uploadId).partNumber(partNumber).contentLength((long) count).build(),
+                    currentPart()).eTag();
+            parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+            count = 0;
+        } catch (RuntimeException e) {
+            abort();
+            throw new IOException("Failed to upload part " + (parts.size() + 1) + " of s3://" + bucket + "/" + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** Streams the buffer without copying it; ByteArrayInputStream supports the reset the SDK needs for retries. */
+    private RequestBody currentPart() {
+        return RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, count), count);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) throw new IOException("Stream closed");
+    }
+}
@@ -0,0 +1,43 @@
+package com.travelbackendapp.travelmanagement.util;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-thread random numbers that stay distinct across Lambda SnapStart restores. {@code ThreadLocalRandom} keeps its
+ * seed in the thread, so every environment restored from one snapshot would draw the same sequence on a thread that
+ * used it before the checkpoint: the same trace ids, the same inventory shard, the same retry backoff. Here each thread
+ * seeds from {@link SecureRandom} and seeds again after {@link #reseed()}, which the restore hook calls.
+ */
+public final class SnapSafeRandom {
+
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+    private static final ThreadLocal<Seeded> LOCAL = ThreadLocal.withInitial(Seeded::new);
+    private static volatile SecureRandom seeds = new SecureRandom();
+
+    private SnapSafeRandom() {
+    }
+
+    /** The calling thread's generator; like {@code ThreadLocalRandom.current()}, not to be shared with other threads. */
+    public static SplittableRandom current() {
+        Seeded local = LOCAL.get();
+        int generation = GENERATION.get();
+        if (local.random == null || local.generation != generation) {
+            local.random = new SplittableRandom(seeds.nextLong());
+            local.generation = generation;
+        }
+        return local.random;
+    }
+
+    /** Makes every thread draw a new seed on its next call, from a new {@link SecureRandom}. */
+    public static void reseed() {
+        seeds = new SecureRandom();
+        GENERATION.incrementAndGet();
+    }
+
+    private static final class Seeded {
+        SplittableRandom random;
+        int generation;
+    }
+}
@@ -0,0 +1,47 @@
+package com.travelbackendapp.travelmanagement.util;
+
+import org.slf4j.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records how long each step of a request took, e.g.
+ * {@code POST /bookings steps={tourRead=14, agentWait=0, pricing=1, reserve=22} totalMs=38}.
+ * Not thread-safe; one instance per request.
+ */
+public final class StepTimer {
+    private final String name;
+    private final long startNanos;
+    private long lastNanos;
+    private final Map<String, Long> stepsMs = new LinkedHashMap<>();
+
+    private StepTimer(String name) {
+        this.name = name;
+        this.startNanos = System.nanoTime();
+        this.lastNanos = startNanos;
+    }
+
+    public static StepTimer start(String name) {
+        return new StepTimer(name);
+    }
+
+    /** Closes the current step under {@code label} and starts the next one. */
+    public void step(String label) {
+        long now = System.nanoTime();
+        stepsMs.merge(label, (now - lastNanos) / 1_000_000, Long::sum);
+        lastNanos = now;
+    }
+
+    public Map<String, Long> steps() {
+        return stepsMs;
+    }
+
+    public long totalMs() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    public void log(Logger log) {
+        log.info("{} steps={} totalMs={}", name, stepsMs, totalMs());
+    }
+}
@@ -0,0 +1,144 @@
+package com.travelbackendapp.travelmanagement.validation;
+
+import org.hibernate.validator.internal.constraintvalidators.bv.EmailValidator;
+
+import javax.validation.ClockProvider;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The checks generated validators call, with the semantics of Hibernate Validator's built-in validators: every
+ * constraint but {@code @NotNull}, {@code @NotBlank} and {@code @NotEmpty} accepts null.
+ */
+public final class Checks {
+
+    /** Hibernate's own, used without a factory: it needs neither initialization nor the context. */
+    private static final EmailValidator EMAIL = new EmailValidator();
+
+    private Checks() {
+    }
+
+    public static boolean notBlank(CharSequence value) {
+        return value != null && value.toString().trim().length() > 0;
+    }
+
+    public static boolean notEmpty(CharSequence value) {
+        return value != null && value.length() > 0;
+    }
+
+    public static boolean notEmpty(Collection<?> value) {
+        return value != null && !value.isEmpty();
+    }
+
+    public static boolean notEmpty(Map<?, ?> value) {
+        return value != null && !value.isEmpty();
+    }
+
+    public static boolean notEmpty(Object[] value) {
+        return value != null && value.length > 0;
+    }
+
+    public static boolean size(CharSequence value, int min, int max) {
+        return value == null || value.length() >= min && value.length() <= max;
+    }
+
+    public static boolean size(Collection<?> value, int min, int max) {
+        return value == null || value.size() >= min && value.size() <= max;
+    }
+
+    public static boolean size(Map<?, ?> value, int min, int max) {
+        return value == null || value.size() >= min && value.size() <= max;
+    }
+
+    public static boolean size(Object[] value, int min, int max) {
+        return value == null || value.length >= min && value.length <= max;
+    }
+
+    /** For integral fields only; the processor leaves decimals to Hibernate. */
+    public static boolean min(Number value, long min) {
+        return value == null || value.longValue() >= min;
+    }
+
+    public static boolean min(long value, long min) {
+        return value >= min;
+    }
+
+    public static boolean max(Number value, long max) {
+        return value == null || value.longValue() <= max;
+    }
+
+    public static boolean max(long value, long max) {
+        return value <= max;
+    }
+
+    public static boolean email(CharSequence value) {
+        return EMAIL.isValid(value, null);
+    }
+
+    public static boolean pattern(CharSequence value, Pattern pattern) {
+        return value == null || pattern.matcher(value).matches();
+    }
+
+    /** Initializes a custom constraint's validator with the annotation on the field, once per generated class. */
+    public static <A extends Annotation, V extends ConstraintValidator<A, ?>> V initialize(
+            V validator, Class<?> bean, String field, Class<A> annotation) {
+        try {
+            validator.initialize(bean.getDeclaredField(field).getAnnotation(annotation));
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Generated validator out of date for " + bean.getName(), e);
+        }
+        return validator;
+    }
+
+    /**
+     * Runs a custom constraint's validator. One that customizes its violations through the context is beyond
+     * the generated code, so {@link Unsupported} sends the bean to Hibernate Validator.
+     */
+    public static <V> boolean custom(ConstraintValidator<?, ? super V> validator, V value, String messageTemplate) {
+        return validator.isValid(value, new Context(messageTemplate));
+    }
+
+    /** Thrown when a generated validator meets something only Hibernate Validator can do. */
+    static final class Unsupported extends RuntimeException {
+        Unsupported(String what) {
+            super(what, null, false, false);
+        }
+    }
+
+    private static final class Context implements ConstraintValidatorContext {
+        private final String messageTemplate;
+
+        Context(String messageTemplate) {
+            this.messageTemplate = messageTemplate;
+        }
+
+        @Override
+        public void disableDefaultConstraintViolation() {
+            throw new Unsupported("disableDefaultConstraintViolation");
+        }
+
+        @Override
+        public String getDefaultConstraintMessageTemplate() {
+            return messageTemplate;
+        }
+
+        @Override
+        public ClockProvider getClockProvider() {
+            throw new Unsupported("getClockProvider");
+        }
+
+        @Override
+        public ConstraintViolationBuilder buildConstraintViolationWithTemplate(String messageTemplate) {
+            throw new Unsupported("buildConstraintViolationWithTemplate");
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> type) {
+            throw new Unsupported("unwrap");
+        }
+    }
+}
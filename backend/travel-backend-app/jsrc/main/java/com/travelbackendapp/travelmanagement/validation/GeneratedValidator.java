@@ -0,0 +1,19 @@
+package com.travelbackendapp.travelmanagement.validation;
+
+/**
+ * The constraints of one class, compiled at build time by travel-validation-processor into
+ * {@code <Class>_Validator} next to it (e.g. {@code CreateBookingRequest_Person_Validator} for a nested class) and
+ * looked up by {@link PrecompiledValidator}.
+ *
+ * @param <T> the validated class
+ */
+public interface GeneratedValidator<T> {
+
+    /**
+     * Adds a violation per failed constraint, field by field in declaration order.
+     *
+     * @return false when {@code bean} has to be validated by Hibernate Validator instead; the violations added so far
+     * are then discarded
+     */
+    boolean validate(T bean, Violations<T> violations);
+}
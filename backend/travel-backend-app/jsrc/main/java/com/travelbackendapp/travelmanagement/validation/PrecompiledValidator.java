@@ -0,0 +1,136 @@
+package com.travelbackendapp.travelmanagement.validation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.executable.ExecutableValidator;
+import javax.validation.metadata.BeanDescriptor;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Validates beans with the {@link GeneratedValidator} compiled for their class, so a request never bootstraps
+ * Hibernate Validator or javax.el. Violation messages are the ones Hibernate would produce; only the order of the
+ * set differs (declaration order here, hash order there).
+ * <p>
+ * Everything the generated code does not cover goes to the fallback Hibernate validator, created on first use: classes
+ * without a generated validator (e.g. a subclass of a constrained one) or with constraints the processor does not
+ * compile, validation groups, custom validators that build their own violations, and the other {@link Validator}
+ * methods. So does everything when the JVM locale is not English, as Hibernate would then translate the default
+ * messages, or when {@code precompiled_validation=off}.
+ */
+public final class PrecompiledValidator implements Validator {
+    private static final Logger log = LoggerFactory.getLogger(PrecompiledValidator.class);
+
+    static final boolean ENABLED = !"off".equalsIgnoreCase(System.getenv("precompiled_validation"));
+    private static final String SUFFIX = "_Validator";
+    private static final GeneratedValidator<Object> NONE = (bean, violations) -> false;
+
+    private final Supplier<Validator> fallbackFactory;
+    private final boolean enabled;
+    private final ClassValue<GeneratedValidator<?>> generated = new ClassValue<>() {
+        @Override
+        protected GeneratedValidator<?> computeValue(Class<?> type) {
+            return find(type);
+        }
+    };
+    private volatile Validator fallback;
+
+    public PrecompiledValidator(Supplier<Validator> fallback) {
+        this(fallback, ENABLED && english(Locale.getDefault()));
+    }
+
+    PrecompiledValidator(Supplier<Validator> fallback, boolean enabled) {
+        this.fallbackFactory = fallback;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validate(T object, Class<?>... groups) {
+        if (enabled && object != null && groups.length == 0) {
+            @SuppressWarnings("unchecked")
+            GeneratedValidator<T> validator = (GeneratedValidator<T>) generated.get(object.getClass());
+            Violations<T> violations = new Violations<>(object);
+            try {
+                if (validator.validate(object, violations)) return violations.toSet();
+            } catch (Checks.Unsupported e) {
+                log.debug("{} validated by Hibernate Validator: {}", object.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+        return fallback().validate(object, groups);
+    }
+
+    /**
+     * Whether {@code type} has a generated validator, i.e. declares constraints. The validator may still hand its
+     * instances to Hibernate Validator.
+     */
+    public boolean covers(Class<?> type) {
+        return enabled && generated.get(type) != NONE;
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validateProperty(T object, String propertyName, Class<?>... groups) {
+        return fallback().validateProperty(object, propertyName, groups);
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validateValue(Class<T> beanType, String propertyName, Object value,
+                                                         Class<?>... groups) {
+        return fallback().validateValue(beanType, propertyName, value, groups);
+    }
+
+    @Override
+    public BeanDescriptor getConstraintsForClass(Class<?> clazz) {
+        return fallback().getConstraintsForClass(clazz);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) {
+        if (type.isInstance(this)) return type.cast(this);
+        return fallback().unwrap(type);
+    }
+
+    @Override
+    public ExecutableValidator forExecutables() {
+        return fallback().forExecutables();
+    }
+
+    private Validator fallback() {
+        Validator v = fallback;
+        if (v == null) {
+            synchronized (this) {
+                v = fallback;
+                if (v == null) {
+                    long start = System.nanoTime();
+                    fallback = v = fallbackFactory.get();
+                    log.info("Hibernate Validator bootstrapped in {}ms", (System.nanoTime() - start) / 1_000_000);
+                }
+            }
+        }
+        return v;
+    }
+
+    /** {@code pkg.Outer_Inner_Validator} for {@code pkg.Outer$Inner}, or {@link #NONE}. */
+    private static GeneratedValidator<?> find(Class<?> type) {
+        if (type.isArray() || type.isPrimitive()) return NONE;
+        String pkg = type.getPackageName();
+        String simple = pkg.isEmpty() ? type.getName() : type.getName().substring(pkg.length() + 1);
+        String name = (pkg.isEmpty() ? "" : pkg + ".") + simple.replace('$', '_') + SUFFIX;
+        try {
+            Class<?> validator = Class.forName(name, true, type.getClassLoader());
+            return (GeneratedValidator<?>) validator.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return NONE;
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            log.warn("Unusable generated validator {}: {}", name, e.toString());
+            return NONE;
+        }
+    }
+
+    private static boolean english(Locale locale) {
+        return locale.getLanguage().isEmpty() || "en".equals(locale.getLanguage());
+    }
+}
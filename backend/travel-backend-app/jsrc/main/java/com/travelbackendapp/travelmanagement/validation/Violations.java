@@ -0,0 +1,118 @@
+package com.travelbackendapp.travelmanagement.validation;
+
+import org.hibernate.validator.internal.engine.path.PathImpl;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Path;
+import javax.validation.ValidationException;
+import javax.validation.metadata.ConstraintDescriptor;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/** The violations a {@link GeneratedValidator} finds in one bean. */
+public final class Violations<T> {
+
+    private final T root;
+    private Set<ConstraintViolation<T>> found;
+
+    Violations(T root) {
+        this.root = root;
+    }
+
+    /**
+     * @param property        the field name, which is the property path Hibernate reports for a field constraint
+     * @param messageTemplate the constraint's {@code message} as declared
+     * @param message         the interpolated message
+     */
+    public void add(String property, Object invalidValue, String messageTemplate, String message) {
+        if (found == null) found = new LinkedHashSet<>();
+        found.add(new Violation<>(root, property, invalidValue, messageTemplate, message));
+    }
+
+    Set<ConstraintViolation<T>> toSet() {
+        return found == null ? Collections.emptySet() : found;
+    }
+
+    /**
+     * A field constraint violation. It has no {@link ConstraintDescriptor}: the generated code keeps no metadata, and
+     * callers here only read messages.
+     */
+    static final class Violation<T> implements ConstraintViolation<T> {
+        private final T root;
+        private final String property;
+        private final Object invalidValue;
+        private final String messageTemplate;
+        private final String message;
+
+        Violation(T root, String property, Object invalidValue, String messageTemplate, String message) {
+            this.root = root;
+            this.property = property;
+            this.invalidValue = invalidValue;
+            this.messageTemplate = messageTemplate;
+            this.message = message;
+        }
+
+        @Override
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String getMessageTemplate() {
+            return messageTemplate;
+        }
+
+        @Override
+        public T getRootBean() {
+            return root;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Class<T> getRootBeanClass() {
+            return (Class<T>) root.getClass();
+        }
+
+        @Override
+        public Object getLeafBean() {
+            return root;
+        }
+
+        @Override
+        public Object[] getExecutableParameters() {
+            return null;
+        }
+
+        @Override
+        public Object getExecutableReturnValue() {
+            return null;
+        }
+
+        @Override
+        public Path getPropertyPath() {
+            return PathImpl.createPathFromString(property);
+        }
+
+        @Override
+        public Object getInvalidValue() {
+            return invalidValue;
+        }
+
+        @Override
+        public ConstraintDescriptor<?> getConstraintDescriptor() {
+            return null;
+        }
+
+        @Override
+        public <U> U unwrap(Class<U> type) {
+            if (type.isInstance(this)) return type.cast(this);
+            throw new ValidationException("Type " + type.getName() + " not supported for unwrapping.");
+        }
+
+        @Override
+        public String toString() {
+            return "Violation{property=" + property + ", message='" + message + "'}";
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.travelbackendapp.travelmanagement.loadtest;
+
+import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
+import com.travelbackendapp.travelmanagement.model.entity.ReviewItem;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import com.travelbackendapp.travelmanagement.repository.memory.InMemoryBookingsRepository;
+import com.travelbackendapp.travelmanagement.repository.memory.InMemoryCatalogVersionRepository;
+import com.travelbackendapp.travelmanagement.repository.memory.InMemoryReportsRepository;
+import com.travelbackendapp.travelmanagement.repository.memory.InMemoryReviewsRepository;
+import com.travelbackendapp.travelmanagement.repository.memory.InMemoryTables;
+import com.travelbackendapp.travelmanagement.repository.memory.InMemoryTourInventoryRepository;
+import com.travelbackendapp.travelmanagement.repository.memory.InMemoryToursRepository;
+import com.travelbackendapp.travelmanagement.repository.memory.InMemoryTravelAgentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DatasetGenerator Tests")
+class DatasetGeneratorTest {
+
+    private Backend first;
+    private Backend second;
+
+    @BeforeEach
+    void setUp() {
+        first = new Backend();
+        second = new Backend();
+    }
+
+    @Test
+    @DisplayName("Should write exactly the requested volumes")
+    void generate_WritesRequestedVolumes() {
+        // Given
+        DatasetGenerator.Options options = options();
+
+        // When
+        DatasetGenerator.Result result = first.generator.generate(options);
+
+        // Then
+        assertEquals(50, result.tours.get());
+        assertEquals(5_000, result.bookings.get());
+        assertEquals(2_000, result.reviews.get());
+        assertEquals(20_000, result.reportEvents.get());
+        assertEquals(10, result.agents.get());
+        assertEquals(50, first.tours.listAll().size());
+        assertEquals(5_000, first.bookings.findAll().size());
+        assertEquals(20_000, first.reports.findAll().size());
+        assertEquals(2_000, first.tours.listAll().stream().mapToInt(TourItem::getReviews).sum(),
+                "every review should be counted on its tour");
+    }
+
+    @Test
+    @DisplayName("Should produce the same items for the same seed and date")
+    void generate_SameOptions_SameItems() {
+        // When
+        first.generator.generate(options());
+        second.generator.generate(options());
+
+        // Then
+        assertEquals(byId(first.bookings.findAll()), byId(second.bookings.findAll()));
+        TourItem a = first.tours.getById(DatasetGenerator.tourId(7)).orElseThrow();
+        TourItem b = second.tours.getById(DatasetGenerator.tourId(7)).orElseThrow();
+        assertEquals(a.getStartDates(), b.getStartDates());
+        assertEquals(a.getPriceByDuration(), b.getPriceByDuration());
+        assertEquals(a.getRating(), b.getRating());
+    }
+
+    @Test
+    @DisplayName("Should book popular tours far more often and keep reviews on their bookings' tours")
+    void generate_SkewsPopularityAndLinksReviews() {
+        // When
+        first.generator.generate(options());
+
+        // Then
+        Map<String, Long> perTour = first.bookings.findAll().stream()
+                .collect(Collectors.groupingBy(BookingItem::getTourId, Collectors.counting()));
+        long top = perTour.getOrDefault(DatasetGenerator.tourId(0), 0L);
+        List<Long> sorted = perTour.values().stream().sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        long median = sorted.get(sorted.size() / 2);
+        assertTrue(top > 5 * median, "top tour " + top + " vs median " + median);
+
+        BookingItem booked = first.bookings.findAll().stream()
+                .filter(bk -> first.reviews.getByBookingId(bk.getBookingId()) != null)
+                .findFirst().orElseThrow();
+        ReviewItem review = first.reviews.getByBookingId(booked.getBookingId());
+        assertEquals(booked.getTourId(), review.getTourId());
+        assertEquals(booked.getUserId(), review.getAuthorId());
+        assertTrue(review.getRate() >= 1 && review.getRate() <= 5);
+    }
+
+    private static DatasetGenerator.Options options() {
+        DatasetGenerator.Options o = new DatasetGenerator.Options();
+        o.agents = 10;
+        o.asOf = LocalDate.of(2026, 6, 1);
+        o.writerThreads = 4;
+        return o.scale(0.001);
+    }
+
+    private static Map<String, String> byId(List<BookingItem> bookings) {
+        return bookings.stream().collect(Collectors.toMap(BookingItem::getBookingId,
+                b -> b.getUserId() + "|" + b.getTourId() + "|" + b.getStartDate() + "|" + b.getStatus() + "|" + b.getTotalPrice()));
+    }
+
+    private static final class Backend {
+        final InMemoryTables tables = new InMemoryTables();
+        final InMemoryToursRepository tours = new InMemoryToursRepository(tables);
+        final InMemoryBookingsRepository bookings =
+                new InMemoryBookingsRepository(tables, new InMemoryTourInventoryRepository(tables));
+        final InMemoryReviewsRepository reviews = new InMemoryReviewsRepository();
+        final InMemoryReportsRepository reports = new InMemoryReportsRepository();
+        final DatasetGenerator generator = new DatasetGenerator(tours, bookings, reviews, reports,
+                new InMemoryTravelAgentRepository(), new InMemoryCatalogVersionRepository());
+    }
+}
@@ -0,0 +1,152 @@
+package com.travelbackendapp.travelmanagement.loadtest;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.travelbackendapp.travelmanagement.metrics.LatencyHistogram;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import com.travelbackendapp.travelmanagement.repository.ToursRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoadReplayer Tests")
+class LoadReplayerTest {
+
+    @Mock
+    private ToursRepository toursRepository;
+
+    private final Set<String> createdBookings = ConcurrentHashMap.newKeySet();
+    private final Set<String> cancelledBookings = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger handled = new AtomicInteger();
+
+    private LoadReplayer replayer;
+
+    @BeforeEach
+    void setUp() {
+        replayer = new LoadReplayer((event, ctx) -> handle(event), toursRepository);
+    }
+
+    @Test
+    @DisplayName("Should replay every route of the mix and report each one")
+    void run_ReplaysMixPerRoute() throws Exception {
+        // Given
+        when(toursRepository.listAll(any(String[].class))).thenReturn(List.of(tour("T-000000"), tour("T-000001")));
+        LoadReplayer.Options options = options();
+
+        // When
+        LoadReplayer.Result result = replayer.run(options);
+
+        // Then
+        assertEquals(options.warmupRequests + options.requests, handled.get());
+        assertEquals(options.requests, result.total().latency.count());
+        for (RequestMix.Route route : RequestMix.Route.values()) {
+            assertTrue(result.routes.containsKey(route), "missing " + route.label);
+        }
+        assertEquals(0, result.total().serverErrors);
+        assertTrue(result.toString().contains("POST /bookings"));
+    }
+
+    @Test
+    @DisplayName("Should cancel only bookings the replay created, each at most once")
+    void run_CancelsCreatedBookings() throws Exception {
+        // Given
+        when(toursRepository.listAll(any(String[].class))).thenReturn(List.of(tour("T-000000")));
+        LoadReplayer.Options options = options();
+        options.mix = "book=1,cancel=1";
+
+        // When
+        LoadReplayer.Result result = replayer.run(options);
+
+        // Then
+        assertFalse(cancelledBookings.isEmpty());
+        assertTrue(createdBookings.containsAll(cancelledBookings));
+        assertEquals(result.routes.get(RequestMix.Route.CANCEL).ok, cancelledBookings.size());
+    }
+
+    @Test
+    @DisplayName("Should fail fast when there is nothing bookable")
+    void run_NoBookableTours_Throws() {
+        // Given
+        TourItem past = tour("T-000000");
+        past.setStartDates(List.of("2020-01-01"));
+        when(toursRepository.listAll(any(String[].class))).thenReturn(List.of(past));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> replayer.run(options()));
+    }
+
+    @Test
+    @DisplayName("Should report percentiles within the histogram's precision")
+    void histogram_PercentilesAndMerge() {
+        // Given
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        for (int us = 1; us <= 5_000; us++) a.record(us);
+        for (int us = 5_001; us <= 10_000; us++) b.record(us);
+
+        // When
+        a.add(b);
+
+        // Then
+        assertEquals(10_000, a.count());
+        assertEquals(10_000, a.max());
+        assertEquals(5_000, a.percentile(50), 5_000 * 0.04);
+        assertEquals(9_900, a.percentile(99), 9_900 * 0.04);
+        assertTrue(a.percentile(95) >= 9_500);
+        assertEquals(10_000, a.percentile(100));
+        assertEquals(0, new LatencyHistogram().percentile(50));
+    }
+
+    private APIGatewayProxyResponseEvent handle(APIGatewayProxyRequestEvent event) {
+        handled.incrementAndGet();
+        String path = event.getPath();
+        if ("POST".equals(event.getHttpMethod())) {
+            String id = "2026-01-01_" + handled.get();
+            createdBookings.add(id);
+            return new APIGatewayProxyResponseEvent().withStatusCode(201).withBody("{\"bookingId\":\"" + id + "\"}");
+        }
+        if ("DELETE".equals(event.getHttpMethod())) {
+            String id = path.substring("/bookings/".length());
+            if (!cancelledBookings.add(id)) return new APIGatewayProxyResponseEvent().withStatusCode(409).withBody("{}");
+        }
+        return new APIGatewayProxyResponseEvent().withStatusCode(200).withBody("{}");
+    }
+
+    private static LoadReplayer.Options options() {
+        LoadReplayer.Options o = new LoadReplayer.Options();
+        o.threads = 4;
+        o.requests = 2_000;
+        o.warmupRequests = 0;
+        o.users = 100;
+        return o;
+    }
+
+    private static TourItem tour(String id) {
+        TourItem t = new TourItem();
+        t.setTourId(id);
+        t.setDestination("Rome, Italy");
+        t.setTourType("CULTURAL");
+        t.setStartDates(List.of(LocalDate.now(ZoneOffset.UTC).plusDays(30).toString()));
+        t.setDurations(List.of("7 days"));
+        t.setMealPlans(List.of("BB", "HB"));
+        t.setMaxAdults(2);
+        t.setAvailablePackages(10);
+        t.setAgentEmail("agent-000@example.com");
+        return t;
+    }
+}
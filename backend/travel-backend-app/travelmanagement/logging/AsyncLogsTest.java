@@ -0,0 +1,77 @@
+package com.travelbackendapp.travelmanagement.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AsyncLogs Tests")
+class AsyncLogsTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+    private final AsyncAppender async = new AsyncAppender();
+
+    @BeforeEach
+    void setUp() {
+        // stands in for the console: slow enough that lines pile up in the queue
+        AppenderBase<ILoggingEvent> slow = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        slow.setContext(context);
+        slow.start();
+        async.setContext(context);
+        async.setName(AsyncLogs.APPENDER);
+        async.addAppender(slow);
+        async.start();
+        root.addAppender(async);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    @DisplayName("Should wait until the worker has taken every queued line")
+    void shouldDrainQueue() {
+        // Given
+        for (int i = 0; i < 20; i++) root.info("line {}", i);
+
+        // When
+        AsyncLogs.drain(context, 5_000);
+
+        // Then
+        assertEquals(0, async.getNumberOfElementsInQueue());
+    }
+
+    @Test
+    @DisplayName("Should give up after the maximum wait")
+    void shouldBoundWait() {
+        // Given
+        for (int i = 0; i < 500; i++) root.info("line {}", i);
+
+        // When
+        long start = System.nanoTime();
+        AsyncLogs.drain(context, 20);
+        long waitedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertTrue(waitedMs < 400, "waited " + waitedMs + "ms");
+        assertTrue(async.getNumberOfElementsInQueue() > 0);
+    }
+}
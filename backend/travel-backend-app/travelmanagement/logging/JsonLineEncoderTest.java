@@ -0,0 +1,73 @@
+package com.travelbackendapp.travelmanagement.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JsonLineEncoder Tests")
+class JsonLineEncoderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger("com.travelbackendapp.travelmanagement.routing.RequestRouter");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final JsonLineEncoder encoder = new JsonLineEncoder();
+
+    @BeforeEach
+    void setUp() {
+        appender.setContext(context);
+        appender.start();
+        logger.addAppender(appender);
+        encoder.setContext(context);
+        encoder.start();
+    }
+
+    @Test
+    @DisplayName("Should encode a line as one JSON object")
+    void shouldEncodeJsonLine() throws Exception {
+        // Given
+        logger.error("Failed \"{}\"", "B-1", new IllegalStateException("boom"));
+
+        // When
+        String line = new String(encoder.encode(appender.list.get(0)), StandardCharsets.UTF_8);
+
+        // Then
+        assertTrue(line.endsWith("\n"));
+        assertEquals(1, line.split("\n").length);
+        JsonNode json = new ObjectMapper().readTree(line);
+        assertEquals("ERROR", json.get("level").asText());
+        assertEquals("com.travelbackendapp.travelmanagement.routing.RequestRouter", json.get("logger").asText());
+        assertEquals("Failed \"B-1\"", json.get("msg").asText());
+        assertTrue(json.get("error").asText().startsWith("java.lang.IllegalStateException: boom"));
+        assertNotNull(json.get("ts"));
+    }
+
+    @Test
+    @DisplayName("Should add MDC entries as fields")
+    void shouldWriteMdc() throws Exception {
+        // Given
+        context.getMDCAdapter().put("requestId", "c0ffee-42");
+        try {
+            logger.info("RES {} status={}", "c0ffee-42", 200);
+        } finally {
+            context.getMDCAdapter().remove("requestId");
+        }
+
+        // When
+        JsonNode json = new ObjectMapper().readTree(encoder.encode(appender.list.get(0)));
+
+        // Then
+        assertEquals("RES c0ffee-42 status=200", json.get("msg").asText());
+        assertEquals("c0ffee-42", json.get("requestId").asText());
+        assertNull(json.get("error"));
+    }
+}
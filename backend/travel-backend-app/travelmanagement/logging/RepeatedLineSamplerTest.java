@@ -0,0 +1,96 @@
+package com.travelbackendapp.travelmanagement.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RepeatedLineSampler Tests")
+class RepeatedLineSamplerTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger("com.travelbackendapp.travelmanagement.routing.RequestRouter");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final RepeatedLineSampler sampler = new RepeatedLineSampler();
+
+    @BeforeEach
+    void setUp() {
+        appender.setContext(context);
+        appender.start();
+        logger.addAppender(appender);
+        sampler.setContext(context);
+        sampler.setLinesPerSecond(2);
+        sampler.clock = now::get;
+        sampler.start();
+    }
+
+    @Test
+    @DisplayName("Should pass a pattern's first lines each second and report the dropped ones")
+    void shouldSampleRepeatedPattern() {
+        // When
+        FilterReply first = decide(Level.INFO, "Routing path={}");
+        FilterReply second = decide(Level.INFO, "Routing path={}");
+        FilterReply third = decide(Level.INFO, "Routing path={}");
+        FilterReply fourth = decide(Level.INFO, "Routing path={}");
+        FilterReply otherPattern = decide(Level.INFO, "RES {} status={}");
+        now.addAndGet(1_000);
+        FilterReply nextSecond = decide(Level.INFO, "Routing path={}");
+
+        // Then
+        assertEquals(FilterReply.NEUTRAL, first);
+        assertEquals(FilterReply.NEUTRAL, second);
+        assertEquals(FilterReply.DENY, third);
+        assertEquals(FilterReply.DENY, fourth);
+        assertEquals(FilterReply.NEUTRAL, otherPattern);
+        assertEquals(FilterReply.NEUTRAL, nextSecond);
+        assertEquals(1, appender.list.size());
+        assertEquals("Sampled out 2 more lines like \"Routing path={}\"", appender.list.get(0).getFormattedMessage());
+    }
+
+    @Test
+    @DisplayName("Should never sample the drop-count lines themselves")
+    void shouldPassEverySuppressedSummary() {
+        // When / Then: more summaries in one second than the pattern budget
+        for (int i = 0; i < 5; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, RepeatedLineSampler.SUPPRESSED));
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave other levels, level guards and disabled loggers alone")
+    void shouldOnlySampleEnabledInfoLines() {
+        // Given
+        for (int i = 0; i < 5; i++) decide(Level.INFO, "Routing path={}");
+        logger.setLevel(Level.WARN);
+
+        // When / Then
+        assertEquals(FilterReply.NEUTRAL, decide(Level.WARN, "Routing path={}"));
+        assertEquals(FilterReply.NEUTRAL, decide(Level.ERROR, "Routing path={}"));
+        assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, null));
+        assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, "Routing path={}"));
+    }
+
+    @Test
+    @DisplayName("Should pass everything when sampling is off")
+    void shouldPassAllWhenOff() {
+        // Given
+        sampler.setLinesPerSecond(0);
+
+        // When / Then
+        for (int i = 0; i < 10; i++) assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, "Routing path={}"));
+    }
+
+    private FilterReply decide(Level level, String format) {
+        return sampler.decide(null, logger, level, format, null, null);
+    }
+}
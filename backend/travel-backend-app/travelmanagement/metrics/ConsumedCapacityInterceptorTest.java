@@ -0,0 +1,102 @@
+package com.travelbackendapp.travelmanagement.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConsumedCapacityInterceptor Tests")
+class ConsumedCapacityInterceptorTest {
+
+    @Mock
+    private Context.ModifyRequest modifyRequest;
+
+    @Mock
+    private Context.AfterExecution afterExecution;
+
+    private final ConsumedCapacityInterceptor interceptor = new ConsumedCapacityInterceptor();
+
+    @Test
+    @DisplayName("Should ask for TOTAL consumed capacity unless the request already chose")
+    void shouldRequestTotalCapacity() {
+        // Given
+        when(modifyRequest.request()).thenReturn(QueryRequest.builder().tableName("tours").build());
+
+        // When
+        QueryRequest modified = (QueryRequest) interceptor.modifyRequest(modifyRequest, new ExecutionAttributes());
+
+        // Then
+        assertEquals(ReturnConsumedCapacity.TOTAL, modified.returnConsumedCapacity());
+        assertEquals("tours", modified.tableName());
+
+        // Given
+        QueryRequest indexes = QueryRequest.builder().returnConsumedCapacity(ReturnConsumedCapacity.INDEXES).build();
+        when(modifyRequest.request()).thenReturn(indexes);
+
+        // When / Then
+        assertSame(indexes, interceptor.modifyRequest(modifyRequest, new ExecutionAttributes()));
+    }
+
+    @Test
+    @DisplayName("Should book read and write units into the current invocation")
+    void shouldBookCapacity() {
+        // Given
+        InvocationMetrics metrics = InvocationMetrics.begin();
+        ExecutionAttributes query = new ExecutionAttributes().putAttribute(SdkExecutionAttribute.OPERATION_NAME, "Query");
+        ExecutionAttributes batch = new ExecutionAttributes().putAttribute(SdkExecutionAttribute.OPERATION_NAME, "BatchWriteItem");
+
+        // When
+        when(afterExecution.response()).thenReturn(QueryResponse.builder()
+                .consumedCapacity(ConsumedCapacity.builder().tableName("tours").capacityUnits(2.5).build()).build());
+        interceptor.afterExecution(afterExecution, query);
+        interceptor.afterExecution(afterExecution, query);
+        when(afterExecution.response()).thenReturn(BatchWriteItemResponse.builder().consumedCapacity(
+                ConsumedCapacity.builder().tableName("reports").capacityUnits(25.0).writeCapacityUnits(25.0).build(),
+                ConsumedCapacity.builder().tableName("bookings").capacityUnits(3.0).writeCapacityUnits(3.0).build()).build());
+        interceptor.afterExecution(afterExecution, batch);
+        CapacityLedger ledger = metrics.capacity();
+        metrics.finishJob("test");
+
+        // Then
+        assertEquals(5.0, ledger.readUnits(), 0.001);
+        assertEquals(28.0, ledger.writeUnits(), 0.001);
+        CapacityLedger.Entry top = ledger.top(1).get(0);
+        assertTrue(top.operation.endsWith(" BatchWriteItem"));
+        assertEquals(1, top.calls());
+        assertEquals(2, ledger.top(5).get(1).calls());
+    }
+
+    @Test
+    @DisplayName("Should ignore capacity outside an invocation")
+    void shouldIgnoreOutsideInvocation() {
+        // Given
+        InvocationMetrics metrics = InvocationMetrics.begin();
+        metrics.finishJob("done");
+
+        // When / Then
+        interceptor.afterExecution(afterExecution, new ExecutionAttributes());
+        assertTrue(metrics.capacity().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should name callers by class and enclosing method")
+    void shouldNameCallers() {
+        assertEquals("DynamoDbToursRepository",
+                ConsumedCapacityInterceptor.simpleName("com.travelbackendapp.travelmanagement.repository.DynamoDbToursRepository$1"));
+        assertEquals("findAll", ConsumedCapacityInterceptor.methodName("lambda$findAll$3"));
+        assertEquals("findAvailableTours", ConsumedCapacityInterceptor.methodName("findAvailableTours"));
+    }
+}
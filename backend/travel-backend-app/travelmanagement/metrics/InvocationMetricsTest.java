@@ -0,0 +1,170 @@
+package com.travelbackendapp.travelmanagement.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InvocationMetrics Tests")
+class InvocationMetricsTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+    private PrintStream original;
+
+    @BeforeEach
+    void setUp() {
+        original = EmfWriter.out;
+        EmfWriter.out = new PrintStream(stdout, true, StandardCharsets.UTF_8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        EmfWriter.out = original;
+    }
+
+    @Test
+    @DisplayName("Should write one EMF line with route, status and downstream metrics")
+    void shouldWriteEmfLine() throws Exception {
+        // Given
+        InvocationMetrics metrics = InvocationMetrics.begin();
+        InvocationMetrics.record(Downstream.DYNAMODB, 3_000_000, false);
+        InvocationMetrics.record(Downstream.DYNAMODB, 5_000_000, true);
+
+        // When
+        metrics.finish("POST /bookings", 201, "req-1");
+
+        // Then
+        JsonNode line = onlyLine();
+        JsonNode directive = line.get("_aws").get("CloudWatchMetrics").get(0);
+        assertEquals(EmfWriter.NAMESPACE, directive.get("Namespace").asText());
+        assertEquals("[[\"Route\",\"Status\",\"ColdStart\"]]", directive.get("Dimensions").toString());
+        assertEquals("POST /bookings", line.get("Route").asText());
+        assertEquals("201", line.get("Status").asText());
+        assertTrue(line.has("ColdStart"));
+        assertEquals(2, line.get("DynamoDbCalls").asLong());
+        assertEquals(1, line.get("DynamoDbErrors").asLong());
+        assertEquals(8.0, line.get("DynamoDbLatency").asDouble(), 0.001);
+        assertEquals(0, line.get("GeminiCalls").asLong());
+        assertFalse(line.has("GeminiLatency"));
+        assertEquals("req-1", line.get("requestId").asText());
+        assertTrue(line.get("_aws").get("Timestamp").isNumber());
+
+        Set<String> defined = new HashSet<>();
+        directive.get("Metrics").forEach(m -> defined.add(m.get("Name").asText()));
+        assertTrue(defined.containsAll(Set.of("Latency", "DynamoDbCalls", "DynamoDbLatency", "S3Calls", "SqsCalls",
+                "CognitoCalls", "GeminiCalls")));
+        defined.forEach(name -> assertTrue(line.get(name).isNumber(), name));
+    }
+
+    @Test
+    @DisplayName("Should write transaction conflicts, retries and condition failures when there were any")
+    void shouldWriteTransactCounts() throws Exception {
+        // Given
+        InvocationMetrics metrics = InvocationMetrics.begin();
+        InvocationMetrics.recordTransact(InvocationMetrics.Transact.CONFLICT);
+        InvocationMetrics.recordTransact(InvocationMetrics.Transact.CONFLICT);
+        InvocationMetrics.recordTransact(InvocationMetrics.Transact.RETRY);
+
+        // When
+        metrics.finish("POST /bookings", 201, null);
+
+        // Then
+        JsonNode line = onlyLine();
+        assertEquals(2, line.get("DynamoDbTransactConflicts").asLong());
+        assertEquals(1, line.get("DynamoDbTransactRetries").asLong());
+        assertEquals(0, line.get("DynamoDbTransactConditionFailures").asLong());
+    }
+
+    @Test
+    @DisplayName("Should leave transaction counts out when no transaction was cancelled")
+    void shouldOmitTransactCounts() throws Exception {
+        // Given
+        InvocationMetrics metrics = InvocationMetrics.begin();
+
+        // When
+        metrics.finish("GET /tours/available", 200, null);
+
+        // Then
+        assertFalse(onlyLine().has("DynamoDbTransactConflicts"));
+    }
+
+    @Test
+    @DisplayName("Should count calls made by propagated tasks on pool threads")
+    void shouldCountPropagatedCalls() throws Exception {
+        // Given
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        InvocationMetrics metrics = InvocationMetrics.begin();
+
+        // When
+        pool.submit(InvocationMetrics.propagate(() -> InvocationMetrics.record(Downstream.S3, 1_000_000, false))).get();
+        pool.submit(() -> InvocationMetrics.record(Downstream.SQS, 1_000_000, false)).get();
+        metrics.finish("GET /bookings", 200, null);
+        pool.shutdown();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+
+        // Then
+        JsonNode line = onlyLine();
+        assertEquals(1, line.get("S3Calls").asLong());
+        assertEquals(0, line.get("SqsCalls").asLong());
+        assertFalse(line.has("requestId"));
+    }
+
+    @Test
+    @DisplayName("Should ignore calls outside an invocation and accumulate the route histogram")
+    void shouldAccumulateRouteHistogram() throws Exception {
+        // Given
+        InvocationMetrics.record(Downstream.DYNAMODB, 1_000_000, false);
+
+        // When
+        InvocationMetrics.begin().finish("GET /tours/{id}/quote", 200, null);
+        InvocationMetrics.record(Downstream.DYNAMODB, 1_000_000, false);
+        InvocationMetrics.begin().finish("GET /tours/{id}/quote", 404, null);
+
+        // Then
+        String[] lines = stdout.toString(StandardCharsets.UTF_8).trim().split("\n");
+        assertEquals(2, lines.length);
+        JsonNode second = mapper.readTree(lines[1]);
+        assertEquals(0, second.get("DynamoDbCalls").asLong());
+        assertEquals("false", second.get("ColdStart").asText());
+        assertEquals(2, second.get("routeCount").asLong());
+        assertTrue(second.get("routeP99Ms").asDouble() >= second.get("routeP50Ms").asDouble());
+    }
+
+    @Test
+    @DisplayName("Should add consumed capacity to the EMF line")
+    void shouldWriteCapacity() throws Exception {
+        // Given
+        InvocationMetrics metrics = InvocationMetrics.begin();
+        InvocationMetrics.recordCapacity("DynamoDbToursRepository.findAvailableTours Scan", 12.5, 0);
+        InvocationMetrics.recordCapacity("DynamoDbBookingsRepository.reserve TransactWriteItems", 0, 4);
+
+        // When
+        metrics.finish("GET /tours/available", 200, null);
+
+        // Then
+        JsonNode line = onlyLine();
+        assertEquals(12.5, line.get("DynamoDbReadCapacity").asDouble(), 0.001);
+        assertEquals(4.0, line.get("DynamoDbWriteCapacity").asDouble(), 0.001);
+        assertEquals("DynamoDbToursRepository.findAvailableTours Scan", metrics.capacity().top(1).get(0).operation);
+    }
+
+    private JsonNode onlyLine() throws Exception {
+        String[] lines = stdout.toString(StandardCharsets.UTF_8).trim().split("\n");
+        assertEquals(1, lines.length);
+        return mapper.readTree(lines[0]);
+    }
+}
@@ -0,0 +1,113 @@
+package com.travelbackendapp.travelmanagement.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tracer Tests")
+class TracerTest {
+
+    interface Repo {
+        String find(String id);
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+    private PrintStream original;
+
+    @BeforeEach
+    void setUp() {
+        original = Tracer.out;
+        Tracer.out = new PrintStream(stdout, true, StandardCharsets.UTF_8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Tracer.out = original;
+    }
+
+    @Test
+    @DisplayName("Should export a failed trace with nested and propagated spans")
+    void shouldExportFailedTrace() throws Exception {
+        // Given
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Repo repo = Traced.of(Repo.class, id -> "item-" + id);
+
+        // When
+        try (Span root = Tracer.startTrace("GET /bookings")) {
+            try (Span service = Tracer.span("BookingsService.view")) {
+                assertEquals("item-1", repo.find("1"));
+                pool.submit(InvocationMetrics.propagate(() -> {
+                    try (Span s = Tracer.span("DynamoDb.Query")) {
+                        s.attr("TableName", "bookings");
+                    }
+                })).get();
+            }
+            root.attr("status", 500);
+        }
+        pool.shutdown();
+
+        // Then
+        JsonNode trace = mapper.readTree(stdout.toString(StandardCharsets.UTF_8).trim());
+        assertEquals("GET /bookings", trace.get("name").asText());
+        assertEquals(16, trace.get("trace").asText().length());
+        Map<String, JsonNode> spans = new HashMap<>();
+        trace.get("spans").forEach(s -> spans.put(s.get("name").asText(), s));
+        assertEquals(4, spans.size());
+        int rootId = spans.get("GET /bookings").get("id").asInt();
+        int serviceId = spans.get("BookingsService.view").get("id").asInt();
+        assertFalse(spans.get("GET /bookings").has("p"));
+        assertEquals(rootId, spans.get("BookingsService.view").get("p").asInt());
+        assertEquals(serviceId, spans.get("Repo.find").get("p").asInt());
+        assertEquals(serviceId, spans.get("DynamoDb.Query").get("p").asInt());
+        assertEquals("bookings", spans.get("DynamoDb.Query").get("attrs").get("TableName").asText());
+        assertEquals(500, spans.get("GET /bookings").get("attrs").get("status").asInt());
+    }
+
+    @Test
+    @DisplayName("Should hand out no-op spans outside a trace")
+    void shouldNoOpOutsideTrace() {
+        // When
+        Span span = Tracer.span("orphan").attr("k", "v");
+        span.close();
+
+        // Then
+        assertSame(Span.NOOP, span);
+        assertNull(span.attributes());
+        assertEquals("", stdout.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should rethrow the original exception and mark the span")
+    void shouldRethrowFromTracedCalls() throws Exception {
+        // Given
+        Repo repo = Traced.of(Repo.class, id -> {
+            throw new IllegalStateException("boom");
+        });
+
+        // When
+        try (Span root = Tracer.startTrace("GET /tours/{id}")) {
+            assertThrows(IllegalStateException.class, () -> repo.find("1"));
+            root.attr("status", 500);
+        }
+
+        // Then
+        JsonNode trace = mapper.readTree(stdout.toString(StandardCharsets.UTF_8).trim());
+        JsonNode find = trace.get("spans").get(1);
+        assertEquals("Repo.find", find.get("name").asText());
+        assertEquals("IllegalStateException", find.get("attrs").get("error").asText());
+    }
+}
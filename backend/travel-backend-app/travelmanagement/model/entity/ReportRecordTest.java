@@ -0,0 +1,126 @@
+package com.travelbackendapp.travelmanagement.model.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReportRecord Tests")
+class ReportRecordTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2025, 3, 2, 10, 0);
+
+    @Test
+    @DisplayName("Should derive sharded period and type keys and plain agent and tour keys")
+    void shouldAssignPeriodKeys() {
+        // Given
+        String reportId = ReportRecord.reportIdFor("CONFIRM", "2025-03-01_a");
+
+        // When
+        ReportRecord r = new ReportRecord(reportId, "CONFIRM", "2025-03-01_a", "user-1", "T-1", "agent@example.com", AT);
+
+        // Then
+        int shard = ReportRecord.periodShard(reportId);
+        assertTrue(shard >= 0 && shard < ReportRecord.PERIOD_SHARDS);
+        assertEquals("2025-03#" + shard, r.getPeriodBucket());
+        assertEquals("CONFIRM#2025-03#" + shard, r.getTypePeriod());
+        assertEquals("agent@example.com#2025-03", r.getAgentPeriod());
+        assertEquals("T-1#2025-03", r.getTourPeriod());
+    }
+
+    @Test
+    @DisplayName("Should look a record up under one of its month's keys for every index")
+    void shouldFindKeysAmongPeriodKeys() {
+        // Given
+        ReportRecord r = new ReportRecord("CANCEL-2025-03-01_b", "CANCEL", "2025-03-01_b", "user-1", "T-1",
+                "agent@example.com", AT);
+
+        // When
+        List<String> periodKeys = ReportRecord.periodKeys(ReportRecord.PERIOD_INDEX, null, "2025-03");
+        List<String> typeKeys = ReportRecord.periodKeys(ReportRecord.TYPE_PERIOD_INDEX, "CANCEL", "2025-03");
+
+        // Then
+        assertEquals(ReportRecord.PERIOD_SHARDS, periodKeys.size());
+        assertTrue(periodKeys.contains(r.getPeriodBucket()));
+        assertTrue(typeKeys.contains(r.getTypePeriod()));
+        assertEquals(List.of(r.getAgentPeriod()),
+                ReportRecord.periodKeys(ReportRecord.AGENT_PERIOD_INDEX, "agent@example.com", "2025-03"));
+        assertEquals(List.of(r.getTourPeriod()), ReportRecord.periodKeys(ReportRecord.TOUR_PERIOD_INDEX, "T-1", "2025-03"));
+    }
+
+    @Test
+    @DisplayName("Should leave a key null when one of its parts is missing")
+    void shouldLeaveIncompleteKeysNull() {
+        // Given
+        ReportRecord noTimestamp = new ReportRecord();
+        noTimestamp.setReportId("FINISH-2025-03-01_c");
+        noTimestamp.setEventType("FINISH");
+        noTimestamp.setTourId("T-1");
+        ReportRecord malformed = new ReportRecord();
+        malformed.setReportId("FINISH-2025-03-01_d");
+        malformed.setEventTimestamp("03/02/2025");
+        ReportRecord noAgent = new ReportRecord("FINISH-2025-03-01_e", "FINISH", "2025-03-01_e", "user-1", "T-1", null, AT);
+
+        // When
+        noTimestamp.assignPeriodKeys();
+        malformed.assignPeriodKeys();
+
+        // Then
+        assertNull(noTimestamp.getPeriodBucket());
+        assertNull(noTimestamp.getTypePeriod());
+        assertNull(noTimestamp.getTourPeriod());
+        assertNull(malformed.getPeriodBucket());
+        assertNull(noAgent.getAgentPeriod());
+        assertNotNull(noAgent.getPeriodBucket());
+    }
+
+    @Test
+    @DisplayName("Should give a replayed event the same reportId and keys as the original")
+    void shouldKeepKeysStableForReplays() {
+        // Given
+        ReportRecord original = new ReportRecord(ReportRecord.reportIdFor("FINISH", "2025-03-01_f"), "FINISH",
+                "2025-03-01_f", "user-1", "T-1", "agent@example.com", AT);
+
+        // When
+        ReportRecord replayed = new ReportRecord(ReportRecord.reportIdFor("FINISH", "2025-03-01_f"), "FINISH",
+                "2025-03-01_f", "user-1", "T-1", "agent@example.com", AT);
+
+        // Then
+        assertEquals(original.getReportId(), replayed.getReportId());
+        assertEquals(original.getPeriodBucket(), replayed.getPeriodBucket());
+        assertEquals(original.getTypePeriod(), replayed.getTypePeriod());
+    }
+
+    @Test
+    @DisplayName("Should spread one month's records over every period shard")
+    void shouldSpreadMonthOverShards() {
+        // Given
+        int[] perShard = new int[ReportRecord.PERIOD_SHARDS];
+        int records = 1000;
+
+        // When
+        for (int i = 0; i < records; i++) {
+            String bookingId = "2025-03-01_" + UUID.nameUUIDFromBytes(("booking-" + i).getBytes(StandardCharsets.UTF_8));
+            perShard[ReportRecord.periodShard(ReportRecord.reportIdFor("CONFIRM", bookingId))]++;
+        }
+
+        // Then: no shard is left idle or takes much more than its share
+        for (int n : perShard) {
+            assertTrue(n > records / ReportRecord.PERIOD_SHARDS / 2, "shard with " + n + " records");
+            assertTrue(n < records / ReportRecord.PERIOD_SHARDS * 2, "shard with " + n + " records");
+        }
+    }
+
+    @Test
+    @DisplayName("Should recognise period buckets written before sharding")
+    void shouldRecogniseUnshardedBuckets() {
+        assertTrue(ReportRecord.isUnshardedBucket("2025-03"));
+        assertFalse(ReportRecord.isUnshardedBucket("2025-03#5"));
+        assertFalse(ReportRecord.isUnshardedBucket(null));
+    }
+}
@@ -0,0 +1,107 @@
+package com.travelbackendapp.travelmanagement.priming;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.travelbackendapp.travelmanagement.metrics.Downstream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.sqs.SqsClient;
+
+import javax.validation.Validation;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Primer Tests")
+class PrimerTest {
+
+    @Mock
+    private DynamoDbClient dynamoDb;
+
+    @Mock
+    private S3Client s3;
+
+    @Mock
+    private SqsClient sqs;
+
+    @Mock
+    private CognitoIdentityProviderClient cognito;
+
+    private Primer primer() {
+        return new Primer(new ObjectMapper().registerModule(new JavaTimeModule()),
+                () -> Validation.buildDefaultValidatorFactory().getValidator(),
+                () -> dynamoDb, () -> s3, () -> sqs, () -> cognito);
+    }
+
+    @Test
+    @DisplayName("Should prime JSON and validation of the model classes")
+    void shouldPrimeModelClasses() {
+        // Given
+        Primer primer = primer();
+
+        // When
+        int json = primer.json();
+        int validation = primer.validation();
+
+        // Then
+        assertTrue(json > 30, "model classes primed: " + json);
+        assertTrue(validation >= 5, "request classes validated: " + validation);
+    }
+
+    @Test
+    @DisplayName("Should match every sample request except the unknown path")
+    void shouldPrimeRoutes() {
+        // When
+        int matched = primer().routes();
+
+        // Then
+        assertEquals(12, matched);
+    }
+
+    @Test
+    @DisplayName("Should count clients stopped by the dry run and survive clients that fail earlier")
+    @SuppressWarnings("unchecked")
+    void shouldDryRunClients() {
+        // Given
+        when(dynamoDb.getItem(any(Consumer.class)))
+                .thenThrow(SdkClientException.create("stopped", new DryRunInterceptor.Stopped()));
+        when(sqs.getQueueUrl(any(Consumer.class)))
+                .thenThrow(SdkClientException.create("Unable to load credentials from any of the providers"));
+
+        // When
+        int primed = primer().aws(Downstream.DYNAMODB, Downstream.SQS, Downstream.GEMINI);
+
+        // Then
+        assertEquals(1, primed);
+        verifyNoInteractions(s3, cognito);
+    }
+
+    @Test
+    @DisplayName("Should stop SDK calls only inside a dry run")
+    void shouldStopOnlyInsideDryRun() {
+        // Given
+        DryRunInterceptor interceptor = new DryRunInterceptor();
+        Context.BeforeTransmission context = mock(Context.BeforeTransmission.class);
+        ExecutionAttributes attributes = new ExecutionAttributes();
+
+        // When / Then
+        assertDoesNotThrow(() -> interceptor.beforeTransmission(context, attributes));
+        assertDoesNotThrow(() -> DryRunInterceptor.run(() -> interceptor.beforeTransmission(context, attributes)));
+        assertThrows(IllegalStateException.class, () -> DryRunInterceptor.run(() -> {
+            throw new IllegalStateException("not a dry run failure");
+        }));
+        assertDoesNotThrow(() -> interceptor.beforeTransmission(context, attributes));
+    }
+}
@@ -0,0 +1,78 @@
+package com.travelbackendapp.travelmanagement.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DynamoDbCatalogVersionRepository Tests")
+class DynamoDbCatalogVersionRepositoryTest {
+
+    @Mock
+    private DynamoDbClient ddb;
+
+    @Test
+    @DisplayName("Should see seat changes locally at once and write them in one flush")
+    void shouldCoalesceBumpSoonUntilFlush() {
+        // Given
+        when(ddb.getItem(any(GetItemRequest.class))).thenReturn(GetItemResponse.builder()
+                .item(Map.of("version", AttributeValue.builder().n("6").build())).build());
+        when(ddb.updateItem(any(UpdateItemRequest.class))).thenReturn(UpdateItemResponse.builder()
+                .attributes(Map.of("version", AttributeValue.builder().n("7").build())).build());
+        DynamoDbCatalogVersionRepository repository = new DynamoDbCatalogVersionRepository(ddb, "inventory");
+        long before = repository.current();
+
+        // When
+        for (int i = 0; i < 100; i++) repository.bumpSoon("seats reserved");
+
+        // Then
+        assertTrue(repository.current() > before);
+        verify(ddb, never()).updateItem(any(UpdateItemRequest.class));
+
+        repository.flush();
+        repository.flush();
+        verify(ddb, times(1)).updateItem(any(UpdateItemRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should not write on flush without seat changes")
+    void shouldSkipEmptyFlush() {
+        // Given
+        DynamoDbCatalogVersionRepository repository = new DynamoDbCatalogVersionRepository(ddb, "inventory");
+
+        // When
+        repository.flush();
+
+        // Then
+        verifyNoInteractions(ddb);
+    }
+
+    @Test
+    @DisplayName("Should write tour changes right away")
+    void shouldBumpSynchronously() {
+        // Given
+        when(ddb.updateItem(any(UpdateItemRequest.class))).thenReturn(UpdateItemResponse.builder()
+                .attributes(Map.of("version", AttributeValue.builder().n("3").build())).build());
+        DynamoDbCatalogVersionRepository repository = new DynamoDbCatalogVersionRepository(ddb, "inventory");
+
+        // When
+        repository.bump("tour updated");
+
+        // Then
+        verify(ddb).updateItem(any(UpdateItemRequest.class));
+    }
+}
@@ -0,0 +1,244 @@
+package com.travelbackendapp.travelmanagement.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DynamoDbTourInventoryRepository Tests")
+class DynamoDbTourInventoryRepositoryTest {
+
+    @Mock
+    private DynamoDbClient ddb;
+
+    private final TransactWriteItem booking = TransactWriteItem.builder()
+            .put(Put.builder().tableName("bookings").item(Map.of("bookingId", s("B-1"))).build()).build();
+
+    @Test
+    @DisplayName("Should probe the next shard when the sticky one cannot cover the seats")
+    void shouldProbeNextShard() {
+        // Given
+        when(ddb.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(conditionFailed())
+                .thenReturn(TransactWriteItemsResponse.builder().build());
+        int sticky = Math.floorMod("user-1".hashCode(), 4);
+
+        // When
+        repository().reserve("T-1", 4, 2, "user-1", booking);
+
+        // Then
+        List<TransactWriteItemsRequest> txs = transactions(2);
+        assertEquals(sticky, shardOf(txs.get(0).transactItems().get(0).update()));
+        assertEquals((sticky + 1) % 4, shardOf(txs.get(1).transactItems().get(0).update()));
+        assertEquals(booking, txs.get(1).transactItems().get(1));
+        verify(ddb, never()).query(any(QueryRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should split the seats across the fullest shards once every probe fails")
+    void shouldSplitAcrossShards() {
+        // Given
+        when(ddb.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(conditionFailed(), conditionFailed(), conditionFailed())
+                .thenReturn(TransactWriteItemsResponse.builder().build());
+        when(ddb.query(any(QueryRequest.class))).thenReturn(shards(2, 3, 1));
+
+        // When
+        repository().reserve("T-1", 3, 5, "user-1", booking);
+
+        // Then
+        List<TransactWriteItem> split = transactions(4).get(3).transactItems();
+        assertEquals(3, split.size());
+        assertEquals(1, shardOf(split.get(0).update()));
+        assertEquals("3", seatsOf(split.get(0).update()));
+        assertEquals(0, shardOf(split.get(1).update()));
+        assertEquals("2", seatsOf(split.get(1).update()));
+        assertEquals(booking, split.get(2));
+    }
+
+    @Test
+    @DisplayName("Should fail without writing when all shards together are short")
+    void shouldRejectShortfall() {
+        // Given
+        when(ddb.transactWriteItems(any(TransactWriteItemsRequest.class))).thenThrow(conditionFailed());
+        when(ddb.query(any(QueryRequest.class))).thenReturn(shards(1, 1));
+
+        // When
+        assertThrows(TransactionCanceledException.class, () -> repository().reserve("T-1", 2, 3, "user-1", null));
+
+        // Then: only the two probes were written
+        verify(ddb, times(2)).transactWriteItems(any(TransactWriteItemsRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should return seats to a shard only while the tour keeps the same shards")
+    void shouldGuardReleaseOnShardCount() {
+        // Given
+        when(ddb.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenReturn(TransactWriteItemsResponse.builder().build());
+
+        // When
+        repository().release("T-1", 4, 2);
+
+        // Then
+        List<TransactWriteItem> items = transactions(1).get(0).transactItems();
+        assertEquals("tours", items.get(0).conditionCheck().tableName());
+        assertEquals("#sh = :n", items.get(0).conditionCheck().conditionExpression());
+        assertEquals("4", items.get(0).conditionCheck().expressionAttributeValues().get(":n").n());
+        assertEquals("inventory", items.get(1).update().tableName());
+        assertEquals("2", seatsOf(items.get(1).update()));
+        verify(ddb, never()).updateItem(any(UpdateItemRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should return seats to availablePackages when sharding was switched off meanwhile")
+    void shouldFallBackToTourWhenUnsharded() {
+        // Given
+        when(ddb.transactWriteItems(any(TransactWriteItemsRequest.class))).thenThrow(conditionFailed());
+        when(ddb.updateItem(any(UpdateItemRequest.class))).thenReturn(UpdateItemResponse.builder().build());
+        when(ddb.getItem(any(GetItemRequest.class)))
+                .thenReturn(GetItemResponse.builder()
+                        .item(Map.of("tourId", s("T-1"))).build());
+
+        // When
+        repository().release("T-1", 4, 2);
+
+        // Then
+        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(ddb).updateItem(captor.capture());
+        UpdateItemRequest update = captor.getValue();
+        assertEquals("tours", update.tableName());
+        assertEquals("SET #ap = if_not_exists(#ap, :zero) + :n", update.updateExpression());
+        assertEquals("attribute_not_exists(#sh) OR #sh = :zero", update.conditionExpression());
+        assertEquals("2", update.expressionAttributeValues().get(":n").n());
+    }
+
+    @Test
+    @DisplayName("Should give up returning seats when the tour keeps switching modes")
+    void shouldCapReleaseAttempts() {
+        // Given: the tour reads as unsharded, but is sharded again whenever the unsharded write is tried
+        when(ddb.transactWriteItems(any(TransactWriteItemsRequest.class))).thenThrow(conditionFailed());
+        when(ddb.updateItem(any(UpdateItemRequest.class)))
+                .thenThrow(ConditionalCheckFailedException.builder().message("sharded").build());
+        when(ddb.getItem(any(GetItemRequest.class)))
+                .thenReturn(GetItemResponse.builder()
+                        .item(Map.of("inventoryShards", n(0))).build());
+
+        // When / Then
+        assertThrows(ConditionalCheckFailedException.class, () -> repository().release("T-1", 4, 2));
+        verify(ddb, times(1)).transactWriteItems(any(TransactWriteItemsRequest.class));
+        verify(ddb, times(2)).updateItem(any(UpdateItemRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should move surplus seats pairwise from full shards to short ones")
+    void shouldRebalanceInPairs() {
+        // Given: 12 seats, target 4/4/4
+        when(ddb.query(any(QueryRequest.class))).thenReturn(shards(10, 0, 2));
+        when(ddb.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenReturn(TransactWriteItemsResponse.builder().build());
+
+        // When
+        int moved = repository().rebalance("T-1", 3);
+
+        // Then
+        assertEquals(6, moved);
+        List<TransactWriteItemsRequest> txs = transactions(2);
+        assertMove(txs.get(0), 0, 1, "4");
+        assertMove(txs.get(1), 0, 2, "2");
+    }
+
+    @Test
+    @DisplayName("Should skip a rebalance move that loses a race and keep going")
+    void shouldSkipLostRebalanceMove() {
+        // Given
+        when(ddb.query(any(QueryRequest.class))).thenReturn(shards(10, 0, 2));
+        when(ddb.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(conditionFailed())
+                .thenReturn(TransactWriteItemsResponse.builder().build());
+
+        // When
+        int moved = repository().rebalance("T-1", 3);
+
+        // Then
+        assertEquals(2, moved);
+        assertMove(transactions(2).get(1), 0, 2, "2");
+    }
+
+    // Helper methods
+    private DynamoDbTourInventoryRepository repository() {
+        return new DynamoDbTourInventoryRepository(ddb, "inventory", "tours");
+    }
+
+    private List<TransactWriteItemsRequest> transactions(int count) {
+        ArgumentCaptor<TransactWriteItemsRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(ddb, times(count)).transactWriteItems(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static void assertMove(TransactWriteItemsRequest tx, int from, int to, String seats) {
+        Update take = tx.transactItems().get(0).update();
+        Update give = tx.transactItems().get(1).update();
+        assertEquals(from, shardOf(take));
+        assertEquals("#s >= :n", take.conditionExpression());
+        assertEquals(seats, seatsOf(take));
+        assertEquals(to, shardOf(give));
+        assertEquals(seats, seatsOf(give));
+    }
+
+    private static int shardOf(Update update) {
+        return Integer.parseInt(update.key().get("shardId").n());
+    }
+
+    private static String seatsOf(Update update) {
+        return update.expressionAttributeValues().get(":n").n();
+    }
+
+    private static QueryResponse shards(int... seats) {
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        for (int shard = 0; shard < seats.length; shard++) {
+            items.add(Map.of("tourId", s("T-1"), "shardId", n(shard), "seats", n(seats[shard])));
+        }
+        return QueryResponse.builder().items(items).build();
+    }
+
+    private static TransactionCanceledException conditionFailed() {
+        return TransactionCanceledException.builder().message("cancelled")
+                .cancellationReasons(CancellationReason.builder().code("ConditionalCheckFailed").build()).build();
+    }
+
+    private static AttributeValue s(String v) {
+        return AttributeValue.builder().s(v).build();
+    }
+
+    private static AttributeValue n(int v) {
+        return AttributeValue.builder().n(Integer.toString(v)).build();
+    }
+}
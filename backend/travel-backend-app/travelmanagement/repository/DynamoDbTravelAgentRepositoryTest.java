@@ -0,0 +1,115 @@
+package com.travelbackendapp.travelmanagement.repository;
+
+import com.travelbackendapp.travelmanagement.model.entity.TravelAgent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPageIterable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DynamoDbTravelAgentRepository Tests")
+class DynamoDbTravelAgentRepositoryTest {
+
+    @Mock
+    private DynamoDbEnhancedClient enhancedClient;
+
+    @Mock
+    private DynamoDbTable<TravelAgent> table;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private DynamoDbTravelAgentRepository repository;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(enhancedClient.table(eq("travel-agents"), any(TableSchema.class))).thenReturn(table);
+        repository = new DynamoDbTravelAgentRepository(enhancedClient, "travel-agents", now::get);
+    }
+
+    @Test
+    @DisplayName("Should serve a found agent from the cache until the TTL expires")
+    void shouldCacheFoundAgent() {
+        // Given
+        when(table.getItem(any(Key.class))).thenReturn(agent("agent@test.com", "TRAVEL_AGENT"));
+
+        // When
+        repository.findByEmail("agent@test.com");
+        now.addAndGet(DynamoDbTravelAgentRepository.TTL_MS - 1);
+        TravelAgent cached = repository.findByEmail("agent@test.com");
+        now.addAndGet(1);
+        repository.findByEmail("agent@test.com");
+
+        // Then
+        assertEquals("TRAVEL_AGENT", cached.getRole());
+        verify(table, times(2)).getItem(any(Key.class));
+    }
+
+    @Test
+    @DisplayName("Should cache a miss and drop it when the agent is saved")
+    void shouldCacheMissUntilSaved() {
+        // Given
+        when(table.getItem(any(Key.class))).thenReturn(null);
+
+        // When
+        assertNull(repository.findByEmail("new@test.com"));
+        assertNull(repository.findByEmail("new@test.com"));
+        TravelAgent created = agent("new@test.com", "TRAVEL_AGENT");
+        repository.save(created);
+        when(table.getItem(any(Key.class))).thenReturn(created);
+        TravelAgent found = repository.findByEmail("new@test.com");
+
+        // Then
+        assertSame(created, found);
+        verify(table, times(2)).getItem(any(Key.class));
+    }
+
+    @Test
+    @DisplayName("Should answer cached emails locally and batch-read the rest")
+    void shouldBatchReadMissingEmails() {
+        // Given
+        when(table.getItem(any(Key.class))).thenReturn(agent("a@test.com", "TRAVEL_AGENT"));
+        repository.findByEmail("a@test.com");
+
+        // ReadBatch maps the keys through the table's schema and name
+        lenient().when(table.tableSchema()).thenReturn(TableSchema.fromBean(TravelAgent.class));
+        lenient().when(table.tableName()).thenReturn("travel-agents");
+        BatchGetResultPageIterable pages = mock(BatchGetResultPageIterable.class);
+        when(pages.resultsForTable(table)).thenReturn(() -> List.of(agent("b@test.com", "ADMIN")).iterator());
+        when(enhancedClient.batchGetItem(any(BatchGetItemEnhancedRequest.class))).thenReturn(pages);
+
+        // When
+        Map<String, TravelAgent> found = repository.findByEmails(List.of("a@test.com", "b@test.com", "c@test.com"));
+        Map<String, TravelAgent> again = repository.findByEmails(List.of("b@test.com", "c@test.com"));
+
+        // Then
+        assertEquals(2, found.size());
+        assertEquals("ADMIN", found.get("b@test.com").getRole());
+        assertFalse(found.containsKey("c@test.com"));
+        assertEquals(1, again.size());
+        verify(enhancedClient, times(1)).batchGetItem(any(BatchGetItemEnhancedRequest.class));
+        verify(table, times(1)).getItem(any(Key.class));
+    }
+
+    private static TravelAgent agent(String email, String role) {
+        TravelAgent a = new TravelAgent();
+        a.setEmail(email);
+        a.setRole(role);
+        return a;
+    }
+}
@@ -0,0 +1,112 @@
+package com.travelbackendapp.travelmanagement.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactWrites Tests")
+class TransactWritesTest {
+
+    @Mock
+    private DynamoDbClient ddb;
+
+    private final TransactWriteItemsRequest tx = TransactWriteItemsRequest.builder().build();
+
+    @AfterEach
+    void tearDown() {
+        Thread.interrupted();
+    }
+
+    @Test
+    @DisplayName("Should retry a transaction conflict and succeed")
+    void shouldRetryConflict() {
+        // Given
+        long conflicts = TransactWrites.CONFLICTS.get();
+        long retries = TransactWrites.RETRIES.get();
+        when(ddb.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(cancelled("None", "TransactionConflict"))
+                .thenReturn(TransactWriteItemsResponse.builder().build());
+
+        // When
+        TransactWrites.execute(ddb, tx, "reserve seats", "T-1");
+
+        // Then
+        verify(ddb, times(2)).transactWriteItems(any(TransactWriteItemsRequest.class));
+        assertEquals(conflicts + 1, TransactWrites.CONFLICTS.get());
+        assertEquals(retries + 1, TransactWrites.RETRIES.get());
+    }
+
+    @Test
+    @DisplayName("Should rethrow a failed condition without retrying")
+    void shouldNotRetryConditionFailure() {
+        // Given
+        long rejected = TransactWrites.CONDITION_FAILURES.get();
+        long conflicts = TransactWrites.CONFLICTS.get();
+        // a conflict on one item does not make a failed condition on another retryable
+        TransactionCanceledException e = cancelled("ConditionalCheckFailed", "TransactionConflict");
+        when(ddb.transactWriteItems(any(TransactWriteItemsRequest.class))).thenThrow(e);
+
+        // When
+        TransactionCanceledException thrown = assertThrows(TransactionCanceledException.class,
+                () -> TransactWrites.execute(ddb, tx, "reserve seats", "T-1"));
+
+        // Then
+        assertSame(e, thrown);
+        assertTrue(TransactWrites.isConditionFailure(thrown));
+        verify(ddb, times(1)).transactWriteItems(any(TransactWriteItemsRequest.class));
+        assertEquals(rejected + 1, TransactWrites.CONDITION_FAILURES.get());
+        assertEquals(conflicts, TransactWrites.CONFLICTS.get());
+    }
+
+    @Test
+    @DisplayName("Should give up after five conflicting attempts")
+    void shouldCapRetries() {
+        // Given
+        when(ddb.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(cancelled("TransactionConflict"));
+
+        // When
+        TransactionCanceledException thrown = assertThrows(TransactionCanceledException.class,
+                () -> TransactWrites.execute(ddb, tx, "reserve seats", "T-1"));
+
+        // Then
+        assertFalse(TransactWrites.isConditionFailure(thrown));
+        verify(ddb, times(5)).transactWriteItems(any(TransactWriteItemsRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should stop retrying when the thread is interrupted")
+    void shouldAbortWhenInterrupted() {
+        // Given
+        when(ddb.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(cancelled("TransactionConflict"));
+        Thread.currentThread().interrupt();
+
+        // When
+        assertThrows(AbortedException.class, () -> TransactWrites.execute(ddb, tx, "reserve seats", "T-1"));
+
+        // Then
+        verify(ddb, times(1)).transactWriteItems(any(TransactWriteItemsRequest.class));
+        assertTrue(Thread.currentThread().isInterrupted());
+    }
+
+    private static TransactionCanceledException cancelled(String... codes) {
+        CancellationReason[] reasons = new CancellationReason[codes.length];
+        for (int i = 0; i < codes.length; i++) reasons[i] = CancellationReason.builder().code(codes[i]).build();
+        return TransactionCanceledException.builder().message("cancelled").cancellationReasons(reasons).build();
+    }
+}
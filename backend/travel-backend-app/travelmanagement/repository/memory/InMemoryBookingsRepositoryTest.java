@@ -0,0 +1,233 @@
+package com.travelbackendapp.travelmanagement.repository.memory;
+
+import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import com.travelbackendapp.travelmanagement.repository.BookingsRepository.BookingsPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InMemoryBookingsRepository Tests")
+class InMemoryBookingsRepositoryTest {
+
+    private InMemoryTables tables;
+    private InMemoryToursRepository toursRepository;
+    private InMemoryTourInventoryRepository inventoryRepository;
+    private InMemoryBookingsRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        tables = new InMemoryTables();
+        toursRepository = new InMemoryToursRepository(tables);
+        inventoryRepository = new InMemoryTourInventoryRepository(tables);
+        repository = new InMemoryBookingsRepository(tables, inventoryRepository);
+    }
+
+    @Test
+    @DisplayName("Should never sell more seats than the tour has under concurrent reservations")
+    void shouldNotOversellUnderConcurrency() throws Exception {
+        // Given
+        toursRepository.save(tour("T-1", 50, 3L));
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 160; i++) {
+            int n = i;
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    repository.transactReserveSeatsAndSave(booking("user-" + (n % 8), "2026-05-01_" + n, "T-1"), "T-1", 1);
+                } catch (TransactionCanceledException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        // Then
+        assertEquals(110, rejected.get());
+        assertEquals(0, toursRepository.getById("T-1").orElseThrow().getAvailablePackages());
+        assertEquals(50, repository.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Should cancel the reservation when the tour changed since the snapshot")
+    void shouldRejectStaleTourVersion() {
+        // Given
+        TourItem snapshot = tour("T-1", 10, 3L);
+        toursRepository.save(snapshot);
+        TourItem edited = tour("T-1", 10, 4L);
+        toursRepository.update(edited);
+
+        // When
+        TransactionCanceledException e = assertThrows(TransactionCanceledException.class,
+                () -> repository.transactReserveSeatsAndSave(booking("user-1", "2026-05-01_a", "T-1"), snapshot, 2));
+
+        // Then
+        assertTrue(e.cancellationReasons().stream().anyMatch(r -> "ConditionalCheckFailed".equals(r.code())));
+        assertEquals(10, toursRepository.getById("T-1").orElseThrow().getAvailablePackages());
+        assertNull(repository.get("user-1", "2026-05-01_a"));
+    }
+
+    @Test
+    @DisplayName("Should page a user's bookings in bookingId order and end with a null cursor")
+    void shouldPageBookings() {
+        // Given
+        for (String id : List.of("2026-01-10_a", "2026-02-10_b", "2026-03-10_c", "2026-04-10_d", "2026-05-10_e")) {
+            BookingItem b = booking("user-1", id, "T-1");
+            b.setStatus(id.endsWith("c") ? "CANCELLED" : "BOOKED");
+            repository.put(b);
+        }
+
+        // When
+        BookingsPage first = repository.findByUserId("user-1", "2026-01-01", "2026-04-30", Set.of("BOOKED"), 2, null, false);
+        BookingsPage second = repository.findByUserId("user-1", "2026-01-01", "2026-04-30", Set.of("BOOKED"), 2,
+                first.lastBookingId, false);
+
+        // Then
+        assertEquals(List.of("2026-01-10_a", "2026-02-10_b"), ids(first));
+        assertEquals("2026-02-10_b", first.lastBookingId);
+        assertEquals(List.of("2026-04-10_d"), ids(second));
+        assertNull(second.lastBookingId);
+    }
+
+    @Test
+    @DisplayName("Should page an agent's bookings across users in date order")
+    void shouldPageAgentBookings() {
+        // Given
+        repository.put(agentBooking("user-2", "2026-01-10_a", "agent@example.com"));
+        repository.put(agentBooking("user-1", "2026-02-10_b", "agent@example.com"));
+        repository.put(agentBooking("user-3", "2026-03-10_c", "other@example.com"));
+        repository.put(agentBooking("user-1", "2026-04-10_d", "agent@example.com"));
+
+        // When
+        BookingsPage first = repository.findByAgentEmail("agent@example.com", null, null, Set.of(), 2, null, null, false);
+        BookingsPage second = repository.findByAgentEmail("agent@example.com", null, null, Set.of(), 2,
+                first.lastUserId, first.lastBookingId, false);
+
+        // Then
+        assertEquals(List.of("2026-01-10_a", "2026-02-10_b"), ids(first));
+        assertEquals("user-1", first.lastUserId);
+        assertEquals(List.of("2026-04-10_d"), ids(second));
+        assertNull(second.lastBookingId);
+    }
+
+    @Test
+    @DisplayName("Should page all bookings in key order with the date range as a filter")
+    void shouldPageAllBookings() {
+        // Given
+        repository.put(agentBooking("user-2", "2026-01-10_a", "agent@example.com"));
+        repository.put(agentBooking("user-1", "2026-02-10_b", "agent@example.com"));
+        repository.put(agentBooking("user-1", "2025-12-10_x", "agent@example.com"));
+        repository.put(agentBooking("user-3", "2026-03-10_c", "other@example.com"));
+
+        // When
+        BookingsPage first = repository.findAll("2026-01-01", null, Set.of("BOOKED"), 2, null, null, false);
+        BookingsPage second = repository.findAll("2026-01-01", null, Set.of("BOOKED"), 2,
+                first.lastUserId, first.lastBookingId, false);
+
+        // Then
+        assertEquals(List.of("2026-02-10_b", "2026-01-10_a"), ids(first));
+        assertEquals("user-2", first.lastUserId);
+        assertEquals(List.of("2026-03-10_c"), ids(second));
+        assertNull(second.lastBookingId);
+    }
+
+    @Test
+    @DisplayName("Should reserve across shards and report a shortfall as a failed condition")
+    void shouldReserveFromShards() {
+        // Given
+        toursRepository.save(tour("T-1", 10, 1L));
+        inventoryRepository.enableSharding("T-1", 10, 10, 4);
+
+        // When
+        repository.transactReserveSeatsAndSave(booking("user-1", "2026-05-01_a", "T-1"), "T-1", 7, 4);
+
+        // Then
+        assertEquals(3, inventoryRepository.readShards("T-1", true).values().stream().mapToInt(Integer::intValue).sum());
+        assertNotNull(repository.get("user-1", "2026-05-01_a"));
+        assertThrows(ConditionalCheckFailedException.class, () -> repository.adjustTourCapacity("T-1", 4, 4));
+        assertEquals(3, inventoryRepository.disableSharding("T-1"));
+        assertEquals(3, toursRepository.getById("T-1").orElseThrow().getAvailablePackages());
+    }
+
+    @Test
+    @DisplayName("Should return cancelled seats to availablePackages once the tour is unsharded")
+    void shouldReleaseToTourAfterUnsharding() {
+        // Given: a cancel that still thinks the tour has 4 shards
+        toursRepository.save(tour("T-1", 10, 1L));
+        inventoryRepository.enableSharding("T-1", 10, 10, 4);
+        repository.adjustTourCapacity("T-1", 6, 4);
+        inventoryRepository.disableSharding("T-1");
+
+        // When
+        repository.adjustTourCapacity("T-1", -2, 4);
+
+        // Then
+        assertEquals(6, toursRepository.getById("T-1").orElseThrow().getAvailablePackages());
+        assertTrue(inventoryRepository.readShards("T-1", true).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should hand out copies so callers cannot change stored bookings")
+    void shouldReturnCopies() {
+        // Given
+        repository.put(booking("user-1", "2026-05-01_a", "T-1"));
+
+        // When
+        repository.get("user-1", "2026-05-01_a").setStatus("CANCELLED");
+
+        // Then
+        assertEquals("BOOKED", repository.get("user-1", "2026-05-01_a").getStatus());
+    }
+
+    // Helper methods
+    private static TourItem tour(String tourId, int seats, Long version) {
+        TourItem t = new TourItem();
+        t.setTourId(tourId);
+        t.setAvailablePackages(seats);
+        t.setVersion(version);
+        return t;
+    }
+
+    private static BookingItem agentBooking(String userId, String bookingId, String agentEmail) {
+        BookingItem b = booking(userId, bookingId, "T-1");
+        b.setAgentEmail(agentEmail);
+        return b;
+    }
+
+    private static BookingItem booking(String userId, String bookingId, String tourId) {
+        BookingItem b = new BookingItem();
+        b.setUserId(userId);
+        b.setBookingId(bookingId);
+        b.setTourId(tourId);
+        b.setStatus("BOOKED");
+        return b;
+    }
+
+    private static List<String> ids(BookingsPage page) {
+        List<String> out = new ArrayList<>();
+        page.items.forEach(b -> out.add(b.getBookingId()));
+        return out;
+    }
+}
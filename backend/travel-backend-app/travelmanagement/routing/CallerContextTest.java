@@ -0,0 +1,91 @@
+package com.travelbackendapp.travelmanagement.routing;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.travelbackendapp.travelmanagement.model.entity.TravelAgent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CallerContext Tests")
+class CallerContextTest {
+
+    @Test
+    @DisplayName("Should read claims and parse the role case-insensitively")
+    void shouldParseClaims() {
+        // Given
+        APIGatewayProxyRequestEvent event = eventWithClaims(Map.of(
+                "sub", "user-1", "email", "agent@test.com", "custom:role", "travel_agent"));
+
+        // When
+        CallerContext caller = CallerContext.from(event, email -> null);
+
+        // Then
+        assertEquals("user-1", caller.sub());
+        assertEquals("agent@test.com", caller.email());
+        assertEquals(CallerContext.Role.TRAVEL_AGENT, caller.role());
+        assertTrue(caller.isStaff());
+        assertTrue(caller.hasEmail());
+    }
+
+    @Test
+    @DisplayName("Should look the agent up once and only when asked")
+    void shouldMemoizeAgentLookup() {
+        // Given
+        TravelAgent admin = new TravelAgent();
+        admin.setEmail("admin@test.com");
+        admin.setRole("ADMIN");
+        AtomicInteger lookups = new AtomicInteger();
+        Function<String, TravelAgent> lookup = email -> {
+            lookups.incrementAndGet();
+            return admin;
+        };
+        CallerContext caller = CallerContext.from(
+                eventWithClaims(Map.of("email", "admin@test.com", "custom:role", "ADMIN")), lookup);
+
+        // When
+        assertEquals(0, lookups.get());
+        boolean agent = caller.isRegisteredAgent();
+        boolean isAdmin = caller.isRegisteredAdmin();
+
+        // Then
+        assertTrue(agent);
+        assertTrue(isAdmin);
+        assertSame(admin, caller.agent());
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    @DisplayName("Should treat a request without claims as anonymous and skip the lookup")
+    void shouldHandleMissingClaims() {
+        // Given
+        APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+
+        // When
+        CallerContext caller = CallerContext.from(event, email -> {
+            throw new AssertionError("no lookup without an email");
+        });
+
+        // Then
+        assertEquals(CallerContext.Role.NONE, caller.role());
+        assertFalse(caller.hasEmail());
+        assertNull(caller.agent());
+        assertFalse(caller.isRegisteredAgent());
+        assertEquals(CallerContext.Role.NONE, CallerContext.anonymous().role());
+    }
+
+    private static APIGatewayProxyRequestEvent eventWithClaims(Map<String, String> claims) {
+        APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+        APIGatewayProxyRequestEvent.ProxyRequestContext requestContext = new APIGatewayProxyRequestEvent.ProxyRequestContext();
+        Map<String, Object> authorizer = new HashMap<>();
+        authorizer.put("claims", new HashMap<>(claims));
+        requestContext.setAuthorizer(authorizer);
+        event.setRequestContext(requestContext);
+        return event;
+    }
+}
@@ -0,0 +1,87 @@
+package com.travelbackendapp.travelmanagement.routing;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HttpEventAdapter Tests")
+class HttpEventAdapterTest {
+
+    @Test
+    @DisplayName("Should build the event API Gateway would send")
+    void shouldBuildProxyEvent() {
+        // Given
+        URI uri = URI.create("/tours/available?destination=Rome%2C%20Italy&mealPlan=BB&mealPlan=AI&flag");
+        byte[] body = "{\"a\":1}".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        APIGatewayProxyRequestEvent event = HttpEventAdapter.toEvent("POST", uri,
+                Map.of("Content-type", List.of("application/json")), body, Map.of("email", "user@test.com"));
+
+        // Then
+        assertEquals("POST", event.getHttpMethod());
+        assertEquals("/tours/available", event.getPath());
+        assertEquals("Rome, Italy", event.getQueryStringParameters().get("destination"));
+        assertEquals("AI", event.getQueryStringParameters().get("mealPlan"));
+        assertEquals(List.of("BB", "AI"), event.getMultiValueQueryStringParameters().get("mealPlan"));
+        assertEquals("", event.getQueryStringParameters().get("flag"));
+        assertEquals("{\"a\":1}", event.getBody());
+        assertEquals("application/json", event.getHeaders().get("Content-type"));
+        assertEquals("user@test.com", CallerContext.from(event, email -> null).email());
+    }
+
+    @Test
+    @DisplayName("Should leave body, parameters and claims empty for a bare GET")
+    void shouldHandleBareRequest() {
+        // When
+        APIGatewayProxyRequestEvent event = HttpEventAdapter.toEvent("GET", URI.create("/bookings"), Map.of(), new byte[0], Map.of());
+
+        // Then
+        assertNull(event.getBody());
+        assertNull(event.getQueryStringParameters());
+        assertNull(event.getRequestContext().getAuthorizer());
+        assertEquals(CallerContext.Role.NONE, CallerContext.from(event, email -> null).role());
+    }
+
+    @Test
+    @DisplayName("Should decode the claims of a bearer id token")
+    void shouldDecodeJwtClaims() {
+        // Given
+        String payload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"email\":\"agent@test.com\",\"custom:role\":\"TRAVEL_AGENT\"}".getBytes(StandardCharsets.UTF_8));
+        ClaimsSource source = ClaimsSource.parse("jwt", new ObjectMapper());
+
+        // When
+        Map<String, Object> claims = source.claims(Map.of("Authorization", List.of("Bearer h." + payload + ".sig")));
+
+        // Then
+        assertEquals("agent@test.com", claims.get("email"));
+        assertEquals("TRAVEL_AGENT", claims.get("custom:role"));
+        assertTrue(source.claims(Map.of("Authorization", List.of("Bearer not-a-token"))).isEmpty());
+        assertTrue(source.claims(Map.of()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should decode base64 response bodies")
+    void shouldDecodeBase64Body() {
+        // Given
+        APIGatewayProxyResponseEvent response = new APIGatewayProxyResponseEvent()
+                .withStatusCode(200)
+                .withIsBase64Encoded(true)
+                .withBody(Base64.getEncoder().encodeToString(new byte[]{1, 2, 3}));
+
+        // When / Then
+        assertArrayEquals(new byte[]{1, 2, 3}, HttpEventAdapter.responseBody(response));
+        assertEquals(0, HttpEventAdapter.responseBody(null).length);
+    }
+}
@@ -4,7 +4,9 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.travelbackendapp.travelmanagement.controller.AuthController;
+import com.travelbackendapp.travelmanagement.controller.ReportsController;
 import com.travelbackendapp.travelmanagement.controller.UsersController;
+import com.travelbackendapp.travelmanagement.repository.TravelAgentRepository;
 import com.travelbackendapp.travelmanagement.service.AiChatService;
 import com.travelbackendapp.travelmanagement.service.BookingsService;
 import com.travelbackendapp.travelmanagement.service.ToursService;
@@ -42,6 +44,12 @@ class RequestRouterTest {
     @Mock
     private TravelAgentsService travelAgentsService;
 
+    @Mock
+    private ReportsController reportsController;
+
+    @Mock
+    private TravelAgentRepository travelAgentRepository;
+
     @Mock
     private Context context;
 
@@ -55,7 +63,9 @@ class RequestRouterTest {
                 bookingsService,
                 aiChatService,
                 usersController,
-                travelAgentsService
+                travelAgentsService,
+                reportsController,
+                travelAgentRepository
         );
     }
 
@@ -124,7 +134,7 @@ class RequestRouterTest {
         event.setPath("/tours");
         APIGatewayProxyResponseEvent mockResponse = new APIGatewayProxyResponseEvent().withStatusCode(201);
 
-        when(toursService.createTour(event)).thenReturn(mockResponse);
+        when(toursService.createTour(eq(event), any(CallerContext.class))).thenReturn(mockResponse);
 
         // When
         APIGatewayProxyResponseEvent response = requestRouter.route(event, context);
@@ -132,7 +142,7 @@ class RequestRouterTest {
         // Then
         assertNotNull(response);
         assertEquals(201, response.getStatusCode());
-        verify(toursService).createTour(event);
+        verify(toursService).createTour(eq(event), any(CallerContext.class));
     }
 
     @Test
@@ -164,7 +174,7 @@ class RequestRouterTest {
         event.setPath("/tours/T-123");
         APIGatewayProxyResponseEvent mockResponse = new APIGatewayProxyResponseEvent().withStatusCode(200);
 
-        when(toursService.updateTour(event, "T-123")).thenReturn(mockResponse);
+        when(toursService.updateTour(eq(event), any(CallerContext.class), eq("T-123"))).thenReturn(mockResponse);
 
         // When
         APIGatewayProxyResponseEvent response = requestRouter.route(event, context);
@@ -172,7 +182,7 @@ class RequestRouterTest {
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCode());
-        verify(toursService).updateTour(event, "T-123");
+        verify(toursService).updateTour(eq(event), any(CallerContext.class), eq("T-123"));
     }
 
     @Test
@@ -184,7 +194,7 @@ class RequestRouterTest {
         event.setPath("/tours/T-123");
         APIGatewayProxyResponseEvent mockResponse = new APIGatewayProxyResponseEvent().withStatusCode(200);
 
-        when(toursService.deleteTour(event, "T-123")).thenReturn(mockResponse);
+        when(toursService.deleteTour(eq(event), any(CallerContext.class), eq("T-123"))).thenReturn(mockResponse);
 
         // When
         APIGatewayProxyResponseEvent response = requestRouter.route(event, context);
@@ -192,7 +202,7 @@ class RequestRouterTest {
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCode());
-        verify(toursService).deleteTour(event, "T-123");
+        verify(toursService).deleteTour(eq(event), any(CallerContext.class), eq("T-123"));
     }
 
     @Test
@@ -244,7 +254,7 @@ class RequestRouterTest {
         event.setPath("/bookings");
         APIGatewayProxyResponseEvent mockResponse = new APIGatewayProxyResponseEvent().withStatusCode(201);
 
-        when(bookingsService.create(event)).thenReturn(mockResponse);
+        when(bookingsService.create(eq(event), any(CallerContext.class))).thenReturn(mockResponse);
 
         // When
         APIGatewayProxyResponseEvent response = requestRouter.route(event, context);
@@ -252,7 +262,7 @@ class RequestRouterTest {
         // Then
         assertNotNull(response);
         assertEquals(201, response.getStatusCode());
-        verify(bookingsService).create(event);
+        verify(bookingsService).create(eq(event), any(CallerContext.class));
     }
 
     @Test
@@ -264,7 +274,7 @@ class RequestRouterTest {
         event.setPath("/bookings");
         APIGatewayProxyResponseEvent mockResponse = new APIGatewayProxyResponseEvent().withStatusCode(200);
 
-        when(bookingsService.view(event)).thenReturn(mockResponse);
+        when(bookingsService.view(eq(event), any(CallerContext.class))).thenReturn(mockResponse);
 
         // When
         APIGatewayProxyResponseEvent response = requestRouter.route(event, context);
@@ -272,7 +282,7 @@ class RequestRouterTest {
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCode());
-        verify(bookingsService).view(event);
+        verify(bookingsService).view(eq(event), any(CallerContext.class));
     }
 
     @Test
@@ -315,6 +325,25 @@ class RequestRouterTest {
         verify(usersController).getUser(event, context, "user@test.com");
     }
 
+    @Test
+    @DisplayName("Should route POST /admin/reports/snapshots/rebuild")
+    void shouldRouteRebuildReportSnapshots() {
+        // Given
+        APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+        event.setHttpMethod("POST");
+        event.setPath("/admin/reports/snapshots/rebuild");
+        APIGatewayProxyResponseEvent mockResponse = new APIGatewayProxyResponseEvent().withStatusCode(200);
+
+        when(reportsController.rebuildSnapshots(eq(event), any(CallerContext.class), eq(context))).thenReturn(mockResponse);
+
+        // When
+        APIGatewayProxyResponseEvent response = requestRouter.route(event, context);
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        verify(reportsController).rebuildSnapshots(eq(event), any(CallerContext.class), eq(context));
+    }
+
     @Test
     @DisplayName("Should return 404 for unknown route")
     void shouldReturn404ForUnknownRoute() {
@@ -352,5 +381,26 @@ class RequestRouterTest {
         assertEquals(200, response.getStatusCode());
         verify(toursService).getAvailableTours(any());
     }
-}
 
+    @Test
+    @DisplayName("Should name routes by template for metrics")
+    void shouldNameRoutesByTemplate() {
+        // Given
+        APIGatewayProxyRequestEvent details = new APIGatewayProxyRequestEvent();
+        details.setHttpMethod("get");
+        details.setPath("/dev/tours/T-000042");
+        details.setRequestContext(new com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent.ProxyRequestContext()
+                .withStage("dev"));
+        APIGatewayProxyRequestEvent document = new APIGatewayProxyRequestEvent();
+        document.setHttpMethod("DELETE");
+        document.setPath("/bookings/b-1/documents/d-9");
+        APIGatewayProxyRequestEvent unknown = new APIGatewayProxyRequestEvent();
+        unknown.setHttpMethod("GET");
+        unknown.setPath("/wp-admin/x");
+
+        // When / Then
+        assertEquals("GET /tours/{id}", RequestRouter.routeOf(details));
+        assertEquals("DELETE /bookings/{id}/documents/{documentId}", RequestRouter.routeOf(document));
+        assertEquals("GET unmatched", RequestRouter.routeOf(unknown));
+    }
+}
@@ -0,0 +1,112 @@
+package com.travelbackendapp.travelmanagement.service;
+
+import com.travelbackendapp.travelmanagement.model.entity.ArchivedBooking;
+import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
+import com.travelbackendapp.travelmanagement.model.entity.DocumentRecord;
+import com.travelbackendapp.travelmanagement.repository.BookingArchiveRepository;
+import com.travelbackendapp.travelmanagement.repository.BookingsStatusRepository;
+import com.travelbackendapp.travelmanagement.repository.DocumentsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookingArchiver Tests")
+class BookingArchiverTest {
+
+    @Mock
+    private BookingsStatusRepository bookingsRepo;
+
+    @Mock
+    private DocumentsRepository documentsRepo;
+
+    @Mock
+    private BookingArchiveRepository archiveRepo;
+
+    private BookingArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        archiver = new BookingArchiver(bookingsRepo, documentsRepo, archiveRepo, 180);
+    }
+
+    @Test
+    @DisplayName("Should write one object per booking month before leaving tombstones and dropping documents")
+    void shouldArchiveByMonthThenTombstone() {
+        // Given
+        BookingItem jan = booking("2024-01-05_a", "FINISHED");
+        BookingItem jan2 = booking("2024-01-20_b", "CANCELLED");
+        BookingItem feb = booking("2024-02-11_c", "FINISHED");
+        DocumentRecord doc = new DocumentRecord();
+        doc.setBookingId(jan.getBookingId());
+        doc.setDocId("1#PAYMENT#x#file");
+
+        when(bookingsRepo.scanArchivable("2024-07-04"))
+                .thenReturn(() -> List.of(Page.create(List.of(jan, jan2, feb))).iterator());
+        when(documentsRepo.listByBookingId(anyString())).thenReturn(List.of());
+        when(documentsRepo.listByBookingId(jan.getBookingId())).thenReturn(List.of(doc));
+
+        // When
+        BookingArchiver.Result r = archiver.run(LocalDate.parse("2024-12-31"), () -> Long.MAX_VALUE, 0);
+
+        // Then
+        assertEquals(3, r.bookings);
+        assertEquals(1, r.documents);
+        assertEquals(2, r.objects);
+        assertTrue(r.complete);
+
+        ArgumentCaptor<List<ArchivedBooking>> written = ArgumentCaptor.forClass(List.class);
+        InOrder order = inOrder(archiveRepo, bookingsRepo, documentsRepo);
+        order.verify(archiveRepo).write(startsWith("bookings/year=2024/month=01/"), written.capture());
+        order.verify(archiveRepo).write(startsWith("bookings/year=2024/month=02/"), anyList());
+        ArgumentCaptor<List<BookingItem>> tombstones = ArgumentCaptor.forClass(List.class);
+        order.verify(bookingsRepo).replaceWithTombstones(tombstones.capture());
+        order.verify(documentsRepo).deleteAll(List.of(doc));
+
+        assertEquals(2, written.getValue().size());
+        assertEquals(List.of(doc), written.getValue().get(0).getDocuments());
+        BookingItem t = tombstones.getValue().get(0);
+        assertTrue(t.isArchived());
+        assertEquals("FINISHED", t.getStatus());
+        assertNull(t.getTotalPrice());
+    }
+
+    @Test
+    @DisplayName("Should stop between pages when the time budget runs out")
+    void shouldStopWhenOutOfTime() {
+        when(bookingsRepo.scanArchivable(anyString())).thenReturn(() -> List.of(
+                Page.create(List.of(booking("2024-01-05_a", "FINISHED"))),
+                Page.create(List.of(booking("2024-01-06_b", "FINISHED")))).iterator());
+        when(documentsRepo.listByBookingId(anyString())).thenReturn(List.of());
+
+        BookingArchiver.Result r = archiver.run(LocalDate.parse("2024-12-31"), () -> 10L, 1_000L);
+
+        assertEquals(1, r.bookings);
+        assertFalse(r.complete);
+        verify(bookingsRepo, times(1)).replaceWithTombstones(anyList());
+    }
+
+    private static BookingItem booking(String bookingId, String status) {
+        BookingItem b = new BookingItem();
+        b.setUserId("user-1");
+        b.setBookingId(bookingId);
+        b.setStatus(status);
+        b.setStartDate(bookingId.substring(0, 10));
+        b.setTourId("T-1");
+        b.setTotalPrice(1000.0);
+        return b;
+    }
+}
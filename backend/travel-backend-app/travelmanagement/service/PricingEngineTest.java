@@ -0,0 +1,104 @@
+package com.travelbackendapp.travelmanagement.service;
+
+import com.travelbackendapp.travelmanagement.exceptions.BadRequestException;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PricingEngine Tests")
+class PricingEngineTest {
+
+    private PricingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new PricingEngine();
+    }
+
+    @Test
+    @DisplayName("Should price base and meal supplement per guest and day")
+    void shouldPriceBaseAndSupplement() {
+        // Given
+        TourItem tour = createTestTour(1L);
+
+        // When
+        PricingEngine.Quote q = engine.quote(tour, "7 days", "Half Board (HB)", 2);
+
+        // Then
+        assertEquals("7 days", q.durationKey);
+        assertEquals(7, q.days);
+        assertEquals("HB", q.mealCode);
+        assertEquals(1200.0, q.basePerPerson);
+        assertEquals(25.0, q.supplementPerDayPerPerson);
+        assertEquals(1200.0 * 2 + 25.0 * 7 * 2, q.total);
+    }
+
+    @Test
+    @DisplayName("Should fall back to priceFrom when duration has no explicit price")
+    void shouldFallBackToPriceFrom() {
+        // Given
+        TourItem tour = createTestTour(1L);
+        tour.setPriceByDuration(Map.of("7 days", 1200.0));
+
+        // When
+        PricingEngine.Quote q = engine.quote(tour, "10 days", "BB", 1);
+
+        // Then
+        assertEquals("10 days", q.durationKey);
+        assertEquals(999.0, q.basePerPerson);
+    }
+
+    @Test
+    @DisplayName("Should reject durations and meal plans the tour does not offer")
+    void shouldRejectUnofferedSelections() {
+        TourItem tour = createTestTour(1L);
+
+        BadRequestException d = assertThrows(BadRequestException.class,
+                () -> engine.quote(tour, "3 days", "BB", 1));
+        assertEquals("selected duration is not available for this tour", d.getMessage());
+
+        BadRequestException m = assertThrows(BadRequestException.class,
+                () -> engine.quote(tour, "7 days", "AI", 1));
+        assertEquals("selected meal plan is not available for this tour", m.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should recompile the price table only when tour version changes")
+    void shouldRecompileOnVersionChange() {
+        // Given
+        TourItem tour = createTestTour(1L);
+        engine.quote(tour, "7 days", "BB", 1);
+
+        // When: same version, changed prices -> cached table is reused
+        tour.setPriceByDuration(Map.of("7 days", 2000.0, "10 days", 1800.0));
+        PricingEngine.Quote stale = engine.quote(tour, "7 days", "BB", 1);
+
+        // Then
+        assertEquals(1200.0, stale.basePerPerson);
+
+        // When: version bumped
+        tour.setVersion(2L);
+        PricingEngine.Quote fresh = engine.quote(tour, "7 days", "BB", 1);
+
+        // Then
+        assertEquals(2000.0, fresh.basePerPerson);
+    }
+
+    private TourItem createTestTour(Long version) {
+        TourItem tour = new TourItem();
+        tour.setTourId("T-1234567890");
+        tour.setDurations(List.of("7 days", "10 days"));
+        tour.setMealPlans(List.of("BB", "HB", "FB"));
+        tour.setPriceFrom(999.0);
+        tour.setPriceByDuration(Map.of("7 days", 1200.0, "10 days", 1800.0));
+        tour.setMealSupplementsPerDay(Map.of("BB", 0.0, "HB", 25.0, "FB", 50.0));
+        tour.setVersion(version);
+        return tour;
+    }
+}
@@ -0,0 +1,190 @@
+package com.travelbackendapp.travelmanagement.service;
+
+import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
+import com.travelbackendapp.travelmanagement.model.entity.ReportRecord;
+import com.travelbackendapp.travelmanagement.model.entity.ReviewItem;
+import com.travelbackendapp.travelmanagement.repository.BookingArchiveRepository;
+import com.travelbackendapp.travelmanagement.repository.BookingsStatusRepository;
+import com.travelbackendapp.travelmanagement.repository.ReportsRepository;
+import com.travelbackendapp.travelmanagement.repository.ReviewsRepository;
+import com.travelbackendapp.travelmanagement.repository.TravelAgentRepository;
+import com.travelbackendapp.travelmanagement.repository.memory.InMemoryReportsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReportReplayer Tests")
+class ReportReplayerTest {
+
+    @Mock
+    private BookingsStatusRepository bookingsRepo;
+
+    @Mock
+    private ReviewsRepository reviewsRepo;
+
+    @Mock
+    private ReportsRepository reportsRepo;
+
+    @Mock
+    private TravelAgentRepository agentsRepo;
+
+    @Mock
+    private BookingArchiveRepository archiveRepo;
+
+    private ReportReplayer replayer;
+
+    @BeforeEach
+    void setUp() {
+        replayer = new ReportReplayer(bookingsRepo, reviewsRepo, reportsRepo, agentsRepo, () -> archiveRepo);
+    }
+
+    @Test
+    @DisplayName("Should synthesize CONFIRM and CANCEL records at the original event times")
+    void shouldSynthesizeConfirmAndCancel() {
+        // Given
+        BookingItem b = booking("2025-03-01#a", "CANCELLED");
+        b.setConfirmedAtEpoch(epochMs(LocalDateTime.of(2025, 3, 2, 10, 0)));
+        b.setCancelledAtEpoch(epochMs(LocalDateTime.of(2025, 3, 5, 9, 30)));
+
+        // When
+        List<ReportRecord> records = ReportReplayer.synthesize(b, null, "TRAVEL_AGENT");
+
+        // Then
+        assertEquals(2, records.size());
+        assertEquals("CONFIRM-2025-03-01#a", records.get(0).getReportId());
+        assertEquals("2025-03-02T10:00", records.get(0).getEventTimestamp());
+        assertEquals("CANCEL-2025-03-01#a", records.get(1).getReportId());
+        assertEquals("2025-03-05T09:30", records.get(1).getEventTimestamp());
+        assertEquals("2025-03#" + ReportRecord.periodShard("CANCEL-2025-03-01#a"), records.get(1).getPeriodBucket());
+        assertEquals("TRAVEL_AGENT", records.get(1).getAgentRole());
+    }
+
+    @Test
+    @DisplayName("Should date FINISH the day after the trip ends and carry the review rating")
+    void shouldSynthesizeFinishWithRating() {
+        // Given
+        BookingItem b = booking("2025-03-01#b", "FINISHED");
+        ReviewItem review = new ReviewItem();
+        review.setBookingId(b.getBookingId());
+        review.setRate(4);
+        review.setCreatedAt("2025-04-20");
+
+        // When
+        List<ReportRecord> records = ReportReplayer.synthesize(b, review, null);
+
+        // Then
+        assertEquals(1, records.size());
+        ReportRecord finish = records.get(0);
+        assertEquals("FINISH", finish.getEventType());
+        assertEquals("2025-04-17T00:00", finish.getEventTimestamp());
+        assertEquals(4, finish.getRating());
+        assertEquals(1500.0, finish.getTotalPrice());
+    }
+
+    @Test
+    @DisplayName("Should skip events already stored under another reportId and mark the segment done")
+    void shouldSkipExistingAndCheckpoint() {
+        // Given
+        BookingItem finished = booking("2025-03-01#c", "FINISHED");
+        BookingItem other = booking("2025-03-01#d", "FINISHED");
+        ReportRecord legacy = new ReportRecord();
+        legacy.setReportId("FINISH-2025-03-01#c-2025-04-17T00-00-01");
+        legacy.setEventType("FINISH");
+        legacy.setBookingId(finished.getBookingId());
+
+        when(reviewsRepo.scanSegment(0, 1)).thenReturn(() -> List.<Page<ReviewItem>>of().iterator());
+        when(reportsRepo.scanKeysSegment(0, 1)).thenReturn(() -> List.of(Page.create(List.of(legacy))).iterator());
+        when(bookingsRepo.scanSegment(0, 1, null)).thenReturn(() -> List.of(Page.create(List.of(finished, other))).iterator());
+
+        ReportReplayer.Options options = new ReportReplayer.Options();
+        options.segments = 1;
+        options.writesPerSecond = 0;
+        List<Integer> doneAtCheckpoints = new ArrayList<>();
+
+        // When
+        ReportReplayer.Result r = replayer.run(options, null, () -> Long.MAX_VALUE, 0,
+                cp -> doneAtCheckpoints.add(cp.done.size()));
+
+        // Then
+        assertTrue(r.complete);
+        assertEquals(2, r.scanned.get());
+        assertEquals(1, r.written.get());
+        assertEquals(1, r.skipped.get());
+        assertEquals(List.of(0), r.checkpoint.done);
+        assertFalse(doneAtCheckpoints.isEmpty());
+
+        ArgumentCaptor<List<ReportRecord>> written = ArgumentCaptor.forClass(List.class);
+        verify(reportsRepo).saveAll(written.capture());
+        assertEquals("FINISH-2025-03-01#d", written.getValue().get(0).getReportId());
+    }
+
+    @Test
+    @DisplayName("Should leave the same records behind however often a replay runs")
+    void shouldReplayIdempotently() {
+        // Given
+        BookingItem b = booking("2025-03-01#e", "CANCELLED");
+        b.setConfirmedAtEpoch(epochMs(LocalDateTime.of(2025, 3, 2, 10, 0)));
+        b.setCancelledAtEpoch(epochMs(LocalDateTime.of(2025, 3, 5, 9, 30)));
+        InMemoryReportsRepository reports = new InMemoryReportsRepository();
+        ReportReplayer replayer = new ReportReplayer(bookingsRepo, reviewsRepo, reports, agentsRepo, () -> archiveRepo);
+
+        when(reviewsRepo.scanSegment(0, 1)).thenReturn(() -> List.<Page<ReviewItem>>of().iterator());
+        when(bookingsRepo.scanSegment(0, 1, null)).thenReturn(() -> List.of(Page.create(List.of(b))).iterator());
+
+        ReportReplayer.Options overwrite = new ReportReplayer.Options();
+        overwrite.segments = 1;
+        overwrite.writesPerSecond = 0;
+        overwrite.overwrite = true;
+        ReportReplayer.Options skip = new ReportReplayer.Options();
+        skip.segments = 1;
+        skip.writesPerSecond = 0;
+
+        // When
+        ReportReplayer.Result first = replayer.run(overwrite, null, () -> Long.MAX_VALUE, 0, cp -> {});
+        ReportReplayer.Result second = replayer.run(overwrite, null, () -> Long.MAX_VALUE, 0, cp -> {});
+        ReportReplayer.Result third = replayer.run(skip, null, () -> Long.MAX_VALUE, 0, cp -> {});
+
+        // Then
+        assertEquals(2, first.written.get());
+        assertEquals(2, second.written.get());
+        assertEquals(0, third.written.get());
+        assertEquals(2, third.skipped.get());
+        assertEquals(List.of(ReportRecord.reportIdFor("CANCEL", "2025-03-01#e"), ReportRecord.reportIdFor("CONFIRM", "2025-03-01#e")),
+                reports.findAll().stream().map(ReportRecord::getReportId).sorted().collect(Collectors.toList()));
+        List<ReportRecord> march = reports.findByPeriod(LocalDateTime.of(2025, 3, 1, 0, 0), LocalDateTime.of(2025, 3, 31, 23, 59));
+        assertEquals(List.of("CONFIRM", "CANCEL"), march.stream().map(ReportRecord::getEventType).collect(Collectors.toList()));
+    }
+
+    private static BookingItem booking(String bookingId, String status) {
+        BookingItem b = new BookingItem();
+        b.setUserId("user-1");
+        b.setBookingId(bookingId);
+        b.setStatus(status);
+        b.setTourId("T-1");
+        b.setStartDate("2025-04-10");
+        b.setDuration("7 days");
+        b.setAdults(2);
+        b.setTotalPrice(1500.0);
+        return b;
+    }
+
+    private static long epochMs(LocalDateTime t) {
+        return t.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,71 @@
+package com.travelbackendapp.travelmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelbackendapp.travelmanagement.model.api.request.ToursSearchRequest;
+import com.travelbackendapp.travelmanagement.model.api.response.FacetsResponse;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TourFacetCounter Tests")
+class TourFacetCounterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should count each facet without its own filter and keep only full matches")
+    void shouldExcludeOwnFilterFromFacet() {
+        // Given: filtering on destination=Paris and mealPlan=BB
+        ToursSearchRequest req = ToursSearchRequest.fromQuery(Map.of(
+                "destination", "Paris",
+                "mealPlan", "BB",
+                "facets", "destination,mealPlan,durationBucket,price"), mapper);
+        TourFacetCounter counter = new TourFacetCounter(req);
+
+        // When
+        counter.accept(tour("T-1", "Paris", List.of("BB", "HB"), "7 days", 900.0));
+        counter.accept(tour("T-2", "Paris", List.of("HB"), "10 days", 1800.0));
+        counter.accept(tour("T-3", "Rome", List.of("BB"), "3 days", 450.0));
+        FacetsResponse f = counter.facets();
+
+        // Then
+        assertEquals(1, counter.results().size());
+        assertEquals("T-1", counter.results().get(0).getTourId());
+
+        // destination ignores destination=Paris but keeps mealPlan=BB
+        assertEquals(Map.of("Paris", 1, "Rome", 1), f.destination);
+        // mealPlan ignores mealPlan=BB but keeps destination=Paris
+        assertEquals(Map.of("BB", 1, "HB", 2), f.mealPlan);
+        // durationBucket keeps both filters
+        assertEquals(1, f.durationBucket.get("4-7"));
+        assertEquals(0, f.durationBucket.get("1-3"));
+        // price counts results only
+        assertEquals(1, f.price.get(1).count);
+        assertNull(f.tourType);
+    }
+
+    @Test
+    @DisplayName("Should leave faceted filters out of the scan")
+    void shouldRelaxScanForFacets() {
+        ToursSearchRequest req = ToursSearchRequest.fromQuery(Map.of(
+                "destination", "Paris", "tourType", "RESORT", "facets", "tourType"), mapper);
+
+        assertEquals("Paris", TourFacetCounter.scanDestination(req));
+        assertTrue(TourFacetCounter.scanTourTypes(req).isEmpty());
+    }
+
+    private static TourItem tour(String id, String destination, List<String> mealPlans, String duration, Double price) {
+        TourItem t = new TourItem();
+        t.setTourId(id);
+        t.setDestination(destination);
+        t.setMealPlans(mealPlans);
+        t.setDurations(List.of(duration));
+        t.setPriceFrom(price);
+        return t;
+    }
+}
@@ -0,0 +1,93 @@
+package com.travelbackendapp.travelmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelbackendapp.travelmanagement.model.api.request.ToursSearchRequest;
+import com.travelbackendapp.travelmanagement.model.entity.TourItem;
+import com.travelbackendapp.travelmanagement.repository.CatalogVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ToursSearchCache Tests")
+class ToursSearchCacheTest {
+
+    @Mock
+    private CatalogVersionRepository versions;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private ExecutorService executor;
+    private ToursSearchCache cache;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        cache = new ToursSearchCache(versions, executor);
+    }
+
+    @Test
+    @DisplayName("Should share one entry across pages and equivalent filter orderings")
+    void shouldShareEntryAcrossPagesAndOrderings() {
+        // Given
+        when(versions.current()).thenReturn(1L);
+        AtomicInteger loads = new AtomicInteger();
+        ToursSearchRequest page1 = ToursSearchRequest.fromQuery(Map.of("mealPlan", "HB,BB", "page", "1"), mapper);
+        ToursSearchRequest page2 = ToursSearchRequest.fromQuery(Map.of("mealPlan", "BB,HB", "page", "2"), mapper);
+
+        // When
+        List<TourItem> a = cache.search(page1, () -> { loads.incrementAndGet(); return result("T-1", "T-2"); }).tours;
+        List<TourItem> b = cache.search(page2, () -> { loads.incrementAndGet(); return result("T-9"); }).tours;
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals("T-2", b.get(1).getTourId());
+        assertEquals(a.size(), b.size());
+        assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    @DisplayName("Should serve stale results after a version bump and reload in the background")
+    void shouldServeStaleWhileRevalidating() throws Exception {
+        // Given
+        when(versions.current()).thenReturn(1L);
+        ToursSearchRequest req = ToursSearchRequest.fromQuery(Map.of(), mapper);
+        cache.search(req, () -> result("T-1"));
+
+        // When
+        when(versions.current()).thenReturn(2L);
+        List<TourItem> stale = cache.search(req, () -> result("T-1", "T-2")).tours;
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        List<TourItem> fresh = cache.search(req, () -> result("T-3")).tours;
+
+        // Then
+        assertEquals(1, stale.size());
+        assertEquals(2, fresh.size());
+        assertEquals(1, cache.staleHitCount());
+        assertEquals(1, cache.hitCount());
+    }
+
+    private static ToursSearchCache.Result result(String... ids) {
+        List<TourItem> out = new ArrayList<>();
+        for (String id : ids) {
+            TourItem t = new TourItem();
+            t.setTourId(id);
+            out.add(t);
+        }
+        return new ToursSearchCache.Result(out, null);
+    }
+}
@@ -4,27 +4,37 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelbackendapp.travelmanagement.model.api.request.BookingsQueryRequest;
 import com.travelbackendapp.travelmanagement.model.api.request.CreateBookingRequest;
+import com.travelbackendapp.travelmanagement.model.entity.ArchivedBooking;
 import com.travelbackendapp.travelmanagement.model.entity.BookingItem;
 import com.travelbackendapp.travelmanagement.model.entity.TourItem;
 import com.travelbackendapp.travelmanagement.model.entity.TravelAgent;
+import com.travelbackendapp.travelmanagement.repository.BookingArchiveRepository;
 import com.travelbackendapp.travelmanagement.repository.BookingsRepository;
 import com.travelbackendapp.travelmanagement.repository.BookingsStatusRepository;
+import com.travelbackendapp.travelmanagement.repository.CatalogVersionRepository;
 import com.travelbackendapp.travelmanagement.repository.DocumentsRepository;
+import com.travelbackendapp.travelmanagement.repository.TourInventoryRepository;
 import com.travelbackendapp.travelmanagement.repository.ToursRepository;
 import com.travelbackendapp.travelmanagement.repository.TravelAgentRepository;
+import com.travelbackendapp.travelmanagement.routing.CallerContext;
 import com.travelbackendapp.travelmanagement.service.BookingEventPublisher;
 import com.travelbackendapp.travelmanagement.util.S3DocumentsStorage;
+import com.travelbackendapp.travelmanagement.service.PricingEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
 
 import javax.inject.Named;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -58,6 +68,15 @@ class BookingsServiceImplTest {
     @Mock
     private DocumentsRepository documentsRepository;
 
+    @Mock
+    private TourInventoryRepository inventoryRepository;
+
+    @Mock
+    private CatalogVersionRepository catalogVersion;
+
+    @Mock
+    private BookingArchiveRepository archiveRepository;
+
     private BookingsServiceImpl bookingsService;
     private static final String BOOKING_DOCS_BUCKET = "test-bucket";
     private static final String AWS_REGION = "eu-west-3";
@@ -76,6 +95,11 @@ class BookingsServiceImplTest {
                 eventPublisher,
                 s3DocumentsStorage,
                 documentsRepository,
+                inventoryRepository,
+                new PricingEngine(),
+                Executors.newFixedThreadPool(2),
+                catalogVersion,
+                archiveRepository,
                 BOOKING_DOCS_BUCKET,
                 AWS_REGION
         );
@@ -102,7 +126,7 @@ class BookingsServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = bookingsService.create(event);
+        APIGatewayProxyResponseEvent response = bookingsService.create(event, caller(event));
 
         // Then
         assertNotNull(response);
@@ -119,7 +143,7 @@ class BookingsServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = bookingsService.create(event);
+        APIGatewayProxyResponseEvent response = bookingsService.create(event, caller(event));
 
         // Then
         assertNotNull(response);
@@ -142,7 +166,7 @@ class BookingsServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = bookingsService.create(event);
+        APIGatewayProxyResponseEvent response = bookingsService.create(event, caller(event));
 
         // Then
         assertNotNull(response);
@@ -168,7 +192,7 @@ class BookingsServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = bookingsService.create(event);
+        APIGatewayProxyResponseEvent response = bookingsService.create(event, caller(event));
 
         // Then
         assertNotNull(response);
@@ -176,6 +200,58 @@ class BookingsServiceImplTest {
         verify(bookingsRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Should bump the catalog version only when a booking sells the tour out")
+    void shouldBumpCatalogOnlyWhenSoldOut() throws Exception {
+        // Given
+        APIGatewayProxyRequestEvent event = createAuthenticatedEvent();
+        CreateBookingRequest request = createValidBookingRequest();
+        event.setBody("{}");
+
+        TourItem lastSeats = createTestTour();
+        lastSeats.setAvailablePackages(2);
+        TourItem plenty = createTestTour();
+
+        when(objectMapper.readValue("{}", CreateBookingRequest.class)).thenReturn(request);
+        when(toursRepository.getById(TEST_TOUR_ID)).thenReturn(Optional.of(plenty), Optional.of(lastSeats));
+        when(travelAgentRepository.findByEmail(anyString())).thenReturn(createTravelAgent());
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+        // When: two guests out of ten seats, then the last two seats
+        APIGatewayProxyResponseEvent first = bookingsService.create(event, caller(event));
+        verify(catalogVersion, never()).bumpSoon(anyString());
+        APIGatewayProxyResponseEvent last = bookingsService.create(event, caller(event));
+
+        // Then
+        assertEquals(201, first.getStatusCode());
+        assertEquals(201, last.getStatusCode());
+        verify(catalogVersion).bumpSoon("tour sold out");
+    }
+
+    @Test
+    @DisplayName("Should answer a retryable 503 when every reservation retry lost a conflict")
+    void shouldReportBusyWhenConflictRetriesRunOut() throws Exception {
+        // Given
+        APIGatewayProxyRequestEvent event = createAuthenticatedEvent();
+        event.setBody("{}");
+
+        when(objectMapper.readValue("{}", CreateBookingRequest.class)).thenReturn(createValidBookingRequest());
+        when(toursRepository.getById(TEST_TOUR_ID)).thenReturn(Optional.of(createTestTour()));
+        when(travelAgentRepository.findByEmail(anyString())).thenReturn(createTravelAgent());
+        doThrow(cancelled("TransactionConflict"), cancelled("ConditionalCheckFailed"))
+                .when(bookingsRepository).transactReserveSeatsAndSave(any(BookingItem.class), any(TourItem.class), anyInt());
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+        // When
+        APIGatewayProxyResponseEvent busy = bookingsService.create(event, caller(event));
+        APIGatewayProxyResponseEvent full = bookingsService.create(event, caller(event));
+
+        // Then: contention is retryable, a failed capacity guard is not
+        assertEquals(503, busy.getStatusCode());
+        assertEquals(409, full.getStatusCode());
+        verify(catalogVersion, never()).bumpSoon(anyString());
+    }
+
     @Test
     @DisplayName("Should view bookings for CUSTOMER")
     void shouldViewBookingsForCustomer() throws Exception {
@@ -183,17 +259,85 @@ class BookingsServiceImplTest {
         APIGatewayProxyRequestEvent event = createAuthenticatedEvent();
         BookingItem booking = createTestBooking();
 
-        when(bookingsRepository.findByUserId(TEST_USER_ID)).thenReturn(Collections.singletonList(booking));
-        when(toursRepository.getById(anyString())).thenReturn(Optional.empty());
+        when(bookingsRepository.findByUserId(eq(TEST_USER_ID), isNull(), isNull(), anyCollection(), eq(0), isNull(), eq(false)))
+                .thenReturn(new BookingsRepository.BookingsPage(Collections.singletonList(booking), null));
+        when(toursRepository.findByIds(anyCollection())).thenReturn(Map.of());
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = bookingsService.view(event);
+        APIGatewayProxyResponseEvent response = bookingsService.view(event, caller(event));
 
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCode());
-        verify(bookingsRepository).findByUserId(TEST_USER_ID);
+        verify(bookingsRepository).findByUserId(eq(TEST_USER_ID), isNull(), isNull(), anyCollection(), eq(0), isNull(), eq(false));
+    }
+
+    @Test
+    @DisplayName("Should page CUSTOMER bookings with filters and return a cursor")
+    void shouldPageCustomerBookings() throws Exception {
+        // Given
+        APIGatewayProxyRequestEvent event = createAuthenticatedEvent();
+        String cursor = BookingsQueryRequest.encodeCursor("2025-01-01_prev");
+        event.setQueryStringParameters(Map.of(
+                "status", "booked,confirmed", "from", "2025-01-01", "to", "2025-12-31",
+                "limit", "1", "cursor", cursor));
+        BookingItem booking = createTestBooking();
+
+        when(bookingsRepository.findByUserId(eq(TEST_USER_ID), eq("2025-01-01"), eq("2025-12-31"),
+                eq(List.of("BOOKED", "CONFIRMED")), eq(1), eq("2025-01-01_prev"), eq(false)))
+                .thenReturn(new BookingsRepository.BookingsPage(Collections.singletonList(booking), booking.getBookingId()));
+        when(toursRepository.findByIds(anyCollection())).thenReturn(Map.of());
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+        // When
+        APIGatewayProxyResponseEvent response = bookingsService.view(event, caller(event));
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        verify(objectMapper).writeValueAsString(argThat(body ->
+                BookingsQueryRequest.encodeCursor(booking.getBookingId()).equals(((Map<?, ?>) body).get("nextCursor"))));
+    }
+
+    @Test
+    @DisplayName("Should load archived CUSTOMER bookings from the archive when asked")
+    void shouldExpandArchivedBookings() throws Exception {
+        // Given
+        APIGatewayProxyRequestEvent event = createAuthenticatedEvent();
+        event.setQueryStringParameters(Map.of("archived", "include"));
+        BookingItem full = createTestBooking();
+        BookingItem tombstone = new BookingItem();
+        tombstone.setUserId(TEST_USER_ID);
+        tombstone.setBookingId(full.getBookingId());
+        tombstone.setArchiveKey("bookings/year=2024/month=01/run-x-0.ndjson.gz");
+
+        when(bookingsRepository.findByUserId(eq(TEST_USER_ID), isNull(), isNull(), anyCollection(), eq(0), isNull(), eq(true)))
+                .thenReturn(new BookingsRepository.BookingsPage(Collections.singletonList(tombstone), null));
+        when(archiveRepository.read(tombstone.getArchiveKey()))
+                .thenReturn(Map.of(full.getBookingId(), new ArchivedBooking(full, List.of(), 0L)));
+        when(toursRepository.findByIds(anyCollection())).thenReturn(Map.of());
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+        // When
+        APIGatewayProxyResponseEvent response = bookingsService.view(event, caller(event));
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        verify(toursRepository).findByIds(Set.of(full.getTourId()));
+        verify(documentsRepository, never()).listByBookingId(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown booking status filter")
+    void shouldRejectUnknownStatusFilter() throws Exception {
+        APIGatewayProxyRequestEvent event = createAuthenticatedEvent();
+        event.setQueryStringParameters(Map.of("status", "LOST"));
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+        APIGatewayProxyResponseEvent response = bookingsService.view(event, caller(event));
+
+        assertEquals(400, response.getStatusCode());
+        verify(bookingsRepository, never()).findByUserId(anyString(), any(), any(), anyCollection(), anyInt(), any(), anyBoolean());
     }
 
     @Test
@@ -205,17 +349,70 @@ class BookingsServiceImplTest {
         TravelAgent agent = createTravelAgent();
 
         when(travelAgentRepository.findByEmail(TEST_EMAIL)).thenReturn(agent);
-        when(bookingsRepository.findByAgentEmail(TEST_EMAIL)).thenReturn(Collections.singletonList(booking));
-        when(toursRepository.getById(anyString())).thenReturn(Optional.empty());
+        when(bookingsRepository.findByAgentEmail(eq(TEST_EMAIL), any(), any(), anyCollection(), anyInt(), any(), any(), anyBoolean()))
+                .thenReturn(new BookingsRepository.BookingsPage(Collections.singletonList(booking), null));
+        when(toursRepository.findByIds(anyCollection())).thenReturn(Map.of());
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = bookingsService.view(event);
+        APIGatewayProxyResponseEvent response = bookingsService.view(event, caller(event));
 
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCode());
-        verify(bookingsRepository).findByAgentEmail(TEST_EMAIL);
+        verify(bookingsRepository).findByAgentEmail(eq(TEST_EMAIL), any(), any(), anyCollection(), eq(0), any(), any(), eq(false));
+        verify(bookingsRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should page an agent's bookings with a cursor that carries the userId")
+    void shouldPageAgentBookingsAcrossUsers() throws Exception {
+        // Given
+        APIGatewayProxyRequestEvent event = createAuthenticatedEvent(TEST_EMAIL, "TRAVEL_AGENT");
+        event.setQueryStringParameters(Map.of("limit", "1",
+                "cursor", BookingsQueryRequest.encodeCursor("2025-01-01_prev", "user-0")));
+        BookingItem booking = createTestBooking();
+
+        when(travelAgentRepository.findByEmail(TEST_EMAIL)).thenReturn(createTravelAgent());
+        when(bookingsRepository.findByAgentEmail(eq(TEST_EMAIL), any(), any(), anyCollection(), eq(1),
+                eq("user-0"), eq("2025-01-01_prev"), eq(false)))
+                .thenReturn(new BookingsRepository.BookingsPage(Collections.singletonList(booking),
+                        booking.getBookingId(), booking.getUserId()));
+        when(toursRepository.findByIds(anyCollection())).thenReturn(Map.of());
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+        // When
+        APIGatewayProxyResponseEvent response = bookingsService.view(event, caller(event));
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        verify(objectMapper).writeValueAsString(argThat(body -> body instanceof Map &&
+                BookingsQueryRequest.encodeCursor(booking.getBookingId(), booking.getUserId())
+                        .equals(((Map<?, ?>) body).get("nextCursor"))));
+    }
+
+    @Test
+    @DisplayName("Should look up the tours of a bookings listing in one batch")
+    void shouldBatchTourLookupsForListing() throws Exception {
+        // Given
+        APIGatewayProxyRequestEvent event = createAuthenticatedEvent(TEST_EMAIL, "TRAVEL_AGENT");
+        BookingItem first = createTestBooking();
+        BookingItem second = createTestBooking();
+        second.setBookingId("B-0987654321");
+
+        when(travelAgentRepository.findByEmail(TEST_EMAIL)).thenReturn(createTravelAgent());
+        when(bookingsRepository.findByAgentEmail(eq(TEST_EMAIL), any(), any(), anyCollection(), anyInt(), any(), any(), anyBoolean()))
+                .thenReturn(new BookingsRepository.BookingsPage(List.of(first, second), null));
+        when(toursRepository.findByIds(anyCollection())).thenReturn(Map.of());
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+        // When
+        APIGatewayProxyResponseEvent response = bookingsService.view(event, caller(event));
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        verify(toursRepository).findByIds(Set.of(TEST_TOUR_ID));
+        verify(toursRepository, never()).getById(anyString());
     }
 
     @Test
@@ -232,7 +429,7 @@ class BookingsServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = bookingsService.cancel(event, bookingId);
+        APIGatewayProxyResponseEvent response = bookingsService.cancel(event, caller(event), bookingId);
 
         // Then
         assertNotNull(response);
@@ -256,7 +453,7 @@ class BookingsServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = bookingsService.confirm(event, bookingId);
+        APIGatewayProxyResponseEvent response = bookingsService.confirm(event, caller(event), bookingId);
 
         // Then
         assertNotNull(response);
@@ -265,6 +462,15 @@ class BookingsServiceImplTest {
     }
 
     // Helper methods
+    private static TransactionCanceledException cancelled(String code) {
+        return TransactionCanceledException.builder().message("cancelled")
+                .cancellationReasons(CancellationReason.builder().code(code).build()).build();
+    }
+
+    private CallerContext caller(APIGatewayProxyRequestEvent event) {
+        return CallerContext.from(event, travelAgentRepository::findByEmail);
+    }
+
     private APIGatewayProxyRequestEvent createAuthenticatedEvent() {
         return createAuthenticatedEvent(TEST_EMAIL, "CUSTOMER");
     }
@@ -5,12 +5,18 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.travelbackendapp.travelmanagement.model.api.request.CreateTourRequest;
 import com.travelbackendapp.travelmanagement.model.api.request.UpdateTourRequest;
+import com.travelbackendapp.travelmanagement.model.api.response.ToursPageResponse;
 import com.travelbackendapp.travelmanagement.model.entity.TourItem;
 import com.travelbackendapp.travelmanagement.model.entity.TravelAgent;
 import com.travelbackendapp.travelmanagement.repository.BookingsRepository;
 import com.travelbackendapp.travelmanagement.repository.ReviewsRepository;
+import com.travelbackendapp.travelmanagement.repository.CatalogVersionRepository;
+import com.travelbackendapp.travelmanagement.repository.TourInventoryRepository;
 import com.travelbackendapp.travelmanagement.repository.ToursRepository;
 import com.travelbackendapp.travelmanagement.repository.TravelAgentRepository;
+import com.travelbackendapp.travelmanagement.routing.CallerContext;
+import com.travelbackendapp.travelmanagement.service.PricingEngine;
+import com.travelbackendapp.travelmanagement.service.ToursSearchCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,10 +24,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.Validator;
 import java.util.*;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -52,6 +60,12 @@ class ToursServiceImplTest {
     @Mock
     private CognitoIdentityProviderClient cognitoClient;
 
+    @Mock
+    private TourInventoryRepository inventoryRepository;
+
+    @Mock
+    private CatalogVersionRepository catalogVersion;
+
     private ToursServiceImpl toursService;
     private static final String USER_POOL_ID = "test-pool-id";
     private static final String TEST_EMAIL = "agent@test.com";
@@ -67,7 +81,10 @@ class ToursServiceImplTest {
                 validator,
                 cognitoClient,
                 USER_POOL_ID,
-                travelAgentRepository
+                inventoryRepository,
+                new PricingEngine(),
+                new ToursSearchCache(catalogVersion, Executors.newSingleThreadExecutor()),
+                catalogVersion
         );
     }
 
@@ -92,6 +109,31 @@ class ToursServiceImplTest {
         verify(toursRepository).findAvailableTours(any(), any(), any(), any(), any(), any(), anyInt(), anyInt());
     }
 
+    @Test
+    @DisplayName("Should list sharded tours without writing shard totals into the cached item")
+    void shouldNotMutateCachedTourForShardedSeats() throws Exception {
+        // Given
+        APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+        event.setQueryStringParameters(Map.of("page", "0", "size", "10"));
+
+        TourItem tour = createTestTour();
+        tour.setAvailablePackages(0);
+        tour.setInventoryShards(4);
+        when(toursRepository.findAvailableTours(any(), any(), any(), any(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(Collections.singletonList(tour));
+        when(inventoryRepository.availableSeats(tour)).thenReturn(12);
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+        // When
+        APIGatewayProxyResponseEvent response = toursService.getAvailableTours(event);
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        assertEquals(0, tour.getAvailablePackages());
+        verify(objectMapper).writeValueAsString(argThat(body ->
+                body instanceof ToursPageResponse && ((ToursPageResponse) body).totalItems == 1));
+    }
+
     @Test
     @DisplayName("Should handle bad request in getAvailableTours")
     void shouldHandleBadRequestInGetAvailableTours() throws Exception {
@@ -137,7 +179,7 @@ class ToursServiceImplTest {
         TourItem tour = createTestTour();
         tour.setAvailablePackages(10);
 
-        when(toursRepository.getById(TEST_TOUR_ID)).thenReturn(Optional.of(tour));
+        when(toursRepository.getDetailedById(TEST_TOUR_ID)).thenReturn(Optional.of(tour));
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
@@ -146,7 +188,7 @@ class ToursServiceImplTest {
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCode());
-        verify(toursRepository).getById(TEST_TOUR_ID);
+        verify(toursRepository).getDetailedById(TEST_TOUR_ID);
     }
 
     @Test
@@ -154,7 +196,7 @@ class ToursServiceImplTest {
     void shouldReturn404WhenTourNotFound() throws Exception {
         // Given
         APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
-        when(toursRepository.getById(TEST_TOUR_ID)).thenReturn(Optional.empty());
+        when(toursRepository.getDetailedById(TEST_TOUR_ID)).thenReturn(Optional.empty());
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
@@ -183,7 +225,7 @@ class ToursServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = toursService.createTour(event);
+        APIGatewayProxyResponseEvent response = toursService.createTour(event, caller(event));
 
         // Then
         assertNotNull(response);
@@ -200,7 +242,7 @@ class ToursServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = toursService.createTour(event);
+        APIGatewayProxyResponseEvent response = toursService.createTour(event, caller(event));
 
         // Then
         assertNotNull(response);
@@ -217,7 +259,7 @@ class ToursServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = toursService.createTour(event);
+        APIGatewayProxyResponseEvent response = toursService.createTour(event, caller(event));
 
         // Then
         assertNotNull(response);
@@ -239,20 +281,124 @@ class ToursServiceImplTest {
         existingTour.setAgentEmail(TEST_EMAIL);
         TravelAgent agent = createTravelAgent("TRAVEL_AGENT");
 
-        when(toursRepository.getById(TEST_TOUR_ID)).thenReturn(Optional.of(existingTour));
+        when(toursRepository.getDetailedById(TEST_TOUR_ID)).thenReturn(Optional.of(existingTour));
         when(travelAgentRepository.findByEmail(TEST_EMAIL)).thenReturn(agent);
         when(objectMapper.readValue(requestBody, UpdateTourRequest.class)).thenReturn(request);
         when(validator.validate(any())).thenReturn(Collections.emptySet());
-        doNothing().when(toursRepository).update(any(TourItem.class));
+        when(toursRepository.update(any(TourItem.class), any(), anyInt())).thenReturn(true);
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = toursService.updateTour(event, TEST_TOUR_ID);
+        APIGatewayProxyResponseEvent response = toursService.updateTour(event, caller(event), TEST_TOUR_ID);
 
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCode());
-        verify(toursRepository).update(any(TourItem.class));
+        verify(toursRepository).update(any(TourItem.class), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should save a tour update and its relative seat change in one write against the read version")
+    void shouldUpdateTourConditionallyAndAdjustSeats() throws Exception {
+        // Given
+        APIGatewayProxyRequestEvent event = createAuthenticatedEvent(TEST_EMAIL, "TRAVEL_AGENT");
+        UpdateTourRequest request = createValidUpdateTourRequest();   // availablePackages 10 -> 5
+        event.setBody("{}");
+
+        TourItem existingTour = createTestTour();
+        existingTour.setVersion(3L);
+
+        when(toursRepository.getDetailedById(TEST_TOUR_ID)).thenReturn(Optional.of(existingTour));
+        when(travelAgentRepository.findByEmail(TEST_EMAIL)).thenReturn(createTravelAgent("TRAVEL_AGENT"));
+        when(objectMapper.readValue("{}", UpdateTourRequest.class)).thenReturn(request);
+        when(toursRepository.update(any(TourItem.class), eq(3L), anyInt())).thenReturn(true);
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+        // When
+        APIGatewayProxyResponseEvent response = toursService.updateTour(event, caller(event), TEST_TOUR_ID);
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        verify(toursRepository).update(argThat(t -> t.getVersion() == 4L), eq(3L), eq(5));
+        verify(bookingsRepository, never()).adjustTourCapacity(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should return 409 when another edit changed the tour first")
+    void shouldRejectConcurrentTourUpdate() throws Exception {
+        // Given
+        APIGatewayProxyRequestEvent event = createAuthenticatedEvent(TEST_EMAIL, "TRAVEL_AGENT");
+        UpdateTourRequest request = createValidUpdateTourRequest();
+        event.setBody("{}");
+
+        TourItem existingTour = createTestTour();
+        existingTour.setVersion(3L);
+
+        when(toursRepository.getDetailedById(TEST_TOUR_ID)).thenReturn(Optional.of(existingTour));
+        when(travelAgentRepository.findByEmail(TEST_EMAIL)).thenReturn(createTravelAgent("TRAVEL_AGENT"));
+        when(objectMapper.readValue("{}", UpdateTourRequest.class)).thenReturn(request);
+        when(toursRepository.update(any(TourItem.class), eq(3L), anyInt())).thenReturn(false);
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+        // When
+        APIGatewayProxyResponseEvent response = toursService.updateTour(event, caller(event), TEST_TOUR_ID);
+
+        // Then
+        assertEquals(409, response.getStatusCode());
+        verify(bookingsRepository, never()).adjustTourCapacity(anyString(), anyInt());
+        verify(catalogVersion, never()).bump(anyString());
+    }
+
+    @Test
+    @DisplayName("Should return 409 without saving anything when fewer seats are left than the reduction")
+    void shouldRejectCapacityReductionAtomically() throws Exception {
+        // Given
+        APIGatewayProxyRequestEvent event = createAuthenticatedEvent(TEST_EMAIL, "TRAVEL_AGENT");
+        UpdateTourRequest request = createValidUpdateTourRequest();
+        event.setBody("{}");
+
+        TourItem existingTour = createTestTour();
+        existingTour.setVersion(3L);
+
+        when(toursRepository.getDetailedById(TEST_TOUR_ID)).thenReturn(Optional.of(existingTour));
+        when(travelAgentRepository.findByEmail(TEST_EMAIL)).thenReturn(createTravelAgent("TRAVEL_AGENT"));
+        when(objectMapper.readValue("{}", UpdateTourRequest.class)).thenReturn(request);
+        when(toursRepository.update(any(TourItem.class), eq(3L), eq(5)))
+                .thenThrow(ConditionalCheckFailedException.builder().message("not enough capacity").build());
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+        // When
+        APIGatewayProxyResponseEvent response = toursService.updateTour(event, caller(event), TEST_TOUR_ID);
+
+        // Then
+        assertEquals(409, response.getStatusCode());
+        verify(catalogVersion, never()).bump(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject an out-of-range shard count with 400 before touching the tour")
+    void shouldRejectInvalidShardCount() throws Exception {
+        // Given
+        APIGatewayProxyRequestEvent event = createAuthenticatedEvent(TEST_EMAIL, "TRAVEL_AGENT");
+        UpdateTourRequest request = createValidUpdateTourRequest();
+        request.inventoryShards = TourInventoryRepository.MAX_SHARDS + 1;
+        event.setBody("{}");
+
+        TourItem existingTour = createTestTour();
+        String name = existingTour.getName();
+
+        when(toursRepository.getDetailedById(TEST_TOUR_ID)).thenReturn(Optional.of(existingTour));
+        when(travelAgentRepository.findByEmail(TEST_EMAIL)).thenReturn(createTravelAgent("TRAVEL_AGENT"));
+        when(objectMapper.readValue("{}", UpdateTourRequest.class)).thenReturn(request);
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+        // When
+        APIGatewayProxyResponseEvent response = toursService.updateTour(event, caller(event), TEST_TOUR_ID);
+
+        // Then
+        assertEquals(400, response.getStatusCode());
+        assertEquals(name, existingTour.getName());
+        verify(toursRepository, never()).update(any(), any(), anyInt());
     }
 
     @Test
@@ -263,16 +409,16 @@ class ToursServiceImplTest {
         TourItem existingTour = createTestTour();
         existingTour.setAgentEmail(TEST_EMAIL);
 
-        when(toursRepository.getById(TEST_TOUR_ID)).thenReturn(Optional.of(existingTour));
+        when(toursRepository.getDetailedById(TEST_TOUR_ID)).thenReturn(Optional.of(existingTour));
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = toursService.updateTour(event, TEST_TOUR_ID);
+        APIGatewayProxyResponseEvent response = toursService.updateTour(event, caller(event), TEST_TOUR_ID);
 
         // Then
         assertNotNull(response);
         assertEquals(403, response.getStatusCode());
-        verify(toursRepository, never()).update(any());
+        verify(toursRepository, never()).update(any(), any(), anyInt());
     }
 
     @Test
@@ -289,20 +435,20 @@ class ToursServiceImplTest {
         existingTour.setAgentEmail(TEST_EMAIL);
         TravelAgent admin = createTravelAgent("ADMIN");
 
-        when(toursRepository.getById(TEST_TOUR_ID)).thenReturn(Optional.of(existingTour));
+        when(toursRepository.getDetailedById(TEST_TOUR_ID)).thenReturn(Optional.of(existingTour));
         when(travelAgentRepository.findByEmail("admin@test.com")).thenReturn(admin);
         when(objectMapper.readValue(requestBody, UpdateTourRequest.class)).thenReturn(request);
         when(validator.validate(any())).thenReturn(Collections.emptySet());
-        doNothing().when(toursRepository).update(any(TourItem.class));
+        when(toursRepository.update(any(TourItem.class), any(), anyInt())).thenReturn(true);
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = toursService.updateTour(event, TEST_TOUR_ID);
+        APIGatewayProxyResponseEvent response = toursService.updateTour(event, caller(event), TEST_TOUR_ID);
 
         // Then
         assertNotNull(response);
         assertEquals(200, response.getStatusCode());
-        verify(toursRepository).update(any(TourItem.class));
+        verify(toursRepository).update(any(TourItem.class), any(), anyInt());
     }
 
     @Test
@@ -319,7 +465,7 @@ class ToursServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = toursService.deleteTour(event, TEST_TOUR_ID);
+        APIGatewayProxyResponseEvent response = toursService.deleteTour(event, caller(event), TEST_TOUR_ID);
 
         // Then
         assertNotNull(response);
@@ -327,6 +473,29 @@ class ToursServiceImplTest {
         verify(toursRepository).delete(TEST_TOUR_ID);
     }
 
+    @Test
+    @DisplayName("Should fold a sharded tour's shard items away before deleting it")
+    void shouldDropShardsWhenDeletingShardedTour() throws Exception {
+        // Given
+        APIGatewayProxyRequestEvent event = createAuthenticatedEvent(TEST_EMAIL, "TRAVEL_AGENT");
+        TourItem existingTour = createTestTour();
+        existingTour.setAgentEmail(TEST_EMAIL);
+        existingTour.setInventoryShards(4);
+
+        when(toursRepository.getById(TEST_TOUR_ID)).thenReturn(Optional.of(existingTour));
+        when(travelAgentRepository.findByEmail(TEST_EMAIL)).thenReturn(createTravelAgent("TRAVEL_AGENT"));
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+        // When
+        APIGatewayProxyResponseEvent response = toursService.deleteTour(event, caller(event), TEST_TOUR_ID);
+
+        // Then
+        assertEquals(200, response.getStatusCode());
+        var order = inOrder(inventoryRepository, toursRepository);
+        order.verify(inventoryRepository).disableSharding(TEST_TOUR_ID);
+        order.verify(toursRepository).delete(TEST_TOUR_ID);
+    }
+
     @Test
     @DisplayName("Should get my tours successfully")
     void shouldGetMyToursSuccessfully() throws Exception {
@@ -341,7 +510,7 @@ class ToursServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = toursService.getMyTours(event);
+        APIGatewayProxyResponseEvent response = toursService.getMyTours(event, caller(event));
 
         // Then
         assertNotNull(response);
@@ -371,7 +540,7 @@ class ToursServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = toursService.createTour(event);
+        APIGatewayProxyResponseEvent response = toursService.createTour(event, caller(event));
 
         // Then
         assertNotNull(response);
@@ -380,6 +549,10 @@ class ToursServiceImplTest {
     }
 
     // Helper methods
+    private CallerContext caller(APIGatewayProxyRequestEvent event) {
+        return CallerContext.from(event, travelAgentRepository::findByEmail);
+    }
+
     private APIGatewayProxyRequestEvent createAuthenticatedEvent(String email, String role) {
         APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
         Map<String, Object> authorizer = new HashMap<>();
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.travelbackendapp.travelmanagement.model.api.request.CreateTravelAgentRequest;
 import com.travelbackendapp.travelmanagement.model.entity.TravelAgent;
 import com.travelbackendapp.travelmanagement.repository.TravelAgentRepository;
+import com.travelbackendapp.travelmanagement.routing.CallerContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -82,7 +83,7 @@ class TravelAgentsServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = travelAgentsService.createTravelAgent(event);
+        APIGatewayProxyResponseEvent response = travelAgentsService.createTravelAgent(event, caller(event));
 
         // Then
         assertNotNull(response);
@@ -101,7 +102,7 @@ class TravelAgentsServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = travelAgentsService.createTravelAgent(event);
+        APIGatewayProxyResponseEvent response = travelAgentsService.createTravelAgent(event, caller(event));
 
         // Then
         assertNotNull(response);
@@ -126,7 +127,7 @@ class TravelAgentsServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = travelAgentsService.createTravelAgent(event);
+        APIGatewayProxyResponseEvent response = travelAgentsService.createTravelAgent(event, caller(event));
 
         // Then
         assertNotNull(response);
@@ -152,7 +153,7 @@ class TravelAgentsServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = travelAgentsService.createTravelAgent(event);
+        APIGatewayProxyResponseEvent response = travelAgentsService.createTravelAgent(event, caller(event));
 
         // Then
         assertNotNull(response);
@@ -172,7 +173,7 @@ class TravelAgentsServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = travelAgentsService.listTravelAgents(event);
+        APIGatewayProxyResponseEvent response = travelAgentsService.listTravelAgents(event, caller(event));
 
         // Then
         assertNotNull(response);
@@ -188,7 +189,7 @@ class TravelAgentsServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = travelAgentsService.listTravelAgents(event);
+        APIGatewayProxyResponseEvent response = travelAgentsService.listTravelAgents(event, caller(event));
 
         // Then
         assertNotNull(response);
@@ -210,7 +211,7 @@ class TravelAgentsServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = travelAgentsService.deleteTravelAgent(event, AGENT_EMAIL);
+        APIGatewayProxyResponseEvent response = travelAgentsService.deleteTravelAgent(event, caller(event), AGENT_EMAIL);
 
         // Then
         assertNotNull(response);
@@ -233,7 +234,7 @@ class TravelAgentsServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = travelAgentsService.deleteTravelAgent(event, AGENT_EMAIL);
+        APIGatewayProxyResponseEvent response = travelAgentsService.deleteTravelAgent(event, caller(event), AGENT_EMAIL);
 
         // Then
         assertNotNull(response);
@@ -251,7 +252,7 @@ class TravelAgentsServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = travelAgentsService.deleteTravelAgent(event, AGENT_EMAIL);
+        APIGatewayProxyResponseEvent response = travelAgentsService.deleteTravelAgent(event, caller(event), AGENT_EMAIL);
 
         // Then
         assertNotNull(response);
@@ -279,7 +280,7 @@ class TravelAgentsServiceImplTest {
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
 
         // When
-        APIGatewayProxyResponseEvent response = travelAgentsService.createTravelAgent(event);
+        APIGatewayProxyResponseEvent response = travelAgentsService.createTravelAgent(event, caller(event));
 
         // Then
         assertNotNull(response);
@@ -288,6 +289,10 @@ class TravelAgentsServiceImplTest {
     }
 
     // Helper methods
+    private CallerContext caller(APIGatewayProxyRequestEvent event) {
+        return CallerContext.from(event, travelAgentRepository::findByEmail);
+    }
+
     private APIGatewayProxyRequestEvent createAuthenticatedEvent(String email, String role) {
         APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
         Map<String, Object> authorizer = new HashMap<>();
@@ -0,0 +1,105 @@
+package com.travelbackendapp.travelmanagement.service.impl;
+
+import com.travelbackendapp.travelmanagement.model.entity.ReportSnapshot;
+import com.travelbackendapp.travelmanagement.repository.ReportSnapshotRepository;
+import com.travelbackendapp.travelmanagement.repository.ReportsRepository;
+import com.travelbackendapp.travelmanagement.repository.ReviewsRepository;
+import com.travelbackendapp.travelmanagement.repository.ToursRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TravelReportsServiceImpl Tests")
+class TravelReportsServiceImplTest {
+
+    @Mock
+    private ReportsRepository reportsRepository;
+
+    @Mock
+    private ToursRepository toursRepository;
+
+    @Mock
+    private ReviewsRepository reviewsRepository;
+
+    @Mock
+    private ReportSnapshotRepository snapshotRepository;
+
+    private TravelReportsServiceImpl reportsService;
+    private static final String AGENT_EMAIL = "agent@test.com";
+
+    @BeforeEach
+    void setUp() {
+        reportsService = new TravelReportsServiceImpl(reportsRepository, toursRepository, reviewsRepository, snapshotRepository);
+    }
+
+    @Test
+    @DisplayName("Should take previous period metrics from its snapshot and query only the open period")
+    void shouldUsePreviousPeriodSnapshot() {
+        // Given
+        ReportSnapshot snapshot = new ReportSnapshot();
+        snapshot.setVersion(TravelReportsServiceImpl.SNAPSHOT_VERSION);
+        snapshot.setMetrics(Map.of(TravelReportsServiceImpl.TOURS_PROCESSED, 4.0, TravelReportsServiceImpl.REVENUE, 200.0));
+        when(snapshotRepository.find(eq("AGENT#" + AGENT_EMAIL), eq("YEARLY#2019-01-01"))).thenReturn(Optional.of(snapshot));
+        when(reportsRepository.findByAgentEmail(eq(AGENT_EMAIL), any(), any())).thenReturn(List.of());
+
+        // When
+        Map<String, Object> report = reportsService.generateTravelAgentPerformanceReport(AGENT_EMAIL, "YEARLY", 2020, "ADMIN");
+
+        // Then
+        assertEquals(-100.0, report.get("toursProcessedDelta"));
+        assertEquals(-100.0, report.get("revenueDelta"));
+        verify(reportsRepository, times(1)).findByAgentEmail(eq(AGENT_EMAIL), any(), any());
+        verify(snapshotRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should compute a missing closed period once and store it")
+    void shouldStoreMissingSnapshot() {
+        // Given
+        when(snapshotRepository.find(anyString(), anyString())).thenReturn(Optional.empty());
+        when(reportsRepository.findByAgentEmail(eq(AGENT_EMAIL), any(), any())).thenReturn(List.of());
+
+        // When
+        reportsService.generateTravelAgentPerformanceReport(AGENT_EMAIL, "YEARLY", 2020, "ADMIN");
+
+        // Then
+        ArgumentCaptor<ReportSnapshot> saved = ArgumentCaptor.forClass(ReportSnapshot.class);
+        verify(snapshotRepository).save(saved.capture());
+        assertEquals("AGENT#" + AGENT_EMAIL, saved.getValue().getScope());
+        assertEquals("YEARLY#2019-01-01", saved.getValue().getPeriodKey());
+        assertEquals(0.0, saved.getValue().getMetrics().get(TravelReportsServiceImpl.REVENUE));
+        verify(reportsRepository, atLeastOnce()).findByAgentEmail(AGENT_EMAIL,
+                LocalDateTime.of(2019, 1, 1, 0, 0, 0), LocalDateTime.of(2019, 12, 31, 23, 59, 59));
+    }
+
+    @Test
+    @DisplayName("Should drop the scope's snapshots for the period type and rebuild them")
+    void shouldRebuildSnapshots() {
+        // Given
+        when(snapshotRepository.deleteByScope("AGENT#" + AGENT_EMAIL, "YEARLY#")).thenReturn(3);
+        when(snapshotRepository.find(anyString(), anyString())).thenReturn(Optional.empty());
+        when(reportsRepository.findByAgentEmail(eq(AGENT_EMAIL), any(), any())).thenReturn(List.of());
+
+        // When
+        Map<String, Object> result = reportsService.rebuildSnapshots("AGENT", AGENT_EMAIL, "YEARLY", 2020);
+
+        // Then
+        assertEquals(3, result.get("deleted"));
+        assertEquals(true, result.get("rebuilt"));
+        verify(snapshotRepository).save(any(ReportSnapshot.class));
+    }
+}
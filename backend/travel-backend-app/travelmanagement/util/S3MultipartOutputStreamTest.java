@@ -0,0 +1,96 @@
+package com.travelbackendapp.travelmanagement.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("S3MultipartOutputStream Tests")
+class S3MultipartOutputStreamTest {
+
+    @Mock
+    private S3Client s3;
+
+    @Test
+    @DisplayName("Should send a small object with a single PutObject")
+    void shouldPutSmallObject() throws Exception {
+        // Given
+        S3MultipartOutputStream out = new S3MultipartOutputStream(s3, "bucket", "reports/a.csv", "text/csv", 16);
+
+        // When
+        out.write("a,b\r\n".getBytes(StandardCharsets.UTF_8));
+        out.close();
+
+        // Then
+        verify(s3).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(s3, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+        assertEquals(5, out.getBytesWritten());
+    }
+
+    @Test
+    @DisplayName("Should split the stream into parts of the buffer size and complete the upload")
+    void shouldUploadParts() throws Exception {
+        // Given
+        when(s3.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("u-1").build());
+        when(s3.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenReturn(UploadPartResponse.builder().eTag("etag").build());
+        S3MultipartOutputStream out = new S3MultipartOutputStream(s3, "bucket", "reports/a.csv", "text/csv", 4);
+
+        // When
+        out.write(new byte[10]);
+        out.close();
+
+        // Then
+        ArgumentCaptor<UploadPartRequest> parts = ArgumentCaptor.forClass(UploadPartRequest.class);
+        verify(s3, times(3)).uploadPart(parts.capture(), any(RequestBody.class));
+        List<UploadPartRequest> sent = parts.getAllValues();
+        assertEquals(List.of(1, 2, 3), List.of(sent.get(0).partNumber(), sent.get(1).partNumber(), sent.get(2).partNumber()));
+        assertEquals(List.of(4L, 4L, 2L), List.of(sent.get(0).contentLength(), sent.get(1).contentLength(), sent.get(2).contentLength()));
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3).completeMultipartUpload(complete.capture());
+        assertEquals("u-1", complete.getValue().uploadId());
+        assertEquals(3, complete.getValue().multipartUpload().parts().size());
+        verify(s3, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    @DisplayName("Should abort the upload when a part fails")
+    void shouldAbortOnFailedPart() {
+        // Given
+        when(s3.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("u-2").build());
+        when(s3.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenThrow(S3Exception.builder().message("boom").build());
+        S3MultipartOutputStream out = new S3MultipartOutputStream(s3, "bucket", "reports/a.csv", "text/csv", 4);
+
+        // When
+        assertThrows(IOException.class, () -> out.write(new byte[6]));
+
+        // Then
+        verify(s3).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        assertThrows(IOException.class, () -> out.write(1));
+    }
+}
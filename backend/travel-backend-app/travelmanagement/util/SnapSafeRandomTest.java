@@ -0,0 +1,32 @@
+package com.travelbackendapp.travelmanagement.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SnapSafeRandom Tests")
+class SnapSafeRandomTest {
+
+    @Test
+    @DisplayName("Should keep one generator per thread until reseeded")
+    void shouldReseedAfterRestore() throws Exception {
+        // Given
+        SplittableRandom first = SnapSafeRandom.current();
+        SplittableRandom other = CompletableFuture.supplyAsync(SnapSafeRandom::current).get();
+
+        // When
+        SplittableRandom again = SnapSafeRandom.current();
+        SnapSafeRandom.reseed();
+        SplittableRandom reseeded = SnapSafeRandom.current();
+
+        // Then
+        assertSame(first, again);
+        assertNotSame(first, other);
+        assertNotSame(first, reseeded);
+        assertSame(reseeded, SnapSafeRandom.current());
+    }
+}
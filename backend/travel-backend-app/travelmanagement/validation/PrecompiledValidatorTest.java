@@ -0,0 +1,136 @@
+package com.travelbackendapp.travelmanagement.validation;
+
+import com.travelbackendapp.travelmanagement.model.api.request.CreateBookingRequest;
+import com.travelbackendapp.travelmanagement.model.api.request.CreateReviewRequest;
+import com.travelbackendapp.travelmanagement.model.api.request.CreateTourRequest;
+import com.travelbackendapp.travelmanagement.model.api.request.CreateTravelAgentRequest;
+import com.travelbackendapp.travelmanagement.model.api.request.RebuildReportSnapshotsRequest;
+import com.travelbackendapp.travelmanagement.model.api.request.SignInRequestDTO;
+import com.travelbackendapp.travelmanagement.model.api.request.SignUpRequestDTO;
+import com.travelbackendapp.travelmanagement.model.api.request.UpdateNameRequestDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Valid;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PrecompiledValidator Tests")
+class PrecompiledValidatorTest {
+
+    private static final Validator HIBERNATE = Validation.buildDefaultValidatorFactory().getValidator();
+
+    /** Fails the test if the generated validators hand anything to Hibernate. */
+    private static PrecompiledValidator precompiledOnly() {
+        return new PrecompiledValidator(() -> {
+            throw new AssertionError("Hibernate Validator bootstrapped");
+        }, true);
+    }
+
+    @Test
+    @DisplayName("Should report the same violations as Hibernate Validator for invalid requests")
+    void shouldMatchHibernateMessages() {
+        // Given
+        CreateReviewRequest review = new CreateReviewRequest();
+        review.rate = 9;
+        review.comment = "x".repeat(501);
+        CreateTravelAgentRequest agent = new CreateTravelAgentRequest();
+        agent.email = "not-an-email";
+        agent.role = "CUSTOMER";
+        agent.password = "short";
+        RebuildReportSnapshotsRequest rebuild = new RebuildReportSnapshotsRequest();
+        rebuild.scope = "NONE";
+        rebuild.period = "DAILY";
+        rebuild.year = 1999;
+        CreateBookingRequest booking = new CreateBookingRequest();
+        booking.personalDetails = List.of();
+        List<Object> requests = List.of(new CreateTourRequest(), review, agent, rebuild, booking,
+                new CreateBookingRequest.Person(), new SignUpRequestDTO("A", " ", "bad@", "weak"),
+                new SignInRequestDTO(null, ""), new UpdateNameRequestDTO("B0b", "x".repeat(51)));
+        PrecompiledValidator validator = precompiledOnly();
+
+        for (Object request : requests) {
+            // When
+            List<String> precompiled = describe(validator.validate(request));
+
+            // Then
+            assertFalse(precompiled.isEmpty(), request.getClass().getSimpleName());
+            assertEquals(describe(HIBERNATE.validate(request)), precompiled, request.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    @DisplayName("Should accept valid requests")
+    void shouldAcceptValidRequests() {
+        // Given
+        CreateReviewRequest review = new CreateReviewRequest();
+        review.bookingId = "B-1";
+        review.rate = 5;
+        SignUpRequestDTO signUp = new SignUpRequestDTO("Ann", "Lee", "ann@example.com", "Str0ng!Pass");
+
+        // When / Then
+        assertTrue(precompiledOnly().validate(review).isEmpty());
+        assertTrue(precompiledOnly().validate(signUp).isEmpty());
+        assertTrue(precompiledOnly().covers(CreateTourRequest.class));
+        assertFalse(precompiledOnly().covers(String.class));
+    }
+
+    @Test
+    @DisplayName("Should hand classes with constraints it does not compile to Hibernate Validator")
+    void shouldFallBackForUnsupportedConstraints() {
+        // Given
+        AtomicInteger bootstrapped = new AtomicInteger();
+        PrecompiledValidator validator = new PrecompiledValidator(() -> {
+            bootstrapped.incrementAndGet();
+            return HIBERNATE;
+        }, true);
+
+        // When
+        Set<ConstraintViolation<Cascading>> violations = validator.validate(new Cascading());
+        validator.validate(new Cascading());
+
+        // Then
+        assertEquals(List.of("child: must not be null"), describe(violations));
+        assertEquals(1, bootstrapped.get());
+    }
+
+    @Test
+    @DisplayName("Should validate everything with Hibernate Validator when disabled")
+    void shouldFallBackWhenDisabled() {
+        // Given
+        AtomicInteger bootstrapped = new AtomicInteger();
+        PrecompiledValidator validator = new PrecompiledValidator(() -> {
+            bootstrapped.incrementAndGet();
+            return HIBERNATE;
+        }, false);
+
+        // When
+        List<String> violations = describe(validator.validate(new CreateBookingRequest.Person()));
+
+        // Then
+        assertEquals(List.of("firstName: must not be blank", "lastName: must not be blank"), violations);
+        assertEquals(1, bootstrapped.get());
+        assertFalse(validator.covers(CreateTourRequest.class));
+    }
+
+    private static <T> List<String> describe(Set<ConstraintViolation<T>> violations) {
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    static class Cascading {
+        @Valid
+        @NotNull
+        Object child;
+    }
+}
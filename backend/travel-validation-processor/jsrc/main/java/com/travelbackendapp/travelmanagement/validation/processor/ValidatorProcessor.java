@@ -0,0 +1,555 @@
+package com.travelbackendapp.travelmanagement.validation.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiles the field constraints of every class in the compilation into a {@code <Class>_Validator} next to it, a
+ * {@code GeneratedValidator} that checks them with plain code and produces the violation messages Hibernate Validator
+ * would: literal messages as written, the default ones as in its English bundle.
+ * <p>
+ * Supported: {@code @NotNull}, {@code @NotBlank}, {@code @NotEmpty}, {@code @Size}, {@code @Min}, {@code @Max},
+ * {@code @Email} and {@code @Pattern} on the types Hibernate accepts them on (integral numbers only for {@code @Min}
+ * and {@code @Max}), and custom constraints with a single validator. Private fields are read through their getter.
+ * A class with anything else, e.g. {@code @Valid}, groups, container element or class-level constraints, a superclass
+ * or a message template with expressions, still gets a validator, but one that hands it to Hibernate Validator; the
+ * build notes why.
+ */
+@SupportedAnnotationTypes("*")
+public final class ValidatorProcessor extends AbstractProcessor {
+
+    static final String SUFFIX = "_Validator";
+    private static final String RUNTIME = "com.travelbackendapp.travelmanagement.validation.";
+    private static final String BUILT_IN = "javax.validation.constraints.";
+    private static final String CONSTRAINT = "javax.validation.Constraint";
+    private static final String CONSTRAINT_VALIDATOR = "javax.validation.ConstraintValidator";
+    /** Hibernate Validator's ValidationMessages.properties, for the constraints compiled here. */
+    private static final Map<String, String> DEFAULT_MESSAGES = Map.of(
+            "NotNull", "must not be null",
+            "NotBlank", "must not be blank",
+            "NotEmpty", "must not be empty",
+            "Size", "size must be between {min} and {max}",
+            "Min", "must be greater than or equal to {value}",
+            "Max", "must be less than or equal to {value}",
+            "Email", "must be a well-formed email address",
+            "Pattern", "must match \"{regexp}\"");
+
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        for (TypeElement type : ElementFilter.typesIn(round.getRootElements())) visit(type);
+        return false;
+    }
+
+    private void visit(TypeElement type) {
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) visit(nested);
+        if (type.getKind() != ElementKind.CLASS || !constrained(type)) return;
+        String name = validatorName(type);
+        if (!generated.add(name)) return;
+
+        Model model = new Model(type);
+        try {
+            model.build();
+        } catch (Unsupported e) {
+            model.fallback = e.getMessage();
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    type.getQualifiedName() + " is validated by Hibernate Validator: " + e.getMessage(), type);
+        }
+        try (Writer out = processingEnv.getFiler().createSourceFile(name, type).openWriter()) {
+            out.write(model.source(name));
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write " + name + ": " + e.getMessage(), type);
+        }
+    }
+
+    /** Whether anything in {@code type} itself is a constraint or another Bean Validation annotation. */
+    private boolean constrained(TypeElement type) {
+        if (hasValidationAnnotation(type)) return true;
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.CLASS || member.getKind() == ElementKind.INTERFACE
+                    || member.getKind() == ElementKind.ENUM) continue;
+            if (hasValidationAnnotation(member)) return true;
+            if (member.getKind() == ElementKind.FIELD && containerElementConstraint(member.asType())) return true;
+            if (member instanceof ExecutableElement) {
+                for (VariableElement p : ((ExecutableElement) member).getParameters()) {
+                    if (hasValidationAnnotation(p)) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean containerElementConstraint(TypeMirror t) {
+        if (t instanceof ArrayType) {
+            TypeMirror component = ((ArrayType) t).getComponentType();
+            return hasTypeUseConstraint(component) || containerElementConstraint(component);
+        }
+        if (t instanceof DeclaredType) {
+            for (TypeMirror arg : ((DeclaredType) t).getTypeArguments()) {
+                if (hasTypeUseConstraint(arg) || containerElementConstraint(arg)) return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasTypeUseConstraint(TypeMirror t) {
+        for (AnnotationMirror a : t.getAnnotationMirrors()) {
+            if (isValidationAnnotation(a)) return true;
+        }
+        return false;
+    }
+
+    private boolean hasValidationAnnotation(Element element) {
+        for (AnnotationMirror a : element.getAnnotationMirrors()) {
+            if (isValidationAnnotation(a)) return true;
+        }
+        return false;
+    }
+
+    private boolean isValidationAnnotation(AnnotationMirror a) {
+        TypeElement annotation = (TypeElement) a.getAnnotationType().asElement();
+        String name = annotation.getQualifiedName().toString();
+        return name.startsWith("javax.validation.") || name.startsWith("org.hibernate.validator.")
+                || isConstraint(annotation);
+    }
+
+    private static boolean isConstraint(TypeElement annotation) {
+        for (AnnotationMirror meta : annotation.getAnnotationMirrors()) {
+            if (((TypeElement) meta.getAnnotationType().asElement()).getQualifiedName().contentEquals(CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** {@code CreateBookingRequest_Person_Validator} for {@code CreateBookingRequest.Person}, in its package. */
+    static String validatorName(TypeElement type) {
+        String pkg = packageOf(type);
+        return (pkg.isEmpty() ? "" : pkg + ".") + nestedName(type).replace('.', '_') + SUFFIX;
+    }
+
+    /** The name of {@code type} within its package, e.g. {@code CreateBookingRequest.Person}. */
+    private static String nestedName(TypeElement type) {
+        String pkg = packageOf(type);
+        return type.getQualifiedName().toString().substring(pkg.isEmpty() ? 0 : pkg.length() + 1);
+    }
+
+    private static String packageOf(TypeElement type) {
+        Element e = type;
+        while (!(e instanceof PackageElement)) e = e.getEnclosingElement();
+        return ((PackageElement) e).getQualifiedName().toString();
+    }
+
+    /** Why a class is left to Hibernate Validator. */
+    private static final class Unsupported extends Exception {
+        Unsupported(String reason) {
+            super(reason, null, false, false);
+        }
+    }
+
+    /** One field constraint: a condition that holds when the value violates it, and its message. */
+    private static final class Check {
+        final String invalid;
+        final String template;
+        final String message;
+
+        Check(String invalid, String template, String message) {
+            this.invalid = invalid;
+            this.template = template;
+            this.message = message;
+        }
+    }
+
+    private final class Model {
+        final TypeElement type;
+        final String beanType;
+        final List<String> constants = new ArrayList<>();
+        final List<String> fields = new ArrayList<>();
+        final List<String> reads = new ArrayList<>();
+        final List<List<Check>> checks = new ArrayList<>();
+        String fallback;
+
+        Model(TypeElement type) {
+            this.type = type;
+            this.beanType = nestedName(type);
+        }
+
+        void build() throws Unsupported {
+            if (!type.getTypeParameters().isEmpty()) throw new Unsupported("generic class");
+            for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+                if (e.getModifiers().contains(Modifier.PRIVATE)) throw new Unsupported("private class");
+                if (((TypeElement) e).getNestingKind() == NestingKind.LOCAL
+                        || ((TypeElement) e).getNestingKind() == NestingKind.ANONYMOUS) {
+                    throw new Unsupported("local class");
+                }
+            }
+            TypeMirror superclass = type.getSuperclass();
+            if (superclass.getKind() != TypeKind.NONE
+                    && !((TypeElement) ((DeclaredType) superclass).asElement()).getQualifiedName()
+                    .contentEquals("java.lang.Object")) {
+                throw new Unsupported("superclass " + superclass);
+            }
+            if (hasValidationAnnotation(type)) throw new Unsupported("class-level annotation");
+            for (Element member : type.getEnclosedElements()) {
+                if (member.getKind() == ElementKind.FIELD) {
+                    field((VariableElement) member);
+                } else if (member instanceof ExecutableElement) {
+                    if (hasValidationAnnotation(member)) throw new Unsupported("annotated " + member);
+                    for (VariableElement p : ((ExecutableElement) member).getParameters()) {
+                        if (hasValidationAnnotation(p)) throw new Unsupported("annotated parameter of " + member);
+                    }
+                }
+            }
+        }
+
+        void field(VariableElement field) throws Unsupported {
+            List<AnnotationMirror> annotations = new ArrayList<>();
+            for (AnnotationMirror a : field.getAnnotationMirrors()) {
+                if (isValidationAnnotation(a)) annotations.add(a);
+            }
+            String name = field.getSimpleName().toString();
+            if (containerElementConstraint(field.asType())) {
+                throw new Unsupported("container element constraint on " + name);
+            }
+            if (annotations.isEmpty()) return;
+            if (field.getModifiers().contains(Modifier.STATIC)) throw new Unsupported("static field " + name);
+
+            List<Check> fieldChecks = new ArrayList<>();
+            for (AnnotationMirror a : annotations) {
+                Check check = check(field, a);
+                if (check != null) fieldChecks.add(check);
+            }
+            fields.add(name);
+            reads.add(read(field));
+            checks.add(fieldChecks);
+        }
+
+        /** The check for one annotation, or null for a constraint that always holds (@NotNull on a primitive). */
+        Check check(VariableElement field, AnnotationMirror a) throws Unsupported {
+            TypeElement annotation = (TypeElement) a.getAnnotationType().asElement();
+            String qualified = annotation.getQualifiedName().toString();
+            String simple = annotation.getSimpleName().toString();
+            String name = field.getSimpleName().toString();
+            String on = "@" + simple + " on " + name;
+            if (!isConstraint(annotation)) throw new Unsupported(on);
+            if (!((List<?>) value(a, "groups")).isEmpty()) throw new Unsupported("groups of " + on);
+
+            String template = (String) value(a, "message");
+            boolean builtIn = qualified.equals(BUILT_IN + simple) && DEFAULT_MESSAGES.containsKey(simple);
+            if (!builtIn) return custom(field, a, annotation, template, on);
+
+            TypeMirror t = field.asType();
+            Kind kind = kind(t);
+            String invalid;
+            String message = DEFAULT_MESSAGES.get(simple);
+            switch (simple) {
+                case "NotNull":
+                    if (t.getKind().isPrimitive()) return null;
+                    invalid = "value == null";
+                    break;
+                case "NotBlank":
+                    require(kind == Kind.CHARS, on);
+                    invalid = "!Checks.notBlank(value)";
+                    break;
+                case "NotEmpty":
+                    require(kind == Kind.CHARS || kind == Kind.COLLECTION || kind == Kind.MAP || kind == Kind.ARRAY, on);
+                    invalid = "!Checks.notEmpty(value)";
+                    break;
+                case "Size": {
+                    require(kind == Kind.CHARS || kind == Kind.COLLECTION || kind == Kind.MAP || kind == Kind.ARRAY, on);
+                    int min = (Integer) value(a, "min");
+                    int max = (Integer) value(a, "max");
+                    require(min >= 0 && max >= min, on);
+                    invalid = "!Checks.size(value, " + min + ", " + max + ")";
+                    message = message.replace("{min}", String.valueOf(min)).replace("{max}", String.valueOf(max));
+                    break;
+                }
+                case "Min":
+                case "Max": {
+                    require(kind == Kind.INTEGRAL, on);
+                    long bound = (Long) value(a, "value");
+                    invalid = "!Checks." + simple.toLowerCase() + "(value, " + bound + "L)";
+                    message = message.replace("{value}", String.valueOf(bound));
+                    break;
+                }
+                case "Email":
+                    require(kind == Kind.CHARS && ".*".equals(value(a, "regexp"))
+                            && ((List<?>) value(a, "flags")).isEmpty(), on);
+                    invalid = "!Checks.email(value)";
+                    break;
+                case "Pattern": {
+                    require(kind == Kind.CHARS, on);
+                    String regexp = (String) value(a, "regexp");
+                    int flags = flags(a);
+                    try {
+                        Pattern.compile(regexp, flags);
+                    } catch (PatternSyntaxException e) {
+                        throw new Unsupported("invalid regexp of " + on);
+                    }
+                    String constant = "PATTERN_" + constants.size();
+                    constants.add("java.util.regex.Pattern " + constant + " = java.util.regex.Pattern.compile("
+                            + literal(regexp) + ", " + flags + ")");
+                    invalid = "!Checks.pattern(value, " + constant + ")";
+                    // the regexp goes into the default message as is only when Hibernate would not unescape it
+                    if (template.equals(defaultTemplate(qualified))) require(plain(regexp), "regexp of " + on);
+                    message = message.replace("{regexp}", regexp);
+                    break;
+                }
+                default:
+                    throw new Unsupported(on);
+            }
+            if (template.equals(defaultTemplate(qualified))) return new Check(invalid, template, message);
+            if (!literalTemplate(template)) throw new Unsupported("message of " + on);
+            return new Check(invalid, template, template);
+        }
+
+        /** A custom constraint with exactly one validator, initialized once with the annotation on the field. */
+        Check custom(VariableElement field, AnnotationMirror a, TypeElement annotation, String template, String on)
+                throws Unsupported {
+            List<?> validatedBy = validatedBy(annotation);
+            if (validatedBy.size() != 1) throw new Unsupported(on);
+            for (AnnotationMirror meta : annotation.getAnnotationMirrors()) {
+                if (isConstraint((TypeElement) meta.getAnnotationType().asElement())) {
+                    throw new Unsupported("composed " + on);
+                }
+            }
+            TypeElement validator = (TypeElement) processingEnv.getTypeUtils()
+                    .asElement((TypeMirror) ((AnnotationValue) validatedBy.get(0)).getValue());
+            require(validator.getModifiers().contains(Modifier.PUBLIC)
+                    && !validator.getModifiers().contains(Modifier.ABSTRACT)
+                    && validator.getTypeParameters().isEmpty()
+                    && (validator.getNestingKind() == NestingKind.TOP_LEVEL
+                    || validator.getModifiers().contains(Modifier.STATIC)), "validator of " + on);
+            boolean constructor = false;
+            for (ExecutableElement c : ElementFilter.constructorsIn(validator.getEnclosedElements())) {
+                if (c.getParameters().isEmpty() && c.getModifiers().contains(Modifier.PUBLIC)) constructor = true;
+            }
+            require(constructor, "validator of " + on);
+            TypeMirror validated = validatedType(validator.asType());
+            TypeMirror t = field.asType();
+            if (t.getKind().isPrimitive()) t = processingEnv.getTypeUtils().boxedClass((PrimitiveType) t).asType();
+            require(validated != null && processingEnv.getTypeUtils().isAssignable(
+                    processingEnv.getTypeUtils().erasure(t), processingEnv.getTypeUtils().erasure(validated)), on);
+            if (!literalTemplate(template)) throw new Unsupported("message of " + on);
+
+            String constant = "CUSTOM_" + constants.size();
+            String validatorType = validator.getQualifiedName().toString();
+            constants.add(validatorType + " " + constant + " = Checks.initialize(new " + validatorType + "(), "
+                    + beanType + ".class, " + literal(field.getSimpleName().toString()) + ", "
+                    + annotation.getQualifiedName() + ".class)");
+            return new Check("!Checks.custom(" + constant + ", value, " + literal(template) + ")", template, template);
+        }
+
+        /** The {@code T} of the {@code ConstraintValidator<A, T>} that {@code type} implements. */
+        TypeMirror validatedType(TypeMirror type) {
+            for (TypeMirror s : processingEnv.getTypeUtils().directSupertypes(type)) {
+                DeclaredType d = (DeclaredType) s;
+                if (((TypeElement) d.asElement()).getQualifiedName().contentEquals(CONSTRAINT_VALIDATOR)) {
+                    return d.getTypeArguments().size() == 2 ? d.getTypeArguments().get(1) : null;
+                }
+                TypeMirror found = validatedType(s);
+                if (found != null) return found;
+            }
+            return null;
+        }
+
+        /** Reads the field directly when the generated class can, otherwise through its getter. */
+        String read(VariableElement field) throws Unsupported {
+            String name = field.getSimpleName().toString();
+            if (!field.getModifiers().contains(Modifier.PRIVATE)) return "bean." + name;
+            String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            for (ExecutableElement m : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                String method = m.getSimpleName().toString();
+                boolean named = method.equals("get" + capitalized)
+                        || method.equals("is" + capitalized) && field.asType().getKind() == TypeKind.BOOLEAN;
+                if (named && m.getParameters().isEmpty() && !m.getModifiers().contains(Modifier.PRIVATE)
+                        && !m.getModifiers().contains(Modifier.STATIC)
+                        && processingEnv.getTypeUtils().isSameType(
+                        processingEnv.getTypeUtils().erasure(m.getReturnType()),
+                        processingEnv.getTypeUtils().erasure(field.asType()))) {
+                    return "bean." + method + "()";
+                }
+            }
+            throw new Unsupported("private field " + name + " without getter");
+        }
+
+        String source(String validatorName) {
+            int dot = validatorName.lastIndexOf('.');
+            String pkg = dot < 0 ? "" : validatorName.substring(0, dot);
+            String simple = validatorName.substring(dot + 1);
+            StringBuilder s = new StringBuilder();
+            if (!pkg.isEmpty()) s.append("package ").append(pkg).append(";\n\n");
+            s.append("import ").append(RUNTIME).append("Checks;\n");
+            s.append("import ").append(RUNTIME).append("GeneratedValidator;\n");
+            s.append("import ").append(RUNTIME).append("Violations;\n\n");
+            s.append("import javax.annotation.processing.Generated;\n\n");
+            s.append("/** The constraints of {@link ").append(beanType).append("}, compiled. */\n");
+            s.append("@Generated(\"").append(ValidatorProcessor.class.getName()).append("\")\n");
+            s.append("public final class ").append(simple).append(" implements GeneratedValidator<")
+                    .append(beanType).append("> {\n");
+            if (fallback == null) {
+                for (String c : constants) s.append("    private static final ").append(c).append(";\n");
+                if (!constants.isEmpty()) s.append('\n');
+            }
+            s.append("    @Override\n");
+            s.append("    public boolean validate(").append(beanType).append(" bean, Violations<").append(beanType)
+                    .append("> violations) {\n");
+            if (fallback != null) {
+                s.append("        // Hibernate Validator: ").append(fallback.replace('\n', ' ')).append('\n');
+                s.append("        return false;\n");
+            } else {
+                for (int i = 0; i < fields.size(); i++) {
+                    if (checks.get(i).isEmpty()) continue;
+                    s.append("        {\n");
+                    s.append("            var value = ").append(reads.get(i)).append(";\n");
+                    for (Check c : checks.get(i)) {
+                        s.append("            if (").append(c.invalid).append(") {\n");
+                        s.append("                violations.add(").append(literal(fields.get(i))).append(", value, ")
+                                .append(literal(c.template)).append(", ").append(literal(c.message)).append(");\n");
+                        s.append("            }\n");
+                    }
+                    s.append("        }\n");
+                }
+                s.append("        return true;\n");
+            }
+            s.append("    }\n");
+            s.append("}\n");
+            return s.toString();
+        }
+    }
+
+    private enum Kind { CHARS, COLLECTION, MAP, ARRAY, INTEGRAL, OTHER }
+
+    /** What a constraint sees the field as; a type that could be read two ways is OTHER. */
+    private Kind kind(TypeMirror t) {
+        switch (t.getKind()) {
+            case INT: case LONG: case SHORT: case BYTE:
+                return Kind.INTEGRAL;
+            case ARRAY:
+                return ((ArrayType) t).getComponentType().getKind().isPrimitive() ? Kind.OTHER : Kind.ARRAY;
+            case DECLARED:
+                break;
+            default:
+                return Kind.OTHER;
+        }
+        String name = ((TypeElement) ((DeclaredType) t).asElement()).getQualifiedName().toString();
+        switch (name) {
+            case "java.lang.Integer": case "java.lang.Long": case "java.lang.Short": case "java.lang.Byte":
+                return Kind.INTEGRAL;
+            default:
+                break;
+        }
+        List<Kind> kinds = new ArrayList<>();
+        if (isSubtype(t, "java.lang.CharSequence")) kinds.add(Kind.CHARS);
+        if (isSubtype(t, "java.util.Collection")) kinds.add(Kind.COLLECTION);
+        if (isSubtype(t, "java.util.Map")) kinds.add(Kind.MAP);
+        return kinds.size() == 1 ? kinds.get(0) : Kind.OTHER;
+    }
+
+    private boolean isSubtype(TypeMirror t, String type) {
+        TypeElement e = processingEnv.getElementUtils().getTypeElement(type);
+        return e != null && processingEnv.getTypeUtils().isAssignable(
+                processingEnv.getTypeUtils().erasure(t), processingEnv.getTypeUtils().erasure(e.asType()));
+    }
+
+    /** An attribute of {@code a}, its default when not given. */
+    private Object value(AnnotationMirror a, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(a).entrySet()) {
+            if (e.getKey().getSimpleName().contentEquals(name)) return e.getValue().getValue();
+        }
+        return null;
+    }
+
+    /** The validator classes named by the {@code @Constraint} on a constraint annotation. */
+    private List<?> validatedBy(TypeElement annotation) {
+        for (AnnotationMirror meta : annotation.getAnnotationMirrors()) {
+            if (((TypeElement) meta.getAnnotationType().asElement()).getQualifiedName().contentEquals(CONSTRAINT)) {
+                return (List<?>) value(meta, "validatedBy");
+            }
+        }
+        return List.of();
+    }
+
+    /** {@code Pattern.Flag} values, as {@code PatternValidator} combines them. */
+    private int flags(AnnotationMirror a) {
+        int flags = 0;
+        for (Object v : (List<?>) value(a, "flags")) {
+            switch (((VariableElement) ((AnnotationValue) v).getValue()).getSimpleName().toString()) {
+                case "UNIX_LINES": flags |= Pattern.UNIX_LINES; break;
+                case "CASE_INSENSITIVE": flags |= Pattern.CASE_INSENSITIVE; break;
+                case "COMMENTS": flags |= Pattern.COMMENTS; break;
+                case "MULTILINE": flags |= Pattern.MULTILINE; break;
+                case "DOTALL": flags |= Pattern.DOTALL; break;
+                case "UNICODE_CASE": flags |= Pattern.UNICODE_CASE; break;
+                case "CANON_EQ": flags |= Pattern.CANON_EQ; break;
+                default: break;
+            }
+        }
+        return flags;
+    }
+
+    private static String defaultTemplate(String annotation) {
+        return "{" + annotation + ".message}";
+    }
+
+    /**
+     * Whether Hibernate's interpolator returns {@code template} unchanged: no parameters, no escapes and no
+     * expressions. A {@code $} followed by anything else stays literal.
+     */
+    static boolean literalTemplate(String template) {
+        for (int i = 0; i < template.length(); i++) {
+            char c = template.charAt(i);
+            if (c == '{' || c == '}' || c == '\\') return false;
+            if (c == '$' && (i + 1 == template.length() || template.charAt(i + 1) == '$')) return false;
+        }
+        return true;
+    }
+
+    private static boolean plain(String value) {
+        return value.indexOf('\\') < 0 && value.indexOf('$') < 0 && value.indexOf('{') < 0 && value.indexOf('}') < 0;
+    }
+
+    private static void require(boolean condition, String what) throws Unsupported {
+        if (!condition) throw new Unsupported(what);
+    }
+
+    private String literal(String s) {
+        return processingEnv.getElementUtils().getConstantExpression(s);
+    }
+}